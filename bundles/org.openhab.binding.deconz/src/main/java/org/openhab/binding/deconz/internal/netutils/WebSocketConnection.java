@@ -12,7 +12,10 @@
  */
 package org.openhab.binding.deconz.internal.netutils;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.net.URI;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -37,12 +40,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 /**
  * Establishes and keeps a websocket connection to the deCONZ software.
  *
  * The connection is closed by deCONZ now and then and needs to be re-established.
  *
+ * Only the routing fields of a received event (resource type, id and event type) are read with a streaming parser.
+ * The event is deserialized into the message type of the resource only if a listener is registered for it, so the
+ * many events for resources without thing are discarded cheaply.
+ *
  * @author David Graeff - Initial contribution
  */
 @WebSocket
@@ -58,7 +67,8 @@ public class WebSocketConnection {
     private int watchdogInterval;
 
     private final WebSocketConnectionListener connectionListener;
-    private final Map<String, WebSocketMessageListener> listeners = new ConcurrentHashMap<>();
+    private final Map<ResourceType, Map<Integer, WebSocketMessageListener>> listeners = new EnumMap<>(
+            ResourceType.class);
 
     private ConnectionState connectionState = ConnectionState.DISCONNECTED;
     private @Nullable ScheduledFuture<?> watchdogJob;
@@ -73,6 +83,9 @@ public class WebSocketConnection {
         this.gson = gson;
         this.socketName = "Websocket$" + System.currentTimeMillis() + "-" + INSTANCE_COUNTER.incrementAndGet();
         this.watchdogInterval = watchdogInterval;
+        for (ResourceType resourceType : ResourceType.values()) {
+            listeners.put(resourceType, new ConcurrentHashMap<>());
+        }
     }
 
     public void setWatchdogInterval(int watchdogInterval) {
@@ -139,11 +152,19 @@ public class WebSocketConnection {
     }
 
     public void registerListener(ResourceType resourceType, String sensorID, WebSocketMessageListener listener) {
-        listeners.put(getListenerId(resourceType, sensorID), listener);
+        int id = parseId(sensorID);
+        if (id < 0) {
+            logger.warn("{} can't register listener for {} with invalid id '{}'", socketName, resourceType, sensorID);
+            return;
+        }
+        getListeners(resourceType).put(id, listener);
     }
 
     public void unregisterListener(ResourceType resourceType, String sensorID) {
-        listeners.remove(getListenerId(resourceType, sensorID));
+        int id = parseId(sensorID);
+        if (id >= 0) {
+            getListeners(resourceType).remove(id);
+        }
     }
 
     @SuppressWarnings("unused")
@@ -168,41 +189,42 @@ public class WebSocketConnection {
         logger.trace("{} received raw data: {}", socketName, message);
 
         try {
-            DeconzBaseMessage changedMessage = Objects.requireNonNull(gson.fromJson(message, DeconzBaseMessage.class));
-            if (changedMessage.r == ResourceType.UNKNOWN) {
+            EventHeader header = readEventHeader(message);
+            if (header.resourceType == ResourceType.UNKNOWN) {
                 logger.trace("Received message has unknown resource type. Skipping message.");
                 return;
             }
 
-            ResourceType resourceType = changedMessage.r;
-            String resourceId = changedMessage.id;
+            ResourceType resourceType = header.resourceType;
+            String resourceId = header.id;
 
             if (resourceType == ResourceType.SCENES) {
                 // scene recalls
                 resourceType = ResourceType.GROUPS;
-                resourceId = changedMessage.gid;
+                resourceId = header.gid;
             }
 
-            WebSocketMessageListener listener = listeners.get(getListenerId(resourceType, resourceId));
+            int id = parseId(resourceId);
+            WebSocketMessageListener listener = id < 0 ? null : getListeners(resourceType).get(id);
             if (listener == null) {
                 logger.trace(
-                        "Couldn't find listener for id {} with resource type {}. Either no thing for this id has been defined or this is a bug.",
-                        changedMessage.id, changedMessage.r);
+                        "Couldn't find listener for '{}' event of id {} with resource type {}. Either no thing for this id has been defined or this is a bug.",
+                        header.event, header.id, header.resourceType);
                 return;
             }
 
             // we still need the original resource type here
-            Class<? extends DeconzBaseMessage> expectedMessageType = changedMessage.r.getExpectedMessageType();
+            Class<? extends DeconzBaseMessage> expectedMessageType = header.resourceType.getExpectedMessageType();
             if (expectedMessageType == null) {
                 logger.warn(
                         "BUG! Could not get expected message type for resource type {}. Please report this incident.",
-                        changedMessage.r);
+                        header.resourceType);
                 return;
             }
 
             DeconzBaseMessage deconzMessage = Objects.requireNonNull(gson.fromJson(message, expectedMessageType));
             listener.messageReceived(deconzMessage);
-        } catch (RuntimeException e) {
+        } catch (IOException | RuntimeException e) {
             // we need to catch all processing exceptions, otherwise they could affect the connection
             logger.warn("{} encountered an error while processing the message {}: {}", socketName, message,
                     e.getMessage());
@@ -257,15 +279,69 @@ public class WebSocketConnection {
         return connectionState == ConnectionState.CONNECTED;
     }
 
+    private Map<Integer, WebSocketMessageListener> getListeners(ResourceType resourceType) {
+        return Objects.requireNonNull(listeners.get(resourceType));
+    }
+
     /**
-     * create a unique identifier for a listener
+     * read the fields needed for routing an event, all other values are skipped without building objects
      *
-     * @param resourceType the listener resource-type (LIGHT, SENSOR, ...)
-     * @param id the listener id (same as deconz-id)
-     * @return a unique string for this listener
+     * @param message the raw message
+     * @return the routing fields of the message
+     * @throws IOException if the message can't be read
+     */
+    private EventHeader readEventHeader(String message) throws IOException {
+        EventHeader header = new EventHeader();
+        try (JsonReader reader = new JsonReader(new StringReader(message))) {
+            reader.setLenient(true);
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.skipValue();
+                    continue;
+                }
+                switch (name) {
+                    case "r" -> header.resourceType = ResourceType.fromString(reader.nextString());
+                    case "id" -> header.id = reader.nextString();
+                    case "e" -> header.event = reader.nextString();
+                    case "gid" -> header.gid = reader.nextString();
+                    default -> reader.skipValue();
+                }
+            }
+        }
+        return header;
+    }
+
+    /**
+     * parse a deCONZ resource id
+     *
+     * @param id the id
+     * @return the numeric id or -1 if the id is not a non-negative number
+     */
+    private static int parseId(String id) {
+        if (id.isEmpty() || id.length() > 9) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * the routing fields of a received event
      */
-    private String getListenerId(ResourceType resourceType, String id) {
-        return resourceType.name() + "$" + id;
+    private static class EventHeader {
+        ResourceType resourceType = ResourceType.UNKNOWN;
+        String id = "";
+        String event = "";
+        String gid = "";
     }
 
     /**
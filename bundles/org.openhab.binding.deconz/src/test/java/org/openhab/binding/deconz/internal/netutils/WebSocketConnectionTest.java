@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.deconz.internal.netutils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.InetSocketAddress;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.deconz.internal.dto.DeconzBaseMessage;
+import org.openhab.binding.deconz.internal.dto.GroupMessage;
+import org.openhab.binding.deconz.internal.dto.LightMessage;
+import org.openhab.binding.deconz.internal.dto.SensorMessage;
+import org.openhab.binding.deconz.internal.dto.SensorState;
+import org.openhab.binding.deconz.internal.types.ResourceType;
+import org.openhab.binding.deconz.internal.types.ResourceTypeDeserializer;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * The {@link WebSocketConnectionTest} contains tests for the routing of websocket events
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class WebSocketConnectionTest {
+    private @Mock @NonNullByDefault({}) WebSocketConnectionListener connectionListener;
+    private @Mock @NonNullByDefault({}) WebSocketClient client;
+    private @Mock @NonNullByDefault({}) Session session;
+    private @Mock @NonNullByDefault({}) WebSocketMessageListener lightListener;
+    private @Mock @NonNullByDefault({}) WebSocketMessageListener sensorListener;
+    private @Mock @NonNullByDefault({}) WebSocketMessageListener groupListener;
+
+    private @NonNullByDefault({}) WebSocketConnection connection;
+
+    @BeforeEach
+    public void initialize() {
+        when(session.getRemoteAddress()).thenReturn(new InetSocketAddress("127.0.0.1", 443));
+
+        Gson gson = new GsonBuilder().registerTypeAdapter(ResourceType.class, new ResourceTypeDeserializer())
+                .create();
+        connection = new WebSocketConnection(connectionListener, client, gson, 120);
+        connection.onConnect(session);
+        connection.registerListener(ResourceType.LIGHTS, "3", lightListener);
+        connection.registerListener(ResourceType.SENSORS, "3", sensorListener);
+        connection.registerListener(ResourceType.GROUPS, "12", groupListener);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        connection.dispose();
+    }
+
+    @Test
+    public void eventIsRoutedByResourceTypeAndId() {
+        connection.onMessage(session,
+                "{\"e\":\"changed\",\"id\":\"3\",\"r\":\"sensors\",\"state\":{\"buttonevent\":1002},\"t\":\"event\"}");
+
+        ArgumentCaptor<DeconzBaseMessage> captor = ArgumentCaptor.forClass(DeconzBaseMessage.class);
+        verify(sensorListener).messageReceived(captor.capture());
+        verify(lightListener, never()).messageReceived(any());
+        assertThat(captor.getValue(), is(instanceOf(SensorMessage.class)));
+        SensorState state = ((SensorMessage) captor.getValue()).state;
+        assertThat(state != null ? state.buttonevent : null, is(1002));
+    }
+
+    @Test
+    public void routingFieldsAfterPayloadAreFound() {
+        connection.onMessage(session,
+                "{\"state\":{\"on\":true,\"bri\":128},\"extra\":[1,{\"x\":null}],\"attr\":null,\"t\":\"event\",\"r\":\"lights\",\"id\":\"3\",\"e\":\"changed\"}");
+
+        ArgumentCaptor<DeconzBaseMessage> captor = ArgumentCaptor.forClass(DeconzBaseMessage.class);
+        verify(lightListener).messageReceived(captor.capture());
+        assertThat(captor.getValue(), is(instanceOf(LightMessage.class)));
+    }
+
+    @Test
+    public void sceneRecallIsRoutedToGroup() {
+        connection.onMessage(session, "{\"e\":\"scene-called\",\"gid\":\"12\",\"r\":\"scenes\",\"scid\":\"2\"}");
+
+        ArgumentCaptor<DeconzBaseMessage> captor = ArgumentCaptor.forClass(DeconzBaseMessage.class);
+        verify(groupListener).messageReceived(captor.capture());
+        assertThat(captor.getValue() instanceof GroupMessage, is(false));
+        assertThat(captor.getValue().scid, is("2"));
+    }
+
+    @Test
+    public void eventsWithoutListenerAreSkipped() {
+        connection.onMessage(session, "{\"e\":\"changed\",\"id\":\"4\",\"r\":\"lights\",\"state\":{\"on\":true}}");
+        connection.onMessage(session, "{\"e\":\"changed\",\"id\":\"3\",\"r\":\"unknown\"}");
+        connection.onMessage(session, "{\"e\":\"changed\",\"id\":\"abc\",\"r\":\"lights\"}");
+        connection.onMessage(session, "no json");
+
+        connection.unregisterListener(ResourceType.SENSORS, "3");
+        connection.onMessage(session, "{\"e\":\"changed\",\"id\":\"3\",\"r\":\"sensors\",\"state\":{}}");
+
+        verify(lightListener, never()).messageReceived(any());
+        verify(sensorListener, never()).messageReceived(any());
+        verify(groupListener, never()).messageReceived(any());
+    }
+}
@@ -204,6 +204,7 @@ public abstract class EEP {
         EEPType localType = eepType;
         if (localType == null) {
             localType = EEPType.getType(this.getClass());
+            eepType = localType;
         }
 
         return localType;
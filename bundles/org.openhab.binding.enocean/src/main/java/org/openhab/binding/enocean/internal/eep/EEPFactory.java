@@ -14,8 +14,17 @@ package org.openhab.binding.enocean.internal.eep;
 
 import static org.openhab.binding.enocean.internal.messages.ESP3Packet.*;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -48,28 +57,70 @@ public class EEPFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(EEPFactory.class);
 
-    public static EEP createEEP(EEPType eepType) {
-        try {
+    // constructors of the EEP classes, bound once per EEP type instead of being looked up for every telegram
+    private static final Map<EEPType, Function<ERP1Message, EEP>> RECEIVING_FACTORIES = new EnumMap<>(EEPType.class);
+    private static final Map<EEPType, Supplier<EEP>> SENDING_FACTORIES = new EnumMap<>(EEPType.class);
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (EEPType eepType : EEPType.values()) {
             Class<? extends EEP> cl = eepType.getEEPClass();
-            if (cl == null) {
-                throw new IllegalArgumentException("Message " + eepType + " not implemented");
+            if (Modifier.isAbstract(cl.getModifiers())) {
+                continue;
             }
-            return cl.getDeclaredConstructor().newInstance();
-        } catch (IllegalAccessException | InstantiationException | IllegalArgumentException | InvocationTargetException
-                | NoSuchMethodException | SecurityException e) {
+
+            try {
+                MethodHandle constructor = lookup.findConstructor(cl,
+                        MethodType.methodType(void.class, ERP1Message.class));
+                RECEIVING_FACTORIES.put(eepType, createFactory(lookup, Function.class, "apply",
+                        MethodType.methodType(Object.class, Object.class), constructor));
+            } catch (NoSuchMethodException e) {
+                // EEP can only be sent
+            } catch (Throwable e) {
+                logger.warn("Cannot create factory for received EEP {}: {}", eepType.getId(), e.getMessage());
+            }
+
+            try {
+                MethodHandle constructor = lookup.findConstructor(cl, MethodType.methodType(void.class));
+                SENDING_FACTORIES.put(eepType, createFactory(lookup, Supplier.class, "get",
+                        MethodType.methodType(Object.class), constructor));
+            } catch (NoSuchMethodException e) {
+                // EEP can only be received
+            } catch (Throwable e) {
+                logger.warn("Cannot create factory for sent EEP {}: {}", eepType.getId(), e.getMessage());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T createFactory(MethodHandles.Lookup lookup, Class<T> factoryType, String methodName,
+            MethodType methodType, MethodHandle constructor) throws Throwable {
+        CallSite site = LambdaMetafactory.metafactory(lookup, methodName, MethodType.methodType(factoryType),
+                methodType, constructor, constructor.type());
+        return (T) site.getTarget().invoke();
+    }
+
+    public static EEP createEEP(EEPType eepType) {
+        Supplier<EEP> factory = SENDING_FACTORIES.get(eepType);
+        if (factory == null) {
+            throw new IllegalArgumentException("Message " + eepType + " not implemented");
+        }
+
+        try {
+            return factory.get();
+        } catch (RuntimeException e) {
             throw new IllegalArgumentException(e);
         }
     }
 
     public static EEP buildEEP(EEPType eepType, ERP1Message packet) {
         try {
-            Class<? extends EEP> cl = eepType.getEEPClass();
-            if (cl == null) {
+            Function<ERP1Message, EEP> factory = RECEIVING_FACTORIES.get(eepType);
+            if (factory == null) {
                 throw new IllegalArgumentException("Message " + eepType + " not implemented");
             }
-            return cl.getConstructor(ERP1Message.class).newInstance(packet);
-        } catch (IllegalAccessException | InstantiationException | IllegalArgumentException | InvocationTargetException
-                | NoSuchMethodException | SecurityException e) {
+            return factory.apply(packet);
+        } catch (RuntimeException e) {
             logger.error("Cannot instantiate EEP {}-{}-{}: {}",
                     HexUtils.bytesToHex(new byte[] { eepType.getRORG().getValue() }),
                     HexUtils.bytesToHex(new byte[] { (byte) eepType.getFunc() }),
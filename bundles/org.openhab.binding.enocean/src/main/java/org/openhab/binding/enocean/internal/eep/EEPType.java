@@ -14,8 +14,11 @@ package org.openhab.binding.enocean.internal.eep;
 
 import static org.openhab.binding.enocean.internal.EnOceanBindingConstants.*;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -540,6 +543,21 @@ public enum EEPType {
             CHANNEL_SUPPLYAIRFANAIRFLOWRATE, CHANNEL_EXHAUSTAIRFANAIRFLOWRATE, CHANNEL_SUPPLYFANSPEED,
             CHANNEL_EXHAUSTFANSPEED);
 
+    // lookup tables for the EEP of received telegrams, so a message does not need to scan all types
+    private static final Map<String, EEPType> TYPES_BY_ID = new HashMap<>();
+    private static final Map<Class<? extends EEP>, EEPType> TYPES_BY_CLASS = new HashMap<>();
+    private static final Map<Integer, List<EEPType>> TYPES_BY_PROFILE = new HashMap<>();
+
+    static {
+        for (EEPType eep : values()) {
+            // the first type wins like it did when scanning all types
+            TYPES_BY_ID.putIfAbsent(eep.id, eep);
+            TYPES_BY_CLASS.putIfAbsent(eep.eepClass, eep);
+            TYPES_BY_PROFILE.computeIfAbsent(profileKey(eep.rorg, eep.func, eep.type), k -> new ArrayList<>())
+                    .add(eep);
+        }
+    }
+
     private RORG rorg;
     private int func;
     private int type;
@@ -558,6 +576,8 @@ public enum EEPType {
 
     private boolean requestsResponse;
 
+    private String id;
+
     EEPType(RORG rorg, int func, int type, boolean supportsRefresh, Class<? extends EEP> eepClass,
             @Nullable ThingTypeUID thingTypeUID, String... channelIds) {
         this(rorg, func, type, supportsRefresh, eepClass, thingTypeUID, -1, channelIds);
@@ -597,6 +617,7 @@ public enum EEPType {
         this.manufactorId = manufId;
         this.supportsRefresh = supportsRefresh;
         this.requestsResponse = requestsResponse;
+        this.id = createId();
 
         for (String id : channelIds) {
             if (id != null) {
@@ -625,6 +646,7 @@ public enum EEPType {
         this.manufactorId = manufId;
         this.supportsRefresh = supportsRefresh;
         this.requestsResponse = requestsResponse;
+        this.id = createId();
 
         for (String id : channelConfigs.keySet()) {
             this.supportedChannels = addChannelDescription(supportedChannels, id, CHANNELID2CHANNELDESCRIPTION.get(id));
@@ -738,6 +760,10 @@ public enum EEPType {
     }
 
     public String getId() {
+        return id;
+    }
+
+    private String createId() {
         if (command == -1) {
             return String.format("%02X_%02X_%02X", rorg.getValue(), func, type);
         } else if (command == 0) {
@@ -759,36 +785,40 @@ public enum EEPType {
     }
 
     public static EEPType getType(String receivingEEPId) {
-        for (EEPType eep : values()) {
-            if (eep.getId().equals(receivingEEPId)) {
-                return eep;
-            }
+        EEPType eep = TYPES_BY_ID.get(receivingEEPId);
+        if (eep == null) {
+            throw new IllegalArgumentException(String.format("EEP with id %s could not be found", receivingEEPId));
         }
 
-        throw new IllegalArgumentException(String.format("EEP with id %s could not be found", receivingEEPId));
+        return eep;
     }
 
     public static EEPType getType(Class<? extends EEP> eepClass) {
-        for (EEPType eep : values()) {
-            if (eep.eepClass.equals(eepClass)) {
-                return eep;
-            }
+        EEPType eep = TYPES_BY_CLASS.get(eepClass);
+        if (eep == null) {
+            throw new IllegalArgumentException(
+                    String.format("EEP with class %s could not be found", eepClass.getName()));
         }
 
-        throw new IllegalArgumentException(String.format("EEP with class %s could not be found", eepClass.getName()));
+        return eep;
     }
 
     public static @Nullable EEPType getType(RORG rorg, int func, int type, int manufId) {
-        EEPType fallback = null;
+        List<EEPType> eeps = TYPES_BY_PROFILE.get(profileKey(rorg, func, type));
+        if (eeps == null) {
+            return null;
+        }
 
-        for (EEPType eep : values()) {
-            if (eep.rorg == rorg && eep.func == func && eep.type == type && eep.manufactorId == manufId) {
+        for (EEPType eep : eeps) {
+            if (eep.manufactorId == manufId) {
                 return eep;
-            } else if (fallback == null && eep.rorg == rorg && eep.func == func && eep.type == type) {
-                fallback = eep;
             }
         }
 
-        return fallback;
+        return eeps.get(0);
+    }
+
+    private static int profileKey(RORG rorg, int func, int type) {
+        return ((rorg.getValue() & 0xFF) << 16) | ((func & 0xFF) << 8) | (type & 0xFF);
     }
 }
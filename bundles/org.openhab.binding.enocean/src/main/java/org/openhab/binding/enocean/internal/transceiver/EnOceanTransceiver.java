@@ -15,9 +15,7 @@ package org.openhab.binding.enocean.internal.transceiver;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Queue;
 import java.util.TooManyListenersException;
 import java.util.concurrent.Future;
@@ -156,7 +154,7 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
     @Nullable
     Request currentRequest = null;
 
-    protected Map<Long, HashSet<PacketListener>> listeners;
+    protected PacketListenerMap listeners;
     protected HashSet<EventListener> eventListeners;
     protected @Nullable TeachInListener teachInListener;
 
@@ -171,7 +169,7 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
             @Nullable SerialPortManager serialPortManager) {
         requestQueue = new RequestQueue(scheduler);
 
-        listeners = new HashMap<>();
+        listeners = new PacketListenerMap();
         eventListeners = new HashSet<>();
         teachInListener = null;
 
@@ -354,12 +352,12 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
                             return;
                         }
 
-                        long s = Long.parseLong(HexUtils.bytesToHex(senderId), 16);
-                        synchronized (this) {
-                            HashSet<PacketListener> pl = listeners.get(s);
-                            if (pl != null) {
-                                pl.forEach(l -> l.packetReceived(msg));
-                            }
+                        long s = 0;
+                        for (byte b : senderId) {
+                            s = (s << 8) | (b & 0xFF);
+                        }
+                        for (PacketListener l : listeners.get(s)) {
+                            l.packetReceived(msg);
                         }
                     }
                 } else {
@@ -436,20 +434,14 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
 
     protected abstract byte[] serializePacket(BasePacket packet) throws EnOceanException;
 
-    public synchronized void addPacketListener(PacketListener listener, long senderIdToListenTo) {
-        if (listeners.computeIfAbsent(senderIdToListenTo, k -> new HashSet<>()).add(listener)) {
+    public void addPacketListener(PacketListener listener, long senderIdToListenTo) {
+        if (listeners.add(senderIdToListenTo, listener)) {
             logger.debug("Listener added: {}", senderIdToListenTo);
         }
     }
 
-    public synchronized void removePacketListener(PacketListener listener, long senderIdToListenTo) {
-        HashSet<PacketListener> pl = listeners.get(senderIdToListenTo);
-        if (pl != null) {
-            pl.remove(listener);
-            if (pl.isEmpty()) {
-                listeners.remove(senderIdToListenTo);
-            }
-        }
+    public void removePacketListener(PacketListener listener, long senderIdToListenTo) {
+        listeners.remove(senderIdToListenTo, listener);
     }
 
     public synchronized void addEventMessageListener(EventListener listener) {
@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.enocean.internal.transceiver;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Maps sender ids to the {@link PacketListener}s that listen to them.
+ * <p>
+ * The sender ids are kept as primitive longs in an open addressing table, so looking up the listeners of a received
+ * telegram does not box the id or iterate a set. Listeners are only added and removed when things are initialized or
+ * disposed, so every change creates a new table and lookups read the current table without locking.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PacketListenerMap {
+
+    private static final PacketListener[] NO_LISTENERS = new PacketListener[0];
+
+    private static final class Table {
+        private static final Table EMPTY = new Table(8);
+
+        private final long[] senderIds;
+        // null marks a free slot
+        private final PacketListener[] @Nullable [] listeners;
+        private int size = 0;
+
+        private Table(int capacity) {
+            senderIds = new long[capacity];
+            listeners = new PacketListener[capacity][];
+        }
+
+        private PacketListener[] get(long senderId) {
+            int mask = senderIds.length - 1;
+            for (int i = hash(senderId) & mask;; i = (i + 1) & mask) {
+                PacketListener[] l = listeners[i];
+                if (l == null) {
+                    return NO_LISTENERS;
+                } else if (senderIds[i] == senderId) {
+                    return l;
+                }
+            }
+        }
+
+        private void insert(long senderId, PacketListener[] l) {
+            int mask = senderIds.length - 1;
+            int i = hash(senderId) & mask;
+            while (listeners[i] != null) {
+                i = (i + 1) & mask;
+            }
+            senderIds[i] = senderId;
+            listeners[i] = l;
+            size++;
+        }
+
+        /**
+         * Creates a copy of this table in which the sender id maps to the given listeners.
+         *
+         * @param l listeners of the sender id, an empty array removes the sender id
+         */
+        private Table with(long senderId, PacketListener[] l) {
+            int newSize = size + 1;
+            int capacity = 8;
+            // keep the table at most half full
+            while (capacity < newSize * 2) {
+                capacity *= 2;
+            }
+            Table table = new Table(capacity);
+            for (int i = 0; i < senderIds.length; i++) {
+                PacketListener[] current = listeners[i];
+                if (current != null && senderIds[i] != senderId) {
+                    table.insert(senderIds[i], current);
+                }
+            }
+            if (l.length > 0) {
+                table.insert(senderId, l);
+            }
+            return table;
+        }
+
+        private static int hash(long senderId) {
+            long h = senderId * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+
+    private volatile Table table = Table.EMPTY;
+
+    /**
+     * Returns the listeners of a sender id. The returned array must not be modified.
+     *
+     * @param senderId sender id of a received telegram
+     * @return the listeners, an empty array if there are none
+     */
+    public PacketListener[] get(long senderId) {
+        return table.get(senderId);
+    }
+
+    /**
+     * @return true if the listener was added, false if it already listens to the sender id
+     */
+    public synchronized boolean add(long senderId, PacketListener listener) {
+        Table current = table;
+        PacketListener[] l = current.get(senderId);
+        for (PacketListener existing : l) {
+            if (existing.equals(listener)) {
+                return false;
+            }
+        }
+        l = Arrays.copyOf(l, l.length + 1);
+        l[l.length - 1] = listener;
+        table = current.with(senderId, l);
+        return true;
+    }
+
+    /**
+     * @return true if the listener was removed, false if it did not listen to the sender id
+     */
+    public synchronized boolean remove(long senderId, PacketListener listener) {
+        Table current = table;
+        PacketListener[] l = current.get(senderId);
+        for (int i = 0; i < l.length; i++) {
+            if (l[i].equals(listener)) {
+                PacketListener[] remaining = new PacketListener[l.length - 1];
+                System.arraycopy(l, 0, remaining, 0, i);
+                System.arraycopy(l, i + 1, remaining, i, remaining.length - i);
+                table = current.with(senderId, remaining);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized void clear() {
+        table = Table.EMPTY;
+    }
+
+    public int size() {
+        return table.size;
+    }
+}
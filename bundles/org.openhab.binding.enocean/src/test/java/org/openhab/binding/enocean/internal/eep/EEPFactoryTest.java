@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.enocean.internal.eep;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.openhab.binding.enocean.internal.EnOceanBindingConstants.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_05;
+import org.openhab.binding.enocean.internal.eep.D2_01.D2_01_00;
+import org.openhab.binding.enocean.internal.eep.F6_02.F6_02_01;
+import org.openhab.binding.enocean.internal.messages.ERP1Message;
+import org.openhab.core.config.core.Configuration;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.thing.CommonTriggerEvents;
+import org.openhab.core.types.State;
+import org.openhab.core.types.UnDefType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests that {@link EEPFactory} creates the EEPs of received and sent telegrams.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class EEPFactoryTest {
+    private static final byte[] SENDER_ID = new byte[] { 0x01, (byte) 0x8A, 0x2B, 0x3C };
+
+    private final Logger logger = LoggerFactory.getLogger(EEPFactoryTest.class);
+
+    /**
+     * Creates a 4BS data telegram of a temperature sensor with the given temperature value in DB1.
+     */
+    private static ERP1Message temperatureTelegram(int db1) {
+        return new ERP1Message(10, 0, new byte[] { (byte) 0xA5, 0x00, 0x00, (byte) db1, 0x08, SENDER_ID[0],
+                SENDER_ID[1], SENDER_ID[2], SENDER_ID[3], 0x00 });
+    }
+
+    /**
+     * Creates an RPS telegram of a rocker switch on which button A0 is pressed.
+     */
+    private static ERP1Message rockerSwitchTelegram() {
+        return new ERP1Message(7, 0,
+                new byte[] { (byte) 0xF6, 0x30, SENDER_ID[0], SENDER_ID[1], SENDER_ID[2], SENDER_ID[3], 0x30 });
+    }
+
+    /**
+     * Creates a VLD status response of an actuator which switched all of its channels on.
+     */
+    private static ERP1Message switchStatusTelegram() {
+        return new ERP1Message(9, 0, new byte[] { (byte) 0xD2, 0x04, 0x1E, 0x64, SENDER_ID[0], SENDER_ID[1],
+                SENDER_ID[2], SENDER_ID[3], 0x00 });
+    }
+
+    @Test
+    public void temperatureSensorIsBuilt() {
+        EEP eep = EEPFactory.buildEEP(EEPType.TemperatureSensor_A5_02_05, temperatureTelegram(128));
+
+        assertInstanceOf(A5_02_05.class, eep);
+        assertTrue(eep.isValid());
+        assertArrayEquals(SENDER_ID, eep.getSenderId());
+        State state = eep.convertToState(CHANNEL_TEMPERATURE, "", new Configuration(), channelId -> null);
+        assertInstanceOf(QuantityType.class, state);
+        // DB1 is scaled from 255..0 to 0..40 °C
+        assertEquals(127 * 40 / 255.0, ((QuantityType<?>) state).doubleValue(), 0.001);
+    }
+
+    @Test
+    public void rockerSwitchIsBuilt() {
+        EEP eep = EEPFactory.buildEEP(EEPType.RockerSwitch2RockerStyle1, rockerSwitchTelegram());
+
+        assertInstanceOf(F6_02_01.class, eep);
+        assertTrue(eep.isValid());
+        assertArrayEquals(SENDER_ID, eep.getSenderId());
+        assertEquals(CommonTriggerEvents.DIR1_PRESSED,
+                eep.convertToEvent(CHANNEL_ROCKERSWITCH_CHANNELA, "", "", new Configuration()));
+    }
+
+    @Test
+    public void switchStatusIsBuilt() {
+        EEP eep = EEPFactory.buildEEP(EEPType.SwitchWithEnergyMeasurment_00, switchStatusTelegram());
+
+        assertInstanceOf(D2_01_00.class, eep);
+        assertTrue(eep.isValid());
+        assertArrayEquals(SENDER_ID, eep.getSenderId());
+        assertEquals(OnOffType.ON,
+                eep.convertToState(CHANNEL_GENERAL_SWITCHING, "", new Configuration(), channelId -> null));
+    }
+
+    @Test
+    public void switchCommandIsSent() {
+        EEP eep = EEPFactory.createEEP(EEPType.SwitchWithEnergyMeasurment_00);
+        assertInstanceOf(D2_01_00.class, eep);
+
+        eep.convertFromCommand(CHANNEL_GENERAL_SWITCHING, "", OnOffType.ON, channelId -> UnDefType.UNDEF, null)
+                .setSenderId(SENDER_ID);
+
+        ERP1Message message = eep.getERP1Message();
+        assertNotNull(message);
+        assertArrayEquals(new byte[] { (byte) 0xD2, 0x01, 0x1E, 0x01, SENDER_ID[0], SENDER_ID[1], SENDER_ID[2],
+                SENDER_ID[3], 0x00 }, message.getPayload());
+        assertArrayEquals(SENDER_ID, message.getSenderId());
+    }
+
+    @Test
+    public void everyTelegramGetsItsOwnEEP() {
+        ERP1Message telegram = temperatureTelegram(0);
+
+        EEP first = EEPFactory.buildEEP(EEPType.TemperatureSensor_A5_02_05, telegram);
+        EEP second = EEPFactory.buildEEP(EEPType.TemperatureSensor_A5_02_05, telegram);
+
+        assertNotSame(first, second);
+        assertNotSame(EEPFactory.createEEP(EEPType.SwitchWithEnergyMeasurment_00),
+                EEPFactory.createEEP(EEPType.SwitchWithEnergyMeasurment_00));
+    }
+
+    @Test
+    public void receiveOnlyEEPCannotBeSent() {
+        // temperature sensors only have a constructor for received telegrams
+        assertThrows(IllegalArgumentException.class,
+                () -> EEPFactory.createEEP(EEPType.TemperatureSensor_A5_02_05));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "enocean.benchmark", matches = "true")
+    public void benchmarkBuildEEP() {
+        ERP1Message[] telegrams = new ERP1Message[] { temperatureTelegram(100), rockerSwitchTelegram(),
+                switchStatusTelegram() };
+        EEPType[] types = new EEPType[] { EEPType.TemperatureSensor_A5_02_05, EEPType.RockerSwitch2RockerStyle1,
+                EEPType.SwitchWithEnergyMeasurment_00 };
+        int iterations = 1_000_000;
+        for (int i = 0; i < iterations; i++) {
+            EEPFactory.buildEEP(types[i % 3], telegrams[i % 3]);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            EEPFactory.buildEEP(types[i % 3], telegrams[i % 3]);
+        }
+        long nanos = System.nanoTime() - start;
+        logger.info("Built {} EEPs/s", iterations * 1_000_000_000L / nanos);
+    }
+}
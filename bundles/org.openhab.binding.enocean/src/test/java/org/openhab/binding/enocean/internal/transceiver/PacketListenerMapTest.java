@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.enocean.internal.transceiver;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openhab.binding.enocean.internal.messages.BasePacket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests the lookup of listeners by sender id in {@link PacketListenerMap}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PacketListenerMapTest {
+    private final Logger logger = LoggerFactory.getLogger(PacketListenerMapTest.class);
+    private final PacketListenerMap map = new PacketListenerMap();
+
+    private static class TestListener implements PacketListener {
+        private final long senderId;
+
+        TestListener(long senderId) {
+            this.senderId = senderId;
+        }
+
+        @Override
+        public void packetReceived(BasePacket packet) {
+        }
+
+        @Override
+        public long getEnOceanIdToListenTo() {
+            return senderId;
+        }
+    }
+
+    @Test
+    public void listenersAreAddedAndRemoved() {
+        TestListener first = new TestListener(0xFEE1A001L);
+        TestListener second = new TestListener(0xFEE1A001L);
+
+        assertEquals(0, map.get(0xFEE1A001L).length);
+        assertTrue(map.add(0xFEE1A001L, first));
+        assertTrue(map.add(0xFEE1A001L, second));
+        assertArrayEquals(new PacketListener[] { first, second }, map.get(0xFEE1A001L));
+        assertEquals(1, map.size());
+        assertEquals(0, map.get(0xFEE1A002L).length);
+
+        assertTrue(map.remove(0xFEE1A001L, first));
+        assertArrayEquals(new PacketListener[] { second }, map.get(0xFEE1A001L));
+        assertFalse(map.remove(0xFEE1A001L, first));
+        assertFalse(map.remove(0xFEE1A002L, second));
+
+        assertTrue(map.remove(0xFEE1A001L, second));
+        assertEquals(0, map.get(0xFEE1A001L).length);
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void duplicateListenerIsNotAdded() {
+        TestListener listener = new TestListener(0x01020304L);
+
+        assertTrue(map.add(0x01020304L, listener));
+        assertFalse(map.add(0x01020304L, listener));
+        assertEquals(1, map.get(0x01020304L).length);
+
+        // the same listener may listen to another sender id
+        assertTrue(map.add(0x01020305L, listener));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void returnedListenersAreNotChangedByLaterUpdates() {
+        TestListener first = new TestListener(0x01020304L);
+        map.add(0x01020304L, first);
+        PacketListener[] listeners = map.get(0x01020304L);
+
+        map.add(0x01020304L, new TestListener(0x01020304L));
+        map.remove(0x01020304L, first);
+
+        assertArrayEquals(new PacketListener[] { first }, listeners);
+    }
+
+    @Test
+    public void collidingSenderIdsAreKeptApart() {
+        // sender ids of one gateway only differ in the lowest bits, the table grows several times
+        int count = 1000;
+        TestListener[] listeners = new TestListener[count];
+        for (int i = 0; i < count; i++) {
+            long senderId = 0xFF800000L + i;
+            listeners[i] = new TestListener(senderId);
+            assertTrue(map.add(senderId, listeners[i]));
+        }
+        assertEquals(count, map.size());
+        for (int i = 0; i < count; i++) {
+            assertArrayEquals(new PacketListener[] { listeners[i] }, map.get(0xFF800000L + i));
+        }
+
+        // removing every other id must not break the probe sequences of the remaining ones
+        for (int i = 0; i < count; i += 2) {
+            assertTrue(map.remove(0xFF800000L + i, listeners[i]));
+        }
+        assertEquals(count / 2, map.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i % 2 == 0 ? 0 : 1, map.get(0xFF800000L + i).length);
+        }
+        assertEquals(0, map.get(0xFF800000L + count).length);
+    }
+
+    @Test
+    public void clearRemovesAllListeners() {
+        for (long senderId = 1; senderId <= 20; senderId++) {
+            map.add(senderId, new TestListener(senderId));
+        }
+        assertEquals(20, map.size());
+
+        map.clear();
+
+        assertEquals(0, map.size());
+        for (long senderId = 1; senderId <= 20; senderId++) {
+            assertEquals(0, map.get(senderId).length);
+        }
+        assertTrue(map.add(1, new TestListener(1)));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "enocean.benchmark", matches = "true")
+    public void benchmarkLookup() {
+        int things = 200;
+        for (int i = 0; i < things; i++) {
+            long senderId = 0xFF800000L + i * 7;
+            map.add(senderId, new TestListener(senderId));
+        }
+        int iterations = 10_000_000;
+        long found = 0;
+        for (int i = 0; i < iterations; i++) {
+            found += map.get(0xFF800000L + (i % (2 * things)) * 7).length;
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            found += map.get(0xFF800000L + (i % (2 * things)) * 7).length;
+        }
+        long nanos = System.nanoTime() - start;
+        assertEquals(iterations, found);
+        logger.info("Looked up {} telegrams/s in {} sender ids", iterations * 1_000_000_000L / nanos, things);
+    }
+}
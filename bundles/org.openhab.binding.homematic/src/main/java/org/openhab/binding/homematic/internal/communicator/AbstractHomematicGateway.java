@@ -15,6 +15,7 @@ package org.openhab.binding.homematic.internal.communicator;
 import static org.openhab.binding.homematic.internal.HomematicBindingConstants.*;
 import static org.openhab.binding.homematic.internal.misc.HomematicConstants.*;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -37,6 +38,7 @@ import org.openhab.binding.homematic.internal.communicator.client.RpcClient;
 import org.openhab.binding.homematic.internal.communicator.client.TransferMode;
 import org.openhab.binding.homematic.internal.communicator.client.UnknownParameterSetException;
 import org.openhab.binding.homematic.internal.communicator.client.XmlRpcClient;
+import org.openhab.binding.homematic.internal.communicator.parser.GetParamsetDescriptionParser;
 import org.openhab.binding.homematic.internal.communicator.parser.ListBidcosInterfacesParser;
 import org.openhab.binding.homematic.internal.communicator.server.BinRpcServer;
 import org.openhab.binding.homematic.internal.communicator.server.RpcEventListener;
@@ -76,6 +78,7 @@ import org.openhab.binding.homematic.internal.model.HmInterface;
 import org.openhab.binding.homematic.internal.model.HmParamsetType;
 import org.openhab.binding.homematic.internal.model.HmRssiInfo;
 import org.openhab.binding.homematic.internal.model.HmValueType;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -90,6 +93,7 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     public static final double DEFAULT_DISABLE_DELAY = 2.0;
     private static final long RESTART_DELAY = 30;
     private static final long CONNECTION_TRACKER_INTERVAL_SECONDS = 15;
+    private static final int PARAMSET_DESCRIPTION_BATCH_SIZE = 50;
 
     private final Map<TransferMode, RpcClient<?>> rpcClients = new HashMap<>();
     private final Map<TransferMode, RpcServer> rpcServers = new HashMap<>();
@@ -110,6 +114,7 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     private boolean initialized;
     private boolean newDeviceEventsEnabled;
     private ScheduledFuture<?> enableNewDeviceFuture;
+    private ParamsetDescriptionCache paramsetDescriptionCache;
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(GATEWAY_POOL_NAME);
 
     static {
@@ -218,6 +223,7 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         devices.clear();
         echoEvents.clear();
         availableInterfaces.clear();
+        paramsetDescriptionCache = null;
         config.setGatewayInfo(null);
     }
 
@@ -375,6 +381,8 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         cancelLoadAllMetadata = false;
         // load all device descriptions
         List<HmDevice> deviceDescriptions = getDeviceDescriptions();
+        ParamsetDescriptionCache descriptionCache = getParamsetDescriptionCache();
+        loadMissingParamsetDescriptions(deviceDescriptions, descriptionCache);
 
         // loading datapoints for all channels
         Set<String> loadedDevices = new HashSet<>();
@@ -396,16 +404,14 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
                                 HmChannel previousChannel = device.getChannel(channel.getNumber() - 1);
                                 cloneAllDatapointsIntoChannel(channel, previousChannel.getDatapoints());
                             } else {
-                                String channelId = String.format("%s:%s:%s", channel.getDevice().getType(),
-                                        channel.getDevice().getFirmware(), channel.getNumber());
+                                String channelId = ParamsetDescriptionCache.getKey(channel);
                                 Collection<HmDatapoint> cachedDatapoints = datapointsByChannelIdCache.get(channelId);
                                 if (cachedDatapoints != null) {
                                     // clone all datapoints
                                     cloneAllDatapointsIntoChannel(channel, cachedDatapoints);
                                 } else {
                                     logger.trace("    Loading datapoints into channel {}", channel);
-                                    addChannelDatapoints(channel, HmParamsetType.MASTER);
-                                    addChannelDatapoints(channel, HmParamsetType.VALUES);
+                                    addChannelDatapoints(channel, descriptionCache);
 
                                     // Make sure to only cache non-reconfigurable channels. For reconfigurable channels,
                                     // the data point set might change depending on the selected mode.
@@ -427,10 +433,144 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         }
         if (!cancelLoadAllMetadata) {
             devices.keySet().retainAll(loadedDevices);
+            descriptionCache.save();
         }
         initialized = true;
     }
 
+    /**
+     * Returns the paramset description cache of the gateway, which is loaded from disk on first use.
+     */
+    private ParamsetDescriptionCache getParamsetDescriptionCache() {
+        if (paramsetDescriptionCache == null) {
+            HmGatewayInfo gatewayInfo = config.getGatewayInfo();
+            File file = new File(OpenHAB.getUserDataFolder() + File.separator + "homematic" + File.separator + id
+                    + ".paramsets");
+            paramsetDescriptionCache = new ParamsetDescriptionCache(file,
+                    gatewayInfo.getType() + "-" + gatewayInfo.getFirmware());
+            paramsetDescriptionCache.load();
+        }
+        return paramsetDescriptionCache;
+    }
+
+    /**
+     * Compares the cached paramset descriptions with the channels of the devices and loads the missing descriptions
+     * with multicalls. The descriptions of channels that no longer exist are removed from the cache.
+     */
+    private void loadMissingParamsetDescriptions(List<HmDevice> deviceDescriptions,
+            ParamsetDescriptionCache descriptionCache) {
+        if (cancelLoadAllMetadata) {
+            return;
+        }
+        Set<String> channelIds = new HashSet<>();
+        Map<HmInterface, List<HmChannel>> missingChannels = new TreeMap<>();
+        for (HmDevice device : deviceDescriptions) {
+            if (device.isGatewayExtras()) {
+                continue;
+            }
+            for (HmChannel channel : device.getChannels()) {
+                if ((DEVICE_TYPE_VIRTUAL.equals(device.getType())
+                        || DEVICE_TYPE_VIRTUAL_WIRED.equals(device.getType())) && channel.getNumber() > 1) {
+                    // cloned from the previous channel
+                    continue;
+                }
+                String channelId = ParamsetDescriptionCache.getKey(channel);
+                if (channelIds.add(channelId) && !descriptionCache.contains(channelId)) {
+                    missingChannels.computeIfAbsent(device.getHmInterface(), i -> new ArrayList<>()).add(channel);
+                }
+            }
+        }
+        descriptionCache.retainAll(channelIds);
+        int missingCount = missingChannels.values().stream().mapToInt(List::size).sum();
+        logger.debug("Paramset descriptions of {} channel types cached, loading {} from gateway with id '{}'",
+                descriptionCache.size(), missingCount, id);
+        if (missingCount == 0) {
+            return;
+        }
+
+        for (Entry<HmInterface, List<HmChannel>> entry : missingChannels.entrySet()) {
+            List<HmChannel> channels = entry.getValue();
+            for (int i = 0; i < channels.size() && !cancelLoadAllMetadata; i += PARAMSET_DESCRIPTION_BATCH_SIZE) {
+                List<HmChannel> batch = channels.subList(i,
+                        Math.min(i + PARAMSET_DESCRIPTION_BATCH_SIZE, channels.size()));
+                loadParamsetDescriptions(entry.getKey(), batch, descriptionCache);
+            }
+        }
+    }
+
+    /**
+     * Loads the paramset descriptions of a batch of channels and adds them to the cache. Channels with a function
+     * that can be reconfigured are not cached, because their datapoints depend on the selected function. Channels
+     * whose descriptions can't be loaded with a multicall are loaded one by one later and cached then.
+     */
+    private void loadParamsetDescriptions(HmInterface hmInterface, List<HmChannel> channels,
+            ParamsetDescriptionCache descriptionCache) {
+        try {
+            List<Map<String, Object>> descriptions = getRpcClient(hmInterface).getParamsetDescriptions(hmInterface,
+                    channels);
+            for (int i = 0; i < channels.size(); i++) {
+                Map<String, Object> channelDescriptions = descriptions.get(i);
+                if (channelDescriptions != null && !isReconfigurable(channelDescriptions)) {
+                    descriptionCache.put(ParamsetDescriptionCache.getKey(channels.get(i)), channelDescriptions);
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            logger.debug("Can't load paramset descriptions of {} channels with a multicall from gateway '{}': {}",
+                    channels.size(), id, ex.getMessage());
+        }
+    }
+
+    private boolean isReconfigurable(Map<String, Object> channelDescriptions) {
+        Object masterDescription = channelDescriptions.get(HmParamsetType.MASTER.toString());
+        return masterDescription instanceof Map
+                && ((Map<?, ?>) masterDescription).containsKey(DATAPOINT_NAME_CHANNEL_FUNCTION);
+    }
+
+    /**
+     * Adds the datapoints of both paramsets to the channel, from the paramset description cache if possible.
+     */
+    private void addChannelDatapoints(HmChannel channel, ParamsetDescriptionCache descriptionCache)
+            throws IOException {
+        Map<String, Object> channelDescriptions = descriptionCache.get(ParamsetDescriptionCache.getKey(channel));
+        if (channelDescriptions != null) {
+            for (HmParamsetType paramsetType : List.of(HmParamsetType.MASTER, HmParamsetType.VALUES)) {
+                Object description = channelDescriptions.get(paramsetType.toString());
+                if (description != null) {
+                    new GetParamsetDescriptionParser(channel, paramsetType).parse(new Object[] { description });
+                }
+            }
+        } else {
+            loadChannelDatapoints(channel, descriptionCache);
+        }
+    }
+
+    /**
+     * Loads the paramset descriptions of the channel with single requests and adds them to the cache, so they don't
+     * have to be loaded again on the next start. If a paramset is unknown to the gateway, the datapoints are loaded
+     * the gateway specific way and the channel is not cached.
+     */
+    private void loadChannelDatapoints(HmChannel channel, ParamsetDescriptionCache descriptionCache)
+            throws IOException {
+        RpcClient<?> rpcClient = getRpcClient(channel.getDevice().getHmInterface());
+        Map<String, Object> channelDescriptions = new HashMap<>();
+        boolean complete = true;
+        for (HmParamsetType paramsetType : List.of(HmParamsetType.MASTER, HmParamsetType.VALUES)) {
+            try {
+                Object description = rpcClient.getParamsetDescription(channel, paramsetType);
+                if (description != null) {
+                    new GetParamsetDescriptionParser(channel, paramsetType).parse(new Object[] { description });
+                    channelDescriptions.put(paramsetType.toString(), description);
+                }
+            } catch (UnknownParameterSetException ex) {
+                complete = false;
+                addChannelDatapoints(channel, paramsetType);
+            }
+        }
+        if (complete && !isReconfigurable(channelDescriptions)) {
+            descriptionCache.put(ParamsetDescriptionCache.getKey(channel), channelDescriptions);
+        }
+    }
+
     /**
      * Loads all datapoints from the gateway.
      */
@@ -764,8 +904,7 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
                     for (HmDevice device : deviceDescriptions) {
                         if (device.getAddress().equals(address)) {
                             for (HmChannel channel : device.getChannels()) {
-                                addChannelDatapoints(channel, HmParamsetType.MASTER);
-                                addChannelDatapoints(channel, HmParamsetType.VALUES);
+                                addChannelDatapoints(channel, getParamsetDescriptionCache());
                             }
                             prepareDevice(device);
                             gatewayAdapter.onNewDevice(device);
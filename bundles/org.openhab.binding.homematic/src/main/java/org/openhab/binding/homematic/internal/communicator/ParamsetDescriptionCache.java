@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
+import org.openhab.binding.homematic.internal.model.HmChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent cache of the paramset descriptions of device channels, so they don't have to be loaded from the gateway
+ * on every start.
+ * <p>
+ * The descriptions of a channel are stored with the device type, the firmware and the channel number as key, so a
+ * firmware update of a device leads to a new entry. The cache file is written as BIN-RPC message, which keeps the
+ * data types of the descriptions, and is only used if it has been written by the same cache version for the same
+ * gateway firmware.
+ *
+ * @author agent - Initial contribution
+ */
+public class ParamsetDescriptionCache {
+    private static final int CACHE_VERSION = 1;
+    private static final Charset ENCODING = StandardCharsets.UTF_8;
+
+    private final Logger logger = LoggerFactory.getLogger(ParamsetDescriptionCache.class);
+
+    private final Path file;
+    private final String gatewayVersion;
+    private final Map<String, Map<String, Object>> descriptions = new ConcurrentHashMap<>();
+    private volatile boolean modified;
+    private boolean loaded;
+
+    public ParamsetDescriptionCache(File file, String gatewayVersion) {
+        this.file = file.toPath();
+        this.gatewayVersion = gatewayVersion;
+    }
+
+    /**
+     * Returns the key of the descriptions of the given channel.
+     */
+    public static String getKey(HmChannel channel) {
+        return String.format("%s:%s:%s", channel.getDevice().getType(), channel.getDevice().getFirmware(),
+                channel.getNumber());
+    }
+
+    /**
+     * Loads the cache file, if it has not been loaded yet. A cache file of another version is ignored.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(file))) {
+            Object[] data = new BinRpcMessage(is, false, ENCODING).getResponseData();
+            if (data.length == 3 && Integer.valueOf(CACHE_VERSION).equals(data[0]) && gatewayVersion.equals(data[1])
+                    && data[2] instanceof Map) {
+                for (Map.Entry<String, Object> entry : ((Map<String, Object>) data[2]).entrySet()) {
+                    if (entry.getValue() instanceof Map) {
+                        descriptions.put(entry.getKey(), (Map<String, Object>) entry.getValue());
+                    }
+                }
+                logger.debug("Loaded paramset descriptions of {} channel types from {}", descriptions.size(), file);
+            } else {
+                logger.debug("Ignoring paramset description cache {} of another version", file);
+                modified = true;
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Can't read paramset description cache {}: {}", file, e.getMessage());
+            modified = true;
+        }
+    }
+
+    /**
+     * Returns the descriptions of a channel by paramset type, or null if they are not cached.
+     */
+    public Map<String, Object> get(String key) {
+        return descriptions.get(key);
+    }
+
+    /**
+     * Returns true if the descriptions of the channel with the given key are cached.
+     */
+    public boolean contains(String key) {
+        return descriptions.containsKey(key);
+    }
+
+    /**
+     * Adds the descriptions of a channel by paramset type.
+     */
+    public void put(String key, Map<String, Object> paramsetDescriptions) {
+        descriptions.put(key, paramsetDescriptions);
+        modified = true;
+    }
+
+    /**
+     * Removes the descriptions of all channels whose keys are not in the given collection, e.g. of devices that have
+     * been deleted or have a new firmware.
+     */
+    public void retainAll(Collection<String> keys) {
+        if (descriptions.keySet().retainAll(keys)) {
+            modified = true;
+        }
+    }
+
+    /**
+     * Returns the number of cached channels.
+     */
+    public int size() {
+        return descriptions.size();
+    }
+
+    /**
+     * Writes the cache file, if the cache has been modified since it has been loaded or saved.
+     */
+    public synchronized void save() {
+        if (!modified) {
+            return;
+        }
+        modified = false;
+        try {
+            BinRpcMessage message = new BinRpcMessage(null, BinRpcMessage.TYPE.RESPONSE, ENCODING);
+            message.addArg(CACHE_VERSION);
+            message.addArg(gatewayVersion);
+            message.addArg(new TreeMap<>(descriptions));
+
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(tempFile, message.createMessage());
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.debug("Saved paramset descriptions of {} channel types to {}", descriptions.size(), file);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Can't write paramset description cache {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -15,6 +15,7 @@ package org.openhab.binding.homematic.internal.communicator.client;
 import static org.openhab.binding.homematic.internal.HomematicBindingConstants.*;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -220,10 +221,72 @@ public abstract class RpcClient<T> {
             // The configuration channel only has a MASTER Paramset, so there is nothing to load
             return;
         }
+        new GetParamsetDescriptionParser(channel, paramsetType)
+                .parse(new Object[] { getParamsetDescription(channel, paramsetType) });
+    }
+
+    /**
+     * Loads the description of a paramset of the given channel as returned by the gateway. Returns null for the
+     * VALUES paramset of the configuration channel, which only has a MASTER paramset.
+     */
+    public Object getParamsetDescription(HmChannel channel, HmParamsetType paramsetType) throws IOException {
+        if (isConfigurationChannel(channel) && paramsetType != HmParamsetType.MASTER) {
+            return null;
+        }
         RpcRequest<T> request = createRpcRequest("getParamsetDescription");
         request.addArg(getRpcAddress(channel.getDevice().getAddress()) + getChannelSuffix(channel));
         request.addArg(paramsetType.toString());
-        new GetParamsetDescriptionParser(channel, paramsetType).parse(sendMessage(config.getRpcPort(channel), request));
+        return sendMessage(config.getRpcPort(channel), request)[0];
+    }
+
+    /**
+     * Loads the paramset descriptions of the given channels with a single multicall. The descriptions of a channel are
+     * returned as map by paramset type in the order of the channels. The entry of a channel is null if one of its
+     * descriptions can't be loaded, e.g. because the paramset is unknown to the gateway.
+     */
+    public List<Map<String, Object>> getParamsetDescriptions(HmInterface hmInterface, List<HmChannel> channels)
+            throws IOException {
+        List<Object> calls = new ArrayList<>();
+        for (HmChannel channel : channels) {
+            String address = getRpcAddress(channel.getDevice().getAddress()) + getChannelSuffix(channel);
+            calls.add(Map.of("methodName", "getParamsetDescription", "params",
+                    List.of(address, HmParamsetType.MASTER.toString())));
+            if (!isConfigurationChannel(channel)) {
+                calls.add(Map.of("methodName", "getParamsetDescription", "params",
+                        List.of(address, HmParamsetType.VALUES.toString())));
+            }
+        }
+        RpcRequest<T> request = createRpcRequest("system.multicall");
+        request.addArg(calls);
+        Object[] message = sendMessage(config.getRpcPort(hmInterface), request);
+        if (!(message[0] instanceof Object[]) || ((Object[]) message[0]).length != calls.size()) {
+            throw new IOException("Unexpected multicall response: " + message[0]);
+        }
+
+        Object[] results = (Object[]) message[0];
+        List<Map<String, Object>> descriptions = new ArrayList<>();
+        int index = 0;
+        for (HmChannel channel : channels) {
+            Map<String, Object> channelDescriptions = new HashMap<>();
+            boolean complete = addParamsetDescription(channelDescriptions, HmParamsetType.MASTER, results[index++]);
+            if (!isConfigurationChannel(channel)) {
+                complete &= addParamsetDescription(channelDescriptions, HmParamsetType.VALUES, results[index++]);
+            }
+            descriptions.add(complete ? channelDescriptions : null);
+        }
+        return descriptions;
+    }
+
+    /**
+     * Adds the description from a multicall result, which is an array with the description or a fault struct.
+     */
+    private boolean addParamsetDescription(Map<String, Object> descriptions, HmParamsetType paramsetType,
+            Object result) {
+        if (result instanceof Object[] && ((Object[]) result).length == 1 && ((Object[]) result)[0] instanceof Map) {
+            descriptions.put(paramsetType.toString(), ((Object[]) result)[0]);
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -19,6 +19,8 @@ import java.io.UnsupportedEncodingException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.text.ParseException;
 import java.util.ArrayList;
@@ -35,6 +37,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Handles BIN-RPC request and response messages to communicate with a Homematic gateway.
+ * <p>
+ * Messages are decoded from a {@link ByteBuffer}, so a message can be read straight from the buffer it was received
+ * in. New messages are encoded into a buffer that doubles its capacity when it is full.
  *
  * @author Gerhard Riegler - Initial contribution
  */
@@ -46,11 +51,19 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
         RESPONSE
     }
 
+    public static final int HEADER_LENGTH = 8;
+    private static final int INITIAL_CAPACITY = 256;
+    private static final Object[] EMPTY_DATA = new Object[0];
+
     private Object[] messageData;
-    private byte binRpcData[];
-    private int offset;
+    // encoded message, the position is the end of the message
+    private ByteBuffer binRpcData;
+    // message that is decoded, only used while decoding
+    private ByteBuffer decodeData;
+    private byte[] stringBuffer;
 
     private String methodName;
+    private int argsPosition;
     private TYPE type;
     private int args;
     private Charset encoding;
@@ -74,90 +87,135 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
      */
     public BinRpcMessage(InputStream is, boolean methodHeader, Charset encoding) throws IOException {
         this.encoding = encoding;
-        byte sig[] = new byte[8];
-        int length = is.read(sig, 0, 4);
+        byte sig[] = new byte[HEADER_LENGTH];
+        int length = readFully(is, sig, 0, 4);
         if (length != 4) {
             throw new EOFException("Only " + length + " bytes received reading signature");
         }
         validateBinXSignature(sig);
-        length = is.read(sig, 4, 4);
+        length = readFully(is, sig, 4, 4);
         if (length != 4) {
             throw new EOFException("Only " + length + " bytes received reading message length");
         }
-        int datasize = (new BigInteger(Arrays.copyOfRange(sig, 4, 8))).intValue();
-        byte payload[] = new byte[datasize];
-        int offset = 0;
-        int currentLength;
-
-        while (offset < datasize && (currentLength = is.read(payload, offset, datasize - offset)) != -1) {
-            offset += currentLength;
-        }
+        int datasize = getMessageLength(ByteBuffer.wrap(sig)) - HEADER_LENGTH;
+        byte message[] = Arrays.copyOf(sig, HEADER_LENGTH + datasize);
+        int offset = readFully(is, message, HEADER_LENGTH, datasize);
         if (offset != datasize) {
             throw new EOFException("Only " + offset + " bytes received while reading message payload, expected "
                     + datasize + " bytes");
         }
-        byte[] message = new byte[sig.length + payload.length];
-        System.arraycopy(sig, 0, message, 0, sig.length);
-        System.arraycopy(payload, 0, message, sig.length, payload.length);
+        decodeMessage(ByteBuffer.wrap(message), methodHeader);
+    }
 
-        decodeMessage(message, methodHeader);
+    /**
+     * Decodes a BIN-RPC message from the given byte array.
+     */
+    public BinRpcMessage(byte[] message, boolean methodHeader, Charset encoding) throws IOException, ParseException {
+        this(ByteBuffer.wrap(message), methodHeader, encoding);
     }
 
-    private void validateBinXSignature(byte[] sig) throws UnsupportedEncodingException {
-        if (sig[0] != 'B' || sig[1] != 'i' || sig[2] != 'n') {
-            throw new UnsupportedEncodingException("No BinX signature");
+    /**
+     * Decodes a BIN-RPC message from the remaining bytes of the given buffer. The buffer is not modified and no
+     * reference to it is kept, so it can be reused as soon as the message has been created.
+     */
+    public BinRpcMessage(ByteBuffer message, boolean methodHeader, Charset encoding) throws IOException {
+        this.encoding = encoding;
+        if (message.remaining() < HEADER_LENGTH) {
+            throw new EOFException("Only " + message.remaining() + " bytes received");
         }
+        ByteBuffer data = message.slice();
+        validateBinXSignature(data);
+        decodeMessage(data, methodHeader);
     }
 
     /**
-     * Decodes a BIN-RPC message from the given byte array.
+     * Returns the length of the message including the header, which is read from the first 8 bytes of the given
+     * buffer.
+     *
+     * @throws UnsupportedEncodingException if the buffer doesn't start with a BIN-RPC header
      */
-    public BinRpcMessage(byte[] message, boolean methodHeader, Charset encoding) throws IOException, ParseException {
-        this.encoding = encoding;
-        if (message.length < 8) {
-            throw new EOFException("Only " + message.length + " bytes received");
+    public static int getMessageLength(ByteBuffer header) throws UnsupportedEncodingException {
+        validateBinXSignature(header);
+        int datasize = header.getInt(header.position() + 4);
+        if (datasize < 0 || datasize > Integer.MAX_VALUE - HEADER_LENGTH) {
+            throw new UnsupportedEncodingException("Invalid BinX message length " + datasize);
         }
-        validateBinXSignature(message);
-        decodeMessage(message, methodHeader);
+        return HEADER_LENGTH + datasize;
     }
 
-    private void decodeMessage(byte[] message, boolean methodHeader) throws IOException {
-        binRpcData = message;
+    private static int readFully(InputStream is, byte[] buffer, int offset, int length) throws IOException {
+        int read = 0;
+        int currentLength;
+        while (read < length && (currentLength = is.read(buffer, offset + read, length - read)) != -1) {
+            read += currentLength;
+        }
+        return read;
+    }
 
-        offset = 8;
+    private static void validateBinXSignature(byte[] sig) throws UnsupportedEncodingException {
+        validateBinXSignature(ByteBuffer.wrap(sig));
+    }
 
-        if (methodHeader) {
-            methodName = readString();
-            readInt();
+    private static void validateBinXSignature(ByteBuffer sig) throws UnsupportedEncodingException {
+        int position = sig.position();
+        if (sig.get(position) != 'B' || sig.get(position + 1) != 'i' || sig.get(position + 2) != 'n') {
+            throw new UnsupportedEncodingException("No BinX signature");
+        }
+    }
+
+    private void decodeMessage(ByteBuffer message, boolean methodHeader) throws IOException {
+        decodeData = message;
+        try {
+            message.position(HEADER_LENGTH);
+            if (methodHeader) {
+                methodName = readString();
+                readInt();
+            }
+            generateResponseData();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new EOFException("Incomplete BinX message");
+        } finally {
+            decodeData = null;
+            stringBuffer = null;
         }
-        generateResponseData();
     }
 
     public void setType(TYPE type) {
-        binRpcData[3] = type == TYPE.RESPONSE ? (byte) 1 : (byte) 0;
+        binRpcData.put(3, type == TYPE.RESPONSE ? (byte) 1 : (byte) 0);
     }
 
     private void generateResponseData() throws IOException {
-        offset = 8 + (methodName != null ? methodName.length() + 8 : 0);
+        if (!decodeData.hasRemaining()) {
+            messageData = EMPTY_DATA;
+            return;
+        }
+        Object first = readRpcValue();
+        if (!decodeData.hasRemaining()) {
+            // most messages have a single value, which is the array of a multicall for event batches
+            messageData = new Object[] { first };
+            return;
+        }
         List<Object> values = new ArrayList<>();
-        while (offset < binRpcData.length) {
+        values.add(first);
+        while (decodeData.hasRemaining()) {
             values.add(readRpcValue());
         }
         messageData = values.toArray();
-        values.clear();
     }
 
     private void createHeader() {
-        binRpcData = new byte[256];
+        binRpcData = ByteBuffer.allocate(INITIAL_CAPACITY);
         addString("Bin ");
         setType(type);
         addInt(0); // placeholder content length
         if (methodName != null) {
-            addInt(methodName.length());
-            addString(methodName);
+            byte[] name = methodName.getBytes(encoding);
+            addInt(name.length);
+            addBytes(name);
+            argsPosition = binRpcData.position();
             addInt(0); // placeholder arguments
         }
-        setInt(4, offset - 8);
+        setContentLength();
     }
 
     /**
@@ -166,10 +224,10 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     @Override
     public void addArg(Object argument) {
         addObject(argument);
-        setInt(4, offset - 8);
+        setContentLength();
 
         if (methodName != null) {
-            setInt(12 + methodName.length(), ++args);
+            binRpcData.putInt(argsPosition, ++args);
         }
     }
 
@@ -184,14 +242,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
 
     @Override
     public byte[] createMessage() {
-        trimBinRpcData();
-        return binRpcData;
-    }
-
-    private void trimBinRpcData() {
-        byte[] trimmed = new byte[offset];
-        System.arraycopy(binRpcData, 0, trimmed, 0, offset);
-        binRpcData = trimmed;
+        return Arrays.copyOf(binRpcData.array(), binRpcData.position());
     }
 
     @Override
@@ -201,23 +252,28 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
 
     // read rpc values
     private int readInt() {
-        byte bi[] = new byte[4];
-        System.arraycopy(binRpcData, offset, bi, 0, 4);
-        offset += 4;
-        return (new BigInteger(bi)).intValue();
+        return decodeData.getInt();
     }
 
     private long readInt64() {
-        byte bi[] = new byte[8];
-        System.arraycopy(binRpcData, offset, bi, 0, 8);
-        offset += 8;
-        return (new BigInteger(bi)).longValue();
+        return decodeData.getLong();
     }
 
     private String readString() {
         int len = readInt();
-        offset += len;
-        return new String(binRpcData, offset - len, len, encoding);
+        if (len < 0 || len > decodeData.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        int position = decodeData.position();
+        decodeData.position(position + len);
+        if (decodeData.hasArray()) {
+            return new String(decodeData.array(), decodeData.arrayOffset() + position, len, encoding);
+        }
+        if (stringBuffer == null || stringBuffer.length < len) {
+            stringBuffer = new byte[Math.max(len, 64)];
+        }
+        decodeData.get(position, stringBuffer, 0, len);
+        return new String(stringBuffer, 0, len, encoding);
     }
 
     private Object readRpcValue() throws IOException {
@@ -226,7 +282,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
             case 1:
                 return Integer.valueOf(readInt());
             case 2:
-                return binRpcData[offset++] != 0 ? Boolean.TRUE : Boolean.FALSE;
+                return decodeData.get() != 0 ? Boolean.TRUE : Boolean.FALSE;
             case 3:
                 return readString();
             case 4:
@@ -242,11 +298,15 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
             case 0x100:
                 // Array
                 int numElements = readInt();
-                Collection<Object> array = new ArrayList<>();
-                while (numElements-- > 0) {
-                    array.add(readRpcValue());
+                if (numElements < 0 || numElements > decodeData.remaining()) {
+                    // each element needs at least one byte, so this can't be a valid array
+                    throw new BufferUnderflowException();
+                }
+                Object[] array = new Object[numElements];
+                for (int i = 0; i < numElements; i++) {
+                    array[i] = readRpcValue();
                 }
-                return array.toArray();
+                return array;
             case 0x101:
                 // Struct
                 numElements = readInt();
@@ -258,34 +318,45 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
                 return struct;
 
             default:
-                for (int i = 0; i < binRpcData.length; i++) {
-                    logger.info("{} {}", Integer.toHexString(binRpcData[i]), (char) binRpcData[i]);
+                for (int i = 0; i < decodeData.limit(); i++) {
+                    byte b = decodeData.get(i);
+                    logger.info("{} {}", Integer.toHexString(b), (char) b);
                 }
                 throw new IOException("Unknown data type " + type);
         }
     }
 
-    private void setInt(int position, int value) {
-        int temp = offset;
-        offset = position;
-        addInt(value);
-        offset = temp;
+    private void setContentLength() {
+        binRpcData.putInt(4, binRpcData.position() - HEADER_LENGTH);
     }
 
-    private void addByte(byte b) {
-        if (offset == binRpcData.length) {
-            byte newdata[] = new byte[binRpcData.length * 2];
-            System.arraycopy(binRpcData, 0, newdata, 0, binRpcData.length);
-            binRpcData = newdata;
+    /**
+     * Makes sure that the given number of bytes can be added. The capacity is doubled if the message doesn't fit, so
+     * the message is copied only a few times while it grows.
+     */
+    private void ensureCapacity(int length) {
+        if (binRpcData.remaining() < length) {
+            int capacity = Math.max(binRpcData.capacity() * 2, binRpcData.position() + length);
+            ByteBuffer newData = ByteBuffer.allocate(capacity);
+            binRpcData.flip();
+            newData.put(binRpcData);
+            binRpcData = newData;
         }
-        binRpcData[offset++] = b;
+    }
+
+    private void addByte(byte b) {
+        ensureCapacity(1);
+        binRpcData.put(b);
     }
 
     private void addInt(int value) {
-        addByte((byte) (value >> 24));
-        addByte((byte) (value >> 16));
-        addByte((byte) (value >> 8));
-        addByte((byte) (value));
+        ensureCapacity(4);
+        binRpcData.putInt(value);
+    }
+
+    private void addBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        binRpcData.put(bytes);
     }
 
     private void addDouble(double value) {
@@ -311,10 +382,16 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     }
 
     private void addString(String string) {
-        byte sd[] = string.getBytes(encoding);
-        for (byte ch : sd) {
-            addByte(ch);
-        }
+        addBytes(string.getBytes(encoding));
+    }
+
+    /**
+     * Adds a string with its length, which is the number of encoded bytes.
+     */
+    private void addLengthAndString(String string) {
+        byte[] bytes = string.getBytes(encoding);
+        addInt(bytes.length);
+        addBytes(bytes);
     }
 
     private void addList(Collection<?> collection) {
@@ -326,9 +403,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     private void addObject(Object object) {
         if (object.getClass() == String.class) {
             addInt(3);
-            String string = (String) object;
-            addInt(string.length());
-            addString(string);
+            addLengthAndString((String) object);
         } else if (object.getClass() == Boolean.class) {
             addInt(2);
             addByte(((Boolean) object).booleanValue() ? (byte) 1 : (byte) 0);
@@ -356,6 +431,11 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
             addInt(0x100);
             addInt(list.size());
             addList(list);
+        } else if (object instanceof Object[]) {
+            Object[] array = (Object[]) object;
+            addInt(0x100);
+            addInt(array.length);
+            addList(Arrays.asList(array));
         } else if (object instanceof Map<?, ?>) {
             Map<?, ?> map = (Map<?, ?>) object;
             addInt(0x101);
@@ -363,8 +443,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
             for (Map.Entry<?, ?> entry : map.entrySet()) {
                 String key = (String) entry.getKey();
                 if (key != null) {
-                    addInt(key.length());
-                    addString(key);
+                    addLengthAndString(key);
                     addList(Collections.singleton(entry.getValue()));
                 }
             }
@@ -378,8 +457,9 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     @Override
     public String toString() {
         try {
-            trimBinRpcData();
-            generateResponseData();
+            if (binRpcData != null) {
+                decodeMessage(ByteBuffer.wrap(createMessage()), methodName != null);
+            }
             return RpcUtils.dumpRpcMessage(methodName, messageData);
         } catch (Exception e) {
             throw new RuntimeException(e.getMessage(), e);
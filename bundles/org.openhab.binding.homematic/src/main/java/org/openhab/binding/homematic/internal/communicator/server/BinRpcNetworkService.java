@@ -14,16 +14,30 @@ package org.openhab.binding.homematic.internal.communicator.server;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
 
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
 import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
 import org.openhab.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * Waits for a message from the Homematic gateway and starts the RpcCallbackHandler to handle the message.
+ * Waits for messages from the Homematic gateway on all connections with a single selector thread. A received message
+ * is handled by a {@link BinRpcResponseHandler} in the RPC thread pool, the response is written by the selector thread
+ * again.
+ * <p>
+ * Messages are received in buffers of a small pool, so bursts of events don't allocate a new buffer for every message.
  *
  * @author Gerhard Riegler - Initial contribution
  */
@@ -34,8 +48,17 @@ public class BinRpcNetworkService implements Runnable {
             3, 0, 0, 0, 5, 'e', 'v', 'e', 'n', 't' };
 
     private static final String RPC_POOL_NAME = "homematicRpc";
-    private ServerSocket serverSocket;
-    private boolean accept = true;
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_POOLED_BUFFERS = 16;
+
+    private final Logger logger = LoggerFactory.getLogger(BinRpcNetworkService.class);
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final ExecutorService executor = ThreadPoolManager.getPool(RPC_POOL_NAME);
+    private final Queue<ByteBuffer> bufferPool = new ConcurrentLinkedQueue<>();
+    private final Queue<BinRpcResponseHandler> pendingResponses = new ConcurrentLinkedQueue<>();
+    private volatile boolean accept = true;
     private HomematicConfig config;
     private RpcResponseHandler<byte[]> rpcResponseHandler;
 
@@ -45,9 +68,17 @@ public class BinRpcNetworkService implements Runnable {
     public BinRpcNetworkService(RpcEventListener listener, HomematicConfig config) throws IOException {
         this.config = config;
 
-        serverSocket = new ServerSocket();
-        serverSocket.setReuseAddress(true);
-        serverSocket.bind(new InetSocketAddress(config.getBinCallbackPort()));
+        selector = Selector.open();
+        try {
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.socket().setReuseAddress(true);
+            serverChannel.bind(new InetSocketAddress(config.getBinCallbackPort()));
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            selector.close();
+            throw e;
+        }
 
         this.rpcResponseHandler = new RpcResponseHandler<byte[]>(listener) {
 
@@ -73,19 +104,111 @@ public class BinRpcNetworkService implements Runnable {
         };
     }
 
+    /**
+     * Returns the port the server is listening on.
+     */
+    public int getLocalPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
     /**
      * Listening for events and starts the callbackHandler if an event received.
      */
     @Override
     public void run() {
-        while (accept) {
-            try {
-                Socket cs = serverSocket.accept();
-                BinRpcResponseHandler rpcHandler = new BinRpcResponseHandler(cs, rpcResponseHandler, config);
-                ThreadPoolManager.getPool(RPC_POOL_NAME).execute(rpcHandler);
-            } catch (IOException ex) {
-                // ignore
+        try {
+            while (accept && !Thread.currentThread().isInterrupted()) {
+                selector.select();
+                BinRpcResponseHandler handler;
+                while ((handler = pendingResponses.poll()) != null) {
+                    handler.writeResponse();
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        acceptConnection();
+                    } else if (key.isReadable()) {
+                        ((BinRpcResponseHandler) key.attachment()).read();
+                    } else if (key.isWritable()) {
+                        ((BinRpcResponseHandler) key.attachment()).writeResponse();
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (accept) {
+                logger.warn("BIN-RPC server stopped: {}", e.getMessage());
+            }
+        } finally {
+            closeAll();
+        }
+    }
+
+    private void acceptConnection() {
+        try {
+            SocketChannel channel = serverChannel.accept();
+            if (channel != null) {
+                channel.configureBlocking(false);
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                key.attach(new BinRpcResponseHandler(this, key, rpcResponseHandler, config));
             }
+        } catch (IOException ex) {
+            // ignore
+        }
+    }
+
+    /**
+     * Hands a received message over to the RPC thread pool.
+     */
+    void handleMessage(BinRpcResponseHandler handler) {
+        executor.execute(handler);
+    }
+
+    /**
+     * Called from the RPC thread pool when the response of a handler can be written.
+     */
+    void responseReady(BinRpcResponseHandler handler) {
+        pendingResponses.add(handler);
+        selector.wakeup();
+    }
+
+    /**
+     * Returns a receive buffer from the pool, or a new one if the pool is empty.
+     */
+    ByteBuffer acquireBuffer() {
+        ByteBuffer buffer = bufferPool.poll();
+        return buffer != null ? buffer : ByteBuffer.allocate(BUFFER_SIZE);
+    }
+
+    /**
+     * Returns a receive buffer to the pool. Buffers that have been enlarged for a big message are dropped.
+     */
+    void releaseBuffer(ByteBuffer buffer) {
+        if (buffer.capacity() == BUFFER_SIZE && bufferPool.size() < MAX_POOLED_BUFFERS) {
+            buffer.clear();
+            bufferPool.add(buffer);
+        }
+    }
+
+    private void closeAll() {
+        try {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof BinRpcResponseHandler handler) {
+                    handler.close();
+                }
+            }
+        } catch (ClosedSelectorException e) {
+            // ignore
+        }
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException ioe) {
+            // ignore
         }
     }
 
@@ -94,8 +217,9 @@ public class BinRpcNetworkService implements Runnable {
      */
     public void shutdown() {
         accept = false;
+        selector.wakeup();
         try {
-            serverSocket.close();
+            serverChannel.close();
         } catch (IOException ioe) {
             // ignore
         }
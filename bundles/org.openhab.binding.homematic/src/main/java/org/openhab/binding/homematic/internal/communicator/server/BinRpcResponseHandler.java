@@ -12,9 +12,10 @@
  */
 package org.openhab.binding.homematic.internal.communicator.server;
 
-import java.io.EOFException;
 import java.io.IOException;
-import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
 
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
@@ -22,53 +23,164 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Reads a BIN-RPC message from the socket and handles the method call.
+ * Reads BIN-RPC messages from a connection of the Homematic gateway and handles the method calls.
+ * <p>
+ * The gateway waits for the response before it sends the next message, so a connection has at most one message in
+ * progress. While it is handled in the RPC thread pool, the connection is not read and the receive buffer is owned by
+ * the pool thread. The message is decoded straight from the receive buffer, which is returned to the pool of the
+ * {@link BinRpcNetworkService} as soon as it is empty.
  *
  * @author Gerhard Riegler - Initial contribution
  */
 public class BinRpcResponseHandler implements Runnable {
+    private static final int MAX_MESSAGE_LENGTH = 64 * 1024 * 1024;
+
     private final Logger logger = LoggerFactory.getLogger(BinRpcResponseHandler.class);
 
-    private Socket socket;
+    private BinRpcNetworkService networkService;
+    private SelectionKey key;
+    private SocketChannel channel;
     private RpcResponseHandler<byte[]> rpcResponseHandler;
     private HomematicConfig config;
     private long created;
 
-    public BinRpcResponseHandler(Socket socket, RpcResponseHandler<byte[]> rpcResponseHandler, HomematicConfig config) {
-        this.socket = socket;
+    private ByteBuffer readBuffer;
+    private int messageLength;
+    private ByteBuffer writeBuffer;
+
+    BinRpcResponseHandler(BinRpcNetworkService networkService, SelectionKey key,
+            RpcResponseHandler<byte[]> rpcResponseHandler, HomematicConfig config) {
+        this.networkService = networkService;
+        this.key = key;
+        this.channel = (SocketChannel) key.channel();
         this.rpcResponseHandler = rpcResponseHandler;
         this.config = config;
         this.created = System.currentTimeMillis();
     }
 
     /**
-     * Reads the event from the Homematic gateway and handles the method call.
+     * Reads the available data and hands the message over to the RPC thread pool when it is complete. Called by the
+     * selector thread.
+     */
+    void read() {
+        try {
+            if (readBuffer == null) {
+                readBuffer = networkService.acquireBuffer();
+            }
+            if (channel.read(readBuffer) < 0) {
+                close();
+            } else if (isMessageComplete()) {
+                key.interestOps(0);
+                networkService.handleMessage(this);
+            }
+        } catch (IOException e) {
+            logger.debug("Closing BIN-RPC connection: {}", e.getMessage());
+            close();
+        }
+    }
+
+    /**
+     * Decodes the received message and handles the method call. Called by the RPC thread pool.
      */
     @Override
     public void run() {
         try {
-            boolean isMaxAliveReached;
-            do {
-                BinRpcMessage message = new BinRpcMessage(socket.getInputStream(), true, config.getEncoding());
-                logger.trace("Event BinRpcMessage: {}", message);
-                byte[] returnValue = rpcResponseHandler.handleMethodCall(message.getMethodName(),
-                        message.getResponseData());
-                if (returnValue != null) {
-                    socket.getOutputStream().write(returnValue);
-                }
-                isMaxAliveReached = System.currentTimeMillis() - created > (config.getSocketMaxAlive() * 1000);
-            } while (!isMaxAliveReached);
-
-        } catch (EOFException eof) {
-            // ignore
+            BinRpcMessage message = new BinRpcMessage(readBuffer.duplicate().position(0).limit(messageLength), true,
+                    config.getEncoding());
+            logger.trace("Event BinRpcMessage: {}", message);
+            removeMessage();
+            byte[] returnValue = rpcResponseHandler.handleMethodCall(message.getMethodName(),
+                    message.getResponseData());
+            writeBuffer = returnValue != null ? ByteBuffer.wrap(returnValue) : null;
+            networkService.responseReady(this);
         } catch (Exception e) {
             logger.warn("{}", e.getMessage(), e);
-        } finally {
-            try {
-                socket.close();
-            } catch (IOException ioe) {
-                // ignore
+            close();
+        }
+    }
+
+    /**
+     * Writes the response of the last message and continues reading when it has been sent completely. Called by the
+     * selector thread.
+     */
+    void writeResponse() {
+        if (!key.isValid()) {
+            return;
+        }
+        try {
+            if (writeBuffer != null) {
+                channel.write(writeBuffer);
+                if (writeBuffer.hasRemaining()) {
+                    key.interestOps(SelectionKey.OP_WRITE);
+                    return;
+                }
+                writeBuffer = null;
             }
+            if (System.currentTimeMillis() - created > (config.getSocketMaxAlive() * 1000L)) {
+                close();
+            } else if (readBuffer != null && isMessageComplete()) {
+                // the key may still be registered for OP_WRITE, which would wake up the selector until the response
+                // of the next message is written
+                key.interestOps(0);
+                networkService.handleMessage(this);
+            } else {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        } catch (IOException e) {
+            logger.debug("Closing BIN-RPC connection: {}", e.getMessage());
+            close();
+        }
+    }
+
+    /**
+     * Returns true if the receive buffer contains a complete message. The buffer is enlarged if the message doesn't
+     * fit into it.
+     */
+    private boolean isMessageComplete() throws IOException {
+        if (readBuffer.position() < BinRpcMessage.HEADER_LENGTH) {
+            return false;
+        }
+        messageLength = BinRpcMessage.getMessageLength(readBuffer.duplicate().position(0));
+        if (messageLength > MAX_MESSAGE_LENGTH) {
+            throw new IOException("BIN-RPC message too large: " + messageLength + " bytes");
+        }
+        if (messageLength > readBuffer.capacity()) {
+            ByteBuffer largeBuffer = ByteBuffer.allocate(messageLength);
+            readBuffer.flip();
+            largeBuffer.put(readBuffer);
+            networkService.releaseBuffer(readBuffer);
+            readBuffer = largeBuffer;
+        }
+        return readBuffer.position() >= messageLength;
+    }
+
+    /**
+     * Removes the decoded message from the receive buffer and returns the buffer to the pool if no further data has
+     * been received.
+     */
+    private void removeMessage() {
+        readBuffer.flip().position(messageLength);
+        readBuffer.compact();
+        if (readBuffer.position() == 0) {
+            networkService.releaseBuffer(readBuffer);
+            readBuffer = null;
+        }
+    }
+
+    /**
+     * Closes the connection.
+     */
+    void close() {
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException ioe) {
+            // ignore
+        }
+        ByteBuffer buffer = readBuffer;
+        readBuffer = null;
+        if (buffer != null) {
+            networkService.releaseBuffer(buffer);
         }
     }
 }
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.binding.homematic.internal.model.HmChannel;
+import org.openhab.binding.homematic.internal.model.HmDevice;
+import org.openhab.binding.homematic.internal.model.HmInterface;
+
+/**
+ * Tests for {@link ParamsetDescriptionCache}.
+ *
+ * @author agent - Initial contribution
+ */
+public class ParamsetDescriptionCacheTest {
+    private static final Map<String, Object> DESCRIPTIONS = Map.of("MASTER",
+            Map.of("TRANSMIT_TRY_MAX", Map.of("TYPE", "INTEGER", "MIN", 1, "MAX", 10, "OPERATIONS", 3)), "VALUES",
+            Map.of("LEVEL", Map.of("TYPE", "FLOAT", "MIN", 0.0, "MAX", 1.01, "UNIT", "100%"), "DIRECTION",
+                    Map.of("TYPE", "ENUM", "VALUE_LIST", new Object[] { "NONE", "UP", "DOWN" })));
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void descriptionsAreSavedAndLoaded() {
+        File file = tempDir.resolve("homematic").resolve("ccu.paramsets").toFile();
+        ParamsetDescriptionCache cache = new ParamsetDescriptionCache(file, "CCU3-3.65.11");
+        cache.load();
+        String key = ParamsetDescriptionCache.getKey(createChannel("HM-LC-Dim1T-Pl-3", "2.9", 1));
+        assertEquals("HM-LC-Dim1T-Pl-3:2.9:1", key);
+        cache.put(key, DESCRIPTIONS);
+        cache.save();
+
+        ParamsetDescriptionCache loadedCache = new ParamsetDescriptionCache(file, "CCU3-3.65.11");
+        loadedCache.load();
+
+        Map<String, Object> loaded = loadedCache.get(key);
+        assertEquals(DESCRIPTIONS.get("MASTER"), loaded.get("MASTER"));
+        Map<?, ?> direction = (Map<?, ?>) ((Map<?, ?>) loaded.get("VALUES")).get("DIRECTION");
+        assertArrayEquals(new Object[] { "NONE", "UP", "DOWN" }, (Object[]) direction.get("VALUE_LIST"));
+        Map<?, ?> level = (Map<?, ?>) ((Map<?, ?>) loaded.get("VALUES")).get("LEVEL");
+        assertEquals(1.01, level.get("MAX"));
+    }
+
+    @Test
+    public void cacheOfOtherGatewayFirmwareIsIgnored() {
+        File file = tempDir.resolve("ccu.paramsets").toFile();
+        ParamsetDescriptionCache cache = new ParamsetDescriptionCache(file, "CCU3-3.65.11");
+        cache.put("HM-LC-Dim1T-Pl-3:2.9:1", DESCRIPTIONS);
+        cache.save();
+
+        ParamsetDescriptionCache loadedCache = new ParamsetDescriptionCache(file, "CCU3-3.67.10");
+        loadedCache.load();
+
+        assertEquals(0, loadedCache.size());
+    }
+
+    @Test
+    public void invalidCacheFileIsIgnored() throws IOException {
+        File file = tempDir.resolve("ccu.paramsets").toFile();
+        Files.writeString(file.toPath(), "invalid");
+
+        ParamsetDescriptionCache cache = new ParamsetDescriptionCache(file, "CCU3-3.65.11");
+        cache.load();
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void removedChannelsAreNotRetained() {
+        ParamsetDescriptionCache cache = new ParamsetDescriptionCache(tempDir.resolve("ccu.paramsets").toFile(),
+                "CCU3-3.65.11");
+        cache.put("HM-LC-Dim1T-Pl-3:2.9:1", DESCRIPTIONS);
+        cache.put("HM-LC-Dim1T-Pl-3:2.8:1", DESCRIPTIONS);
+
+        cache.retainAll(List.of("HM-LC-Dim1T-Pl-3:2.9:1"));
+
+        assertTrue(cache.contains("HM-LC-Dim1T-Pl-3:2.9:1"));
+        assertFalse(cache.contains("HM-LC-Dim1T-Pl-3:2.8:1"));
+    }
+
+    private HmChannel createChannel(String type, String firmware, int number) {
+        HmDevice device = new HmDevice("NEQ0123456", HmInterface.RF, type, "ccu", null, firmware);
+        HmChannel channel = new HmChannel(type, number);
+        device.addChannel(channel);
+        return channel;
+    }
+}
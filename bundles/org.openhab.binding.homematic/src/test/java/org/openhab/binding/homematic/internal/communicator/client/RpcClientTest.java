@@ -19,6 +19,7 @@ import static org.openhab.binding.homematic.test.util.DimmerHelper.*;
 import static org.openhab.binding.homematic.test.util.RpcClientMockImpl.*;
 
 import java.io.IOException;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -68,6 +69,26 @@ public class RpcClientTest extends JavaTest {
         assertThat(rpcClient.numberOfCalls.get(GET_PARAMSET_DESCRIPTION_NAME), is(0));
     }
 
+    @Test
+    public void paramsetDescriptionIsReturnedForChannel() throws IOException {
+        HmChannel channel = createDimmerHmChannel();
+
+        Object description = rpcClient.getParamsetDescription(channel, HmParamsetType.VALUES);
+
+        assertThat(description, is(instanceOf(Map.class)));
+        assertThat(rpcClient.numberOfCalls.get(GET_PARAMSET_DESCRIPTION_NAME), is(1));
+    }
+
+    @Test
+    public void valuesParamsetDescriptionIsNotReturnedForDummyChannel() throws IOException {
+        HmChannel channel = createDimmerDummyChannel();
+
+        Object description = rpcClient.getParamsetDescription(channel, HmParamsetType.VALUES);
+
+        assertThat(description, is(nullValue()));
+        assertThat(rpcClient.numberOfCalls.get(GET_PARAMSET_DESCRIPTION_NAME), is(0));
+    }
+
     @Test
     public void valuesParamsetIsLoadedForChannel() throws IOException {
         HmChannel channel = createDimmerHmChannel();
@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.message;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for {@link BinRpcMessage}.
+ *
+ * @author agent - Initial contribution
+ */
+public class BinRpcMessageTest {
+    private static final Charset ENCODING = StandardCharsets.ISO_8859_1;
+
+    private final Logger logger = LoggerFactory.getLogger(BinRpcMessageTest.class);
+
+    @Test
+    public void encodedMessageIsDecoded() throws IOException, ParseException {
+        BinRpcMessage request = new BinRpcMessage("setValue", ENCODING);
+        request.addArg("KEQ0123456:1");
+        request.addArg(Map.of("LEVEL", 0.5, "ON", Boolean.TRUE, "NAME", "Küche"));
+        request.addArg(List.of(42, -1.25, "text"));
+        assertEquals(3, request.getArgCount());
+
+        BinRpcMessage message = new BinRpcMessage(request.createMessage(), true, ENCODING);
+
+        assertEquals("setValue", message.getMethodName());
+        Object[] data = message.getResponseData();
+        assertEquals(3, data.length);
+        assertEquals("KEQ0123456:1", data[0]);
+        assertEquals(Map.of("LEVEL", 0.5, "ON", Boolean.TRUE, "NAME", "Küche"), data[1]);
+        assertArrayEquals(new Object[] { 42, -1.25, "text" }, (Object[]) data[2]);
+    }
+
+    @Test
+    public void stringLengthIsNumberOfEncodedBytes() throws IOException, ParseException {
+        BinRpcMessage request = new BinRpcMessage("event", StandardCharsets.UTF_8);
+        request.addArg("Außentemperatur °C");
+
+        BinRpcMessage message = new BinRpcMessage(request.createMessage(), true, StandardCharsets.UTF_8);
+
+        assertArrayEquals(new Object[] { "Außentemperatur °C" }, message.getResponseData());
+    }
+
+    @Test
+    public void messageGrowsBeyondInitialCapacity() throws IOException, ParseException {
+        BinRpcMessage request = new BinRpcMessage("system.multicall", ENCODING);
+        List<Object> calls = createEvents(200);
+        request.addArg(calls);
+
+        byte[] encoded = request.createMessage();
+        assertEquals(encoded.length - BinRpcMessage.HEADER_LENGTH, ByteBuffer.wrap(encoded).getInt(4));
+
+        Object[] decoded = (Object[]) new BinRpcMessage(encoded, true, ENCODING).getResponseData()[0];
+        assertEquals(200, decoded.length);
+        Map<?, ?> lastCall = (Map<?, ?>) decoded[199];
+        assertEquals("event", lastCall.get("methodName"));
+        assertArrayEquals(new Object[] { "openHAB-BidCos-RF", "NEQ1000199:1", "LEVEL", 1.99 },
+                (Object[]) lastCall.get("params"));
+    }
+
+    @Test
+    public void messageIsDecodedFromBufferWithoutModifyingIt() throws IOException {
+        byte[] encoded = createMulticall(3);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(encoded.length + 20);
+        buffer.position(10);
+        buffer.put(encoded);
+        buffer.flip().position(10);
+
+        BinRpcMessage message = new BinRpcMessage(buffer, true, ENCODING);
+
+        assertEquals("system.multicall", message.getMethodName());
+        assertEquals(3, ((Object[]) message.getResponseData()[0]).length);
+        assertEquals(10, buffer.position());
+        assertEquals(10 + encoded.length, buffer.limit());
+    }
+
+    @Test
+    public void messageIsReadFromStreamInChunks() throws IOException {
+        byte[] encoded = createMulticall(10);
+        InputStream is = new ByteArrayInputStream(encoded) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 3));
+            }
+        };
+
+        BinRpcMessage message = new BinRpcMessage(is, true, ENCODING);
+
+        assertEquals(10, ((Object[]) message.getResponseData()[0]).length);
+    }
+
+    @Test
+    public void invalidMessagesAreRejected() {
+        assertThrows(UnsupportedEncodingException.class,
+                () -> BinRpcMessage.getMessageLength(ByteBuffer.wrap(new byte[] { 'X', 'M', 'L', 0, 0, 0, 0, 0 })));
+        assertThrows(UnsupportedEncodingException.class, () -> BinRpcMessage
+                .getMessageLength(ByteBuffer.wrap(new byte[] { 'B', 'i', 'n', 0, (byte) 0xff, 0, 0, 0 })));
+
+        byte[] encoded = createMulticall(1);
+        ByteBuffer truncated = ByteBuffer.wrap(encoded, 0, encoded.length - 4);
+        assertThrows(IOException.class, () -> new BinRpcMessage(truncated, true, ENCODING));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "homematic.benchmark", matches = "true")
+    public void benchmarkCodec() throws IOException {
+        byte[] encoded = createMulticall(100);
+        ByteBuffer buffer = ByteBuffer.allocate(encoded.length);
+        buffer.put(encoded).flip();
+        int iterations = 20000;
+        for (int i = 0; i < iterations; i++) {
+            new BinRpcMessage(buffer, true, ENCODING);
+            createMulticall(100);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            new BinRpcMessage(buffer, true, ENCODING);
+        }
+        long decodeNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            createMulticall(100);
+        }
+        long encodeNanos = System.nanoTime() - start;
+
+        logger.info("Decoded {} events/s, encoded {} events/s", iterations * 100L * 1_000_000_000L / decodeNanos,
+                iterations * 100L * 1_000_000_000L / encodeNanos);
+    }
+
+    /**
+     * Creates the calls of a multicall with the given number of events, as sent by a CCU.
+     */
+    public static List<Object> createEvents(int count) {
+        List<Object> calls = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<Object> params = List.of("openHAB-BidCos-RF", "NEQ" + (1000000 + i) + ":1", "LEVEL", i / 100.0);
+            calls.add(Map.of("methodName", "event", "params", params));
+        }
+        return calls;
+    }
+
+    /**
+     * Returns an encoded multicall with the given number of events.
+     */
+    public static byte[] createMulticall(int count) {
+        BinRpcMessage message = new BinRpcMessage("system.multicall", ENCODING);
+        message.addArg(createEvents(count));
+        return message.createMessage();
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.openhab.binding.homematic.internal.communicator.message.BinRpcMessageTest.createMulticall;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openhab.binding.homematic.internal.common.HomematicConfig;
+import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
+import org.openhab.binding.homematic.internal.model.HmDatapointInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for {@link BinRpcNetworkService}.
+ *
+ * @author agent - Initial contribution
+ */
+public class BinRpcNetworkServiceTest {
+    private final Logger logger = LoggerFactory.getLogger(BinRpcNetworkServiceTest.class);
+
+    private final AtomicInteger eventCount = new AtomicInteger();
+    private final ConcurrentLinkedQueue<HmDatapointInfo> events = new ConcurrentLinkedQueue<>();
+    private BinRpcNetworkService networkService;
+    private Thread networkServiceThread;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        HomematicConfig config = new HomematicConfig();
+        config.setBinCallbackPort(0);
+        networkService = new BinRpcNetworkService(new RpcEventListener() {
+            @Override
+            public void eventReceived(HmDatapointInfo dpInfo, Object newValue) {
+                if (eventCount.incrementAndGet() <= 1000) {
+                    events.add(dpInfo);
+                }
+            }
+
+            @Override
+            public void newDevices(List<String> adresses) {
+            }
+
+            @Override
+            public void deleteDevices(List<String> addresses) {
+            }
+        }, config);
+        networkServiceThread = new Thread(networkService);
+        networkServiceThread.start();
+    }
+
+    @AfterEach
+    public void shutdown() throws InterruptedException {
+        networkService.shutdown();
+        networkServiceThread.join(5000);
+        assertFalse(networkServiceThread.isAlive());
+    }
+
+    @Test
+    public void multicallEventsAreReceived() throws IOException {
+        try (Socket socket = connect()) {
+            socket.getOutputStream().write(createMulticall(3));
+
+            assertEventListResponse(socket.getInputStream());
+            assertEquals(3, eventCount.get());
+            HmDatapointInfo event = events.peek();
+            assertEquals("NEQ1000000", event.getAddress());
+            assertEquals(Integer.valueOf(1), event.getChannel());
+            assertEquals("LEVEL", event.getName());
+        }
+    }
+
+    @Test
+    public void messagesInOnePacketAndSplitMessagesAreReceived() throws IOException {
+        byte[] first = createMulticall(1);
+        // larger than a pooled receive buffer
+        byte[] second = createMulticall(500);
+        byte[] data = new byte[first.length + second.length];
+        System.arraycopy(first, 0, data, 0, first.length);
+        System.arraycopy(second, 0, data, first.length, second.length);
+
+        try (Socket socket = connect()) {
+            OutputStream os = socket.getOutputStream();
+            os.write(data, 0, 5);
+            os.flush();
+            os.write(data, 5, data.length - 5);
+
+            assertEventListResponse(socket.getInputStream());
+            assertEventListResponse(socket.getInputStream());
+            assertEquals(501, eventCount.get());
+
+            os.write(first);
+            assertEventListResponse(socket.getInputStream());
+            assertEquals(502, eventCount.get());
+        }
+    }
+
+    @Test
+    public void invalidMessageClosesConnection() throws IOException {
+        try (Socket socket = connect()) {
+            socket.getOutputStream().write("POST / HTTP/1.1\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+
+            assertEquals(-1, socket.getInputStream().read());
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "homematic.benchmark", matches = "true")
+    public void benchmarkServer() throws IOException {
+        byte[] multicall = createMulticall(100);
+        int iterations = 20000;
+        try (Socket socket = connect()) {
+            for (int i = 0; i < iterations / 10; i++) {
+                socket.getOutputStream().write(multicall);
+                assertEventListResponse(socket.getInputStream());
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                socket.getOutputStream().write(multicall);
+                assertEventListResponse(socket.getInputStream());
+            }
+            long nanos = System.nanoTime() - start;
+            logger.info("Received {} multicalls/s with {} events/s", iterations * 1_000_000_000L / nanos,
+                    iterations * 100L * 1_000_000_000L / nanos);
+        }
+    }
+
+    private Socket connect() throws IOException {
+        return new Socket(InetAddress.getLoopbackAddress(), networkService.getLocalPort());
+    }
+
+    private void assertEventListResponse(InputStream is) throws IOException {
+        BinRpcMessage response = new BinRpcMessage(is, false, StandardCharsets.ISO_8859_1);
+        assertArrayEquals(new Object[] { new Object[] { "event" } }, response.getResponseData());
+    }
+}
@@ -22,6 +22,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -52,6 +53,7 @@ import org.openhab.binding.http.internal.http.HttpAuthException;
 import org.openhab.binding.http.internal.http.HttpResponseListener;
 import org.openhab.binding.http.internal.http.RateLimitedHttpClient;
 import org.openhab.binding.http.internal.http.RefreshingUrlCache;
+import org.openhab.binding.http.internal.http.RefreshingUrlCacheRegistry;
 import org.openhab.binding.http.internal.transform.ValueTransformationProvider;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.PointType;
@@ -86,21 +88,25 @@ public class HttpThingHandler extends BaseThingHandler {
     private HttpClient httpClient;
     private RateLimitedHttpClient rateLimitedHttpClient;
     private final HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider;
+    private final RefreshingUrlCacheRegistry urlCacheRegistry;
 
     private HttpThingConfig config = new HttpThingConfig();
     private final Map<String, RefreshingUrlCache> urlHandlers = new HashMap<>();
     private final Map<ChannelUID, ItemValueConverter> channels = new HashMap<>();
     private final Map<ChannelUID, String> channelUrls = new HashMap<>();
+    private final Map<ChannelUID, Consumer<Content>> channelConsumers = new HashMap<>();
 
     public HttpThingHandler(Thing thing, HttpClientProvider httpClientProvider,
             ValueTransformationProvider valueTransformationProvider,
-            HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider) {
+            HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider,
+            RefreshingUrlCacheRegistry urlCacheRegistry) {
         super(thing);
         this.httpClientProvider = httpClientProvider;
         this.httpClient = httpClientProvider.getSecureClient();
         this.rateLimitedHttpClient = new RateLimitedHttpClient(httpClient, scheduler);
         this.valueTransformationProvider = valueTransformationProvider;
         this.httpDynamicStateDescriptionProvider = httpDynamicStateDescriptionProvider;
+        this.urlCacheRegistry = urlCacheRegistry;
     }
 
     @Override
@@ -126,6 +132,12 @@ public class HttpThingHandler extends BaseThingHandler {
         } else {
             try {
                 itemValueConverter.send(command);
+                // pass the state with the next refresh even if it is unchanged, the command may not have been accepted
+                String key = channelUrls.get(channelUID);
+                RefreshingUrlCache refreshingUrlCache = key != null ? urlHandlers.get(key) : null;
+                if (refreshingUrlCache != null) {
+                    refreshingUrlCache.invalidate();
+                }
             } catch (IllegalArgumentException e) {
                 logger.warn("Failed to convert command '{}' to channel '{}' for sending", command, channelUID);
             } catch (IllegalStateException e) {
@@ -208,14 +220,21 @@ public class HttpThingHandler extends BaseThingHandler {
 
     @Override
     public void dispose() {
-        // stop update tasks
-        urlHandlers.values().forEach(RefreshingUrlCache::stop);
+        // remove the channels from the shared update tasks
+        channelConsumers.forEach((channelUID, consumer) -> {
+            String key = channelUrls.get(channelUID);
+            RefreshingUrlCache refreshingUrlCache = key != null ? urlHandlers.get(key) : null;
+            if (refreshingUrlCache != null) {
+                urlCacheRegistry.removeConsumer(refreshingUrlCache, consumer);
+            }
+        });
         rateLimitedHttpClient.shutdown();
 
         // clear lists
         urlHandlers.clear();
         channels.clear();
         channelUrls.clear();
+        channelConsumers.clear();
 
         // remove state descriptions
         httpDynamicStateDescriptionProvider.removeDescriptionsForThing(thing.getUID());
@@ -292,11 +311,11 @@ public class HttpThingHandler extends BaseThingHandler {
             // we need a key consisting of stateContent and URL, only if both are equal, we can use the same cache
             String key = channelConfig.stateContent + "$" + stateUrl;
             channelUrls.put(channelUID, key);
-            urlHandlers
-                    .computeIfAbsent(key,
-                            k -> new RefreshingUrlCache(scheduler, rateLimitedHttpClient, stateUrl,
-                                    channelConfig.escapedUrl, config, channelConfig.stateContent))
-                    .addConsumer(itemValueConverter::process);
+            // the cache is shared with all channels of all things using the same request
+            Consumer<Content> consumer = itemValueConverter::process;
+            urlHandlers.put(key, urlCacheRegistry.addConsumer(stateUrl, channelConfig.escapedUrl, config,
+                    channelConfig.stateContent, rateLimitedHttpClient, consumer));
+            channelConsumers.put(channelUID, consumer);
         }
 
         StateDescription stateDescription = StateDescriptionFragmentBuilder.create()
@@ -12,15 +12,32 @@
  */
 package org.openhab.binding.http.internal.http;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 
 /**
  * The {@link Content} defines the pre-processed response
  *
+ * The same content is passed to all channels using the same URL. The string representation and the JSON or XML
+ * document model are created once, when the first channel requests them.
+ *
  * @author Jan N. Klug - Initial contribution
  */
 @NonNullByDefault
@@ -28,10 +45,32 @@ public class Content {
     private final byte[] rawContent;
     private final Charset encoding;
     private final @Nullable String mediaType;
+    private final @Nullable String eTag;
+    private final @Nullable String lastModified;
+    private final boolean notModified;
+
+    private @Nullable String string;
+    private @Nullable JsonElement json;
+    private boolean jsonParsed = false;
+    private @Nullable Document xml;
+    private boolean xmlParsed = false;
 
     public Content(byte[] rawContent, String encoding, @Nullable String mediaType) {
+        this(rawContent, encoding, mediaType, null, null);
+    }
+
+    public Content(byte[] rawContent, String encoding, @Nullable String mediaType, @Nullable String eTag,
+            @Nullable String lastModified) {
+        this(rawContent, encoding, mediaType, eTag, lastModified, false);
+    }
+
+    private Content(byte[] rawContent, String encoding, @Nullable String mediaType, @Nullable String eTag,
+            @Nullable String lastModified, boolean notModified) {
         this.rawContent = rawContent;
         this.mediaType = mediaType;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+        this.notModified = notModified;
 
         Charset finalEncoding = StandardCharsets.UTF_8;
         try {
@@ -41,15 +80,97 @@ public class Content {
         this.encoding = finalEncoding;
     }
 
+    /**
+     * Create the content of a "304 Not Modified" response to a conditional request
+     *
+     * @return an empty content marked as not modified
+     */
+    public static Content notModified() {
+        return new Content(new byte[0], StandardCharsets.UTF_8.name(), null, null, null, true);
+    }
+
     public byte[] getRawContent() {
         return rawContent;
     }
 
-    public String getAsString() {
-        return new String(rawContent, encoding);
+    public synchronized String getAsString() {
+        String string = this.string;
+        if (string == null) {
+            string = new String(rawContent, encoding);
+            this.string = string;
+        }
+        return string;
+    }
+
+    /**
+     * Get the content as JSON document, parsed once for all channels
+     *
+     * @return the JSON document or null if the content is not valid JSON
+     */
+    public synchronized @Nullable JsonElement getAsJson() {
+        if (!jsonParsed) {
+            jsonParsed = true;
+            try {
+                json = JsonParser.parseString(getAsString());
+            } catch (JsonParseException e) {
+                json = null;
+            }
+        }
+        return json;
+    }
+
+    /**
+     * Get the content as XML document, parsed once for all channels. The document is not thread-safe, evaluations
+     * need to synchronize on it.
+     *
+     * @return the XML document or null if the content is not valid XML
+     */
+    public synchronized @Nullable Document getAsXml() {
+        if (!xmlParsed) {
+            xmlParsed = true;
+            try {
+                DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
+                // see https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
+                domFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+                domFactory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+                domFactory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+                domFactory.setXIncludeAware(false);
+                domFactory.setExpandEntityReferences(false);
+                domFactory.setNamespaceAware(true);
+                domFactory.setValidating(false);
+                DocumentBuilder builder = domFactory.newDocumentBuilder();
+                // silence the default error handler, invalid XML falls back to the transformation service
+                builder.setErrorHandler(new DefaultHandler());
+                xml = builder.parse(new InputSource(new StringReader(getAsString())));
+            } catch (ParserConfigurationException | SAXException | IOException e) {
+                xml = null;
+            }
+        }
+        return xml;
     }
 
     public @Nullable String getMediaType() {
         return mediaType;
     }
+
+    /**
+     * @return the entity tag of the response, used for conditional requests
+     */
+    public @Nullable String getETag() {
+        return eTag;
+    }
+
+    /**
+     * @return the last modification date of the response, used for conditional requests
+     */
+    public @Nullable String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return true if the server answered a conditional request with "304 Not Modified"
+     */
+    public boolean isNotModified() {
+        return notModified;
+    }
 }
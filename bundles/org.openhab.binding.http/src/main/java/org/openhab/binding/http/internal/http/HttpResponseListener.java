@@ -24,6 +24,8 @@ import org.eclipse.jetty.client.api.Response;
 import org.eclipse.jetty.client.api.Result;
 import org.eclipse.jetty.client.util.BufferingResponseListener;
 import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -64,9 +66,13 @@ public class HttpResponseListener extends BufferingResponseListener {
             logger.warn("Requesting '{}' (method='{}', content='{}') failed: {}", request.getURI(), request.getMethod(),
                     request.getContent(), result.getFailure().toString());
             future.complete(null);
+        } else if (response.getStatus() == HttpStatus.NOT_MODIFIED_304) {
+            future.complete(Content.notModified());
         } else if (HttpStatus.isSuccess(response.getStatus())) {
             String encoding = Objects.requireNonNullElse(getEncoding(), fallbackEncoding);
-            future.complete(new Content(getContent(), encoding, getMediaType()));
+            HttpFields headers = response.getHeaders();
+            future.complete(new Content(getContent(), encoding, getMediaType(), headers.get(HttpHeader.ETAG),
+                    headers.get(HttpHeader.LAST_MODIFIED)));
         } else {
             switch (response.getStatus()) {
                 case HttpStatus.UNAUTHORIZED_401:
@@ -15,10 +15,12 @@ package org.openhab.binding.http.internal.http;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -31,6 +33,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.api.Authentication;
 import org.eclipse.jetty.client.api.AuthenticationStore;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.openhab.binding.http.internal.Util;
 import org.openhab.binding.http.internal.config.HttpThingConfig;
@@ -41,47 +44,57 @@ import org.slf4j.LoggerFactory;
  * The {@link RefreshingUrlCache} is responsible for requesting from a single URL and passing the content to the
  * channels
  *
+ * The cache is shared by all channels (of all things) with the same request, see
+ * {@link RefreshingUrlCacheRegistry}. It refreshes with the shortest refresh interval of its consumers. Conditional
+ * requests are used if the server provides an entity tag or a modification date, and the content is only passed to
+ * the consumers if it has changed.
+ *
  * @author Jan N. Klug - Initial contribution
  */
 @NonNullByDefault
 public class RefreshingUrlCache {
     private final Logger logger = LoggerFactory.getLogger(RefreshingUrlCache.class);
 
+    private final ScheduledExecutorService executor;
     private final String url;
     private final boolean escapedUrl;
-    private final RateLimitedHttpClient httpClient;
     private final int timeout;
     private final int bufferSize;
     private final @Nullable String fallbackEncoding;
-    private final Set<Consumer<Content>> consumers = ConcurrentHashMap.newKeySet();
+    private final Map<Consumer<Content>, ConsumerRegistration> consumers = new ConcurrentHashMap<>();
     private final List<String> headers;
     private final HttpMethod httpMethod;
     private final String httpContent;
 
-    private final ScheduledFuture<?> future;
-    private @Nullable Content lastContent;
+    private @Nullable ScheduledFuture<?> future;
+    private int refresh = 0;
+    private volatile @Nullable Content lastContent;
+    private volatile boolean invalidated = true;
 
-    public RefreshingUrlCache(ScheduledExecutorService executor, RateLimitedHttpClient httpClient, String url,
-            boolean escapedUrl, HttpThingConfig thingConfig, String httpContent) {
-        this.httpClient = httpClient;
+    public RefreshingUrlCache(ScheduledExecutorService executor, String url, boolean escapedUrl,
+            HttpThingConfig thingConfig, String httpContent) {
+        this.executor = executor;
         this.url = url;
         this.escapedUrl = escapedUrl;
         this.timeout = thingConfig.timeout;
         this.bufferSize = thingConfig.bufferSize;
-        this.headers = thingConfig.headers;
+        this.headers = List.copyOf(thingConfig.headers);
         this.httpMethod = thingConfig.stateMethod;
         this.httpContent = httpContent;
         fallbackEncoding = thingConfig.encoding;
-
-        future = executor.scheduleWithFixedDelay(this::refresh, 1, thingConfig.refresh, TimeUnit.SECONDS);
-        logger.trace("Started refresh task for URL '{}' with interval {}s", url, thingConfig.refresh);
     }
 
     private void refresh() {
-        refresh(false);
+        // use the rate limited client of any consumer
+        Iterator<ConsumerRegistration> iterator = consumers.values().iterator();
+        if (!iterator.hasNext()) {
+            // do not refresh if we don't have listeners
+            return;
+        }
+        refresh(iterator.next().httpClient, false);
     }
 
-    private void refresh(boolean isRetry) {
+    private void refresh(RateLimitedHttpClient httpClient, boolean isRetry) {
         if (consumers.isEmpty()) {
             // do not refresh if we don't have listeners
             return;
@@ -105,6 +118,19 @@ public class RefreshingUrlCache {
                     }
                 });
 
+                // conditional request, the server may answer with "304 Not Modified" if the content is unchanged
+                Content content = lastContent;
+                if (content != null && httpMethod == HttpMethod.GET) {
+                    String eTag = content.getETag();
+                    if (eTag != null) {
+                        request.header(HttpHeader.IF_NONE_MATCH, eTag);
+                    }
+                    String lastModified = content.getLastModified();
+                    if (lastModified != null) {
+                        request.header(HttpHeader.IF_MODIFIED_SINCE, lastModified);
+                    }
+                }
+
                 CompletableFuture<@Nullable Content> response = new CompletableFuture<>();
                 response.exceptionally(e -> {
                     if (e instanceof HttpAuthException) {
@@ -116,7 +142,7 @@ public class RefreshingUrlCache {
                             if (authResult != null) {
                                 authStore.removeAuthenticationResult(authResult);
                                 logger.debug("Cleared authentication result for '{}', retrying immediately", uri);
-                                refresh(true);
+                                refresh(httpClient, true);
                             } else {
                                 logger.warn("Could not find authentication result for '{}', failing here", uri);
                             }
@@ -143,15 +169,48 @@ public class RefreshingUrlCache {
         }
     }
 
-    public void stop() {
+    public synchronized void stop() {
         // clearing all listeners to prevent further updates
         consumers.clear();
-        future.cancel(false);
+        stopRefresh();
         logger.trace("Stopped refresh task for URL '{}'", url);
     }
 
-    public void addConsumer(Consumer<Content> consumer) {
-        consumers.add(consumer);
+    /**
+     * Add a consumer for the content
+     *
+     * @param consumer the consumer
+     * @param httpClient the rate limited client of the thing of the consumer
+     * @param refresh the refresh interval of the thing of the consumer in s
+     */
+    public synchronized void addConsumer(Consumer<Content> consumer, RateLimitedHttpClient httpClient, int refresh) {
+        consumers.put(consumer, new ConsumerRegistration(httpClient, refresh));
+        Content content = lastContent;
+        if (content != null) {
+            // the cache is already running, a new consumer should not wait for the next change
+            executor.execute(() -> accept(consumer, content));
+        }
+        updateRefresh();
+    }
+
+    /**
+     * Remove a consumer
+     *
+     * @param consumer the consumer
+     * @return true if the cache has no consumers left
+     */
+    public synchronized boolean removeConsumer(Consumer<Content> consumer) {
+        consumers.remove(consumer);
+        updateRefresh();
+        return consumers.isEmpty();
+    }
+
+    /**
+     * Pass the content to all consumers with the next refresh, even if it is unchanged. This is used after a
+     * command was sent, so a state which was not accepted by the remote side is corrected.
+     */
+    public void invalidate() {
+        invalidated = true;
     }
 
     public Optional<Content> get() {
@@ -163,16 +222,69 @@ public class RefreshingUrlCache {
         }
     }
 
+    private void updateRefresh() {
+        int newRefresh = consumers.values().stream().mapToInt(c -> c.refresh).min().orElse(0);
+        if (newRefresh == refresh) {
+            return;
+        }
+        stopRefresh();
+        refresh = newRefresh;
+        if (newRefresh > 0) {
+            future = executor.scheduleWithFixedDelay(this::refresh, lastContent == null ? 1 : newRefresh, newRefresh,
+                    TimeUnit.SECONDS);
+            logger.trace("Started refresh task for URL '{}' with interval {}s", url, newRefresh);
+        }
+    }
+
+    private void stopRefresh() {
+        ScheduledFuture<?> future = this.future;
+        if (future != null) {
+            future.cancel(false);
+            this.future = null;
+        }
+        refresh = 0;
+    }
+
     private void processResult(@Nullable Content content) {
+        Content previous = lastContent;
+        if (content != null && content.isNotModified()) {
+            if (previous == null) {
+                // no conditional request is sent without a previous content
+                return;
+            }
+            content = previous;
+        }
+        if (content != null && previous != null && !invalidated
+                && (content == previous || Arrays.equals(content.getRawContent(), previous.getRawContent()))) {
+            // keep the new content for the validators of the next conditional request
+            lastContent = content;
+            logger.trace("Content of URL {} is unchanged", url);
+            return;
+        }
         if (content != null) {
-            for (Consumer<Content> consumer : consumers) {
-                try {
-                    consumer.accept(content);
-                } catch (IllegalArgumentException | IllegalStateException e) {
-                    logger.warn("Failed processing result for URL {}: {}", url, e.getMessage());
-                }
+            invalidated = false;
+            for (Consumer<Content> consumer : consumers.keySet()) {
+                accept(consumer, content);
             }
         }
         lastContent = content;
     }
+
+    private void accept(Consumer<Content> consumer, Content content) {
+        try {
+            consumer.accept(content);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            logger.warn("Failed processing result for URL {}: {}", url, e.getMessage());
+        }
+    }
+
+    private static class ConsumerRegistration {
+        private final RateLimitedHttpClient httpClient;
+        private final int refresh;
+
+        public ConsumerRegistration(RateLimitedHttpClient httpClient, int refresh) {
+            this.httpClient = httpClient;
+            this.refresh = refresh;
+        }
+    }
 }
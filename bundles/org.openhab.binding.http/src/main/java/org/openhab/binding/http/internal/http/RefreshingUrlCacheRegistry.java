@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.http.HttpMethod;
+import org.openhab.binding.http.internal.config.HttpAuthMode;
+import org.openhab.binding.http.internal.config.HttpThingConfig;
+
+/**
+ * The {@link RefreshingUrlCacheRegistry} shares the {@link RefreshingUrlCache}s of all things of the binding. Channels
+ * using the same request (URL, method, headers, content and connection settings) use the same cache, so the URL is
+ * only requested once per refresh cycle. A cache is stopped when its last consumer is removed.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RefreshingUrlCacheRegistry {
+    private final ScheduledExecutorService scheduler;
+    private final Map<RequestSignature, RefreshingUrlCache> caches = new HashMap<>();
+
+    private record RequestSignature(String url, boolean escapedUrl, HttpMethod method, List<String> headers,
+            String content, int timeout, int bufferSize, @Nullable String encoding, boolean ignoreSSLErrors,
+            HttpAuthMode authMode, String username, String password) {
+    }
+
+    public RefreshingUrlCacheRegistry(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Add a consumer to the cache for the given request, the cache is created if necessary
+     *
+     * @param url the URL
+     * @param escapedUrl true if the URL is already escaped
+     * @param thingConfig the configuration of the thing of the consumer
+     * @param content the content of the request
+     * @param httpClient the rate limited client of the thing of the consumer
+     * @param consumer the consumer
+     * @return the cache
+     */
+    public synchronized RefreshingUrlCache addConsumer(String url, boolean escapedUrl, HttpThingConfig thingConfig,
+            String content, RateLimitedHttpClient httpClient, Consumer<Content> consumer) {
+        RequestSignature signature = new RequestSignature(url, escapedUrl, thingConfig.stateMethod,
+                List.copyOf(thingConfig.headers), content, thingConfig.timeout, thingConfig.bufferSize,
+                thingConfig.encoding, thingConfig.ignoreSSLErrors, thingConfig.authMode, thingConfig.username,
+                thingConfig.password);
+        RefreshingUrlCache cache = caches.computeIfAbsent(signature,
+                s -> new RefreshingUrlCache(scheduler, url, escapedUrl, thingConfig, content));
+        cache.addConsumer(consumer, httpClient, thingConfig.refresh);
+        return cache;
+    }
+
+    /**
+     * Remove a consumer from a cache, the cache is stopped if it has no consumers left
+     *
+     * @param cache the cache
+     * @param consumer the consumer
+     */
+    public synchronized void removeConsumer(RefreshingUrlCache cache, Consumer<Content> consumer) {
+        if (cache.removeConsumer(consumer)) {
+            caches.values().remove(cache);
+            cache.stop();
+        }
+    }
+
+    /**
+     * Stop all caches
+     */
+    public synchronized void dispose() {
+        caches.values().forEach(RefreshingUrlCache::stop);
+        caches.clear();
+    }
+}
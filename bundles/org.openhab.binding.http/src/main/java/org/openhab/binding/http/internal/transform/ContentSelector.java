@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.transform;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.http.internal.http.Content;
+
+/**
+ * The {@link ContentSelector} is a precompiled transformation pattern which is evaluated against the document model
+ * of a {@link Content}. The document is parsed once and shared by all channels, instead of being parsed by the
+ * transformation service for each channel.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+interface ContentSelector {
+
+    /**
+     * select the value from the document model of the content
+     *
+     * @param content the content
+     * @return the selected value or null if the value can't be selected from the document model. In this case the
+     *         transformation service is used.
+     */
+    @Nullable
+    String select(Content content);
+
+    /**
+     * precompile a transformation pattern
+     *
+     * @param serviceName the name of the transformation service (upper case)
+     * @param pattern the pattern
+     * @return the selector or null if the pattern is not supported
+     */
+    static @Nullable ContentSelector compile(String serviceName, String pattern) {
+        switch (serviceName) {
+            case "JSONPATH":
+                return JsonPathSelector.compile(pattern);
+            case "XPATH":
+                return XPathSelector.compile(pattern);
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.transform;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.http.internal.http.Content;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * The {@link JsonPathSelector} evaluates simple JSONPath expressions like <code>$.sensors[0].temperature</code> or
+ * <code>$['status']['value']</code> against the shared JSON document of a {@link Content}.
+ *
+ * Only definite paths of member names and array indexes are supported. Wildcards, deep scans, filters and functions
+ * are left to the JSONPATH transformation service, as well as selections which do not result in a single primitive
+ * value. The results are formatted like the transformation service does.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class JsonPathSelector implements ContentSelector {
+    // doubles are exact up to 15 significant digits, longer decimals are left to the transformation service
+    private static final int MAX_DECIMAL_DIGITS = 15;
+
+    // member names (String) and array indexes (Integer)
+    private final List<Object> segments;
+
+    private JsonPathSelector(List<Object> segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * compile a JSONPath expression
+     *
+     * @param pattern the JSONPath expression
+     * @return the selector or null if the expression is not supported
+     */
+    static @Nullable JsonPathSelector compile(String pattern) {
+        if (!pattern.startsWith("$")) {
+            return null;
+        }
+        List<Object> segments = new ArrayList<>();
+        int length = pattern.length();
+        int i = 1;
+        while (i < length) {
+            char c = pattern.charAt(i);
+            if (c == '.') {
+                int start = ++i;
+                while (i < length && pattern.charAt(i) != '.' && pattern.charAt(i) != '[') {
+                    i++;
+                }
+                String name = pattern.substring(start, i);
+                if (!isPlainName(name)) {
+                    // deep scan, wildcard or function
+                    return null;
+                }
+                segments.add(name);
+            } else if (c == '[') {
+                int end = pattern.indexOf(']', i);
+                if (end < 0) {
+                    return null;
+                }
+                String selector = pattern.substring(i + 1, end);
+                if (selector.length() >= 2 && (selector.charAt(0) == '\'' || selector.charAt(0) == '"')
+                        && selector.charAt(selector.length() - 1) == selector.charAt(0)) {
+                    String name = selector.substring(1, selector.length() - 1);
+                    if (name.isEmpty() || name.contains("'") || name.contains("\"") || name.contains("\\")) {
+                        // multiple names or escaped characters
+                        return null;
+                    }
+                    segments.add(name);
+                } else if (selector.matches("-?\\d{1,9}")) {
+                    segments.add(Integer.valueOf(selector));
+                } else {
+                    // wildcard, slice, filter or union
+                    return null;
+                }
+                i = end + 1;
+            } else {
+                return null;
+            }
+        }
+        return new JsonPathSelector(segments);
+    }
+
+    @Override
+    public @Nullable String select(Content content) {
+        JsonElement element = content.getAsJson();
+        for (Object segment : segments) {
+            if (element == null) {
+                return null;
+            }
+            if (segment instanceof String) {
+                if (!element.isJsonObject()) {
+                    return null;
+                }
+                element = element.getAsJsonObject().get((String) segment);
+            } else {
+                if (!element.isJsonArray()) {
+                    return null;
+                }
+                JsonArray array = element.getAsJsonArray();
+                int index = (Integer) segment;
+                if (index < 0) {
+                    // negative indexes count from the end of the array
+                    index += array.size();
+                }
+                if (index < 0 || index >= array.size()) {
+                    return null;
+                }
+                element = array.get(index);
+            }
+        }
+        if (element == null || !element.isJsonPrimitive()) {
+            // not found, null, objects and arrays are handled by the transformation service
+            return null;
+        }
+        JsonPrimitive primitive = element.getAsJsonPrimitive();
+        return primitive.isNumber() ? formatNumber(primitive.getAsString()) : primitive.getAsString();
+    }
+
+    /**
+     * format a number like the transformation service, which converts integers to Integer/Long/BigInteger and
+     * decimals to Double
+     */
+    private static @Nullable String formatNumber(String number) {
+        try {
+            if (number.indexOf('.') < 0 && number.indexOf('e') < 0 && number.indexOf('E') < 0) {
+                return new BigInteger(number).toString();
+            }
+            int digits = 0;
+            for (int i = 0; i < number.length() && number.charAt(i) != 'e' && number.charAt(i) != 'E'; i++) {
+                digits += Character.isDigit(number.charAt(i)) ? 1 : 0;
+            }
+            return digits <= MAX_DECIMAL_DIGITS ? Double.toString(Double.parseDouble(number)) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean isPlainName(String name) {
+        if (name.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -18,6 +18,7 @@ import java.util.function.Function;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.http.internal.http.Content;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
 import org.slf4j.Logger;
@@ -36,6 +37,7 @@ public class SingleValueTransformation implements ValueTransformation {
     private WeakReference<@Nullable TransformationService> transformationService = new WeakReference<>(null);
     private final String pattern;
     private final String serviceName;
+    private final @Nullable ContentSelector selector;
 
     /**
      * Creates a new channel state transformer.
@@ -54,18 +56,14 @@ public class SingleValueTransformation implements ValueTransformation {
         }
         this.serviceName = pattern.substring(0, index).toUpperCase();
         this.pattern = pattern.substring(index + 1);
+        this.selector = ContentSelector.compile(serviceName, this.pattern);
     }
 
     @Override
     public Optional<String> apply(String value) {
-        TransformationService transformationService = this.transformationService.get();
+        TransformationService transformationService = getTransformationService();
         if (transformationService == null) {
-            transformationService = transformationServiceSupplier.apply(serviceName);
-            if (transformationService == null) {
-                logger.warn("Transformation service {} for pattern {} not found!", serviceName, pattern);
-                return Optional.empty();
-            }
-            this.transformationService = new WeakReference<>(transformationService);
+            return Optional.empty();
         }
 
         try {
@@ -82,6 +80,33 @@ public class SingleValueTransformation implements ValueTransformation {
         return Optional.empty();
     }
 
+    @Override
+    public Optional<String> apply(Content content) {
+        ContentSelector selector = this.selector;
+        if (selector == null) {
+            return apply(content.getAsString());
+        }
+        if (getTransformationService() == null) {
+            return Optional.empty();
+        }
+        String result = selector.select(content);
+        // values which can't be selected from the document model are passed to the transformation service
+        return result != null ? Optional.of(result) : apply(content.getAsString());
+    }
+
+    private @Nullable TransformationService getTransformationService() {
+        TransformationService transformationService = this.transformationService.get();
+        if (transformationService == null) {
+            transformationService = transformationServiceSupplier.apply(serviceName);
+            if (transformationService == null) {
+                logger.warn("Transformation service {} for pattern {} not found!", serviceName, pattern);
+                return null;
+            }
+            this.transformationService = new WeakReference<>(transformationService);
+        }
+        return transformationService;
+    }
+
     @Override
     public String toString() {
         return "ChannelStateTransformation{pattern='" + pattern + "', serviceName='" + serviceName + "'}";
@@ -15,6 +15,7 @@ package org.openhab.binding.http.internal.transform;
 import java.util.Optional;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.http.internal.http.Content;
 
 /**
  * The {@link ValueTransformation} applies a set of transformations to a value
@@ -31,4 +32,14 @@ public interface ValueTransformation {
      * @return Optional of string representing the transformed value (empty if transformation not present or failed)
      */
     Optional<String> apply(String value);
+
+    /**
+     * applies the value transformation to a received content
+     *
+     * @param content The content
+     * @return Optional of string representing the transformed value (empty if transformation not present or failed)
+     */
+    default Optional<String> apply(Content content) {
+        return apply(content.getAsString());
+    }
 }
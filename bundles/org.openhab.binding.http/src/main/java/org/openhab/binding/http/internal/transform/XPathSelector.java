@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.transform;
+
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.http.internal.http.Content;
+import org.w3c.dom.Document;
+
+/**
+ * The {@link XPathSelector} evaluates a precompiled XPath expression against the shared XML document of a
+ * {@link Content}. Like the XPATH transformation service, the result is evaluated as string.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class XPathSelector implements ContentSelector {
+    private final XPathExpression expression;
+
+    private XPathSelector(XPathExpression expression) {
+        this.expression = expression;
+    }
+
+    /**
+     * compile an XPath expression
+     *
+     * @param pattern the XPath expression
+     * @return the selector or null if the expression is invalid
+     */
+    static @Nullable XPathSelector compile(String pattern) {
+        try {
+            return new XPathSelector(XPathFactory.newInstance().newXPath().compile(pattern));
+        } catch (XPathExpressionException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized @Nullable String select(Content content) {
+        Document document = content.getAsXml();
+        if (document == null) {
+            return null;
+        }
+        try {
+            // neither the expression nor the document are thread-safe
+            synchronized (document) {
+                return (String) expression.evaluate(document, XPathConstants.STRING);
+            }
+        } catch (XPathExpressionException e) {
+            return null;
+        }
+    }
+}
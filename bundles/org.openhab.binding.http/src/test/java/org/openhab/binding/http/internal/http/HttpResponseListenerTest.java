@@ -253,6 +253,44 @@ public class HttpResponseListenerTest {
         assertNull(content.getMediaType());
     }
 
+    /**
+     * When the remote side sends an entity tag and a modification date, the future completes normally and
+     * contains a Content object with both validators.
+     */
+    @Test
+    public void okWithValidators() {
+        response.getHeaders().put(HttpHeader.ETAG, "\"abc\"");
+        response.getHeaders().put(HttpHeader.LAST_MODIFIED, "Wed, 21 Oct 2015 07:28:00 GMT");
+        when(response.getStatus()).thenReturn(HttpStatus.OK_200);
+
+        CompletableFuture<@Nullable Content> future = run("foobar".getBytes());
+
+        Content content = future.join();
+        assertNotNull(content);
+        assertFalse(content.isNotModified());
+        assertEquals("\"abc\"", content.getETag());
+        assertEquals("Wed, 21 Oct 2015 07:28:00 GMT", content.getLastModified());
+    }
+
+    /**
+     * When the remote side response with a HTTP/304, the future completes normally and contains an
+     * empty Content marked as not modified.
+     */
+    @Test
+    public void notModified() {
+        when(response.getStatus()).thenReturn(HttpStatus.NOT_MODIFIED_304);
+
+        CompletableFuture<@Nullable Content> future = run();
+
+        assertTrue(future.isDone());
+        assertFalse(future.isCompletedExceptionally());
+
+        Content content = future.join();
+        assertNotNull(content);
+        assertTrue(content.isNotModified());
+        assertEquals(0, content.getRawContent().length);
+    }
+
     /**
      * When the remote side response with a HTTP/204 and no payload, the future completes normally
      * and contains an empty Content.
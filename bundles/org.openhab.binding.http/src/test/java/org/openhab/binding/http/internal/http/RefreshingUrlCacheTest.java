@@ -0,0 +1,216 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.client.api.Result;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.binding.http.internal.config.HttpThingConfig;
+
+/**
+ * Tests the sharing, refresh interval and change detection of {@link RefreshingUrlCache} and
+ * {@link RefreshingUrlCacheRegistry}.
+ *
+ * @author agent - Initial contribution
+ */
+@SuppressWarnings("unchecked")
+@NonNullByDefault
+public class RefreshingUrlCacheTest {
+    private static final String URL = "http://example.org/state";
+
+    private @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private @NonNullByDefault({}) ScheduledFuture<?> scheduledFuture;
+    private @NonNullByDefault({}) RateLimitedHttpClient httpClient;
+    private @NonNullByDefault({}) Request request;
+    private @NonNullByDefault({}) Response response;
+    private @NonNullByDefault({}) RefreshingUrlCacheRegistry registry;
+
+    private final List<String> received1 = new ArrayList<>();
+    private final List<String> received2 = new ArrayList<>();
+    private final Consumer<Content> consumer1 = content -> received1.add(new String(content.getRawContent()));
+    private final Consumer<Content> consumer2 = content -> received2.add(new String(content.getRawContent()));
+
+    private int responseStatus = HttpStatus.OK_200;
+    private String responsePayload = "";
+    private HttpFields responseHeaders = new HttpFields();
+
+    @BeforeEach
+    public void setUp() {
+        scheduler = mock(ScheduledExecutorService.class);
+        scheduledFuture = mock(ScheduledFuture.class);
+        doReturn(scheduledFuture).when(scheduler).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(),
+                any(TimeUnit.class));
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(scheduler).execute(any(Runnable.class));
+
+        request = mock(Request.class);
+        when(request.timeout(anyLong(), any())).thenReturn(request);
+        when(request.header(any(HttpHeader.class), any())).thenReturn(request);
+        response = mock(Response.class);
+        when(response.getStatus()).thenAnswer(invocation -> responseStatus);
+        when(response.getHeaders()).thenAnswer(invocation -> responseHeaders);
+        doAnswer(invocation -> {
+            HttpResponseListener listener = invocation.getArgument(0);
+            listener.onContent(response, ByteBuffer.wrap(responsePayload.getBytes(StandardCharsets.UTF_8)));
+            listener.onComplete(new Result(request, response));
+            return null;
+        }).when(request).send(any(HttpResponseListener.class));
+
+        httpClient = mock(RateLimitedHttpClient.class);
+        when(httpClient.newRequest(any(URI.class), any(HttpMethod.class), anyString()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(request));
+
+        registry = new RefreshingUrlCacheRegistry(scheduler);
+    }
+
+    private HttpThingConfig createConfig(int refresh) {
+        HttpThingConfig config = new HttpThingConfig();
+        config.refresh = refresh;
+        return config;
+    }
+
+    /**
+     * Answer the next request with the given payload and run the last scheduled refresh task.
+     */
+    private void refresh(String payload) {
+        responsePayload = payload;
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, atLeastOnce()).scheduleWithFixedDelay(task.capture(), anyLong(), anyLong(), any());
+        task.getValue().run();
+    }
+
+    @Test
+    public void consumersWithTheSameRequestShareOneCache() {
+        RefreshingUrlCache cache1 = registry.addConsumer(URL, false, createConfig(30), "", httpClient, consumer1);
+        RefreshingUrlCache cache2 = registry.addConsumer(URL, false, createConfig(30), "", httpClient, consumer2);
+        RefreshingUrlCache other = registry.addConsumer(URL + "2", false, createConfig(30), "", httpClient,
+                consumer1);
+
+        assertSame(cache1, cache2);
+        assertNotSame(cache1, other);
+
+        // one refresh task per cache, one request per refresh for all consumers of the cache
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(2)).scheduleWithFixedDelay(task.capture(), anyLong(), anyLong(), any());
+        responsePayload = "ON";
+        task.getAllValues().get(0).run();
+
+        verify(httpClient, times(1)).newRequest(any(URI.class), any(HttpMethod.class), anyString());
+        assertEquals(List.of("ON"), received1);
+        assertEquals(List.of("ON"), received2);
+    }
+
+    @Test
+    public void lateConsumerReceivesTheCachedContent() {
+        registry.addConsumer(URL, false, createConfig(30), "", httpClient, consumer1);
+        refresh("ON");
+
+        registry.addConsumer(URL, false, createConfig(30), "", httpClient, consumer2);
+        assertEquals(List.of("ON"), received2);
+    }
+
+    @Test
+    public void cacheRefreshesWithTheMinimumInterval() {
+        RefreshingUrlCache cache = registry.addConsumer(URL, false, createConfig(30), "", httpClient, consumer1);
+        verify(scheduler).scheduleWithFixedDelay(any(Runnable.class), eq(1L), eq(30L), eq(TimeUnit.SECONDS));
+
+        registry.addConsumer(URL, false, createConfig(10), "", httpClient, consumer2);
+        verify(scheduledFuture, times(1)).cancel(false);
+        verify(scheduler).scheduleWithFixedDelay(any(Runnable.class), eq(1L), eq(10L), eq(TimeUnit.SECONDS));
+
+        // a longer interval does not change the refresh
+        registry.addConsumer(URL, false, createConfig(60), "", httpClient, content -> {
+        });
+        verify(scheduler, times(2)).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(), any());
+
+        // back to the longer interval when the consumer with the shortest interval is removed, the content is
+        // already known so the first refresh is not sooner than the interval
+        refresh("ON");
+        registry.removeConsumer(cache, consumer2);
+        verify(scheduler).scheduleWithFixedDelay(any(Runnable.class), eq(30L), eq(30L), eq(TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void cacheIsStoppedWithItsLastConsumer() {
+        RefreshingUrlCache cache = registry.addConsumer(URL, false, createConfig(30), "", httpClient, consumer1);
+        registry.addConsumer(URL, false, createConfig(30), "", httpClient, consumer2);
+
+        registry.removeConsumer(cache, consumer1);
+        verify(scheduledFuture, never()).cancel(anyBoolean());
+
+        registry.removeConsumer(cache, consumer2);
+        verify(scheduledFuture).cancel(false);
+
+        // a new consumer gets a new cache
+        assertNotSame(cache, registry.addConsumer(URL, false, createConfig(30), "", httpClient, consumer1));
+    }
+
+    @Test
+    public void unchangedContentIsNotPassedAgain() {
+        RefreshingUrlCache cache = registry.addConsumer(URL, false, createConfig(30), "", httpClient, consumer1);
+
+        refresh("ON");
+        refresh("ON");
+        assertEquals(List.of("ON"), received1);
+
+        refresh("OFF");
+        assertEquals(List.of("ON", "OFF"), received1);
+
+        // after a command the state is passed again, even if unchanged
+        cache.invalidate();
+        refresh("OFF");
+        assertEquals(List.of("ON", "OFF", "OFF"), received1);
+        assertEquals("OFF", new String(cache.get().get().getRawContent()));
+    }
+
+    @Test
+    public void notModifiedResponseKeepsTheContent() {
+        RefreshingUrlCache cache = registry.addConsumer(URL, false, createConfig(30), "", httpClient, consumer1);
+
+        responseHeaders = new HttpFields();
+        responseHeaders.put(HttpHeader.ETAG, "\"1\"");
+        refresh("ON");
+        verify(request, never()).header(eq(HttpHeader.IF_NONE_MATCH), any());
+
+        responseStatus = HttpStatus.NOT_MODIFIED_304;
+        refresh("");
+        verify(request).header(HttpHeader.IF_NONE_MATCH, "\"1\"");
+        assertEquals(List.of("ON"), received1);
+        assertEquals("ON", new String(cache.get().get().getRawContent()));
+    }
+}
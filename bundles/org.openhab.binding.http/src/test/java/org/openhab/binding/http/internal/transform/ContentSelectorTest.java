@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.transform;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.http.internal.http.Content;
+
+/**
+ * Unit tests for the {@link ContentSelector}s.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ContentSelectorTest {
+    private static final String JSON = "{\"name\":\"demo\",\"on\":true,\"sensors\":[{\"temp\":21.50,\"id\":7},"
+            + "{\"temp\":1e3,\"id\":12345678901}],\"empty\":null,\"my-key\":\"x\"}";
+    private static final String XML = "<root><sensor id=\"1\"><temp>21.5</temp></sensor></root>";
+
+    private @Nullable String select(String serviceName, String pattern, String document) {
+        ContentSelector selector = ContentSelector.compile(serviceName, pattern);
+        assertNotNull(selector);
+        return selector.select(new Content(document.getBytes(StandardCharsets.UTF_8), "UTF-8", null));
+    }
+
+    @Test
+    public void jsonPathDefinitePaths() {
+        assertEquals("demo", select("JSONPATH", "$.name", JSON));
+        assertEquals("true", select("JSONPATH", "$['on']", JSON));
+        assertEquals("21.5", select("JSONPATH", "$.sensors[0].temp", JSON));
+        assertEquals("1000.0", select("JSONPATH", "$.sensors[-1].temp", JSON));
+        assertEquals("12345678901", select("JSONPATH", "$[\"sensors\"][1]['id']", JSON));
+        assertEquals("x", select("JSONPATH", "$.my-key", JSON));
+    }
+
+    @Test
+    public void jsonPathFallsBackToTransformationService() {
+        // not found, null, objects and arrays
+        assertNull(select("JSONPATH", "$.unknown", JSON));
+        assertNull(select("JSONPATH", "$.sensors[2].temp", JSON));
+        assertNull(select("JSONPATH", "$.empty", JSON));
+        assertNull(select("JSONPATH", "$.sensors[0]", JSON));
+        assertNull(select("JSONPATH", "$.name", "no json {"));
+
+        // expressions which are not precompiled
+        assertNull(ContentSelector.compile("JSONPATH", "$..temp"));
+        assertNull(ContentSelector.compile("JSONPATH", "$.sensors[*].temp"));
+        assertNull(ContentSelector.compile("JSONPATH", "$.sensors[?(@.id == 7)].temp"));
+        assertNull(ContentSelector.compile("JSONPATH", "$.sensors.length()"));
+        assertNull(ContentSelector.compile("JSONPATH", "name"));
+        assertNull(ContentSelector.compile("REGEX", ".*"));
+    }
+
+    @Test
+    public void xPath() {
+        assertEquals("21.5", select("XPATH", "/root/sensor[@id='1']/temp", XML));
+        assertEquals("", select("XPATH", "/root/unknown", XML));
+        assertNull(select("XPATH", "/root", "<root>"));
+        assertNull(ContentSelector.compile("XPATH", "/root["));
+    }
+}
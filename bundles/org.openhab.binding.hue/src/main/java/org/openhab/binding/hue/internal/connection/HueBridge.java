@@ -26,13 +26,13 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
-import java.util.LinkedList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -111,9 +111,7 @@ public class HueBridge {
 
     private final Gson gson = new GsonBuilder().setDateFormat(DATE_FORMAT).create();
 
-    private final LinkedList<AsyncPutParameters> commandsQueue = new LinkedList<>();
-    private @Nullable Future<?> job;
-    private final ScheduledExecutorService scheduler;
+    private final HueCommandQueue commandQueue;
 
     private @Nullable Config cachedConfig;
 
@@ -138,7 +136,7 @@ public class HueBridge {
             baseUrl = protocol + "://" + ip + ":" + port + "/api";
         }
         this.baseUrl = baseUrl;
-        this.scheduler = scheduler;
+        this.commandQueue = new HueCommandQueue(this::put, scheduler);
     }
 
     /**
@@ -293,6 +291,78 @@ public class HueBridge {
         return sensors;
     }
 
+    /**
+     * Returns the lights that are new or have changed since the last call with the same tracker.
+     * Only supported if {@link ApiVersionUtils#supportsFullLights(ApiVersion)} is true.
+     *
+     * @param tracker the state of the previously polled lights
+     * @return list of new and changed lights
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public List<FullLight> getChangedFullLights(HueResourceTracker tracker)
+            throws IOException, ApiException, ConfigurationException, CommunicationException {
+        requireAuthentication();
+
+        HueResult result = get(getRelativeURL("lights"));
+
+        handleErrors(result);
+
+        if (result.body.isBlank()) {
+            throw new EmptyResponseException("GET request 'lights' returned an unexpected empty reponse");
+        }
+
+        return getChangedResources(tracker, result.body, FullLight.class);
+    }
+
+    /**
+     * Returns the sensors that are new or have changed since the last call with the same tracker.
+     *
+     * @param tracker the state of the previously polled sensors
+     * @return list of new and changed sensors
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public List<FullSensor> getChangedSensors(HueResourceTracker tracker)
+            throws IOException, ApiException, ConfigurationException, CommunicationException {
+        requireAuthentication();
+
+        HueResult result = get(getRelativeURL("sensors"));
+
+        handleErrors(result);
+
+        if (result.body.isBlank()) {
+            throw new EmptyResponseException("GET request 'sensors' returned an unexpected empty reponse");
+        }
+
+        return getChangedResources(tracker, result.body, FullSensor.class);
+    }
+
+    private <T extends HueObject> List<T> getChangedResources(HueResourceTracker tracker, String body,
+            Class<T> classOfT) throws ApiException {
+        Map<String, String> changed;
+        try {
+            changed = tracker.update(body);
+        } catch (JsonParseException e) {
+            throw new ApiException("API returned unexpected result: " + e.getMessage());
+        }
+
+        List<T> resources = new ArrayList<>();
+        for (Map.Entry<String, String> entry : changed.entrySet()) {
+            String id = entry.getKey();
+            T resource;
+            try {
+                resource = safeFromJson(entry.getValue(), classOfT);
+            } catch (ApiException e) {
+                tracker.invalidate(id);
+                throw e;
+            }
+            if (resource != null) {
+                resource.setId(id);
+                resources.add(resource);
+            }
+        }
+        return resources;
+    }
+
     /**
      * Returns the last time a search for new lights was started.
      * If a search is currently running, the current time will be
@@ -432,8 +502,8 @@ public class HueBridge {
     public CompletableFuture<HueResult> setLightState(FullLight light, StateUpdate update) {
         requireAuthentication();
 
-        return putAsync(getRelativeURL("lights/" + enc(light.getId()) + "/state"), update.toJson(),
-                update.getMessageDelay());
+        return commandQueue.putAsync(getRelativeURL("lights/" + enc(light.getId()) + "/state"), update.toJson(),
+                HueCommandQueue.LIGHT_COMMAND_COST, light.getId());
     }
 
     /**
@@ -449,8 +519,8 @@ public class HueBridge {
     public CompletableFuture<HueResult> setSensorState(FullSensor sensor, StateUpdate update) {
         requireAuthentication();
 
-        return putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/state"), update.toJson(),
-                update.getMessageDelay());
+        return commandQueue.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/state"), update.toJson(),
+                HueCommandQueue.LIGHT_COMMAND_COST, null);
     }
 
     /**
@@ -465,8 +535,8 @@ public class HueBridge {
     public CompletableFuture<HueResult> updateSensorConfig(FullSensor sensor, ConfigUpdate update) {
         requireAuthentication();
 
-        return putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/config"), update.toJson(),
-                update.getMessageDelay());
+        return commandQueue.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/config"), update.toJson(),
+                HueCommandQueue.LIGHT_COMMAND_COST, null);
     }
 
     /**
@@ -514,6 +584,15 @@ public class HueBridge {
             group.setId(id);
             groups.add(group);
         });
+
+        Map<String, Set<String>> groupLights = new HashMap<>();
+        for (FullGroup group : groups) {
+            List<String> lightIds = group.getLightIds();
+            if (lightIds != null && !lightIds.isEmpty()) {
+                groupLights.put(getRelativeURL("groups/" + enc(group.getId()) + "/action"), Set.copyOf(lightIds));
+            }
+        }
+        commandQueue.setGroups(groupLights);
         return groups;
     }
 
@@ -719,8 +798,8 @@ public class HueBridge {
     public CompletableFuture<HueResult> setGroupState(Group group, StateUpdate update) {
         requireAuthentication();
 
-        return putAsync(getRelativeURL("groups/" + enc(group.getId()) + "/action"), update.toJson(),
-                update.getMessageDelay());
+        return commandQueue.putAsync(getRelativeURL("groups/" + enc(group.getId()) + "/action"), update.toJson(),
+                HueCommandQueue.GROUP_COMMAND_COST, null);
     }
 
     /**
@@ -1124,50 +1203,6 @@ public class HueBridge {
         }
     }
 
-    private CompletableFuture<HueResult> putAsync(String address, String body, long delay) {
-        AsyncPutParameters asyncPutParameters = new AsyncPutParameters(address, body, delay);
-        synchronized (commandsQueue) {
-            if (commandsQueue.isEmpty()) {
-                commandsQueue.offer(asyncPutParameters);
-                Future<?> localJob = job;
-                if (localJob == null || localJob.isDone()) {
-                    job = scheduler.submit(this::executeCommands);
-                }
-            } else {
-                commandsQueue.offer(asyncPutParameters);
-            }
-        }
-        return asyncPutParameters.future;
-    }
-
-    private void executeCommands() {
-        while (true) {
-            try {
-                long delayTime = 0;
-                synchronized (commandsQueue) {
-                    AsyncPutParameters payloadCallbackPair = commandsQueue.poll();
-                    if (payloadCallbackPair != null) {
-                        logger.debug("Async sending put to address: {} delay: {} body: {}", payloadCallbackPair.address,
-                                payloadCallbackPair.delay, payloadCallbackPair.body);
-                        try {
-                            HueResult result = doNetwork(payloadCallbackPair.address, HttpMethod.PUT,
-                                    payloadCallbackPair.body);
-                            payloadCallbackPair.future.complete(result);
-                        } catch (ConfigurationException | CommunicationException e) {
-                            payloadCallbackPair.future.completeExceptionally(e);
-                        }
-                        delayTime = payloadCallbackPair.delay;
-                    } else {
-                        return;
-                    }
-                }
-                Thread.sleep(delayTime);
-            } catch (InterruptedException e) {
-                logger.debug("commandExecutorThread was interrupted", e);
-            }
-        }
-    }
-
     public static class HueResult {
         public final String body;
         public final int responseCode;
@@ -1177,18 +1212,4 @@ public class HueBridge {
             this.responseCode = responseCode;
         }
     }
-
-    public final class AsyncPutParameters {
-        public final String address;
-        public final String body;
-        public final CompletableFuture<HueResult> future;
-        public final long delay;
-
-        public AsyncPutParameters(String address, String body, long delay) {
-            this.address = address;
-            this.body = body;
-            this.future = new CompletableFuture<>();
-            this.delay = delay;
-        }
-    }
 }
@@ -0,0 +1,307 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.connection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.connection.HueBridge.HueResult;
+import org.openhab.core.i18n.CommunicationException;
+import org.openhab.core.i18n.ConfigurationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * Queue for the asynchronous PUT requests to a Hue bridge.
+ *
+ * Requests to the same address are merged as long as they wait in the queue: the fields of the JSON bodies are
+ * combined and the last value wins. A colour mode (xy, hue/sat or ct) replaces the keys of the other colour modes,
+ * because the bridge only applies one of them. Requests containing relative changes (e.g. "bri_inc") are never
+ * merged.
+ *
+ * Identical light state changes for all lights of a group, queued within a short window, are sent as one group
+ * action. A light state change without identical changes to other lights in the queue is sent without delay.
+ *
+ * The rate is limited by a token bucket following the Hue system performance recommendations: about 10 light
+ * commands per second and one group command per second.
+ * See https://developers.meethue.com/develop/application-design-guidance/hue-system-performance/
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class HueCommandQueue {
+    // token bucket: one token per light command, refilled with 10 tokens per second
+    static final int BUCKET_CAPACITY = 10;
+    static final int LIGHT_COMMAND_COST = 1;
+    static final int GROUP_COMMAND_COST = BUCKET_CAPACITY;
+    private static final long NANOS_PER_TOKEN = TimeUnit.SECONDS.toNanos(1) / BUCKET_CAPACITY;
+    // time to wait for identical light commands that can be sent as one group action
+    static final long GROUP_WINDOW_MS = 25;
+    static final int GROUP_MIN_LIGHTS = 3;
+    // keys of the colour modes, the bridge prefers xy over ct over hue/sat when more than one is given
+    private static final List<Set<String>> COLOR_MODES = List.of(Set.of("xy"), Set.of("hue", "sat"), Set.of("ct"));
+
+    @FunctionalInterface
+    interface Sender {
+        HueResult put(String address, String body) throws ConfigurationException, CommunicationException;
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(HueCommandQueue.class);
+
+    private final Sender sender;
+    private final ScheduledExecutorService scheduler;
+
+    private final LinkedList<AsyncPutParameters> commandsQueue = new LinkedList<>();
+    // the last queued command of an address, as long as further commands can be merged into it
+    private final Map<String, AsyncPutParameters> openCommands = new HashMap<>();
+    private @Nullable Future<?> job;
+    private double tokens = BUCKET_CAPACITY;
+    private long lastRefill = System.nanoTime();
+
+    // group action address to the ids of the lights in the group
+    private volatile Map<String, Set<String>> groups = Map.of();
+
+    HueCommandQueue(Sender sender, ScheduledExecutorService scheduler) {
+        this.sender = sender;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Sets the known groups, used to send identical light commands as one group action.
+     *
+     * @param groups the lights per group action address
+     */
+    void setGroups(Map<String, Set<String>> groups) {
+        this.groups = Map.copyOf(groups);
+    }
+
+    /**
+     * Queues a PUT request.
+     *
+     * @param address the address
+     * @param body the JSON body
+     * @param cost the number of tokens the request takes
+     * @param lightId the id of the light if this is a light state change, null otherwise
+     * @return a future completed with the result of the request
+     */
+    CompletableFuture<HueResult> putAsync(String address, String body, int cost, @Nullable String lightId) {
+        CompletableFuture<HueResult> future = new CompletableFuture<>();
+        JsonObject json = parse(body);
+        boolean mergeable = json != null && isMergeable(json);
+        synchronized (commandsQueue) {
+            AsyncPutParameters open = openCommands.get(address);
+            if (open != null && json != null && mergeable) {
+                open.merge(json);
+                open.futures.add(future);
+                logger.trace("Merged put to address: {} body: {}", address, body);
+            } else {
+                AsyncPutParameters command = new AsyncPutParameters(address, body, json, cost, lightId);
+                command.futures.add(future);
+                commandsQueue.offer(command);
+                if (mergeable) {
+                    openCommands.put(address, command);
+                } else {
+                    // keep the order, later commands must not be merged into an earlier one
+                    openCommands.remove(address);
+                }
+            }
+            Future<?> localJob = job;
+            if (localJob == null || localJob.isDone()) {
+                job = scheduler.submit(this::executeCommands);
+            }
+        }
+        return future;
+    }
+
+    private void executeCommands() {
+        while (true) {
+            AsyncPutParameters command;
+            List<AsyncPutParameters> merged = new ArrayList<>();
+            synchronized (commandsQueue) {
+                command = commandsQueue.peek();
+                if (command == null) {
+                    job = null;
+                    return;
+                }
+                long waitNanos = 0;
+                if (command.lightId != null && !groups.isEmpty() && hasIdenticalLightCommand(command)) {
+                    waitNanos = command.queued + TimeUnit.MILLISECONDS.toNanos(GROUP_WINDOW_MS) - System.nanoTime();
+                }
+                if (waitNanos <= 0) {
+                    command = toGroupCommand(command, merged);
+                    waitNanos = acquireTokens(command.cost);
+                }
+                if (waitNanos > 0) {
+                    job = scheduler.schedule(this::executeCommands, waitNanos, TimeUnit.NANOSECONDS);
+                    return;
+                }
+                commandsQueue.remove(command);
+                openCommands.remove(command.address, command);
+                for (AsyncPutParameters m : merged) {
+                    commandsQueue.remove(m);
+                    openCommands.remove(m.address, m);
+                }
+            }
+            send(command, merged);
+        }
+    }
+
+    /**
+     * Checks if an identical state change to another light is queued, so waiting for a group action makes sense.
+     *
+     * @param command a light command
+     * @return true if an identical command to another light is queued
+     */
+    private boolean hasIdenticalLightCommand(AsyncPutParameters command) {
+        JsonObject json = command.json;
+        if (json == null) {
+            return false;
+        }
+        for (AsyncPutParameters other : commandsQueue) {
+            String otherLightId = other.lightId;
+            if (otherLightId != null && !otherLightId.equals(command.lightId) && json.equals(other.json)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the given light command and identical commands to all other lights of a group can be sent as one
+     * group action.
+     *
+     * @param command the first command in the queue
+     * @param merged receives the commands replaced by the group action
+     * @return a group action command or the given command
+     */
+    private AsyncPutParameters toGroupCommand(AsyncPutParameters command, List<AsyncPutParameters> merged) {
+        String lightId = command.lightId;
+        JsonObject json = command.json;
+        if (lightId == null || json == null) {
+            return command;
+        }
+        // only open commands are considered, so no command is sent before an earlier one to the same light
+        Map<String, AsyncPutParameters> identical = new HashMap<>();
+        for (AsyncPutParameters other : commandsQueue) {
+            String otherLightId = other.lightId;
+            if (otherLightId != null && json.equals(other.json) && openCommands.get(other.address) == other) {
+                identical.putIfAbsent(otherLightId, other);
+            }
+        }
+        if (identical.size() < GROUP_MIN_LIGHTS || identical.get(lightId) != command) {
+            return command;
+        }
+        for (Map.Entry<String, Set<String>> group : groups.entrySet()) {
+            if (group.getValue().equals(identical.keySet())) {
+                AsyncPutParameters groupCommand = new AsyncPutParameters(group.getKey(), command.body, json,
+                        GROUP_COMMAND_COST, null);
+                merged.addAll(identical.values());
+                logger.debug("Sending identical state of {} lights as group action {}", identical.size(),
+                        group.getKey());
+                return groupCommand;
+            }
+        }
+        return command;
+    }
+
+    private void send(AsyncPutParameters command, List<AsyncPutParameters> merged) {
+        logger.debug("Async sending put to address: {} body: {}", command.address, command.body);
+        try {
+            HueResult result = sender.put(command.address, command.body);
+            command.futures.forEach(f -> f.complete(result));
+            merged.forEach(m -> m.futures.forEach(f -> f.complete(result)));
+        } catch (ConfigurationException | CommunicationException e) {
+            command.futures.forEach(f -> f.completeExceptionally(e));
+            merged.forEach(m -> m.futures.forEach(f -> f.completeExceptionally(e)));
+        }
+    }
+
+    /**
+     * Takes tokens from the bucket.
+     *
+     * @param cost the number of tokens to take
+     * @return 0 if the tokens have been taken, otherwise the time in nanoseconds until enough tokens are available
+     */
+    private long acquireTokens(int cost) {
+        long now = System.nanoTime();
+        tokens = Math.min(BUCKET_CAPACITY, tokens + (double) (now - lastRefill) / NANOS_PER_TOKEN);
+        lastRefill = now;
+        int required = Math.min(cost, BUCKET_CAPACITY);
+        if (tokens >= required) {
+            tokens -= required;
+            return 0;
+        }
+        return (long) ((required - tokens) * NANOS_PER_TOKEN);
+    }
+
+    private static @Nullable JsonObject parse(String body) {
+        try {
+            JsonElement json = JsonParser.parseString(body);
+            return json.isJsonObject() ? json.getAsJsonObject() : null;
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    private static boolean isMergeable(JsonObject json) {
+        return json.keySet().stream().noneMatch(key -> key.endsWith("_inc"));
+    }
+
+    private static class AsyncPutParameters {
+        final String address;
+        String body;
+        final @Nullable JsonObject json;
+        final int cost;
+        final @Nullable String lightId;
+        final long queued = System.nanoTime();
+        final List<CompletableFuture<HueResult>> futures = new ArrayList<>();
+
+        AsyncPutParameters(String address, String body, @Nullable JsonObject json, int cost,
+                @Nullable String lightId) {
+            this.address = address;
+            this.body = body;
+            this.json = json;
+            this.cost = cost;
+            this.lightId = lightId;
+        }
+
+        void merge(JsonObject update) {
+            JsonObject json = this.json;
+            if (json != null) {
+                for (Set<String> mode : COLOR_MODES) {
+                    if (mode.stream().anyMatch(update::has)) {
+                        COLOR_MODES.stream().filter(other -> other != mode).flatMap(Set::stream)
+                                .forEach(json::remove);
+                    }
+                }
+                update.entrySet().forEach(entry -> json.add(entry.getKey(), entry.getValue()));
+                body = json.toString();
+            }
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.connection;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import com.google.gson.JsonParseException;
+
+/**
+ * Tracks the raw JSON of polled resources (lights, sensors) to detect which of them have changed.
+ *
+ * The response body of a resource list is split into the JSON fragments of the single resources without parsing
+ * them. A 64 bit hash of each fragment is compared with the hash of the previous poll, so only changed resources need
+ * to be deserialized and dispatched.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HueResourceTracker {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Map<String, Long> hashes = new HashMap<>();
+
+    // statistics of the last poll cycle
+    private int resourceCount;
+    private int changedCount;
+    private long cycleDurationNanos;
+
+    /**
+     * Splits a response body into the fragments of the single resources and returns the changed ones.
+     *
+     * @param body a JSON object with the resource ids as keys
+     * @return the JSON fragments of the new and changed resources by id
+     * @throws JsonParseException if the body is not a JSON object
+     */
+    synchronized Map<String, String> update(String body) throws JsonParseException {
+        Map<String, String> fragments = split(body);
+        Map<String, String> changed = new LinkedHashMap<>();
+        hashes.keySet().retainAll(fragments.keySet());
+        fragments.forEach((id, fragment) -> {
+            long hash = hash(fragment);
+            Long previous = hashes.put(id, hash);
+            if (previous == null || previous.longValue() != hash) {
+                changed.put(id, fragment);
+            }
+        });
+        resourceCount = fragments.size();
+        changedCount = changed.size();
+        return changed;
+    }
+
+    /**
+     * Returns the ids of all resources of the last poll.
+     */
+    public synchronized Set<String> getIds() {
+        return Set.copyOf(hashes.keySet());
+    }
+
+    /**
+     * Forgets the state of a resource, so it is reported as changed by the next poll. This is used if a changed
+     * resource could not be processed.
+     *
+     * @param id the resource id
+     */
+    public synchronized void invalidate(String id) {
+        hashes.remove(id);
+    }
+
+    /**
+     * Forgets the state of all resources.
+     */
+    public synchronized void clear() {
+        hashes.clear();
+        resourceCount = 0;
+        changedCount = 0;
+    }
+
+    /**
+     * Records the duration of a poll cycle, including the dispatching of the changed resources.
+     *
+     * @param durationNanos the duration in nanoseconds
+     */
+    public synchronized void cycleCompleted(long durationNanos) {
+        cycleDurationNanos = durationNanos;
+    }
+
+    public synchronized int getResourceCount() {
+        return resourceCount;
+    }
+
+    public synchronized int getChangedCount() {
+        return changedCount;
+    }
+
+    public synchronized long getCycleDurationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(cycleDurationNanos);
+    }
+
+    private static long hash(String fragment) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < fragment.length(); i++) {
+            hash = (hash ^ fragment.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Splits a JSON object into the raw values of its members.
+     */
+    static Map<String, String> split(String body) throws JsonParseException {
+        Map<String, String> fragments = new LinkedHashMap<>();
+        int length = body.length();
+        int i = skipWhitespace(body, 0);
+        if (i >= length || body.charAt(i) != '{') {
+            throw new JsonParseException("Expected a JSON object");
+        }
+        i = skipWhitespace(body, i + 1);
+        if (i < length && body.charAt(i) == '}') {
+            return fragments;
+        }
+        while (i < length) {
+            if (body.charAt(i) != '"') {
+                throw new JsonParseException("Expected a member name at " + i);
+            }
+            int nameEnd = skipString(body, i);
+            String id = body.substring(i + 1, nameEnd - 1);
+            i = skipWhitespace(body, nameEnd);
+            if (i >= length || body.charAt(i) != ':') {
+                throw new JsonParseException("Expected ':' at " + i);
+            }
+            int valueStart = skipWhitespace(body, i + 1);
+            int valueEnd = skipValue(body, valueStart);
+            if (valueEnd == valueStart) {
+                throw new JsonParseException("Expected a value at " + valueStart);
+            }
+            fragments.put(id, body.substring(valueStart, valueEnd));
+            i = skipWhitespace(body, valueEnd);
+            if (i < length && body.charAt(i) == ',') {
+                i = skipWhitespace(body, i + 1);
+            } else if (i < length && body.charAt(i) == '}') {
+                return fragments;
+            } else {
+                throw new JsonParseException("Expected ',' or '}' at " + i);
+            }
+        }
+        throw new JsonParseException("Unterminated JSON object");
+    }
+
+    private static int skipWhitespace(String body, int start) {
+        int i = start;
+        while (i < body.length() && Character.isWhitespace(body.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * @return the index after the closing quote of the string starting at the given index
+     */
+    private static int skipString(String body, int start) {
+        for (int i = start + 1; i < body.length(); i++) {
+            char c = body.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                return i + 1;
+            }
+        }
+        throw new JsonParseException("Unterminated string at " + start);
+    }
+
+    /**
+     * @return the index after the value starting at the given index
+     */
+    private static int skipValue(String body, int start) {
+        int depth = 0;
+        int i = start;
+        while (i < body.length()) {
+            char c = body.charAt(i);
+            if (c == '"') {
+                i = skipString(body, i);
+                if (depth == 0) {
+                    return i;
+                }
+                continue;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                if (depth == 0) {
+                    // end of the enclosing object
+                    return i;
+                }
+                depth--;
+                if (depth == 0) {
+                    return i + 1;
+                }
+            } else if (depth == 0 && (c == ',' || Character.isWhitespace(c))) {
+                return i;
+            }
+            i++;
+        }
+        if (depth > 0) {
+            throw new JsonParseException("Unterminated value at " + start);
+        }
+        return i;
+    }
+}
@@ -46,7 +46,9 @@ public class HueCommandExtension extends AbstractConsoleCommandExtension impleme
 
     private static final String USER_NAME = "username";
     private static final String SCENES = "scenes";
-    private static final StringsCompleter SUBCMD_COMPLETER = new StringsCompleter(List.of(USER_NAME, SCENES), false);
+    private static final String STATISTICS = "statistics";
+    private static final StringsCompleter SUBCMD_COMPLETER = new StringsCompleter(
+            List.of(USER_NAME, SCENES, STATISTICS), false);
     private static final StringsCompleter SCENES_COMPLETER = new StringsCompleter(List.of(SCENES), false);
 
     private final ThingRegistry thingRegistry;
@@ -99,6 +101,14 @@ public class HueCommandExtension extends AbstractConsoleCommandExtension impleme
                             groupHandler.listScenesForConsole().forEach(console::println);
                         }
                         break;
+                    case STATISTICS:
+                        if (bridgeHandler != null) {
+                            bridgeHandler.listPollingStatisticsForConsole().forEach(console::println);
+                        } else {
+                            console.println("'" + args[0] + "' is not a Hue BridgeUID");
+                            printUsage(console);
+                        }
+                        break;
                     default:
                         printUsage(console);
                         break;
@@ -113,7 +123,8 @@ public class HueCommandExtension extends AbstractConsoleCommandExtension impleme
     public List<String> getUsages() {
         return Arrays.asList(new String[] { buildCommandUsage("<bridgeUID> " + USER_NAME, "show the user name"),
                 buildCommandUsage("<bridgeUID> " + SCENES, "list all the scenes with their id"),
-                buildCommandUsage("<groupThingUID> " + SCENES, "list all the scenes from this group with their id") });
+                buildCommandUsage("<groupThingUID> " + SCENES, "list all the scenes from this group with their id"),
+                buildCommandUsage("<bridgeUID> " + STATISTICS, "show the statistics of the last polling cycles") });
     }
 
     @Override
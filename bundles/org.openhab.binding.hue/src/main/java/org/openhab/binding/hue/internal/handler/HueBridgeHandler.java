@@ -37,6 +37,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
 import org.openhab.binding.hue.internal.config.HueBridgeConfig;
 import org.openhab.binding.hue.internal.connection.HueBridge;
+import org.openhab.binding.hue.internal.connection.HueResourceTracker;
 import org.openhab.binding.hue.internal.connection.HueTlsTrustManagerProvider;
 import org.openhab.binding.hue.internal.discovery.HueDeviceDiscoveryService;
 import org.openhab.binding.hue.internal.dto.ApiVersionUtils;
@@ -115,6 +116,8 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private final Map<String, FullLight> lastLightStates = new ConcurrentHashMap<>();
     private final Map<String, FullSensor> lastSensorStates = new ConcurrentHashMap<>();
     private final Map<String, FullGroup> lastGroupStates = new ConcurrentHashMap<>();
+    private final HueResourceTracker lightTracker = new HueResourceTracker();
+    private final HueResourceTracker sensorTracker = new HueResourceTracker();
 
     private @Nullable HueDeviceDiscoveryService discoveryService;
     private final Map<String, LightStatusListener> lightStatusListeners = new ConcurrentHashMap<>();
@@ -201,11 +204,16 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private final Runnable sensorPollingRunnable = new PollingRunnable() {
         @Override
         protected void doConnectedRun() throws IOException, ApiException {
+            long start = System.nanoTime();
             Map<String, FullSensor> lastSensorStateCopy = new HashMap<>(lastSensorStates);
 
             final HueDeviceDiscoveryService discovery = discoveryService;
 
-            for (final FullSensor sensor : hueBridge.getSensors()) {
+            // unchanged sensors are not deserialized again
+            List<FullSensor> changedSensors = hueBridge.getChangedSensors(sensorTracker);
+            lastSensorStateCopy.keySet().removeAll(sensorTracker.getIds());
+
+            for (final FullSensor sensor : changedSensors) {
                 String sensorId = sensor.getId();
 
                 final SensorStatusListener sensorStatusListener = sensorStatusListeners.get(sensorId);
@@ -220,9 +228,11 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 } else {
                     if (sensorStatusListener.onSensorStateChanged(sensor)) {
                         lastSensorStates.put(sensorId, sensor);
+                    } else {
+                        // not processed, report it again with the next poll
+                        sensorTracker.invalidate(sensorId);
                     }
                 }
-                lastSensorStateCopy.remove(sensorId);
             }
 
             // Check for removed sensors
@@ -239,6 +249,11 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                     discovery.removeSensorDiscovery(sensor);
                 }
             });
+
+            long duration = System.nanoTime() - start;
+            sensorTracker.cycleCompleted(duration);
+            logger.trace("Polled {} sensors in {} ms, {} changed", sensorTracker.getResourceCount(),
+                    TimeUnit.NANOSECONDS.toMillis(duration), sensorTracker.getChangedCount());
         }
     };
 
@@ -254,11 +269,14 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         }
 
         private void updateLights() throws IOException, ApiException {
+            long start = System.nanoTime();
             Map<String, FullLight> lastLightStateCopy = new HashMap<>(lastLightStates);
 
             List<FullLight> lights;
             if (ApiVersionUtils.supportsFullLights(hueBridge.getVersion())) {
-                lights = hueBridge.getFullLights();
+                // unchanged lights are not deserialized again
+                lights = hueBridge.getChangedFullLights(lightTracker);
+                lastLightStateCopy.keySet().removeAll(lightTracker.getIds());
             } else {
                 lights = hueBridge.getFullConfig().getLights();
             }
@@ -280,6 +298,9 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 } else {
                     if (lightStatusListener.onLightStateChanged(fullLight)) {
                         lastLightStates.put(lightId, fullLight);
+                    } else {
+                        // not processed, report it again with the next poll
+                        lightTracker.invalidate(lightId);
                     }
                 }
                 lastLightStateCopy.remove(lightId);
@@ -299,6 +320,11 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                     discovery.removeLightDiscovery(light);
                 }
             });
+
+            long duration = System.nanoTime() - start;
+            lightTracker.cycleCompleted(duration);
+            logger.trace("Polled {} lights in {} ms, {} changed", lightTracker.getResourceCount(),
+                    TimeUnit.NANOSECONDS.toMillis(duration), lightTracker.getChangedCount());
         }
 
         private void updateGroups() throws IOException, ApiException {
@@ -674,6 +700,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         }
         stopLightPolling();
         stopSensorPolling();
+        clearResourceTrackers();
         if (hueBridge != null) {
             hueBridge = null;
         }
@@ -690,6 +717,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     public void initialize() {
         logger.debug("Initializing Hue Bridge handler ...");
         hueBridgeConfig = getConfigAs(HueBridgeConfig.class);
+        clearResourceTrackers();
 
         String ip = hueBridgeConfig.ipAddress;
         if (ip == null || ip.isEmpty()) {
@@ -743,9 +771,19 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
      */
     public void onConnectionLost() {
         logger.debug("Bridge connection lost. Updating thing status to OFFLINE.");
+        clearResourceTrackers();
         updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.NONE, "@text/offline.bridge-connection-lost");
     }
 
+    /**
+     * Forgets the state of all polled lights and sensors, so the first poll after a (re)connect dispatches all of
+     * them again, including unchanged and unreachable ones.
+     */
+    private void clearResourceTrackers() {
+        lightTracker.clear();
+        sensorTracker.clear();
+    }
+
     /**
      * This method is called whenever the connection to the {@link HueBridge} is resumed.
      *
@@ -754,6 +792,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
      */
     private void onConnectionResumed() throws IOException, ApiException {
         logger.debug("Bridge connection resumed.");
+        clearResourceTrackers();
 
         if (!propertiesInitializedSuccessfully) {
             FullConfig fullConfig = hueBridge.getFullConfig();
@@ -1067,6 +1106,14 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         return consoleScenesList;
     }
 
+    public List<String> listPollingStatisticsForConsole() {
+        return List.of(
+                "Lights: " + lightTracker.getChangedCount() + " of " + lightTracker.getResourceCount()
+                        + " changed in the last poll, which took " + lightTracker.getCycleDurationMillis() + " ms",
+                "Sensors: " + sensorTracker.getChangedCount() + " of " + sensorTracker.getResourceCount()
+                        + " changed in the last poll, which took " + sensorTracker.getCycleDurationMillis() + " ms");
+    }
+
     @Override
     public Collection<ConfigStatusMessage> getConfigStatus() {
         // The bridge IP address to be used for checks
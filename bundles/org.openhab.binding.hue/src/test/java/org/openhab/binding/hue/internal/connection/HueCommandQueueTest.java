@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.connection;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.binding.hue.internal.connection.HueBridge.HueResult;
+
+import com.google.gson.JsonParser;
+
+/**
+ * Tests the merging, grouping and rate limiting of the {@link HueCommandQueue}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HueCommandQueueTest {
+    private final List<String> sent = new ArrayList<>();
+    private @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private @NonNullByDefault({}) HueCommandQueue queue;
+
+    @BeforeEach
+    public void setUp() {
+        scheduler = mock(ScheduledExecutorService.class);
+        doReturn(mock(Future.class)).when(scheduler).submit(any(Runnable.class));
+        doReturn(mock(ScheduledFuture.class)).when(scheduler).schedule(any(Runnable.class), anyLong(), any());
+        queue = new HueCommandQueue((address, body) -> {
+            sent.add(address + " " + JsonParser.parseString(body));
+            return new HueResult("[]", HttpStatus.OK_200);
+        }, scheduler);
+    }
+
+    private void runSubmitted() {
+        ArgumentCaptor<Runnable> job = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).submit(job.capture());
+        job.getValue().run();
+    }
+
+    @Test
+    public void queuedCommandsToTheSameAddressAreMerged() throws Exception {
+        CompletableFuture<HueResult> first = queue.putAsync("lights/1/state", "{\"on\":true}", 1, "1");
+        CompletableFuture<HueResult> second = queue.putAsync("lights/1/state", "{\"bri\":10}", 1, "1");
+        CompletableFuture<HueResult> third = queue.putAsync("lights/1/state", "{\"on\":false}", 1, "1");
+        runSubmitted();
+
+        assertThat(sent, is(List.of("lights/1/state {\"on\":false,\"bri\":10}")));
+        assertThat(first.get().responseCode, is(HttpStatus.OK_200));
+        assertThat(second.isDone(), is(true));
+        assertThat(third.isDone(), is(true));
+    }
+
+    @Test
+    public void mergedColorModeReplacesOtherColorModes() {
+        queue.putAsync("lights/1/state", "{\"on\":true,\"xy\":[0.3,0.3]}", 1, "1");
+        queue.putAsync("lights/1/state", "{\"ct\":300}", 1, "1");
+        queue.putAsync("lights/2/state", "{\"ct\":300}", 1, "2");
+        queue.putAsync("lights/2/state", "{\"hue\":1000}", 1, "2");
+        queue.putAsync("lights/2/state", "{\"sat\":200}", 1, "2");
+        runSubmitted();
+
+        assertThat(sent, is(List.of("lights/1/state {\"on\":true,\"ct\":300}",
+                "lights/2/state {\"hue\":1000,\"sat\":200}")));
+    }
+
+    @Test
+    public void relativeCommandsAreNotMerged() {
+        queue.putAsync("lights/1/state", "{\"bri\":10}", 1, "1");
+        queue.putAsync("lights/1/state", "{\"bri_inc\":10}", 1, "1");
+        queue.putAsync("lights/1/state", "{\"bri_inc\":10}", 1, "1");
+        queue.putAsync("lights/1/state", "{\"on\":true}", 1, "1");
+        runSubmitted();
+
+        assertThat(sent, is(List.of("lights/1/state {\"bri\":10}", "lights/1/state {\"bri_inc\":10}",
+                "lights/1/state {\"bri_inc\":10}", "lights/1/state {\"on\":true}")));
+    }
+
+    @Test
+    public void identicalCommandsToAllLightsOfAGroupAreSentAsGroupAction() throws Exception {
+        queue.setGroups(Map.of("groups/1/action", Set.of("1", "2", "3"), "groups/2/action", Set.of("1", "2")));
+        CompletableFuture<HueResult> future = queue.putAsync("lights/1/state", "{\"on\":true}", 1, "1");
+        queue.putAsync("lights/2/state", "{\"on\":true}", 1, "2");
+        queue.putAsync("lights/3/state", "{\"on\":true}", 1, "3");
+        runSubmitted();
+
+        // the first command waits for identical commands to other lights
+        ArgumentCaptor<Runnable> job = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(job.capture(), anyLong(), eq(TimeUnit.NANOSECONDS));
+        assertThat(sent.isEmpty(), is(true));
+
+        Thread.sleep(HueCommandQueue.GROUP_WINDOW_MS * 2);
+        job.getValue().run();
+
+        assertThat(sent, is(List.of("groups/1/action {\"on\":true}")));
+        assertThat(future.get().responseCode, is(HttpStatus.OK_200));
+    }
+
+    @Test
+    public void singleLightCommandIsSentWithoutDelay() {
+        queue.setGroups(Map.of("groups/1/action", Set.of("1", "2", "3")));
+        queue.putAsync("lights/1/state", "{\"on\":true}", 1, "1");
+        queue.putAsync("lights/2/state", "{\"on\":false}", 1, "2");
+        runSubmitted();
+
+        assertThat(sent, is(List.of("lights/1/state {\"on\":true}", "lights/2/state {\"on\":false}")));
+        verify(scheduler, never()).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+    @Test
+    public void commandsAreRateLimited() {
+        for (int i = 0; i < HueCommandQueue.BUCKET_CAPACITY + 2; i++) {
+            queue.putAsync("sensors/" + i + "/state", "{\"status\":1}", HueCommandQueue.LIGHT_COMMAND_COST, null);
+        }
+        runSubmitted();
+
+        assertThat(sent.size(), is(HueCommandQueue.BUCKET_CAPACITY));
+        verify(scheduler).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.NANOSECONDS));
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.connection;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.JsonParseException;
+
+/**
+ * Tests the change detection of the {@link HueResourceTracker}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HueResourceTrackerTest {
+
+    @Test
+    public void splitReturnsRawFragments() {
+        Map<String, String> fragments = HueResourceTracker.split(
+                " { \"1\" : {\"name\":\"a \\\"}\\\" b\",\"xy\":[0.1,0.2]}, \"2\":{\"on\":true} ,\"3\":null,\"4\":12}");
+
+        assertThat(fragments, is(Map.of("1", "{\"name\":\"a \\\"}\\\" b\",\"xy\":[0.1,0.2]}", "2", "{\"on\":true}",
+                "3", "null", "4", "12")));
+        assertThat(HueResourceTracker.split("{}"), is(Map.of()));
+    }
+
+    @Test
+    public void invalidBodiesAreRejected() {
+        assertThrows(JsonParseException.class, () -> HueResourceTracker.split("[{\"error\":{}}]"));
+        assertThrows(JsonParseException.class, () -> HueResourceTracker.split("{\"1\":{\"on\":true}"));
+        assertThrows(JsonParseException.class, () -> HueResourceTracker.split("{\"1\":}"));
+    }
+
+    @Test
+    public void onlyChangedResourcesAreReported() {
+        HueResourceTracker tracker = new HueResourceTracker();
+
+        assertThat(tracker.update("{\"1\":{\"on\":true},\"2\":{\"on\":false}}").keySet(), is(Set.of("1", "2")));
+        assertThat(tracker.update("{\"1\":{\"on\":true},\"2\":{\"on\":false}}").keySet(), is(Set.of()));
+        assertThat(tracker.update("{\"1\":{\"on\":false},\"2\":{\"on\":false}}").keySet(), is(Set.of("1")));
+        assertThat(tracker.getChangedCount(), is(1));
+        assertThat(tracker.getResourceCount(), is(2));
+
+        // removed resources are reported as new when they come back
+        assertThat(tracker.update("{\"1\":{\"on\":false}}").keySet(), is(Set.of()));
+        assertThat(tracker.getIds(), is(Set.of("1")));
+        assertThat(tracker.update("{\"1\":{\"on\":false},\"2\":{\"on\":false}}").keySet(), is(Set.of("2")));
+
+        tracker.invalidate("1");
+        assertThat(tracker.update("{\"1\":{\"on\":false},\"2\":{\"on\":false}}").keySet(), is(Set.of("1")));
+    }
+
+    @Test
+    public void allResourcesAreReportedAfterClear() {
+        HueResourceTracker tracker = new HueResourceTracker();
+        tracker.update("{\"1\":{\"on\":true},\"2\":{\"reachable\":false}}");
+        assertThat(tracker.update("{\"1\":{\"on\":true},\"2\":{\"reachable\":false}}").keySet(), is(Set.of()));
+
+        // after a reconnect the first poll is a full snapshot
+        tracker.clear();
+        assertThat(tracker.getIds(), is(Set.of()));
+        assertThat(tracker.update("{\"1\":{\"on\":true},\"2\":{\"reachable\":false}}").keySet(),
+                is(Set.of("1", "2")));
+    }
+}
@@ -143,6 +143,16 @@ public class DeviceFeature {
         return this.msgHandlers;
     }
 
+    /**
+     * Indicates if this feature only handles ALL LINK messages with a command for which it has a message handler
+     *
+     * @return true if ALL LINK messages with other commands can be skipped
+     */
+    public boolean dispatchesAllLinkByCommand() {
+        MessageDispatcher dispatcher = this.dispatcher;
+        return dispatcher != null && dispatcher.dispatchesAllLinkByCommand();
+    }
+
     public List<DeviceFeature> getConnectedFeatures() {
         return (connectedFeatures);
     }
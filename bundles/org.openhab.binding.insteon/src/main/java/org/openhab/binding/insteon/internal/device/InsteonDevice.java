@@ -14,6 +14,7 @@ package org.openhab.binding.insteon.internal.device;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -63,6 +64,8 @@ public class InsteonDevice {
     private long pollInterval = -1L; // in milliseconds
     private @Nullable Driver driver = null;
     private Map<String, DeviceFeature> features = new HashMap<>();
+    // features that receive ALL LINK messages with a given command, built when the first one arrives
+    private @Nullable Map<Integer, List<DeviceFeature>> allLinkFeatures = null;
     private @Nullable String productKey = null;
     private volatile long lastTimePolled = 0L;
     private volatile long lastMsgReceived = 0L;
@@ -296,9 +299,18 @@ public class InsteonDevice {
     public void handleMessage(Msg msg) {
         lastMsgReceived = System.currentTimeMillis();
         synchronized (features) {
+            Collection<DeviceFeature> targets = features.values();
+            if (msg.isAllLink()) {
+                try {
+                    int cmd1 = MessageDispatcher.getAllLinkCommand(msg, msg.getToAddress()) & 0xFF;
+                    targets = getAllLinkFeatures(cmd1);
+                } catch (FieldException e) {
+                    // let the features report the invalid message
+                }
+            }
             // first update all features that are
             // not status features
-            for (DeviceFeature f : features.values()) {
+            for (DeviceFeature f : targets) {
                 if (!f.isStatusFeature()) {
                     logger.debug("----- applying message to feature: {}", f.getName());
                     if (f.handleMessage(msg)) {
@@ -312,7 +324,7 @@ public class InsteonDevice {
             }
             // then update all the status features,
             // e.g. when the device was last updated
-            for (DeviceFeature f : features.values()) {
+            for (DeviceFeature f : targets) {
                 if (f.isStatusFeature()) {
                     f.handleMessage(msg);
                 }
@@ -320,6 +332,42 @@ public class InsteonDevice {
         }
     }
 
+    /**
+     * Returns the features that need to see an ALL LINK message. Large networks send many ALL LINK
+     * broadcasts and cleanups, most of which only concern one feature of a device.
+     * Must be called with the features locked.
+     *
+     * @param cmd1 the command of the ALL LINK message
+     * @return the features in the same order as all features of this device
+     */
+    private List<DeviceFeature> getAllLinkFeatures(int cmd1) {
+        Map<Integer, List<DeviceFeature>> index = allLinkFeatures;
+        if (index == null) {
+            index = new HashMap<>();
+            for (DeviceFeature f : features.values()) {
+                if (f.dispatchesAllLinkByCommand()) {
+                    for (Entry<Integer, @Nullable MessageHandler> h : f.getMsgHandlers().entrySet()) {
+                        if (h.getValue() != null) {
+                            index.putIfAbsent(h.getKey(), new ArrayList<>());
+                        }
+                    }
+                }
+            }
+            // -1 holds the features for commands without a message handler
+            index.put(-1, new ArrayList<>());
+            for (Entry<Integer, List<DeviceFeature>> e : index.entrySet()) {
+                for (DeviceFeature f : features.values()) {
+                    if (!f.dispatchesAllLinkByCommand() || f.getMsgHandlers().get(e.getKey()) != null) {
+                        e.getValue().add(f);
+                    }
+                }
+            }
+            allLinkFeatures = index;
+        }
+        List<DeviceFeature> targets = index.get(cmd1);
+        return targets != null ? targets : index.getOrDefault(-1, List.of());
+    }
+
     /**
      * Helper method to make standard message
      *
@@ -568,6 +616,7 @@ public class InsteonDevice {
         f.setDevice(this);
         synchronized (features) {
             features.put(name, f);
+            allLinkFeatures = null;
         }
     }
 
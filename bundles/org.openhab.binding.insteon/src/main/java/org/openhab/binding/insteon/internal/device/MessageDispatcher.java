@@ -62,21 +62,13 @@ public abstract class MessageDispatcher {
             return false;
         }
         try {
-            InsteonAddress a = msg.getAddress("toAddress");
-            // ALL_LINK_BROADCAST and ALL_LINK_CLEANUP
-            // have a valid Command1 field
-            // but the CLEANUP_SUCCESS (of type ALL_LINK_BROADCAST!)
-            // message has cmd1 = 0x06 and the cmd as the
-            // high byte of the toAddress.
-            byte cmd1 = msg.getByte("command1");
-            if (!msg.isCleanup() && cmd1 == 0x06) {
-                cmd1 = a.getHighByte();
-            }
+            InsteonAddress a = msg.getToAddress();
+            byte cmd1 = getAllLinkCommand(msg, a);
             // For ALL_LINK_BROADCAST messages, the group is
             // in the low byte of the toAddress. For direct
             // ALL_LINK_CLEANUP, it is in Command2
 
-            int group = (msg.isCleanup() ? msg.getByte("command2") : a.getLowByte()) & 0xff;
+            int group = (msg.isCleanup() ? msg.getCommand2() : a.getLowByte()) & 0xff;
             MessageHandler h = feature.getMsgHandlers().get(cmd1 & 0xFF);
             if (h == null) {
                 logger.debug("msg is not for this feature");
@@ -101,6 +93,39 @@ public abstract class MessageDispatcher {
         return true;
     }
 
+    /**
+     * Finds the command of an ALL LINK message
+     *
+     * @param msg the ALL LINK message
+     * @param toAddress the address the message was sent to
+     * @return the command
+     * @throws FieldException if the message has no command
+     */
+    static byte getAllLinkCommand(Msg msg, InsteonAddress toAddress) throws FieldException {
+        // ALL_LINK_BROADCAST and ALL_LINK_CLEANUP
+        // have a valid Command1 field
+        // but the CLEANUP_SUCCESS (of type ALL_LINK_BROADCAST!)
+        // message has cmd1 = 0x06 and the cmd as the
+        // high byte of the toAddress.
+        byte cmd1 = msg.getCommand1();
+        if (!msg.isCleanup() && cmd1 == 0x06) {
+            cmd1 = toAddress.getHighByte();
+        }
+        return cmd1;
+    }
+
+    /**
+     * Indicates if this dispatcher leaves ALL LINK messages to the message handler that the
+     * feature has for the command of the message, and ignores them if there is no such handler.
+     * The device then only needs to pass ALL LINK messages to features that have a handler
+     * for their command.
+     *
+     * @return true if ALL LINK messages are dispatched by their command
+     */
+    public boolean dispatchesAllLinkByCommand() {
+        return false;
+    }
+
     /**
      * Checks if this message is in response to previous query by this feature
      *
@@ -133,6 +158,11 @@ public abstract class MessageDispatcher {
             super(f);
         }
 
+        @Override
+        public boolean dispatchesAllLinkByCommand() {
+            return true;
+        }
+
         @Override
         public boolean dispatch(Msg msg) {
             byte cmd = 0x00;
@@ -140,8 +170,8 @@ public abstract class MessageDispatcher {
             boolean isConsumed = false;
             int key = -1;
             try {
-                cmd = msg.getByte("Cmd");
-                cmd1 = msg.getByte("command1");
+                cmd = msg.getCmd();
+                cmd1 = msg.getCommand1();
             } catch (FieldException e) {
                 logger.debug("no command found, dropping msg {}", msg);
                 return false;
@@ -198,6 +228,11 @@ public abstract class MessageDispatcher {
             super(f);
         }
 
+        @Override
+        public boolean dispatchesAllLinkByCommand() {
+            return true;
+        }
+
         @Override
         public boolean dispatch(Msg msg) {
             byte cmd = 0x00;
@@ -205,8 +240,8 @@ public abstract class MessageDispatcher {
             boolean isConsumed = false;
             int key = -1;
             try {
-                cmd = msg.getByte("Cmd");
-                cmd1 = msg.getByte("command1");
+                cmd = msg.getCmd();
+                cmd1 = msg.getCommand1();
             } catch (FieldException e) {
                 logger.debug("no command found, dropping msg {}", msg);
                 return false;
@@ -266,6 +301,11 @@ public abstract class MessageDispatcher {
             super(f);
         }
 
+        @Override
+        public boolean dispatchesAllLinkByCommand() {
+            return true;
+        }
+
         @Override
         public boolean dispatch(Msg msg) {
             if (msg.isAllLinkCleanupAckOrNack()) {
@@ -292,6 +332,11 @@ public abstract class MessageDispatcher {
             super(f);
         }
 
+        @Override
+        public boolean dispatchesAllLinkByCommand() {
+            return true;
+        }
+
         @Override
         public boolean dispatch(Msg msg) {
             byte cmd1 = 0x00;
@@ -304,7 +349,7 @@ public abstract class MessageDispatcher {
                     // in response to a direct status query message
                     return false;
                 }
-                cmd1 = msg.getByte("command1");
+                cmd1 = msg.getCommand1();
             } catch (FieldException e) {
                 logger.debug("no cmd1 found, dropping msg {}", msg);
                 return false;
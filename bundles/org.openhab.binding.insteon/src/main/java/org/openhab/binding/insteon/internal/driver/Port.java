@@ -486,7 +486,7 @@ public class Port {
                 if (msg.isPureNack()) {
                     return;
                 }
-                if (msg.getByte("Cmd") == 0x60) {
+                if (msg.getCmd() == 0x60) {
                     // add the modem to the device list
                     InsteonAddress a = new InsteonAddress(msg.getAddress("IMAddress"));
                     DeviceTypeLoader instance = DeviceTypeLoader.instance();
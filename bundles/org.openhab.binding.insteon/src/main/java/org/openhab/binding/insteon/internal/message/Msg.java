@@ -25,7 +25,6 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.insteon.internal.device.InsteonAddress;
 import org.openhab.binding.insteon.internal.utils.Utils;
 import org.openhab.binding.insteon.internal.utils.Utils.ParsingException;
-import org.osgi.framework.FrameworkUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -99,10 +98,22 @@ public class Msg {
      * @param dir direction of the message (from/to modem)
      */
     public Msg(int headerLength, byte[] data, int dataLength, Direction dir) {
+        this(headerLength, data, 0, dataLength, dir);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param headerLength length of message header (in bytes)
+     * @param data byte array containing the message
+     * @param offset offset of the message in the byte array
+     * @param dataLength length of the message (in bytes)
+     * @param dir direction of the message (from/to modem)
+     */
+    public Msg(int headerLength, byte[] data, int offset, int dataLength, Direction dir) {
         this.headerLength = headerLength;
         this.direction = dir;
-        this.data = new byte[dataLength];
-        System.arraycopy(data, 0, this.data, 0, dataLength);
+        this.data = Arrays.copyOfRange(data, offset, offset + dataLength);
     }
 
     /**
@@ -122,7 +133,7 @@ public class Msg {
     static {
         // Use xml msg loader to load configs
         try {
-            InputStream stream = FrameworkUtil.getBundle(Msg.class).getResource("/msg_definitions.xml").openStream();
+            InputStream stream = Msg.class.getResourceAsStream("/msg_definitions.xml");
             if (stream != null) {
                 Map<String, Msg> msgs = XMLMessageReader.readMessageDefinitions(stream);
                 MSG_MAP.putAll(msgs);
@@ -187,22 +198,17 @@ public class Msg {
         if (getLength() < 2) {
             return false;
         }
-        if (!definition.containsField("messageFlags")) {
-            return (false);
-        }
-        try {
-            byte flags = getByte("messageFlags");
-            return ((flags & 0x10) == 0x10);
-        } catch (FieldException e) {
-            // do nothing
+        int offset = definition.getMessageFlagsOffset();
+        if (offset < 0 || offset >= data.length) {
+            return false;
         }
-        return false;
+        return ((data[offset] & 0x10) == 0x10);
     }
 
     public boolean isUnsolicited() {
         // if the message has an ACK/NACK, it is in response to our message,
         // otherwise it is out-of-band, i.e. unsolicited
-        return !definition.containsField("ACK/NACK");
+        return definition.getAckNackOffset() < 0;
     }
 
     public boolean isEcho() {
@@ -210,12 +216,11 @@ public class Msg {
     }
 
     public boolean isOfType(MsgType mt) {
-        try {
-            MsgType t = MsgType.fromValue(getByte("messageFlags"));
-            return (t == mt);
-        } catch (FieldException e) {
+        int offset = definition.getMessageFlagsOffset();
+        if (offset < 0 || offset >= data.length) {
             return false;
         }
+        return MsgType.fromValue(data[offset]) == mt;
     }
 
     public boolean isBroadcast() {
@@ -240,7 +245,7 @@ public class Msg {
 
     public boolean isX10() {
         try {
-            int cmd = getByte("Cmd") & 0xff;
+            int cmd = getCmd() & 0xff;
             if (cmd == 0x63 || cmd == 0x52) {
                 return true;
             }
@@ -273,7 +278,7 @@ public class Msg {
     }
 
     public int getHopsLeft() throws FieldException {
-        int hops = (getByte("messageFlags") & 0x0c) >> 2;
+        int hops = (getMessageFlags() & 0x0c) >> 2;
         return hops;
     }
 
@@ -320,6 +325,61 @@ public class Msg {
         return (definition.getField(key).getByte(data));
     }
 
+    /**
+     * Fetches the command number of a modem message
+     *
+     * @return the byte
+     */
+    public byte getCmd() throws FieldException {
+        return getByte(definition.getCmdOffset(), "Cmd");
+    }
+
+    public byte getCommand1() throws FieldException {
+        return getByte(definition.getCommand1Offset(), "command1");
+    }
+
+    public byte getCommand2() throws FieldException {
+        return getByte(definition.getCommand2Offset(), "command2");
+    }
+
+    public byte getMessageFlags() throws FieldException {
+        return getByte(definition.getMessageFlagsOffset(), "messageFlags");
+    }
+
+    public InsteonAddress getToAddress() throws FieldException {
+        return getAddress(definition.getToAddressOffset(), "toAddress");
+    }
+
+    public InsteonAddress getFromAddress() throws FieldException {
+        return getAddress(definition.getFromAddressOffset(), "fromAddress");
+    }
+
+    /*
+     * Reads a field at an offset that was looked up when the message definition was created,
+     * instead of finding the field by its name for every access.
+     */
+    private byte getByte(int offset, String key) throws FieldException {
+        if (offset < 0) {
+            throw new FieldException("field " + key + " not found");
+        }
+        if (offset >= data.length) {
+            throw new FieldException("field write beyond end of msg");
+        }
+        return data[offset];
+    }
+
+    private InsteonAddress getAddress(int offset, String key) throws FieldException {
+        if (offset < 0) {
+            throw new FieldException("field " + key + " not found");
+        }
+        if (offset + DataType.ADDRESS.getSize() > data.length) {
+            throw new FieldException("field write beyond end of msg");
+        }
+        InsteonAddress adr = new InsteonAddress();
+        adr.loadBytes(data, offset);
+        return adr;
+    }
+
     /**
      * Will fetch a byte array starting at a certain field
      *
@@ -401,7 +461,7 @@ public class Msg {
     public int setCRC() {
         int crc;
         try {
-            crc = getByte("command1") + getByte("command2");
+            crc = getCommand1() + getCommand2();
             byte[] bytes = getBytes("userData1", 13); // skip userData14!
             for (byte b : bytes) {
                 crc += b;
@@ -496,10 +556,24 @@ public class Msg {
      * @return message, or null if the Msg cannot be created
      */
     public static @Nullable Msg createMessage(byte[] buf, int msgLen, boolean isExtended) {
-        if (buf.length < 2) {
+        return createMessage(buf, 0, msgLen, isExtended);
+    }
+
+    /**
+     * Factory method to create Msg from a buffer of received bytes, which
+     * may contain more than one message.
+     *
+     * @param buf the buffer of received bytes
+     * @param offset offset of the message in the buffer
+     * @param msgLen length of the message
+     * @param isExtended whether it is an extended message or not
+     * @return message, or null if the Msg cannot be created
+     */
+    public static @Nullable Msg createMessage(byte[] buf, int offset, int msgLen, boolean isExtended) {
+        if (buf.length < offset + 2) {
             return null;
         }
-        Msg template = REPLY_MAP.get(cmdToKey(buf[1], isExtended));
+        Msg template = REPLY_MAP.get(cmdToKey(buf[offset + 1], isExtended));
         if (template == null) {
             return null; // cannot find lookup map
         }
@@ -507,7 +581,7 @@ public class Msg {
             logger.warn("expected msg {} len {}, got {}", template.getCommandNumber(), template.getLength(), msgLen);
             return null;
         }
-        Msg msg = new Msg(template.getHeaderLength(), buf, msgLen, Direction.FROM_MODEM);
+        Msg msg = new Msg(template.getHeaderLength(), buf, offset, msgLen, Direction.FROM_MODEM);
         msg.setDefinition(template.getDefinition());
         return (msg);
     }
@@ -553,13 +627,28 @@ public class Msg {
      *         determined or if it is a standard message
      */
     public static boolean isExtended(byte[] buf, int len, int headerLength) {
+        return isExtended(buf, 0, len, headerLength);
+    }
+
+    /**
+     * From bytes received thus far, tries to determine if an Insteon
+     * message is extended or standard.
+     *
+     * @param buf the buffer of received bytes
+     * @param offset offset of the message in the buffer
+     * @param len the number of bytes of the message received so far
+     * @param headerLength the known length of the header
+     * @return true if it is definitely extended, false if cannot be
+     *         determined or if it is a standard message
+     */
+    public static boolean isExtended(byte[] buf, int offset, int len, int headerLength) {
         if (headerLength <= 2) {
             return false;
         } // extended messages are longer
         if (len < headerLength) {
             return false;
         } // not enough data to tell if extended
-        byte flags = buf[headerLength - 1]; // last byte says flags
+        byte flags = buf[offset + headerLength - 1]; // last byte says flags
         boolean isExtended = (flags & 0x10) == 0x10; // bit 4 is the message
         return (isExtended);
     }
@@ -30,6 +30,15 @@ import org.eclipse.jdt.annotation.Nullable;
 public class MsgDefinition {
     private Map<String, Field> fields = new HashMap<>();
 
+    // offsets of the fields that are read for every received message, -1 if the message has no such field
+    private int cmdOffset = -1;
+    private int command1Offset = -1;
+    private int command2Offset = -1;
+    private int messageFlagsOffset = -1;
+    private int ackNackOffset = -1;
+    private int toAddressOffset = -1;
+    private int fromAddressOffset = -1;
+
     MsgDefinition() {
     }
 
@@ -40,6 +49,41 @@ public class MsgDefinition {
      */
     MsgDefinition(MsgDefinition m) {
         fields = new HashMap<>(m.fields);
+        cmdOffset = m.cmdOffset;
+        command1Offset = m.command1Offset;
+        command2Offset = m.command2Offset;
+        messageFlagsOffset = m.messageFlagsOffset;
+        ackNackOffset = m.ackNackOffset;
+        toAddressOffset = m.toAddressOffset;
+        fromAddressOffset = m.fromAddressOffset;
+    }
+
+    int getCmdOffset() {
+        return cmdOffset;
+    }
+
+    int getCommand1Offset() {
+        return command1Offset;
+    }
+
+    int getCommand2Offset() {
+        return command2Offset;
+    }
+
+    int getMessageFlagsOffset() {
+        return messageFlagsOffset;
+    }
+
+    int getAckNackOffset() {
+        return ackNackOffset;
+    }
+
+    int getToAddressOffset() {
+        return toAddressOffset;
+    }
+
+    int getFromAddressOffset() {
+        return fromAddressOffset;
     }
 
     public Map<String, Field> getFields() {
@@ -52,6 +96,46 @@ public class MsgDefinition {
 
     public void addField(Field field) {
         fields.put(field.getName(), field);
+        compileOffset(field);
+    }
+
+    /**
+     * Remembers the offset of a field that is read for every received message, so it can be accessed
+     * without looking up the field by name. A field of an unexpected type is only available by name.
+     *
+     * @param field the field that was added
+     */
+    private void compileOffset(Field field) {
+        switch (field.getName()) {
+            case "Cmd":
+                cmdOffset = getOffset(field, DataType.BYTE);
+                break;
+            case "command1":
+                command1Offset = getOffset(field, DataType.BYTE);
+                break;
+            case "command2":
+                command2Offset = getOffset(field, DataType.BYTE);
+                break;
+            case "messageFlags":
+                messageFlagsOffset = getOffset(field, DataType.BYTE);
+                break;
+            case "ACK/NACK":
+                // only its presence matters
+                ackNackOffset = field.getOffset();
+                break;
+            case "toAddress":
+                toAddressOffset = getOffset(field, DataType.ADDRESS);
+                break;
+            case "fromAddress":
+                fromAddressOffset = getOffset(field, DataType.ADDRESS);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static int getOffset(Field field, DataType type) {
+        return field.getType() == type ? field.getOffset() : -1;
     }
 
     /**
@@ -13,6 +13,7 @@
 package org.openhab.binding.insteon.internal.message;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -39,6 +40,7 @@ public class MsgFactory {
     // I doubt it'll ever be larger than 4k
     private static final int MAX_MSG_LEN = 4096;
     private byte[] buf = new byte[MAX_MSG_LEN];
+    private int start = 0; // offset of the first byte not yet processed
     private int end = 0; // offset of end of buffer
     private boolean done = true; // done fully processing buffer flag
 
@@ -64,6 +66,13 @@ public class MsgFactory {
      * @param len length of data to be added
      */
     public void addData(byte[] data, int len) {
+        // move the data that has not been processed yet to the start of the buffer, this is
+        // only done once per read instead of after every message taken from the buffer
+        if (start > 0) {
+            System.arraycopy(buf, start, buf, 0, end - start);
+            end -= start;
+            start = 0;
+        }
         int l = len;
         if (l + end > MAX_MSG_LEN) {
             logger.warn("truncating excessively long message!");
@@ -77,7 +86,9 @@ public class MsgFactory {
         System.arraycopy(data, 0, buf, end, l);
         end += l;
         // copy the incoming data to the end of the buffer
-        logger.trace("read buffer: len {} data: {}", end, Utils.getHexString(buf, end));
+        if (logger.isTraceEnabled()) {
+            logger.trace("read buffer: len {} data: {}", end, Utils.getHexString(buf, end));
+        }
     }
 
     /**
@@ -91,7 +102,7 @@ public class MsgFactory {
     public @Nullable Msg processData() throws IOException {
         Msg msg = null;
         // handle the case where we get a pure nack
-        if (end > 0 && buf[0] == 0x15) {
+        if (end > start && buf[start] == 0x15) {
             logger.trace("got pure nack!");
             removeFromBuffer(1);
             try {
@@ -102,32 +113,33 @@ public class MsgFactory {
             }
         }
         // drain the buffer until the first byte is 0x02
-        if (end > 0 && buf[0] != 0x02) {
+        if (end > start && buf[start] != 0x02) {
             bail("incoming message does not start with 0x02");
         }
         // Now see if we have enough data for a complete message.
         // If not, we return null, and expect this method to be called again
         // when more data has come in.
-        if (end > 1) {
+        int len = end - start;
+        if (len > 1) {
             // we have some data, but do we have enough to read the entire header?
-            int headerLength = Msg.getHeaderLength(buf[1]);
-            boolean isExtended = Msg.isExtended(buf, end, headerLength);
+            int headerLength = Msg.getHeaderLength(buf[start + 1]);
+            boolean isExtended = Msg.isExtended(buf, start, len, headerLength);
             logger.trace("header length expected: {} extended: {}", headerLength, isExtended);
             if (headerLength < 0) {
                 removeFromBuffer(1); // get rid of the leading 0x02 so draining works
-                bail("got unknown command code " + Utils.getHexByte(buf[0]));
+                bail("got unknown command code " + Utils.getHexByte(buf[start]));
             } else if (headerLength >= 2) {
-                if (end >= headerLength) {
+                if (len >= headerLength) {
                     // only when the header is complete do we know that isExtended is correct!
-                    int msgLen = Msg.getMessageLength(buf[1], isExtended);
+                    int msgLen = Msg.getMessageLength(buf[start + 1], isExtended);
                     logger.trace("msgLen expected: {}", msgLen);
                     if (msgLen < 0) {
                         // Cannot make sense out of the combined command code & isExtended flag.
                         removeFromBuffer(1);
-                        bail("got unknown command code/ext flag " + Utils.getHexByte(buf[0]));
+                        bail("got unknown command code/ext flag " + Utils.getHexByte(buf[start]));
                     } else if (msgLen > 0) {
-                        if (end >= msgLen) {
-                            msg = Msg.createMessage(buf, msgLen, isExtended);
+                        if (len >= msgLen) {
+                            msg = Msg.createMessage(buf, start, msgLen, isExtended);
                             removeFromBuffer(msgLen);
                         }
                     } else { // should never happen
@@ -139,11 +151,14 @@ public class MsgFactory {
             }
         }
         // indicate no more messages available in buffer if empty or undefined message
-        if (end == 0 || msg == null) {
+        if (end == start || msg == null) {
             logger.trace("done processing current buffer data");
             done = true;
         }
-        logger.trace("keeping buffer len {} data: {}", end, Utils.getHexString(buf, end));
+        if (logger.isTraceEnabled()) {
+            logger.trace("keeping buffer len {} data: {}", end - start,
+                    Utils.getHexString(Arrays.copyOfRange(buf, start, end)));
+        }
         return msg;
     }
 
@@ -154,17 +169,16 @@ public class MsgFactory {
     }
 
     private void drainBuffer() {
-        while (end > 0 && buf[0] != 0x02) {
+        while (end > start && buf[start] != 0x02) {
             removeFromBuffer(1);
         }
     }
 
     private void removeFromBuffer(int len) {
-        int l = len;
-        if (l > end) {
-            l = end;
+        start += Math.min(len, end - start);
+        if (start == end) {
+            start = 0;
+            end = 0;
         }
-        System.arraycopy(buf, l, buf, 0, end + 1 - l);
-        end -= l;
     }
 }
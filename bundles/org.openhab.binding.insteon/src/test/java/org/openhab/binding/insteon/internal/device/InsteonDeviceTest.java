@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.insteon.internal.device;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.insteon.internal.message.Msg;
+
+/**
+ * Tests that {@link InsteonDevice} passes ALL LINK messages to the same message handlers as when every
+ * message was passed to all features of the device.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InsteonDeviceTest {
+    private final List<MessageHandler> calls = new ArrayList<>();
+
+    /**
+     * Records the calls instead of publishing states, and never treats a message as duplicate
+     */
+    private class RecordingHandler extends MessageHandler {
+        RecordingHandler(DeviceFeature feature) {
+            super(feature);
+        }
+
+        @Override
+        public void handleMessage(int group, byte cmd1, Msg msg, DeviceFeature feature) {
+            calls.add(this);
+        }
+
+        @Override
+        protected boolean isDuplicate(Msg msg) {
+            return false;
+        }
+    }
+
+    private InsteonDevice makeDevice(DeviceType deviceType) {
+        InsteonDevice device = InsteonDevice.makeDevice(deviceType);
+        for (DeviceFeature f : device.getFeatures().values()) {
+            for (Entry<Integer, @Nullable MessageHandler> h : new ArrayList<>(f.getMsgHandlers().entrySet())) {
+                if (h.getValue() != null) {
+                    f.addMessageHandler(h.getKey(), new RecordingHandler(f));
+                }
+            }
+            f.setDefaultMsgHandler(new RecordingHandler(f));
+        }
+        return device;
+    }
+
+    /**
+     * Creates an ALL LINK broadcast or cleanup for group 1. A broadcast with command 0x06 reports the success of
+     * the cleanups of command 0x11, which is carried in the high byte of the toAddress.
+     */
+    private static Msg allLinkMessage(boolean cleanup, int cmd1) {
+        byte[] data = new byte[] { 0x02, 0x50, 0x11, 0x22, 0x33, 0x11, 0x00, 0x01, (byte) (cleanup ? 0x4B : 0xCB),
+                (byte) cmd1, (byte) (cleanup ? 0x01 : 0x00) };
+        Msg msg = Msg.createMessage(data, data.length, false);
+        assertNotNull(msg);
+        assertTrue(msg.isAllLink());
+        return msg;
+    }
+
+    /**
+     * Passes a message to all features like the device did before it indexed its features by command
+     */
+    private static void handleByAllFeatures(InsteonDevice device, Msg msg) {
+        for (DeviceFeature f : device.getFeatures().values()) {
+            if (!f.isStatusFeature() && f.handleMessage(msg)) {
+                break;
+            }
+        }
+        for (DeviceFeature f : device.getFeatures().values()) {
+            if (f.isStatusFeature()) {
+                f.handleMessage(msg);
+            }
+        }
+    }
+
+    @Test
+    public void allLinkMessagesReachTheSameHandlers() {
+        DeviceTypeLoader loader = DeviceTypeLoader.instance();
+        assertNotNull(loader);
+        assertFalse(loader.getDeviceTypes().isEmpty());
+
+        int handled = 0;
+        for (Entry<String, DeviceType> deviceType : loader.getDeviceTypes().entrySet()) {
+            InsteonDevice device = makeDevice(deviceType.getValue());
+            for (int cmd1 = 0; cmd1 < 256; cmd1++) {
+                for (boolean cleanup : new boolean[] { false, true }) {
+                    Msg msg = allLinkMessage(cleanup, cmd1);
+
+                    handleByAllFeatures(device, msg);
+                    List<MessageHandler> expected = new ArrayList<>(calls);
+                    calls.clear();
+                    device.handleMessage(msg);
+
+                    assertEquals(expected, calls, deviceType.getKey() + " cmd1 " + cmd1);
+                    handled += calls.size();
+                    calls.clear();
+                }
+            }
+        }
+        assertTrue(handled > 0);
+    }
+}
@@ -0,0 +1,189 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.insteon.internal.message;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that {@link MsgFactory} finds the message boundaries in data read from the modem.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MsgFactoryTest {
+    private static final byte[] STANDARD = bytes(0x02, 0x50, 0x11, 0x22, 0x33, 0x44, 0x55, 0x66, 0x2B, 0x11, 0xFF);
+    private static final byte[] ALL_LINK_BROADCAST = bytes(0x02, 0x50, 0x11, 0x22, 0x33, 0x00, 0x00, 0x01, 0xCB, 0x13,
+            0x00);
+    private static final byte[] EXTENDED = bytes(0x02, 0x51, 0x11, 0x22, 0x33, 0x44, 0x55, 0x66, 0x1B, 0x2E, 0x00,
+            0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x08, 0x09, 0x0A, 0x0B, 0x0C, 0x0D, 0xD2);
+    private static final byte[] STANDARD_ECHO = bytes(0x02, 0x62, 0x11, 0x22, 0x33, 0x0F, 0x19, 0x00, 0x06);
+    private static final byte[] EXTENDED_ECHO = bytes(0x02, 0x62, 0x11, 0x22, 0x33, 0x1F, 0x2E, 0x00, 0x01, 0x02, 0x03,
+            0x04, 0x05, 0x06, 0x07, 0x08, 0x09, 0x0A, 0x0B, 0x0C, 0x0D, 0xD2, 0x06);
+    private static final byte[] PURE_NACK = bytes(0x15);
+
+    private final MsgFactory factory = new MsgFactory();
+    private int errors = 0;
+
+    private static byte[] bytes(int... values) {
+        byte[] b = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            b[i] = (byte) values[i];
+        }
+        return b;
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Feeds the data to the factory like the reader thread of the port does, in chunks of the given sizes
+     */
+    private List<Msg> read(byte[] data, int... chunkSizes) {
+        List<Msg> msgs = new ArrayList<>();
+        int offset = 0;
+        for (int i = 0; offset < data.length; i++) {
+            int len = Math.min(chunkSizes[i % chunkSizes.length], data.length - offset);
+            factory.addData(Arrays.copyOfRange(data, offset, offset + len), len);
+            offset += len;
+            while (!factory.isDone()) {
+                try {
+                    Msg msg = factory.processData();
+                    if (msg != null) {
+                        msgs.add(msg);
+                    }
+                } catch (IOException e) {
+                    errors++;
+                }
+            }
+        }
+        return msgs;
+    }
+
+    private static void assertMessages(List<Msg> msgs, byte[]... expected) {
+        assertEquals(expected.length, msgs.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertArrayEquals(expected[i], msgs.get(i).getData());
+        }
+    }
+
+    @Test
+    public void messagesAreDecoded() throws FieldException {
+        List<Msg> msgs = read(concat(STANDARD, EXTENDED, STANDARD_ECHO, EXTENDED_ECHO), 1024);
+
+        assertMessages(msgs, STANDARD, EXTENDED, STANDARD_ECHO, EXTENDED_ECHO);
+        assertEquals(0, errors);
+        assertTrue(msgs.get(0).isUnsolicited());
+        assertFalse(msgs.get(0).isExtended());
+        assertTrue(msgs.get(1).isExtended());
+        assertTrue(msgs.get(2).isEcho());
+        assertFalse(msgs.get(2).isExtended());
+        assertTrue(msgs.get(3).isEcho());
+        assertTrue(msgs.get(3).isExtended());
+    }
+
+    @Test
+    public void backToBackMessagesAreDecoded() {
+        // many messages in a single read, as sent by a busy network
+        List<byte[]> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add(i % 3 == 0 ? EXTENDED : i % 3 == 1 ? ALL_LINK_BROADCAST : STANDARD);
+        }
+        byte[] data = concat(expected.toArray(new byte[0][]));
+        assertTrue(data.length < 4096);
+
+        List<Msg> msgs = read(data, data.length);
+
+        assertMessages(msgs, expected.toArray(new byte[0][]));
+        assertEquals(0, errors);
+        assertTrue(factory.isDone());
+    }
+
+    @Test
+    public void chunkedMessagesAreDecoded() {
+        byte[] data = concat(STANDARD, EXTENDED, PURE_NACK, STANDARD_ECHO, ALL_LINK_BROADCAST, EXTENDED_ECHO);
+        for (int chunkSize = 1; chunkSize <= data.length; chunkSize++) {
+            assertMessages(read(data, chunkSize), STANDARD, EXTENDED, bytes(0x02, 0x15), STANDARD_ECHO,
+                    ALL_LINK_BROADCAST, EXTENDED_ECHO);
+        }
+        Random random = new Random(4711);
+        for (int i = 0; i < 100; i++) {
+            assertMessages(read(data, random.nextInt(12) + 1, random.nextInt(12) + 1, random.nextInt(30) + 1),
+                    STANDARD, EXTENDED, bytes(0x02, 0x15), STANDARD_ECHO, ALL_LINK_BROADCAST, EXTENDED_ECHO);
+        }
+        assertEquals(0, errors);
+    }
+
+    @Test
+    public void pureNackIsDecoded() {
+        List<Msg> msgs = read(concat(PURE_NACK, PURE_NACK, STANDARD), 1024);
+
+        assertEquals(3, msgs.size());
+        assertTrue(msgs.get(0).isPureNack());
+        assertTrue(msgs.get(0).isEcho());
+        assertTrue(msgs.get(1).isPureNack());
+        assertArrayEquals(STANDARD, msgs.get(2).getData());
+    }
+
+    @Test
+    public void junkIsSkipped() {
+        // junk before a message and a message with an unknown command code
+        byte[] data = concat(bytes(0xAA, 0xBB), STANDARD, bytes(0x02, 0x40, 0x33), EXTENDED);
+
+        List<Msg> msgs = read(data, 1024);
+
+        assertMessages(msgs, STANDARD, EXTENDED);
+        assertEquals(2, errors);
+        assertTrue(factory.isDone());
+    }
+
+    @Test
+    public void partialMessageIsKept() {
+        assertEquals(List.of(), read(Arrays.copyOf(EXTENDED, 20), 20));
+        assertTrue(factory.isDone());
+
+        assertMessages(read(Arrays.copyOfRange(EXTENDED, 20, EXTENDED.length), 5), EXTENDED);
+    }
+
+    @Test
+    public void typedAccessorsMatchNamedFields() throws FieldException {
+        List<Msg> msgs = read(concat(STANDARD, EXTENDED, STANDARD_ECHO, ALL_LINK_BROADCAST), 1024);
+
+        for (Msg msg : msgs) {
+            assertEquals(msg.getByte("Cmd"), msg.getCmd());
+            assertEquals(msg.getByte("command1"), msg.getCommand1());
+            assertEquals(msg.getByte("command2"), msg.getCommand2());
+            assertEquals(msg.getByte("messageFlags"), msg.getMessageFlags());
+            assertEquals(msg.getAddress("toAddress"), msg.getToAddress());
+        }
+        assertEquals(msgs.get(0).getAddress("fromAddress"), msgs.get(0).getFromAddress());
+        assertEquals(msgs.get(1).getAddress("fromAddress"), msgs.get(1).getFromAddress());
+        assertThrows(FieldException.class, () -> msgs.get(2).getFromAddress());
+        assertTrue(msgs.get(3).isAllLink());
+        assertFalse(msgs.get(0).isAllLink());
+    }
+}
@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link SnapshotCache} holds the current snapshot of a camera and the smaller versions of it that have been
+ * requested. Each version is only created once per snapshot and gets an ETag, so clients can revalidate their copy
+ * instead of downloading the same picture again.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SnapshotCache {
+    public static final int MIN_WIDTH = 16;
+    private static final int MAX_CACHED_SIZES = 8;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    // makes the ETags unique across restarts of the binding
+    private final String instanceTag = Long.toHexString(System.currentTimeMillis());
+    private final Map<Integer, Snapshot> scaledSnapshots = new HashMap<>();
+    private final Map<Integer, BufferedImage> scaledImages = new HashMap<>();
+    private Snapshot snapshot;
+    private @Nullable BufferedImage image;
+    private long sequence = 0;
+
+    /**
+     * A JPEG picture and the ETag that identifies it.
+     */
+    public record Snapshot(byte[] jpeg, String eTag) {
+    }
+
+    public SnapshotCache(byte[] jpeg) {
+        snapshot = new Snapshot(jpeg, createETag(0));
+    }
+
+    /**
+     * Replaces the current snapshot and drops all versions that were created from the previous one.
+     */
+    public synchronized void update(byte[] jpeg) {
+        sequence++;
+        snapshot = new Snapshot(jpeg, createETag(0));
+        scaledSnapshots.clear();
+        scaledImages.clear();
+        image = null;
+    }
+
+    /**
+     * @return the ETag of the current snapshot, it changes with every new snapshot
+     */
+    public synchronized String getETag() {
+        return snapshot.eTag;
+    }
+
+    /**
+     * Returns the current snapshot scaled down to the given width. The original is returned if the width is 0 or not
+     * smaller than the snapshot, or if the snapshot can not be decoded.
+     */
+    public synchronized Snapshot get(int width) {
+        if (width <= 0) {
+            return snapshot;
+        }
+        Snapshot scaledSnapshot = scaledSnapshots.get(width);
+        if (scaledSnapshot != null) {
+            return scaledSnapshot;
+        }
+        BufferedImage scaledImage = getImage(width);
+        if (scaledImage == null || scaledImage == image) {
+            return snapshot;
+        }
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(scaledImage, "jpg", jpeg);
+        } catch (IOException e) {
+            logger.debug("Could not encode a snapshot with a width of {}:{}", width, e.getMessage());
+            return snapshot;
+        }
+        scaledSnapshot = new Snapshot(jpeg.toByteArray(), createETag(scaledImage.getWidth()));
+        if (scaledSnapshots.size() < MAX_CACHED_SIZES) {
+            scaledSnapshots.put(width, scaledSnapshot);
+        }
+        return scaledSnapshot;
+    }
+
+    /**
+     * Returns the decoded current snapshot scaled down to the given width, or the full size picture if it is not
+     * wider than that.
+     *
+     * @return the picture or null if the snapshot can not be decoded
+     */
+    public synchronized @Nullable BufferedImage getImage(int width) {
+        BufferedImage localImage = image;
+        if (localImage == null) {
+            try {
+                localImage = ImageIO.read(new ByteArrayInputStream(snapshot.jpeg));
+            } catch (IOException e) {
+                localImage = null;
+            }
+            if (localImage == null) {
+                return null;
+            }
+            image = localImage;
+        }
+        if (width <= 0 || width >= localImage.getWidth()) {
+            return localImage;
+        }
+        width = Math.max(width, MIN_WIDTH);
+        BufferedImage scaledImage = scaledImages.get(width);
+        if (scaledImage == null) {
+            scaledImage = scale(localImage, width,
+                    Math.max(1, Math.round((float) localImage.getHeight() * width / localImage.getWidth())));
+            if (scaledImages.size() < MAX_CACHED_SIZES) {
+                scaledImages.put(width, scaledImage);
+            }
+        }
+        return scaledImage;
+    }
+
+    /**
+     * Draws the picture into a new picture of the given size.
+     */
+    public static BufferedImage scale(BufferedImage source, int width, int height) {
+        BufferedImage scaledImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaledImage.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaledImage;
+    }
+
+    private String createETag(int width) {
+        return "\"" + instanceTag + "-" + sequence + (width > 0 ? "-" + width : "") + "\"";
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.imageio.ImageIO;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.ipcamera.internal.SnapshotCache.Snapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link SnapshotMosaic} composes the snapshots of a group of cameras into a single picture. A mosaic is only
+ * composed again when one of the snapshots has changed since the last request.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SnapshotMosaic {
+    public static final int DEFAULT_WIDTH = 1280;
+    public static final int MAX_WIDTH = 3840;
+    private static final int MAX_CACHED_SIZES = 4;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final Map<Integer, Mosaic> mosaics = new HashMap<>();
+
+    private record Mosaic(String key, Snapshot snapshot) {
+    }
+
+    /**
+     * Returns the mosaic of the given snapshots, placed in a grid with as many columns as rows or one column more.
+     *
+     * @param width the width of the mosaic, 0 for the default width
+     * @param snapshots the snapshots of the cameras in the order they should appear in
+     * @return the mosaic or null if there are no snapshots
+     */
+    public synchronized @Nullable Snapshot get(int width, List<SnapshotCache> snapshots) {
+        if (snapshots.isEmpty()) {
+            return null;
+        }
+        width = width <= 0 ? DEFAULT_WIDTH : Math.max(SnapshotCache.MIN_WIDTH, Math.min(width, MAX_WIDTH));
+        String key = snapshots.stream().map(SnapshotCache::getETag).collect(Collectors.joining());
+        Mosaic mosaic = mosaics.get(width);
+        if (mosaic != null && mosaic.key.equals(key)) {
+            return mosaic.snapshot;
+        }
+        byte[] jpeg = compose(width, snapshots);
+        if (jpeg == null) {
+            return null;
+        }
+        Snapshot snapshot = new Snapshot(jpeg,
+                "\"mosaic-" + width + "-" + Integer.toHexString(key.hashCode()) + "-" + key.length() + "\"");
+        if (mosaics.size() < MAX_CACHED_SIZES || mosaics.containsKey(width)) {
+            mosaics.put(width, new Mosaic(key, snapshot));
+        }
+        return snapshot;
+    }
+
+    private byte @Nullable [] compose(int width, List<SnapshotCache> snapshots) {
+        int columns = (int) Math.ceil(Math.sqrt(snapshots.size()));
+        int rows = (snapshots.size() + columns - 1) / columns;
+        int cellWidth = Math.max(1, width / columns);
+        List<@Nullable BufferedImage> images = new ArrayList<>();
+        int cellHeight = 0;
+        for (SnapshotCache snapshot : snapshots) {
+            BufferedImage image = snapshot.getImage(cellWidth);
+            if (image != null && image.getWidth() > cellWidth) {
+                // the snapshot is narrower than the minimum width of a scaled picture
+                image = SnapshotCache.scale(image, cellWidth,
+                        Math.max(1, image.getHeight() * cellWidth / image.getWidth()));
+            }
+            if (image != null) {
+                cellHeight = Math.max(cellHeight, image.getHeight());
+            }
+            images.add(image);
+        }
+        if (cellHeight == 0) {
+            cellHeight = Math.max(1, cellWidth * 9 / 16);
+        }
+        BufferedImage mosaic = new BufferedImage(cellWidth * columns, cellHeight * rows, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = mosaic.createGraphics();
+        try {
+            for (int i = 0; i < images.size(); i++) {
+                BufferedImage image = images.get(i);
+                if (image != null) {
+                    // center the picture in its cell, snapshots that can not be decoded leave a black cell
+                    int x = (i % columns) * cellWidth + (cellWidth - image.getWidth()) / 2;
+                    int y = (i / columns) * cellHeight + (cellHeight - image.getHeight()) / 2;
+                    graphics.drawImage(image, x, y, null);
+                }
+            }
+        } finally {
+            graphics.dispose();
+        }
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(mosaic, "jpg", jpeg);
+        } catch (IOException e) {
+            logger.debug("Could not encode the group mosaic:{}", e.getMessage());
+            return null;
+        }
+        return jpeg.toByteArray();
+    }
+}
@@ -20,6 +20,7 @@ import java.math.RoundingMode;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
@@ -31,6 +32,9 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.ipcamera.internal.GroupConfig;
 import org.openhab.binding.ipcamera.internal.GroupTracker;
 import org.openhab.binding.ipcamera.internal.Helper;
+import org.openhab.binding.ipcamera.internal.SnapshotCache;
+import org.openhab.binding.ipcamera.internal.SnapshotCache.Snapshot;
+import org.openhab.binding.ipcamera.internal.SnapshotMosaic;
 import org.openhab.binding.ipcamera.internal.servlet.GroupServlet;
 import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.StringType;
@@ -72,6 +76,7 @@ public class IpCameraGroupHandler extends BaseThingHandler {
     private int mediaSequence = 1;
     private int discontinuitySequence = 0;
     private GroupTracker groupTracker;
+    private final SnapshotMosaic mosaic = new SnapshotMosaic();
 
     public IpCameraGroupHandler(Thing thing, @Nullable String openhabIpAddress, GroupTracker groupTracker,
             HttpService httpService) {
@@ -103,6 +108,28 @@ public class IpCameraGroupHandler extends BaseThingHandler {
         return cameraOrder.get(cameraIndex).getSnapshot();
     }
 
+    public Snapshot getSnapshot(int width) {
+        // ask camera to fetch the next jpg ahead of time
+        cameraOrder.get(getNextIndex()).getSnapshot();
+        return cameraOrder.get(cameraIndex).getSnapshot(width);
+    }
+
+    /**
+     * Returns a picture that shows the snapshots of all cameras of the group, see {@link SnapshotMosaic}.
+     *
+     * @param width the width of the picture, 0 for the default width
+     * @return the picture or null if the group has no cameras
+     */
+    public @Nullable Snapshot getMosaic(int width) {
+        List<SnapshotCache> snapshots = new ArrayList<>();
+        for (IpCameraHandler camera : cameraOrder) {
+            // keeps the snapshots of all cameras fresh whilst the mosaic is being viewed
+            camera.getSnapshot();
+            snapshots.add(camera.getSnapshotCache());
+        }
+        return mosaic.get(width, snapshots);
+    }
+
     public String getOutputFolder(int index) {
         IpCameraHandler handle = cameraOrder.get(index);
         return handle.cameraConfig.getFfmpegOutput();
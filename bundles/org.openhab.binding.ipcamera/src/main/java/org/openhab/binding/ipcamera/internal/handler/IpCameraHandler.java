@@ -57,6 +57,8 @@ import org.openhab.binding.ipcamera.internal.IpCameraActions;
 import org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.FFmpegFormat;
 import org.openhab.binding.ipcamera.internal.IpCameraDynamicStateDescriptionProvider;
 import org.openhab.binding.ipcamera.internal.MyNettyAuthHandler;
+import org.openhab.binding.ipcamera.internal.SnapshotCache;
+import org.openhab.binding.ipcamera.internal.SnapshotCache.Snapshot;
 import org.openhab.binding.ipcamera.internal.onvif.OnvifConnection;
 import org.openhab.binding.ipcamera.internal.servlet.CameraServlet;
 import org.openhab.core.OpenHAB;
@@ -81,6 +83,8 @@ import org.slf4j.LoggerFactory;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelDuplexHandler;
@@ -122,6 +126,8 @@ import io.netty.util.concurrent.GlobalEventExecutor;
 
 @NonNullByDefault
 public class IpCameraHandler extends BaseThingHandler {
+    // shared by all cameras, pooled heap buffers can be handed to the servlet output without copying
+    private static final ByteBufAllocator HEAP_BUFFER_ALLOCATOR = new PooledByteBufAllocator(false);
     public final Logger logger = LoggerFactory.getLogger(getClass());
     public final IpCameraDynamicStateDescriptionProvider stateDescriptionProvider;
     private ScheduledExecutorService threadPool = Executors.newScheduledThreadPool(2);
@@ -174,6 +180,7 @@ public class IpCameraHandler extends BaseThingHandler {
     public String snapshotUri = "";
     public String mjpegUri = "";
     private byte[] currentSnapshot = new byte[] { (byte) 0x00 };
+    private final SnapshotCache snapshotCache = new SnapshotCache(currentSnapshot);
     public ReentrantLock lockCurrentSnapshot = new ReentrantLock();
     public String rtspUri = "";
     public boolean audioAlarmUpdateSnapshot = false;
@@ -262,11 +269,10 @@ public class IpCameraHandler extends BaseThingHandler {
                     HttpContent content = (HttpContent) msg;
                     if (mjpegUri.equals(requestUrl) && !(content instanceof LastHttpContent)) {
                         // multiple MJPEG stream packets come back as this.
-                        byte[] chunkedFrame = new byte[content.content().readableBytes()];
-                        content.content().getBytes(content.content().readerIndex(), chunkedFrame);
                         CameraServlet localServlet = servlet;
                         if (localServlet != null) {
-                            localServlet.openStreams.queueFrame(chunkedFrame);
+                            // the streams share the pooled buffer, msg is released below
+                            localServlet.openStreams.queueFrame(content.content().retainedDuplicate());
                         }
                     } else {
                         // Found some cameras use Content-Type: image/jpg instead of image/jpeg
@@ -533,6 +539,8 @@ public class IpCameraHandler extends BaseThingHandler {
             mainBootstrap.option(ChannelOption.SO_SNDBUF, 1024 * 8);
             mainBootstrap.option(ChannelOption.SO_RCVBUF, 1024 * 1024);
             mainBootstrap.option(ChannelOption.TCP_NODELAY, true);
+            // heap buffers let the servlet write MJPEG frames straight from the received bytes
+            mainBootstrap.option(ChannelOption.ALLOCATOR, HEAP_BUFFER_ALLOCATOR);
             mainBootstrap.handler(new ChannelInitializer<SocketChannel>() {
 
                 @Override
@@ -644,6 +652,7 @@ public class IpCameraHandler extends BaseThingHandler {
         lockCurrentSnapshot.lock();
         try {
             currentSnapshot = incommingSnapshot;
+            snapshotCache.update(incommingSnapshot);
             if (cameraConfig.getGifPreroll() > 0) {
                 fifoSnapshotBuffer.add(incommingSnapshot);
                 if (fifoSnapshotBuffer.size() > (cameraConfig.getGifPreroll() + gifRecordTime)) {
@@ -1459,6 +1468,21 @@ public class IpCameraHandler extends BaseThingHandler {
         }
     }
 
+    /**
+     * Returns the current snapshot scaled down to the given width, 0 returns the full size snapshot.
+     */
+    public Snapshot getSnapshot(int width) {
+        byte[] snapshot = getSnapshot();
+        if (!isOnline) {
+            return new Snapshot(snapshot, "\"offline\"");
+        }
+        return snapshotCache.get(width);
+    }
+
+    public SnapshotCache getSnapshotCache() {
+        return snapshotCache;
+    }
+
     public void stopSnapshotPolling() {
         Future<?> localFuture;
         if (!streamingSnapshotMjpeg && cameraConfig.getGifPreroll() == 0
@@ -131,11 +131,12 @@ public class CameraServlet extends IpCameraServlet {
                 sendFile(resp, pathInfo, "image/gif");
                 return;
             case "/ipcamera.jpg":
+                int width = getRequestedWidth(req);
                 // Use cached image if recent. Cameras can take > 1sec to send back a reply.
                 // Example an Image item/widget may have a 1 second refresh.
                 if (handler.ffmpegSnapshotGeneration
                         || Duration.between(handler.currentSnapshotTime, Instant.now()).toMillis() < 1200) {
-                    sendSnapshotImage(resp, "image/jpg", handler.getSnapshot());
+                    sendSnapshotImage(req, resp, handler.getSnapshot(width));
                 } else {
                     handler.getSnapshot();
                     final AsyncContext acontext = req.startAsync(req, resp);
@@ -152,7 +153,7 @@ public class CameraServlet extends IpCameraServlet {
                             } // 5 sec timeout OR a new snapshot comes back from camera
                             while (Duration.between(startTime, Instant.now()).toMillis() < 5000
                                     && Duration.between(handler.currentSnapshotTime, Instant.now()).toMillis() > 1200);
-                            sendSnapshotImage(resp, "image/jpg", handler.getSnapshot());
+                            sendSnapshotImage(req, resp, handler.getSnapshot(width));
                             acontext.complete();
                         }
                     });
@@ -199,28 +200,8 @@ public class CameraServlet extends IpCameraServlet {
                     }
                     output = new StreamOutput(resp, handler.mjpegContentType);
                 }
-                openStreams.addStream(output);
-                do {
-                    try {
-                        output.sendFrame();
-                    } catch (InterruptedException | IOException e) {
-                        // Never stop streaming until IOException. Occurs when browser stops the stream.
-                        openStreams.removeStream(output);
-                        logger.debug("Now there are {} ipcamera.mjpeg streams open.", openStreams.getNumberOfStreams());
-                        if (openStreams.isEmpty()) {
-                            if (output.isSnapshotBased) {
-                                Ffmpeg localMjpeg = handler.ffmpegMjpeg;
-                                if (localMjpeg != null) {
-                                    localMjpeg.stopConverting();
-                                }
-                            } else {
-                                handler.closeChannel(handler.getTinyUrl(handler.mjpegUri));
-                            }
-                            logger.debug("All ipcamera.mjpeg streams have stopped.");
-                        }
-                        return;
-                    }
-                } while (!openStreams.isEmpty());
+                output.startAsync(req, openStreams, this::mjpegStreamClosed);
+                return;
             case "/autofps.mjpeg":
                 handler.streamingAutoFps = true;
                 output = new StreamOutput(resp);
@@ -267,6 +248,21 @@ public class CameraServlet extends IpCameraServlet {
         }
     }
 
+    private void mjpegStreamClosed(StreamOutput output) {
+        logger.debug("Now there are {} ipcamera.mjpeg streams open.", openStreams.getNumberOfStreams());
+        if (openStreams.isEmpty()) {
+            if (output.isSnapshotBased) {
+                Ffmpeg localMjpeg = handler.ffmpegMjpeg;
+                if (localMjpeg != null) {
+                    localMjpeg.stopConverting();
+                }
+            } else {
+                handler.closeChannel(handler.getTinyUrl(handler.mjpegUri));
+            }
+            logger.debug("All ipcamera.mjpeg streams have stopped.");
+        }
+    }
+
     @Override
     protected void sendFile(HttpServletResponse response, String filename, String contentType) throws IOException {
         // Ensure no files can be sourced from parent or child folders
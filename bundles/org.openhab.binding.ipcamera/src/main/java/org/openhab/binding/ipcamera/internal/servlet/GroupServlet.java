@@ -23,6 +23,7 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.ipcamera.internal.SnapshotCache.Snapshot;
 import org.openhab.binding.ipcamera.internal.handler.IpCameraGroupHandler;
 import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.thing.ChannelUID;
@@ -80,7 +81,20 @@ public class GroupServlet extends IpCameraServlet {
                 sendString(resp, playList, "application/x-mpegURL");
                 return;
             case "/ipcamera.jpg":
-                sendSnapshotImage(resp, "image/jpg", handler.getSnapshot());
+                if (handler.cameraIndex >= handler.cameraOrder.size()) {
+                    logger.debug("All cameras in this group are OFFLINE and a snapshot was requested.");
+                    return;
+                }
+                sendSnapshotImage(req, resp, handler.getSnapshot(getRequestedWidth(req)));
+                return;
+            case "/mosaic.jpg":
+                Snapshot mosaic = handler.getMosaic(getRequestedWidth(req));
+                if (mosaic == null) {
+                    logger.debug("The group has no cameras and a mosaic was requested.");
+                    resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+                    return;
+                }
+                sendSnapshotImage(req, resp, mosaic);
                 return;
             case "/ipcamera.mjpeg":
             case "/snapshots.mjpeg":
@@ -23,9 +23,11 @@ import java.util.Properties;
 import javax.servlet.ServletOutputStream;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.ipcamera.internal.SnapshotCache.Snapshot;
 import org.openhab.core.thing.binding.ThingHandler;
 import org.osgi.service.http.HttpService;
 import org.slf4j.Logger;
@@ -83,6 +85,39 @@ public abstract class IpCameraServlet extends HttpServlet {
         }
     }
 
+    /**
+     * Sends the snapshot, or only a 304 reply if the client already has this version of it.
+     */
+    protected void sendSnapshotImage(HttpServletRequest request, HttpServletResponse response, Snapshot snapshot) {
+        if (snapshot.jpeg().length > 1) {
+            response.setHeader("ETag", snapshot.eTag());
+            response.setHeader("Cache-Control", "no-cache");
+            String ifNoneMatch = request.getHeader("If-None-Match");
+            if (ifNoneMatch != null && (ifNoneMatch.contains(snapshot.eTag()) || "*".equals(ifNoneMatch.strip()))) {
+                response.setHeader("Access-Control-Allow-Origin", "*");
+                response.setHeader("Access-Control-Expose-Headers", "*");
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
+        sendSnapshotImage(response, "image/jpg", snapshot.jpeg());
+    }
+
+    /**
+     * @return the width requested with the width parameter or 0 for the full size picture
+     */
+    protected int getRequestedWidth(HttpServletRequest request) {
+        String width = request.getParameter("width");
+        if (width != null) {
+            try {
+                return Math.max(0, Integer.parseInt(width.strip()));
+            } catch (NumberFormatException e) {
+                logger.debug("Ignoring the invalid width parameter:{}", width);
+            }
+        }
+        return 0;
+    }
+
     protected void sendString(HttpServletResponse response, String contents, String contentType) {
         response.setHeader("Access-Control-Allow-Origin", "*");
         response.setHeader("Access-Control-Expose-Headers", "*");
@@ -12,58 +12,175 @@
  */
 package org.openhab.binding.ipcamera.internal.servlet;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 
 /**
- * The {@link OpenStreams} Keeps track of all open mjpeg streams so the byte[] can be given to all FIFO buffers to allow
- * 1 to many streams without needing to open more than 1 source stream.
- *
+ * The {@link OpenStreams} Keeps track of all open mjpeg streams and holds the most recent frames in a ring buffer that
+ * is shared by all of them. This allows 1 to many streams without needing to open more than 1 source stream and
+ * without copying the frames for every stream. Each {@link StreamOutput} reads the ring at its own pace and skips
+ * ahead when it falls behind.
  *
  * @author Matthew Skinner - Initial contribution
  */
 
 @NonNullByDefault
 public class OpenStreams {
-    private List<StreamOutput> openStreams = Collections.synchronizedList(new ArrayList<StreamOutput>());
-    public String boundary = "thisMjpegStream";
+    public static final int RING_SIZE = 32;
 
-    public synchronized void addStream(StreamOutput stream) {
+    private final List<StreamOutput> openStreams = new CopyOnWriteArrayList<>();
+    private final @Nullable Frame[] ring = new Frame[RING_SIZE];
+    private long nextSequence = 0;
+    private byte[] boundaryMarker = markerOf("thisMjpegStream");
+    public volatile String boundary = "thisMjpegStream";
+
+    /**
+     * A reference counted frame in the ring. The ring holds one reference to the content, readers take their own.
+     *
+     * @param sequence the position of the frame in the stream
+     * @param content the frame or chunk as received from the camera
+     * @param boundaryIndex the index of the first multipart boundary in the content or -1 if it has none
+     */
+    record Frame(long sequence, ByteBuf content, int boundaryIndex) {
+    }
+
+    public void addStream(StreamOutput stream) {
         openStreams.add(stream);
     }
 
-    public synchronized void removeStream(StreamOutput stream) {
+    public void removeStream(StreamOutput stream) {
         openStreams.remove(stream);
     }
 
-    public synchronized int getNumberOfStreams() {
+    public int getNumberOfStreams() {
         return openStreams.size();
     }
 
-    public synchronized boolean isEmpty() {
+    public boolean isEmpty() {
         return openStreams.isEmpty();
     }
 
-    public synchronized void updateContentType(String contentType, String boundary) {
-        this.boundary = boundary;
+    public void updateContentType(String contentType, String boundary) {
+        synchronized (ring) {
+            this.boundary = boundary;
+            boundaryMarker = markerOf(boundary);
+        }
         for (StreamOutput stream : openStreams) {
             stream.updateContentType(contentType);
         }
     }
 
-    public synchronized void queueFrame(byte[] frame) {
+    public void queueFrame(byte[] frame) {
+        queueFrame(Unpooled.wrappedBuffer(frame));
+    }
+
+    /**
+     * Adds a frame to the ring and wakes up all streams. The ring takes over the reference of the caller, so pass a
+     * retained buffer if the caller releases its own.
+     */
+    public void queueFrame(ByteBuf frame) {
+        if (openStreams.isEmpty()) {
+            frame.release();
+            return;
+        }
+        synchronized (ring) {
+            int slot = (int) (nextSequence % RING_SIZE);
+            Frame oldFrame = ring[slot];
+            if (oldFrame != null) {
+                oldFrame.content.release();
+            }
+            ring[slot] = new Frame(nextSequence, frame, indexOf(frame, boundaryMarker));
+            nextSequence++;
+        }
         for (StreamOutput stream : openStreams) {
-            stream.queueFrame(frame);
+            stream.frameAvailable();
+        }
+    }
+
+    /**
+     * @return the sequence the next queued frame will get
+     */
+    long getNextSequence() {
+        synchronized (ring) {
+            return nextSequence;
         }
     }
 
-    public synchronized void closeAllStreams() {
+    /**
+     * Returns the frame with the given sequence. The content of the returned frame is retained and has to be released
+     * by the caller.
+     *
+     * @return the frame or null if it has not been queued yet or was already overwritten
+     */
+    @Nullable
+    Frame retainFrame(long sequence) {
+        synchronized (ring) {
+            if (sequence >= nextSequence || sequence < nextSequence - RING_SIZE || sequence < 0) {
+                return null;
+            }
+            Frame frame = ring[(int) (sequence % RING_SIZE)];
+            if (frame == null) {
+                return null;
+            }
+            frame.content.retain();
+            return frame;
+        }
+    }
+
+    /**
+     * @return the sequence of the newest frame in the ring that contains a boundary or -1 if there is none
+     */
+    long getLatestBoundarySequence() {
+        synchronized (ring) {
+            for (long sequence = nextSequence - 1; sequence >= 0 && sequence >= nextSequence - RING_SIZE; sequence--) {
+                Frame frame = ring[(int) (sequence % RING_SIZE)];
+                if (frame != null && frame.boundaryIndex >= 0) {
+                    return sequence;
+                }
+            }
+            return -1;
+        }
+    }
+
+    public void closeAllStreams() {
         for (StreamOutput stream : openStreams) {
             stream.close();
         }
         openStreams.clear();
+        synchronized (ring) {
+            for (int i = 0; i < RING_SIZE; i++) {
+                Frame frame = ring[i];
+                if (frame != null) {
+                    frame.content.release();
+                    ring[i] = null;
+                }
+            }
+        }
+    }
+
+    private static int indexOf(ByteBuf frame, byte[] marker) {
+        int start = frame.readerIndex();
+        int end = frame.writerIndex() - marker.length;
+        for (int i = start; i <= end; i++) {
+            int j = 0;
+            while (j < marker.length && frame.getByte(i + j) == marker[j]) {
+                j++;
+            }
+            if (j == marker.length) {
+                return i - start;
+            }
+        }
+        return -1;
+    }
+
+    private static byte[] markerOf(String boundary) {
+        return ("--" + boundary).getBytes(StandardCharsets.US_ASCII);
     }
 }
@@ -13,33 +13,61 @@
 package org.openhab.binding.ipcamera.internal.servlet;
 
 import java.io.IOException;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.ipcamera.internal.servlet.OpenStreams.Frame;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
 /**
- * The {@link StreamOutput} Streams mjpeg out to a client
+ * The {@link StreamOutput} Streams mjpeg out to a client. Streams that are started with
+ * {@link #startAsync(HttpServletRequest, OpenStreams, Consumer)} read the frames from the shared ring of the
+ * {@link OpenStreams} and write them without blocking a servlet thread. A client that can not keep up skips ahead to
+ * the newest frame instead of building up a backlog.
  *
  * @author Matthew Skinner - Initial contribution
  */
 
 @NonNullByDefault
-public class StreamOutput {
+public class StreamOutput implements WriteListener {
+    private static final byte[] CRLF = "\r\n".getBytes(StandardCharsets.US_ASCII);
+
     public final Logger logger = LoggerFactory.getLogger(getClass());
     private final HttpServletResponse response;
     private final String boundary;
     private String contentType;
     private final ServletOutputStream output;
-    private BlockingQueue<byte[]> fifo = new ArrayBlockingQueue<byte[]>(50);
     private boolean connected = false;
     public boolean isSnapshotBased = false;
 
+    private @Nullable OpenStreams openStreams;
+    private @Nullable AsyncContext asyncContext;
+    private @Nullable Consumer<StreamOutput> closeListener;
+    private final Deque<ByteBuf> pendingWrites = new ArrayDeque<>();
+    private @Nullable ByteBuf lastWrite;
+    private byte[] copyBuffer = new byte[0];
+    private long nextSequence = 0;
+    private boolean synced = false;
+    private boolean closed = false;
+    private long firstSequence = -1;
+    private long sentFrames = 0;
+
     public StreamOutput(HttpServletResponse response) throws IOException {
         boundary = "thisMjpegStream";
         contentType = "multipart/x-mixed-replace; boundary=" + boundary;
@@ -75,29 +103,198 @@ public class StreamOutput {
         output.write("\r\n".getBytes());
     }
 
-    public void queueFrame(byte[] frame) {
-        try {
-            fifo.add(frame);
-        } catch (IllegalStateException e) {
-            logger.debug("FIFO buffer has run out of space:{}", e.getMessage());
-            fifo.remove();
-            fifo.add(frame);
+    /**
+     * Puts the request into async mode and starts streaming the frames that are queued in the {@link OpenStreams}.
+     *
+     * @param request the request of this stream
+     * @param openStreams the streams of the camera, this stream is added to them
+     * @param closeListener called once after the stream has been removed from the {@link OpenStreams}
+     */
+    public void startAsync(HttpServletRequest request, OpenStreams openStreams, Consumer<StreamOutput> closeListener) {
+        AsyncContext localAsyncContext = request.startAsync();
+        localAsyncContext.setTimeout(0);
+        localAsyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onComplete(@Nullable AsyncEvent event) {
+                close();
+            }
+
+            @Override
+            public void onTimeout(@Nullable AsyncEvent event) {
+                close();
+            }
+
+            @Override
+            public void onError(@Nullable AsyncEvent event) {
+                close();
+            }
+
+            @Override
+            public void onStartAsync(@Nullable AsyncEvent event) {
+            }
+        });
+        synchronized (this) {
+            this.openStreams = openStreams;
+            this.asyncContext = localAsyncContext;
+            this.closeListener = closeListener;
+            // frames are only written once the output is in non-blocking mode
+            output.setWriteListener(this);
         }
+        openStreams.addStream(this);
     }
 
-    public void updateContentType(String contentType) {
+    public synchronized void updateContentType(String contentType) {
         this.contentType = contentType;
         if (!connected) {
             sendInitialHeaders();
             connected = true;
         }
+        writeFrames();
+    }
+
+    /**
+     * Called by the {@link OpenStreams} after a new frame was queued.
+     */
+    public void frameAvailable() {
+        writeFrames();
+    }
+
+    @Override
+    public void onWritePossible() throws IOException {
+        writeFrames();
     }
 
-    public void sendFrame() throws IOException, InterruptedException {
+    @Override
+    public void onError(@Nullable Throwable t) {
+        logger.debug("Stream to client failed:{}", t != null ? t.getMessage() : "");
+        close();
+    }
+
+    private synchronized void writeFrames() {
+        OpenStreams localOpenStreams = openStreams;
+        if (closed || localOpenStreams == null || (!connected && !isSnapshotBased)) {
+            return;
+        }
+        try {
+            // isReady() registers for onWritePossible() when it returns false
+            while (output.isReady()) {
+                // the previous write has completed, so the container no longer needs its bytes
+                releaseLastWrite();
+                ByteBuf next = pendingWrites.poll();
+                if (next == null) {
+                    if (!queueNextFrame(localOpenStreams)) {
+                        return;
+                    }
+                } else {
+                    lastWrite = next;
+                    write(next);
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Occurs when browser stops the stream.
+            close();
+        }
+    }
+
+    private void write(ByteBuf buffer) throws IOException {
+        int length = buffer.readableBytes();
+        if (buffer.hasArray()) {
+            output.write(buffer.array(), buffer.arrayOffset() + buffer.readerIndex(), length);
+        } else {
+            // only the last write may still be pending, so the copy buffer can be reused
+            if (copyBuffer.length < length) {
+                copyBuffer = new byte[length];
+            }
+            buffer.getBytes(buffer.readerIndex(), copyBuffer, 0, length);
+            output.write(copyBuffer, 0, length);
+        }
+    }
+
+    /**
+     * Takes the next frame from the ring and queues the writes needed to send it.
+     *
+     * @return false if there is no frame to send yet
+     */
+    private boolean queueNextFrame(OpenStreams localOpenStreams) {
+        long head = localOpenStreams.getNextSequence();
+        if (synced && nextSequence < head - OpenStreams.RING_SIZE) {
+            // the client is so slow that the frame was already overwritten
+            synced = false;
+        }
+        if (synced && isSnapshotBased) {
+            // every frame is a complete picture, so a slow client simply continues with the newest one
+            nextSequence = Math.max(nextSequence, head - 1);
+        }
+        boolean resynced = false;
+        if (!synced) {
+            long start = isSnapshotBased ? head - 1 : localOpenStreams.getLatestBoundarySequence();
+            if (start < 0 || start < nextSequence) {
+                // wait for the next frame that starts a new picture
+                nextSequence = head;
+                return false;
+            }
+            if (firstSequence < 0) {
+                firstSequence = start;
+            }
+            nextSequence = start;
+            synced = true;
+            resynced = true;
+        }
+        if (nextSequence >= head) {
+            return false;
+        }
+        Frame frame = localOpenStreams.retainFrame(nextSequence);
+        if (frame == null) {
+            synced = false;
+            return true;
+        }
+        sentFrames++;
+        nextSequence++;
+        ByteBuf content = frame.content();
         if (isSnapshotBased) {
-            sendSnapshotBasedFrame(fifo.take());
-        } else if (connected) {
-            output.write(fifo.take());
+            queueSnapshotBasedFrame(content);
+        } else if (resynced) {
+            // start with the part that begins in this chunk
+            queueSlice(content, frame.boundaryIndex(), content.readableBytes() - frame.boundaryIndex());
+        } else if (head - nextSequence > OpenStreams.RING_SIZE / 2 && frame.boundaryIndex() >= 0) {
+            // the client is falling behind, finish the current part and continue with the newest one
+            queueSlice(content, 0, frame.boundaryIndex());
+            synced = false;
+        } else {
+            pendingWrites.add(content);
+        }
+        return true;
+    }
+
+    private void queueSlice(ByteBuf content, int index, int length) {
+        if (length > 0) {
+            pendingWrites.add(content.slice(content.readerIndex() + index, length));
+        } else {
+            content.release();
+        }
+    }
+
+    private void queueSnapshotBasedFrame(ByteBuf content) {
+        ByteBuf header = Unpooled.wrappedBuffer(("--" + boundary + "\r\n" + "Content-Type: image/jpeg" + "\r\n"
+                + "Content-Length: " + content.readableBytes() + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        if (!connected) {
+            sendInitialHeaders();
+            // iOS needs to have two jpgs sent for the picture to appear instantly.
+            pendingWrites.add(header.retainedDuplicate());
+            pendingWrites.add(content.retainedDuplicate());
+            pendingWrites.add(Unpooled.wrappedBuffer(CRLF));
+            connected = true;
+        }
+        pendingWrites.add(header);
+        pendingWrites.add(content);
+        pendingWrites.add(Unpooled.wrappedBuffer(CRLF));
+    }
+
+    private void releaseLastWrite() {
+        ByteBuf localLastWrite = lastWrite;
+        if (localLastWrite != null) {
+            localLastWrite.release();
+            lastWrite = null;
         }
     }
 
@@ -108,9 +305,43 @@ public class StreamOutput {
     }
 
     public void close() {
+        AsyncContext localAsyncContext;
+        OpenStreams localOpenStreams;
+        Consumer<StreamOutput> localCloseListener;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            releaseLastWrite();
+            pendingWrites.forEach(ByteBuf::release);
+            pendingWrites.clear();
+            localAsyncContext = asyncContext;
+            localOpenStreams = openStreams;
+            localCloseListener = closeListener;
+        }
+        if (localAsyncContext == null) {
+            try {
+                output.close();
+            } catch (IOException e) {
+            }
+            return;
+        }
+        long droppedFrames = firstSequence < 0 ? 0 : nextSequence - firstSequence - sentFrames;
+        if (droppedFrames > 0) {
+            logger.debug("Stream closed, {} frames were skipped because the client could not keep up.",
+                    droppedFrames);
+        }
+        if (localOpenStreams != null) {
+            localOpenStreams.removeStream(this);
+        }
         try {
-            output.close();
-        } catch (IOException e) {
+            localAsyncContext.complete();
+        } catch (IllegalStateException e) {
+            // the request has already been completed
+        }
+        if (localCloseListener != null) {
+            localCloseListener.accept(this);
         }
     }
 }
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.ipcamera.internal.SnapshotCache.Snapshot;
+
+/**
+ * Tests the scaling, caching and ETags of {@link SnapshotCache}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SnapshotCacheTest {
+
+    static byte[] jpeg(int width, int height, Color color) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", jpeg);
+        return jpeg.toByteArray();
+    }
+
+    static BufferedImage decode(Snapshot snapshot) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(snapshot.jpeg()));
+        assertNotNull(image);
+        return image;
+    }
+
+    @Test
+    public void scaledSnapshotIsCachedWithItsOwnETag() throws IOException {
+        byte[] original = jpeg(640, 480, Color.RED);
+        SnapshotCache cache = new SnapshotCache(original);
+
+        Snapshot full = cache.get(0);
+        assertSame(original, full.jpeg());
+        assertEquals(cache.getETag(), full.eTag());
+
+        Snapshot scaled = cache.get(320);
+        BufferedImage image = decode(scaled);
+        assertEquals(320, image.getWidth());
+        assertEquals(240, image.getHeight());
+        assertNotEquals(cache.getETag(), scaled.eTag());
+        // the same width is encoded only once
+        assertSame(scaled, cache.get(320));
+    }
+
+    @Test
+    public void widthIsClamped() throws IOException {
+        byte[] original = jpeg(640, 480, Color.RED);
+        SnapshotCache cache = new SnapshotCache(original);
+
+        // a snapshot is never scaled up
+        assertSame(original, cache.get(640).jpeg());
+        assertSame(original, cache.get(4000).jpeg());
+        assertEquals(cache.getETag(), cache.get(4000).eTag());
+
+        // and not scaled below the minimum width
+        assertEquals(SnapshotCache.MIN_WIDTH, decode(cache.get(1)).getWidth());
+        assertEquals(cache.get(1).eTag(), cache.get(SnapshotCache.MIN_WIDTH).eTag());
+    }
+
+    @Test
+    public void updateInvalidatesScaledSnapshots() throws IOException {
+        SnapshotCache cache = new SnapshotCache(jpeg(640, 480, Color.RED));
+        String eTag = cache.getETag();
+        Snapshot scaled = cache.get(320);
+        assertTrue(new Color(decode(scaled).getRGB(160, 120)).getRed() > 200);
+
+        cache.update(jpeg(640, 480, Color.BLUE));
+
+        assertNotEquals(eTag, cache.getETag());
+        Snapshot updated = cache.get(320);
+        assertNotSame(scaled, updated);
+        assertNotEquals(scaled.eTag(), updated.eTag());
+        Color color = new Color(decode(updated).getRGB(160, 120));
+        assertTrue(color.getBlue() > 200);
+        assertTrue(color.getRed() < 60);
+    }
+
+    @Test
+    public void undecodableSnapshotIsReturnedUnchanged() {
+        byte[] original = new byte[] { 0x00 };
+        SnapshotCache cache = new SnapshotCache(original);
+
+        assertNull(cache.getImage(320));
+        assertSame(original, cache.get(320).jpeg());
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.openhab.binding.ipcamera.internal.SnapshotCacheTest.*;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.ipcamera.internal.SnapshotCache.Snapshot;
+
+/**
+ * Tests the layout and the caching of {@link SnapshotMosaic}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SnapshotMosaicTest {
+    private final SnapshotMosaic mosaic = new SnapshotMosaic();
+    private @NonNullByDefault({}) List<SnapshotCache> snapshots;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        snapshots = List.of(new SnapshotCache(jpeg(640, 480, Color.RED)),
+                new SnapshotCache(jpeg(640, 480, Color.GREEN)), new SnapshotCache(jpeg(640, 480, Color.BLUE)));
+    }
+
+    private static Color colorAt(BufferedImage image, int x, int y) {
+        return new Color(image.getRGB(x, y));
+    }
+
+    @Test
+    public void noSnapshotsGiveNoMosaic() {
+        assertNull(mosaic.get(640, List.of()));
+    }
+
+    @Test
+    public void snapshotsArePlacedInAGrid() throws IOException {
+        Snapshot snapshot = mosaic.get(640, snapshots);
+        assertNotNull(snapshot);
+
+        // three cameras need two columns and two rows of 320x240
+        BufferedImage image = decode(snapshot);
+        assertEquals(640, image.getWidth());
+        assertEquals(480, image.getHeight());
+        assertTrue(colorAt(image, 160, 120).getRed() > 200);
+        assertTrue(colorAt(image, 480, 120).getGreen() > 200);
+        assertTrue(colorAt(image, 160, 360).getBlue() > 200);
+        // the empty cell stays black
+        Color empty = colorAt(image, 480, 360);
+        assertTrue(empty.getRed() + empty.getGreen() + empty.getBlue() < 60);
+    }
+
+    @Test
+    public void widthIsClamped() throws IOException {
+        Snapshot snapshot = mosaic.get(0, snapshots);
+        assertNotNull(snapshot);
+        assertEquals(SnapshotMosaic.DEFAULT_WIDTH, decode(snapshot).getWidth());
+
+        snapshot = mosaic.get(100000, snapshots);
+        assertNotNull(snapshot);
+        assertEquals(SnapshotMosaic.MAX_WIDTH, decode(snapshot).getWidth());
+
+        snapshot = mosaic.get(1, snapshots);
+        assertNotNull(snapshot);
+        assertEquals(SnapshotCache.MIN_WIDTH, decode(snapshot).getWidth());
+    }
+
+    @Test
+    public void mosaicIsComposedAgainWhenASnapshotChanges() throws IOException {
+        Snapshot first = mosaic.get(640, snapshots);
+        assertNotNull(first);
+        assertSame(first, mosaic.get(640, snapshots));
+
+        snapshots.get(1).update(jpeg(640, 480, Color.BLUE));
+
+        Snapshot second = mosaic.get(640, snapshots);
+        assertNotNull(second);
+        assertNotSame(first, second);
+        assertNotEquals(first.eTag(), second.eTag());
+        Color color = colorAt(decode(second), 480, 120);
+        assertTrue(color.getBlue() > 200);
+        assertTrue(color.getGreen() < 60);
+        assertSame(second, mosaic.get(640, snapshots));
+    }
+}
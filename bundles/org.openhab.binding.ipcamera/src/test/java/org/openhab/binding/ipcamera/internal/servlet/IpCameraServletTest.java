@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.servlet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.ipcamera.internal.SnapshotCache.Snapshot;
+import org.openhab.core.thing.binding.ThingHandler;
+import org.osgi.service.http.HttpService;
+
+/**
+ * Tests the revalidation of snapshots with ETags and the width parameter of {@link IpCameraServlet}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class IpCameraServletTest {
+    private static final Snapshot SNAPSHOT = new Snapshot(new byte[] { 1, 2, 3 }, "\"1a2b-3\"");
+
+    private @NonNullByDefault({}) IpCameraServlet servlet;
+    private @NonNullByDefault({}) HttpServletRequest request;
+    private @NonNullByDefault({}) HttpServletResponse response;
+    private @NonNullByDefault({}) ServletOutputStream output;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        servlet = new IpCameraServlet(mock(ThingHandler.class), mock(HttpService.class)) {
+            private static final long serialVersionUID = 1L;
+        };
+        request = mock(HttpServletRequest.class);
+        response = mock(HttpServletResponse.class);
+        output = mock(ServletOutputStream.class);
+        when(response.getOutputStream()).thenReturn(output);
+    }
+
+    @Test
+    public void snapshotIsSentWithETag() throws IOException {
+        servlet.sendSnapshotImage(request, response, SNAPSHOT);
+
+        verify(response).setHeader("ETag", SNAPSHOT.eTag());
+        verify(response).setContentLength(3);
+        verify(output).write(SNAPSHOT.jpeg());
+        verify(response, never()).setStatus(anyInt());
+    }
+
+    @Test
+    public void matchingETagIsNotModified() throws IOException {
+        when(request.getHeader("If-None-Match")).thenReturn("\"other\", " + SNAPSHOT.eTag());
+
+        servlet.sendSnapshotImage(request, response, SNAPSHOT);
+
+        verify(response).setHeader("ETag", SNAPSHOT.eTag());
+        verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(response, never()).getOutputStream();
+    }
+
+    @Test
+    public void wildcardIsNotModified() throws IOException {
+        when(request.getHeader("If-None-Match")).thenReturn(" * ");
+
+        servlet.sendSnapshotImage(request, response, SNAPSHOT);
+
+        verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(response, never()).getOutputStream();
+    }
+
+    @Test
+    public void otherETagGetsTheSnapshot() throws IOException {
+        when(request.getHeader("If-None-Match")).thenReturn("\"1a2b-2\"");
+
+        servlet.sendSnapshotImage(request, response, SNAPSHOT);
+
+        verify(response, never()).setStatus(anyInt());
+        verify(output).write(SNAPSHOT.jpeg());
+    }
+
+    @Test
+    public void missingSnapshotHasNoETag() throws IOException {
+        when(request.getHeader("If-None-Match")).thenReturn("*");
+
+        servlet.sendSnapshotImage(request, response, new Snapshot(new byte[] { 0 }, "\"offline\""));
+
+        verify(response, never()).setHeader(eq("ETag"), anyString());
+        verify(response, never()).setStatus(anyInt());
+        verify(output, never()).write(any(byte[].class));
+    }
+
+    @Test
+    public void requestedWidthIsParsed() {
+        assertEquals(0, servlet.getRequestedWidth(request));
+        when(request.getParameter("width")).thenReturn(" 320 ");
+        assertEquals(320, servlet.getRequestedWidth(request));
+        when(request.getParameter("width")).thenReturn("-20");
+        assertEquals(0, servlet.getRequestedWidth(request));
+        when(request.getParameter("width")).thenReturn("wide");
+        assertEquals(0, servlet.getRequestedWidth(request));
+    }
+}
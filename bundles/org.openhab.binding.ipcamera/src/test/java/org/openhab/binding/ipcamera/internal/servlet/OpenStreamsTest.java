@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.servlet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.ipcamera.internal.servlet.OpenStreams.Frame;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Tests the reference counting of the frame ring of {@link OpenStreams}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class OpenStreamsTest {
+    private @NonNullByDefault({}) OpenStreams openStreams;
+    private @NonNullByDefault({}) StreamOutput stream;
+
+    @BeforeEach
+    public void setUp() {
+        openStreams = new OpenStreams();
+        stream = mock(StreamOutput.class);
+        openStreams.addStream(stream);
+    }
+
+    private static ByteBuf buffer(String content) {
+        return Unpooled.wrappedBuffer(content.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void frameIsReleasedWithoutStreams() {
+        openStreams.removeStream(stream);
+        ByteBuf frame = buffer("--thisMjpegStream\r\n");
+
+        openStreams.queueFrame(frame);
+
+        assertEquals(0, frame.refCnt());
+        assertEquals(0, openStreams.getNextSequence());
+    }
+
+    @Test
+    public void overwrittenFramesAreReleased() {
+        List<ByteBuf> frames = new ArrayList<>();
+        for (int i = 0; i <= OpenStreams.RING_SIZE; i++) {
+            ByteBuf frame = buffer("frame " + i);
+            frames.add(frame);
+            openStreams.queueFrame(frame);
+        }
+
+        verify(stream, times(OpenStreams.RING_SIZE + 1)).frameAvailable();
+        assertEquals(0, frames.get(0).refCnt());
+        for (int i = 1; i <= OpenStreams.RING_SIZE; i++) {
+            assertEquals(1, frames.get(i).refCnt());
+        }
+        assertNull(openStreams.retainFrame(0));
+        assertNull(openStreams.retainFrame(OpenStreams.RING_SIZE + 1));
+    }
+
+    @Test
+    public void retainedFrameSurvivesOverwrite() {
+        ByteBuf first = buffer("frame 0");
+        openStreams.queueFrame(first);
+
+        Frame frame = openStreams.retainFrame(0);
+        assertNotNull(frame);
+        assertSame(first, frame.content());
+        assertEquals(2, first.refCnt());
+
+        for (int i = 1; i <= OpenStreams.RING_SIZE; i++) {
+            openStreams.queueFrame(buffer("frame " + i));
+        }
+        // the ring released its reference, the reader still holds its own
+        assertEquals(1, first.refCnt());
+        frame.content().release();
+        assertEquals(0, first.refCnt());
+    }
+
+    @Test
+    public void latestBoundaryIsFound() {
+        assertEquals(-1, openStreams.getLatestBoundarySequence());
+
+        openStreams.queueFrame(buffer("--thisMjpegStream\r\nContent-Type: image/jpeg\r\n\r\n"));
+        openStreams.queueFrame(buffer("jpeg data"));
+        assertEquals(0, openStreams.getLatestBoundarySequence());
+
+        openStreams.queueFrame(buffer("end of jpeg\r\n--thisMjpegStream\r\n"));
+        openStreams.queueFrame(buffer("jpeg data"));
+        assertEquals(2, openStreams.getLatestBoundarySequence());
+        Frame frame = openStreams.retainFrame(2);
+        assertNotNull(frame);
+        assertEquals(13, frame.boundaryIndex());
+        frame.content().release();
+
+        // the marker follows the boundary of the camera
+        openStreams.updateContentType("multipart/x-mixed-replace; boundary=other", "other");
+        openStreams.queueFrame(buffer("--thisMjpegStream\r\n"));
+        assertEquals(2, openStreams.getLatestBoundarySequence());
+        openStreams.queueFrame(buffer("--other\r\n"));
+        assertEquals(5, openStreams.getLatestBoundarySequence());
+    }
+
+    @Test
+    public void closeAllStreamsReleasesRing() {
+        List<ByteBuf> frames = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ByteBuf frame = buffer("frame " + i);
+            frames.add(frame);
+            openStreams.queueFrame(frame);
+        }
+
+        openStreams.closeAllStreams();
+
+        verify(stream).close();
+        assertTrue(openStreams.isEmpty());
+        frames.forEach(frame -> assertEquals(0, frame.refCnt()));
+        assertNull(openStreams.retainFrame(2));
+    }
+}
@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.servlet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Tests the non-blocking output of {@link StreamOutput} and the reference counting of the frames it writes.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class StreamOutputTest {
+    private static final String CONTENT_TYPE = "multipart/x-mixed-replace; boundary=thisMjpegStream";
+
+    /**
+     * An output which is either always ready or, for a slow client, not ready after every write until
+     * {@link #writePossible()} is called.
+     */
+    private static class TestOutputStream extends ServletOutputStream {
+        private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        private boolean ready = true;
+        private boolean slow = false;
+        private @Nullable WriteListener writeListener;
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setWriteListener(@Nullable WriteListener writeListener) {
+            this.writeListener = writeListener;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            data.write(b, off, len);
+            ready = !slow;
+        }
+
+        void writePossible() throws IOException {
+            ready = true;
+            WriteListener listener = writeListener;
+            assertNotNull(listener);
+            listener.onWritePossible();
+        }
+
+        String getData() {
+            return data.toString(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private final TestOutputStream output = new TestOutputStream();
+    private final List<StreamOutput> closedStreams = new ArrayList<>();
+    private final List<ByteBuf> frames = new ArrayList<>();
+    private @NonNullByDefault({}) AsyncContext asyncContext;
+    private @NonNullByDefault({}) OpenStreams openStreams;
+    private @NonNullByDefault({}) StreamOutput stream;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(output);
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        asyncContext = mock(AsyncContext.class);
+        when(request.startAsync()).thenReturn(asyncContext);
+
+        openStreams = new OpenStreams();
+        stream = new StreamOutput(response, CONTENT_TYPE);
+        stream.startAsync(request, openStreams, closedStreams::add);
+        verify(response).setContentType(CONTENT_TYPE);
+    }
+
+    private static String frameContent(int index) {
+        return "--thisMjpegStream\r\nContent-Type: image/jpeg\r\n\r\njpeg " + index + "\r\n";
+    }
+
+    private void queueFrames(int count) {
+        for (int i = 0; i < count; i++) {
+            ByteBuf frame = Unpooled.wrappedBuffer(frameContent(frames.size()).getBytes(StandardCharsets.US_ASCII));
+            frames.add(frame);
+            openStreams.queueFrame(frame);
+        }
+    }
+
+    @Test
+    public void writtenFramesAreOnlyHeldByTheRing() {
+        assertEquals(1, openStreams.getNumberOfStreams());
+        queueFrames(3);
+
+        assertEquals(frameContent(0) + frameContent(1) + frameContent(2), output.getData());
+        frames.forEach(frame -> assertEquals(1, frame.refCnt()));
+
+        openStreams.closeAllStreams();
+        frames.forEach(frame -> assertEquals(0, frame.refCnt()));
+        verify(asyncContext).complete();
+        assertEquals(List.of(stream), closedStreams);
+    }
+
+    @Test
+    public void pendingWriteIsReleasedOnceWhenLapped() throws IOException {
+        output.slow = true;
+        queueFrames(1);
+        // the write of the first frame is pending, the stream holds a reference
+        assertEquals(2, frames.get(0).refCnt());
+
+        // the ring is overwritten twice while the client does not read
+        queueFrames(2 * OpenStreams.RING_SIZE);
+        assertEquals(1, frames.get(0).refCnt());
+        assertEquals(frameContent(0), output.getData());
+
+        output.slow = false;
+        output.writePossible();
+
+        // the overwritten frame is released exactly once and the client continues with the newest frame
+        assertEquals(0, frames.get(0).refCnt());
+        assertEquals(frameContent(0) + frameContent(2 * OpenStreams.RING_SIZE), output.getData());
+        for (int i = 1; i < frames.size(); i++) {
+            assertEquals(i > OpenStreams.RING_SIZE ? 1 : 0, frames.get(i).refCnt());
+        }
+
+        openStreams.closeAllStreams();
+        frames.forEach(frame -> assertEquals(0, frame.refCnt()));
+    }
+
+    @Test
+    public void slowClientSkipsAhead() throws IOException {
+        output.slow = true;
+        queueFrames(1);
+
+        // more than half of the ring is queued behind the client, but nothing has been overwritten yet
+        queueFrames(20);
+        output.slow = false;
+        output.writePossible();
+
+        assertEquals(frameContent(0) + frameContent(20), output.getData());
+        frames.forEach(frame -> assertEquals(1, frame.refCnt()));
+
+        // the client keeps up again
+        queueFrames(1);
+        assertEquals(frameContent(0) + frameContent(20) + frameContent(21), output.getData());
+        assertEquals(1, frames.get(21).refCnt());
+    }
+
+    @Test
+    public void closingWithPendingWriteReleasesFrame() throws IOException {
+        output.slow = true;
+        queueFrames(1);
+        assertEquals(2, frames.get(0).refCnt());
+
+        // the client disconnects while the write is pending
+        stream.onError(new IOException("closed"));
+
+        assertEquals(1, frames.get(0).refCnt());
+        assertTrue(openStreams.isEmpty());
+        verify(asyncContext).complete();
+        assertEquals(List.of(stream), closedStreams);
+
+        // late callbacks of the container neither write nor release again
+        output.slow = false;
+        output.writePossible();
+        stream.close();
+        assertEquals(1, frames.get(0).refCnt());
+        assertEquals(frameContent(0), output.getData());
+        assertEquals(1, closedStreams.size());
+
+        // without streams new frames are not kept
+        queueFrames(1);
+        assertEquals(0, frames.get(1).refCnt());
+
+        openStreams.closeAllStreams();
+        assertEquals(0, frames.get(0).refCnt());
+    }
+}
@@ -16,10 +16,7 @@ import static org.openhab.binding.knx.internal.dpt.DPTUtil.NORMALIZED_DPT;
 
 import java.time.Duration;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.CancellationException;
-import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -101,8 +98,8 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable ScheduledFuture<?> busJob;
     private @Nullable ScheduledFuture<?> connectJob;
 
-    private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    private final GroupAddressListenerIndex groupAddressListeners = new GroupAddressListenerIndex();
+    private final ReadDatapointScheduler readDatapoints;
 
     @FunctionalInterface
     private interface ListenerNotification {
@@ -119,19 +116,20 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
         @Override
         public void groupWrite(ProcessEvent e) {
-            processEvent("Group Write", e, (listener, source, destination, asdu) -> listener
+            processEvent("Group Write", e, false, (listener, source, destination, asdu) -> listener
                     .onGroupWrite(AbstractKNXClient.this, source, destination, asdu));
         }
 
         @Override
         public void groupReadRequest(ProcessEvent e) {
-            processEvent("Group Read Request", e, (listener, source, destination, asdu) -> listener
+            // answering a read request writes to the bus, which must not block the receiving thread
+            processEvent("Group Read Request", e, true, (listener, source, destination, asdu) -> listener
                     .onGroupRead(AbstractKNXClient.this, source, destination, asdu));
         }
 
         @Override
         public void groupReadResponse(ProcessEvent e) {
-            processEvent("Group Read Response", e, (listener, source, destination, asdu) -> listener
+            processEvent("Group Read Response", e, false, (listener, source, destination, asdu) -> listener
                     .onGroupReadResponse(AbstractKNXClient.this, source, destination, asdu));
         }
     };
@@ -143,6 +141,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         this.responseTimeout = responseTimeout;
         this.readingPause = readingPause;
         this.readRetriesLimit = readRetriesLimit;
+        this.readDatapoints = new ReadDatapointScheduler(thingUID);
         this.knxScheduler = knxScheduler;
         this.statusUpdateCallback = statusUpdateCallback;
     }
@@ -318,14 +317,32 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         return null;
     }
 
-    private void processEvent(String task, ProcessEvent event, ListenerNotification action) {
+    private void processEvent(String task, ProcessEvent event, boolean async, ListenerNotification action) {
         GroupAddress destination = event.getDestination();
         IndividualAddress source = event.getSourceAddr();
         byte[] asdu = event.getASDU();
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
-        for (GroupAddressListener listener : groupAddressListeners) {
-            if (listener.listensTo(destination)) {
-                knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
+        readDatapoints.telegramReceived();
+        GroupAddressListener[] listeners = groupAddressListeners.get(destination);
+        if (listeners.length == 0) {
+            return;
+        }
+        if (async) {
+            knxScheduler.execute(() -> notifyListeners(listeners, action, source, destination, asdu));
+        } else {
+            notifyListeners(listeners, action, source, destination, asdu);
+        }
+    }
+
+    private void notifyListeners(GroupAddressListener[] listeners, ListenerNotification action,
+            IndividualAddress source, GroupAddress destination, byte[] asdu) {
+        for (GroupAddressListener listener : listeners) {
+            try {
+                action.apply(listener, source, destination, asdu);
+            } catch (RuntimeException e) {
+                // a failing listener must neither affect other listeners nor the KNX link
+                logger.warn("Listener {} failed to process a telegram to '{}': {}", listener, destination,
+                        e.getMessage(), e);
             }
         }
     }
@@ -340,17 +357,25 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         if (processCommunicator == null) {
             return;
         }
+        if (!readDatapoints.isReadDue()) {
+            // the bus is busy, wait longer than the reading pause
+            return;
+        }
         ReadDatapoint datapoint = readDatapoints.poll();
         if (datapoint != null) {
             datapoint.incrementRetries();
+            boolean success = false;
+            boolean retry = false;
+            long start = System.nanoTime();
             try {
                 logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
                 processCommunicator.read(datapoint.getDatapoint());
+                success = true;
             } catch (KNXException e) {
                 // Note: KnxException does not cover KnxRuntimeException and subclasses KnxSecureException,
                 // KnxIllegArgumentException
                 if (datapoint.getRetries() < datapoint.getLimit()) {
-                    readDatapoints.add(datapoint);
+                    retry = true;
                     logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
                             datapoint.getDatapoint().getMainAddress(), e.getMessage());
                 } else {
@@ -365,6 +390,13 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
                 // Severity is warning as this is likely caused by a configuration error.
                 logger.warn("Error reading datapoint {}: {}", datapoint.getDatapoint().getMainAddress(),
                         e.getMessage());
+            } finally {
+                if (retry) {
+                    readDatapoints.retry(datapoint);
+                } else {
+                    readDatapoints.completed(datapoint,
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), success);
+                }
             }
         }
     }
@@ -437,13 +469,8 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     }
 
     @Override
-    public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
-            }
-        }
+    public void readDatapoint(Datapoint datapoint, ReadPriority priority) {
+        readDatapoints.add(datapoint, readRetriesLimit, priority);
     }
 
     @Override
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Index of {@link GroupAddressListener}s by the raw 16-bit group address they listen to.
+ *
+ * Lookups are lock-free and take constant time. Each address slot holds an immutable array of listeners, which is
+ * replaced whenever a listener is added or removed.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class GroupAddressListenerIndex {
+    private static final int ADDRESS_SPACE = 0x10000;
+    private static final GroupAddressListener[] NO_LISTENERS = new GroupAddressListener[0];
+
+    private final AtomicReferenceArray<GroupAddressListener @Nullable []> listenersByAddress = new AtomicReferenceArray<>(
+            ADDRESS_SPACE);
+    private final Map<GroupAddressListener, int[]> addressesByListener = new HashMap<>();
+
+    /**
+     * Add a listener for all group addresses it currently reports. A listener that is already known is re-indexed.
+     *
+     * @param listener the listener
+     */
+    synchronized void add(GroupAddressListener listener) {
+        remove(listener);
+        int[] addresses = listener.getGroupAddresses().stream().mapToInt(GroupAddress::getRawAddress).distinct()
+                .toArray();
+        addressesByListener.put(listener, addresses);
+        for (int address : addresses) {
+            GroupAddressListener[] current = get(address);
+            GroupAddressListener[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = listener;
+            listenersByAddress.set(address, updated);
+        }
+    }
+
+    /**
+     * Remove a listener from all group addresses it was indexed with.
+     *
+     * @param listener the listener
+     */
+    synchronized void remove(GroupAddressListener listener) {
+        int @Nullable [] addresses = addressesByListener.remove(listener);
+        if (addresses == null) {
+            return;
+        }
+        for (int address : addresses) {
+            GroupAddressListener[] current = get(address);
+            GroupAddressListener[] updated = Arrays.stream(current).filter(l -> l != listener)
+                    .toArray(GroupAddressListener[]::new);
+            listenersByAddress.set(address, updated.length == 0 ? null : updated);
+        }
+    }
+
+    /**
+     * Remove all listeners.
+     */
+    synchronized void clear() {
+        addressesByListener.values().forEach(addresses -> {
+            for (int address : addresses) {
+                listenersByAddress.set(address, null);
+            }
+        });
+        addressesByListener.clear();
+    }
+
+    /**
+     * Get all listeners of a group address. The returned array must not be modified.
+     *
+     * @param destination the group address
+     * @return the listeners, an empty array if there are none
+     */
+    GroupAddressListener[] get(GroupAddress destination) {
+        return get(destination.getRawAddress());
+    }
+
+    private GroupAddressListener[] get(int address) {
+        GroupAddressListener @Nullable [] listeners = listenersByAddress.get(address);
+        return listeners != null ? listeners : NO_LISTENERS;
+    }
+}
@@ -61,7 +61,8 @@ public interface KNXClient {
     void restartNetworkDevice(@Nullable IndividualAddress address);
 
     /**
-     * Register the given listener to be informed on KNX bus traffic.
+     * Register the given listener to be informed on KNX bus traffic to its group addresses.
+     * Registering an already registered listener updates its group addresses.
      *
      * @param listener the listener
      */
@@ -75,11 +76,12 @@ public interface KNXClient {
     void unregisterGroupAddressListener(GroupAddressListener listener);
 
     /**
-     * Schedule the given data point for asynchronous reading.
+     * Schedule the given data point for asynchronous reading. Data points with a higher priority are read first.
      *
      * @param datapoint the datapoint
+     * @param priority the priority
      */
-    void readDatapoint(Datapoint datapoint);
+    void readDatapoint(Datapoint datapoint, ReadPriority priority);
 
     /**
      * Write a command to the KNX bus.
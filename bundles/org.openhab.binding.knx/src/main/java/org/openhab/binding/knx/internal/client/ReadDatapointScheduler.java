@@ -0,0 +1,264 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.thing.ThingUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * Queue of datapoints to be read from the KNX bus.
+ *
+ * Datapoints are queued in one lane per {@link ReadPriority} and each group address is queued at most once. Reads
+ * are paced by the measured bus load: as long as the bus is quiet, reads are sent with the configured reading pause.
+ * On a busy bus, the pause is extended by the average response latency of the previous reads, up to
+ * {@link #MAX_PAUSE_MS}, to leave room for the telegrams of other devices.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class ReadDatapointScheduler {
+    // telegrams per second (not counting responses to our own reads) from which on the bus is considered busy
+    static final int BUSY_BUS_LOAD = 20;
+    // upper limit for the additional pause on a busy bus
+    static final long MAX_PAUSE_MS = 1000;
+    private static final int PROGRESS_LOG_INTERVAL = 100;
+
+    private final Logger logger = LoggerFactory.getLogger(ReadDatapointScheduler.class);
+
+    private final ThingUID thingUID;
+    private final Map<GroupAddress, ReadDatapoint> pending = new HashMap<>();
+    private final Map<ReadPriority, Map<GroupAddress, ReadDatapoint>> lanes = new LinkedHashMap<>();
+
+    // bus load measurement, counted in windows of one second
+    private long loadWindowStart = System.nanoTime();
+    private int loadWindowTelegrams;
+    private int loadWindowReads;
+    private int busLoad;
+
+    private long averageLatencyMs = -1;
+    private long nextReadTime = System.nanoTime();
+
+    // progress of the current run, i.e. since the queue was empty the last time
+    private long runStart;
+    private int runRequested;
+    private int runCompleted;
+    private boolean initialRunDone;
+
+    ReadDatapointScheduler(ThingUID thingUID) {
+        this.thingUID = thingUID;
+        for (ReadPriority priority : ReadPriority.values()) {
+            lanes.put(priority, new LinkedHashMap<>());
+        }
+    }
+
+    /**
+     * Queue a datapoint for reading. A datapoint whose group address is already queued is not queued again, but moved
+     * to the lane of the given priority if that is higher.
+     *
+     * @param datapoint the datapoint
+     * @param limit the maximum number of read attempts
+     * @param priority the priority
+     * @return true if the datapoint was queued, false if its group address already was queued
+     */
+    synchronized boolean add(Datapoint datapoint, int limit, ReadPriority priority) {
+        GroupAddress address = datapoint.getMainAddress();
+        ReadDatapoint queued = pending.get(address);
+        if (queued != null) {
+            if (priority.compareTo(queued.getPriority()) < 0) {
+                getLane(queued.getPriority()).remove(address);
+                queued.setPriority(priority);
+                getLane(priority).put(address, queued);
+            }
+            return false;
+        }
+
+        if (pending.isEmpty() && runCompleted == runRequested) {
+            runStart = System.nanoTime();
+            runRequested = 0;
+            runCompleted = 0;
+        }
+        ReadDatapoint readDatapoint = new ReadDatapoint(datapoint, limit, priority);
+        pending.put(address, readDatapoint);
+        getLane(priority).put(address, readDatapoint);
+        runRequested++;
+        return true;
+    }
+
+    /**
+     * Check if the pause after the previous read has passed.
+     *
+     * @return true if the next read may be sent
+     */
+    synchronized boolean isReadDue() {
+        return System.nanoTime() - nextReadTime >= 0;
+    }
+
+    /**
+     * Remove the next datapoint to read from the queue.
+     *
+     * @return the queued datapoint with the highest priority, or null if the queue is empty
+     */
+    synchronized @Nullable ReadDatapoint poll() {
+        for (Map<GroupAddress, ReadDatapoint> lane : lanes.values()) {
+            Iterator<ReadDatapoint> iterator = lane.values().iterator();
+            if (iterator.hasNext()) {
+                ReadDatapoint readDatapoint = iterator.next();
+                iterator.remove();
+                pending.remove(readDatapoint.getDatapoint().getMainAddress());
+                return readDatapoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Queue a datapoint again after a failed read attempt.
+     *
+     * @param readDatapoint the datapoint
+     */
+    synchronized void retry(ReadDatapoint readDatapoint) {
+        GroupAddress address = readDatapoint.getDatapoint().getMainAddress();
+        if (pending.containsKey(address)) {
+            // the address has been requested again in the meantime, that request replaces the retry
+            runCompleted++;
+        } else {
+            pending.put(address, readDatapoint);
+            getLane(readDatapoint.getPriority()).put(address, readDatapoint);
+        }
+        loadWindowReads++;
+        updateNextReadTime();
+    }
+
+    /**
+     * Record the end of the reading of a datapoint.
+     *
+     * @param readDatapoint the datapoint
+     * @param latencyMs the time it took to read the datapoint
+     * @param success true if a response has been received
+     */
+    synchronized void completed(ReadDatapoint readDatapoint, long latencyMs, boolean success) {
+        if (success) {
+            averageLatencyMs = averageLatencyMs < 0 ? latencyMs : (averageLatencyMs * 7 + latencyMs) / 8;
+        }
+        loadWindowReads++;
+        runCompleted++;
+        updateNextReadTime();
+
+        if (runCompleted % PROGRESS_LOG_INTERVAL == 0) {
+            logger.debug("Bridge {} read {} of {} datapoints, {} queued, bus load {} telegrams/s", thingUID,
+                    runCompleted, runRequested, pending.size(), getBusLoad());
+        }
+        if (pending.isEmpty() && runCompleted >= runRequested) {
+            long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - runStart);
+            if (!initialRunDone) {
+                initialRunDone = true;
+                logger.info("Bridge {} finished reading the initial state of {} datapoints in {} ms", thingUID,
+                        runCompleted, duration);
+            } else {
+                logger.debug("Bridge {} finished reading {} datapoints in {} ms", thingUID, runCompleted, duration);
+            }
+        }
+    }
+
+    /**
+     * Record a telegram received from the bus, used to determine the bus load.
+     */
+    synchronized void telegramReceived() {
+        updateLoadWindow();
+        loadWindowTelegrams++;
+    }
+
+    /**
+     * Remove all queued datapoints.
+     */
+    synchronized void clear() {
+        pending.clear();
+        lanes.values().forEach(Map::clear);
+        runRequested = 0;
+        runCompleted = 0;
+        initialRunDone = false;
+    }
+
+    /**
+     * Get the number of queued datapoints.
+     */
+    synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Get the number of datapoints requested in the current run, i.e. since the queue was empty the last time.
+     */
+    synchronized int getRequestedCount() {
+        return runRequested;
+    }
+
+    /**
+     * Get the number of datapoints read in the current run, successfully or not.
+     */
+    synchronized int getCompletedCount() {
+        return runCompleted;
+    }
+
+    /**
+     * Get the bus load of the last measurement window in telegrams per second, not counting responses to our reads.
+     */
+    synchronized int getBusLoad() {
+        updateLoadWindow();
+        return busLoad;
+    }
+
+    /**
+     * Get the current pause between two reads in addition to the configured reading pause.
+     */
+    synchronized long getPause() {
+        updateLoadWindow();
+        if (busLoad < BUSY_BUS_LOAD || averageLatencyMs < 0) {
+            return 0;
+        }
+        return Math.min(MAX_PAUSE_MS, averageLatencyMs);
+    }
+
+    private Map<GroupAddress, ReadDatapoint> getLane(ReadPriority priority) {
+        return lanes.computeIfAbsent(priority, p -> new LinkedHashMap<>());
+    }
+
+    private void updateNextReadTime() {
+        nextReadTime = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(getPause());
+    }
+
+    private void updateLoadWindow() {
+        long now = System.nanoTime();
+        long elapsed = now - loadWindowStart;
+        if (elapsed >= TimeUnit.SECONDS.toNanos(1)) {
+            // each read causes one response telegram, which is not load caused by others
+            int telegrams = Math.max(0, loadWindowTelegrams - loadWindowReads);
+            busLoad = (int) (telegrams * TimeUnit.SECONDS.toNanos(1) / elapsed);
+            loadWindowStart = now;
+            loadWindowTelegrams = 0;
+            loadWindowReads = 0;
+        }
+    }
+}
@@ -67,6 +67,15 @@ public class DPTUnits {
         return DPT_UNIT_MAP.values().stream();
     }
 
+    /**
+     * for testing purposes only
+     *
+     * @return stream of all DPTs with a unit
+     */
+    static Stream<String> getAllDptsWithUnit() {
+        return DPT_UNIT_MAP.keySet().stream();
+    }
+
     static {
         // try to get units from Calimeros "unit" field in DPTXlators
         List<Class<? extends DPTXlator>> translators = List.of(DPTXlator2ByteUnsigned.class, DptXlator2ByteSigned.class,
@@ -17,13 +17,19 @@ import static org.openhab.binding.knx.internal.KNXBindingConstants.disableUoM;
 import java.math.BigDecimal;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.measure.Unit;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.library.types.DateTimeType;
@@ -50,6 +56,7 @@ import tuwien.auto.calimero.dptxlator.DPTXlator;
 import tuwien.auto.calimero.dptxlator.DPTXlator1BitControlled;
 import tuwien.auto.calimero.dptxlator.DPTXlator3BitControlled;
 import tuwien.auto.calimero.dptxlator.DPTXlatorBoolean;
+import tuwien.auto.calimero.dptxlator.DPTXlatorDate;
 import tuwien.auto.calimero.dptxlator.DPTXlatorDateTime;
 import tuwien.auto.calimero.dptxlator.DPTXlatorSceneControl;
 import tuwien.auto.calimero.dptxlator.TranslatorTypes;
@@ -67,7 +74,6 @@ public class ValueDecoder {
 
     private static final String TIME_DAY_FORMAT = "EEE, HH:mm:ss";
     private static final String TIME_FORMAT = "HH:mm:ss";
-    private static final String DATE_FORMAT = "yyyy-MM-dd";
     // RGB: "r:123 g:123 b:123" value-range: 0-255
     private static final Pattern RGB_PATTERN = Pattern.compile("r:(?<r>\\d+) g:(?<g>\\d+) b:(?<b>\\d+)");
     // RGBW: "100 27 25 12 %", value range: 0-100, invalid values: "-"
@@ -78,6 +84,13 @@ public class ValueDecoder {
     public static final Pattern XYY_PATTERN = Pattern
             .compile("(?:\\((?<x>\\d+(?:[,.]\\d+)?) (?<y>\\d+(?:[,.]\\d+)?)\\))?\\s*(?:(?<Y>\\d+(?:[,.]\\d+)?)\\s%)?");
 
+    // decoders are resolved once per DPT and reused for all telegrams
+    private static final Map<String, Decoder> DECODERS = new ConcurrentHashMap<>();
+
+    private ValueDecoder() {
+        // prevent instantiation
+    }
+
     /**
      * convert the raw value received to the corresponding openHAB value
      *
@@ -88,67 +101,14 @@ public class ValueDecoder {
      */
     public static @Nullable Type decode(String dptId, byte[] data, Class<? extends Type> preferredType) {
         try {
-            DPTXlator translator = TranslatorTypes.createTranslator(0,
-                    DPTUtil.NORMALIZED_DPT.getOrDefault(dptId, dptId));
-            translator.setData(data);
-            String value = translator.getValue();
-
-            String id = dptId; // prefer using the user-supplied DPT
-
-            Matcher m = DPTUtil.DPT_PATTERN.matcher(id);
-            if (!m.matches() || m.groupCount() != 2) {
-                LOGGER.trace("User-Supplied DPT '{}' did not match for sub-type, using DPT returned from Translator",
-                        id);
-                id = translator.getType().getID();
-                m = DPTUtil.DPT_PATTERN.matcher(id);
-                if (!m.matches() || m.groupCount() != 2) {
-                    LOGGER.warn("Couldn't identify main/sub number in dptID '{}'", id);
-                    return null;
-                }
+            Decoder decoder = getDecoder(dptId);
+            if (decoder == null) {
+                return null;
             }
-            LOGGER.trace("Finally using datapoint DPT = {}", id);
-
-            String mainType = m.group("main");
-            String subType = m.group("sub");
-
-            switch (mainType) {
-                case "1":
-                    return handleDpt1(subType, translator);
-                case "2":
-                    DPTXlator1BitControlled translator1BitControlled = (DPTXlator1BitControlled) translator;
-                    int decValue = (translator1BitControlled.getControlBit() ? 2 : 0)
-                            + (translator1BitControlled.getValueBit() ? 1 : 0);
-                    return new DecimalType(decValue);
-                case "3":
-                    return handleDpt3(subType, translator);
-                case "10":
-                    return handleDpt10(value);
-                case "11":
-                    return DateTimeType.valueOf(new SimpleDateFormat(DateTimeType.DATE_PATTERN)
-                            .format(new SimpleDateFormat(DATE_FORMAT).parse(value)));
-                case "18":
-                    DPTXlatorSceneControl translatorSceneControl = (DPTXlatorSceneControl) translator;
-                    int decimalValue = translatorSceneControl.getSceneNumber();
-                    if (value.startsWith("learn")) {
-                        decimalValue += 0x80;
-                    }
-                    return new DecimalType(decimalValue);
-                case "19":
-                    return handleDpt19(translator);
-                case "16":
-                case "20":
-                case "21":
-                case "22":
-                case "28":
-                    return StringType.valueOf(value);
-                case "232":
-                    return handleDpt232(value, subType);
-                case "242":
-                    return handleDpt242(value);
-                case "251":
-                    return handleDpt251(value, preferredType);
-                default:
-                    return handleNumericDpt(id, translator, preferredType);
+            // translators are not thread-safe, the cached instance is only used while holding its lock
+            synchronized (decoder.translator) {
+                decoder.translator.setData(data);
+                return decode(decoder, preferredType);
             }
         } catch (NumberFormatException | KNXFormatException | KNXIllegalArgumentException | ParseException e) {
             LOGGER.info("Translator couldn't parse data '{}' for datapoint type '{}' ({}).", data, dptId, e.getClass());
@@ -159,6 +119,81 @@ public class ValueDecoder {
         return null;
     }
 
+    private static @Nullable Decoder getDecoder(String dptId) throws KNXException {
+        Decoder decoder = DECODERS.get(dptId);
+        if (decoder != null) {
+            return decoder;
+        }
+
+        DPTXlator translator = TranslatorTypes.createTranslator(0, DPTUtil.NORMALIZED_DPT.getOrDefault(dptId, dptId));
+        String id = dptId; // prefer using the user-supplied DPT
+
+        Matcher m = DPTUtil.DPT_PATTERN.matcher(id);
+        if (!m.matches() || m.groupCount() != 2) {
+            LOGGER.trace("User-Supplied DPT '{}' did not match for sub-type, using DPT returned from Translator", id);
+            id = translator.getType().getID();
+            m = DPTUtil.DPT_PATTERN.matcher(id);
+            if (!m.matches() || m.groupCount() != 2) {
+                LOGGER.warn("Couldn't identify main/sub number in dptID '{}'", id);
+                return null;
+            }
+        }
+        LOGGER.trace("Finally using datapoint DPT = {}", id);
+
+        decoder = new Decoder(id, m.group("main"), m.group("sub"), translator);
+        Decoder existing = DECODERS.putIfAbsent(dptId, decoder);
+        return existing != null ? existing : decoder;
+    }
+
+    private static @Nullable Type decode(Decoder decoder, Class<? extends Type> preferredType)
+            throws KNXFormatException, ParseException {
+        DPTXlator translator = decoder.translator;
+        String mainType = decoder.mainType;
+        String subType = decoder.subType;
+
+        switch (mainType) {
+            case "1":
+                return handleDpt1(subType, translator);
+            case "2":
+                DPTXlator1BitControlled translator1BitControlled = (DPTXlator1BitControlled) translator;
+                int decValue = (translator1BitControlled.getControlBit() ? 2 : 0)
+                        + (translator1BitControlled.getValueBit() ? 1 : 0);
+                return new DecimalType(decValue);
+            case "3":
+                return handleDpt3(subType, translator);
+            case "10":
+                return handleDpt10(translator.getValue());
+            case "11":
+                DPTXlatorDate translatorDate = (DPTXlatorDate) translator;
+                return new DateTimeType(LocalDate
+                        .of(translatorDate.getYear(), translatorDate.getMonth(), translatorDate.getDay())
+                        .atStartOfDay(ZoneId.systemDefault()));
+            case "18":
+                DPTXlatorSceneControl translatorSceneControl = (DPTXlatorSceneControl) translator;
+                int decimalValue = translatorSceneControl.getSceneNumber();
+                if (translator.getValue().startsWith("learn")) {
+                    decimalValue += 0x80;
+                }
+                return new DecimalType(decimalValue);
+            case "19":
+                return handleDpt19(translator);
+            case "16":
+            case "20":
+            case "21":
+            case "22":
+            case "28":
+                return StringType.valueOf(translator.getValue());
+            case "232":
+                return handleDpt232(translator.getValue(), subType);
+            case "242":
+                return handleDpt242(translator.getValue());
+            case "251":
+                return handleDpt251(translator.getValue(), preferredType);
+            default:
+                return handleNumericDpt(decoder, preferredType);
+        }
+    }
+
     private static Type handleDpt1(String subType, DPTXlator translator) {
         DPTXlatorBoolean translatorBoolean = (DPTXlatorBoolean) translator;
         switch (subType) {
@@ -346,20 +381,21 @@ public class ValueDecoder {
         return null;
     }
 
-    private static @Nullable Type handleNumericDpt(String id, DPTXlator translator, Class<? extends Type> preferredType)
+    private static @Nullable Type handleNumericDpt(Decoder decoder, Class<? extends Type> preferredType)
             throws KNXFormatException {
-        Set<Class<? extends Type>> allowedTypes = DPTUtil.getAllowedTypes(id);
+        String id = decoder.id;
+        Set<Class<? extends Type>> allowedTypes = decoder.allowedTypes;
 
-        double value = translator.getNumericValue();
+        double value = decoder.translator.getNumericValue();
         if (allowedTypes.contains(PercentType.class)
                 && (HSBType.class.equals(preferredType) || PercentType.class.equals(preferredType))) {
             return new PercentType(BigDecimal.valueOf(Math.round(value)));
         }
 
         if (allowedTypes.contains(QuantityType.class) && !disableUoM) {
-            String unit = DPTUnits.getUnitForDpt(id);
+            Unit<?> unit = decoder.unit;
             if (unit != null) {
-                return new QuantityType<>(value + " " + unit);
+                return new QuantityType<>(BigDecimal.valueOf(value), unit);
             } else {
                 LOGGER.trace("Could not determine unit for DPT '{}', fallback to plain decimal", id);
             }
@@ -380,4 +416,39 @@ public class ValueDecoder {
     private static int coerceToRange(int value, int min, int max) {
         return Math.min(Math.max(value, min), max);
     }
+
+    /**
+     * Everything needed to decode the data of one DPT that does not depend on the data itself
+     */
+    private static class Decoder {
+        final String id;
+        final String mainType;
+        final String subType;
+        final DPTXlator translator;
+        final Set<Class<? extends Type>> allowedTypes;
+        final @Nullable Unit<?> unit;
+
+        Decoder(String id, String mainType, String subType, DPTXlator translator) {
+            this.id = id;
+            this.mainType = mainType;
+            this.subType = subType;
+            this.translator = translator;
+            this.allowedTypes = DPTUtil.getAllowedTypes(id);
+            this.unit = parseUnit(id);
+        }
+
+        private static @Nullable Unit<?> parseUnit(String id) {
+            String unit = DPTUnits.getUnitForDpt(id);
+            if (unit == null) {
+                return null;
+            }
+            try {
+                // parse the unit the same way a value with unit is parsed
+                return new QuantityType<>("1 " + unit).getUnit();
+            } catch (IllegalArgumentException e) {
+                LOGGER.warn("Could not parse unit '{}' for DPT '{}'", unit, id);
+                return null;
+            }
+        }
+    }
 }
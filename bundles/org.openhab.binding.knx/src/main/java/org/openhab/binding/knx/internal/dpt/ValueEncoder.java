@@ -17,6 +17,8 @@ import static org.openhab.binding.knx.internal.dpt.DPTUtil.NORMALIZED_DPT;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -61,6 +63,9 @@ import tuwien.auto.calimero.dptxlator.TranslatorTypes;
 public class ValueEncoder {
     private static final Logger LOGGER = LoggerFactory.getLogger(ValueEncoder.class);
 
+    // DPTs are resolved once per DPT id, creating a translator for every value is expensive
+    private static final Map<String, DPT> DPTS = new ConcurrentHashMap<>();
+
     private ValueEncoder() {
         // prevent instantiation
     }
@@ -82,9 +87,7 @@ public class ValueEncoder {
         String mainNumber = m.group("main");
 
         try {
-            DPTXlator translator = TranslatorTypes.createTranslator(Integer.parseInt(mainNumber),
-                    NORMALIZED_DPT.getOrDefault(dptId, dptId));
-            DPT dpt = translator.getType();
+            DPT dpt = getDPT(dptId, mainNumber);
 
             // check for HSBType first, because it extends PercentType as well
             if (value instanceof HSBType type) {
@@ -123,6 +126,17 @@ public class ValueEncoder {
         return null;
     }
 
+    private static DPT getDPT(String dptId, String mainNumber) throws KNXException {
+        DPT dpt = DPTS.get(dptId);
+        if (dpt == null) {
+            DPTXlator translator = TranslatorTypes.createTranslator(Integer.parseInt(mainNumber),
+                    NORMALIZED_DPT.getOrDefault(dptId, dptId));
+            dpt = translator.getType();
+            DPTS.put(dptId, dpt);
+        }
+        return dpt;
+    }
+
     /**
      * Formats the given internal <code>dateType</code> to a knx readable String
      * according to the target datapoint type <code>dpt</code>.
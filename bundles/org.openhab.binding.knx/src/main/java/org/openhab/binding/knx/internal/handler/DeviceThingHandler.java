@@ -16,6 +16,7 @@ import static org.openhab.binding.knx.internal.KNXBindingConstants.*;
 
 import java.math.BigDecimal;
 import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -26,6 +27,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -37,6 +39,7 @@ import org.openhab.binding.knx.internal.client.DeviceInspector;
 import org.openhab.binding.knx.internal.client.InboundSpec;
 import org.openhab.binding.knx.internal.client.KNXClient;
 import org.openhab.binding.knx.internal.client.OutboundSpec;
+import org.openhab.binding.knx.internal.client.ReadPriority;
 import org.openhab.binding.knx.internal.config.DeviceConfig;
 import org.openhab.binding.knx.internal.dpt.DPTUtil;
 import org.openhab.binding.knx.internal.dpt.ValueDecoder;
@@ -99,15 +102,17 @@ public class DeviceThingHandler extends BaseThingHandler implements GroupAddress
 
     @Override
     public void initialize() {
-        attachToClient();
-        DeviceConfig config = getConfigAs(DeviceConfig.class);
-        readInterval = config.getReadInterval();
-        // gather all GAs from channel configurations and create channels
+        // gather all GAs from channel configurations, they are needed when registering at the client
+        Map<ChannelUID, KNXChannel> createdChannels = new HashMap<>();
         getThing().getChannels().forEach(channel -> {
             KNXChannel knxChannel = KNXChannelFactory.createKnxChannel(channel);
-            knxChannels.put(channel.getUID(), knxChannel);
+            createdChannels.put(channel.getUID(), knxChannel);
             groupAddresses.addAll(knxChannel.getAllGroupAddresses());
         });
+        attachToClient();
+        DeviceConfig config = getConfigAs(DeviceConfig.class);
+        readInterval = config.getReadInterval();
+        knxChannels.putAll(createdChannels);
     }
 
     @Override
@@ -144,7 +149,7 @@ public class DeviceThingHandler extends BaseThingHandler implements GroupAddress
             return;
         }
         if (!knxChannel.isControl()) {
-            scheduleRead(knxChannel);
+            scheduleRead(knxChannel, ReadPriority.HIGH);
         }
     }
 
@@ -152,45 +157,47 @@ public class DeviceThingHandler extends BaseThingHandler implements GroupAddress
         cancelReadFutures();
         for (KNXChannel knxChannel : knxChannels.values()) {
             if (isLinked(knxChannel.getChannelUID()) && !knxChannel.isControl()) {
-                scheduleRead(knxChannel);
+                scheduleRead(knxChannel, ReadPriority.NORMAL);
             }
         }
     }
 
-    private void scheduleRead(KNXChannel knxChannel) {
+    private void scheduleRead(KNXChannel knxChannel, ReadPriority priority) {
         List<InboundSpec> readSpecs = knxChannel.getReadSpec();
         for (InboundSpec readSpec : readSpecs) {
-            readSpec.getGroupAddresses().forEach(ga -> scheduleReadJob(ga, readSpec.getDPT()));
+            readSpec.getGroupAddresses().forEach(ga -> scheduleReadJob(ga, readSpec.getDPT(), priority));
         }
     }
 
-    private void scheduleReadJob(GroupAddress groupAddress, String dpt) {
+    private void scheduleReadJob(GroupAddress groupAddress, String dpt, ReadPriority priority) {
         if (readInterval > 0) {
             ScheduledFuture<?> future = readFutures.get(groupAddress);
             if (future == null || future.isDone() || future.isCancelled()) {
-                future = getScheduler().scheduleWithFixedDelay(() -> readDatapoint(groupAddress, dpt), 0, readInterval,
-                        TimeUnit.SECONDS);
+                // only the first read uses the given priority, the value is known for the periodic reads
+                AtomicBoolean first = new AtomicBoolean(true);
+                future = getScheduler().scheduleWithFixedDelay(() -> readDatapoint(groupAddress, dpt,
+                        first.getAndSet(false) ? priority : ReadPriority.LOW), 0, readInterval, TimeUnit.SECONDS);
                 readFutures.put(groupAddress, future);
             }
         } else {
-            getScheduler().submit(() -> readDatapoint(groupAddress, dpt));
+            getScheduler().submit(() -> readDatapoint(groupAddress, dpt, priority));
         }
     }
 
-    private void readDatapoint(GroupAddress groupAddress, String dpt) {
+    private void readDatapoint(GroupAddress groupAddress, String dpt, ReadPriority priority) {
         if (getClient().isConnected()) {
             if (DPTUtil.getAllowedTypes(dpt).isEmpty()) {
                 logger.warn("DPT '{}' is not supported by the KNX binding", dpt);
                 return;
             }
             Datapoint datapoint = new CommandDP(groupAddress, getThing().getUID().toString(), 0, dpt);
-            getClient().readDatapoint(datapoint);
+            getClient().readDatapoint(datapoint, priority);
         }
     }
 
     @Override
-    public boolean listensTo(GroupAddress destination) {
-        return groupAddresses.contains(destination);
+    public Set<GroupAddress> getGroupAddresses() {
+        return groupAddresses;
     }
 
     /** Handling commands triggered from openHAB */
@@ -204,7 +211,7 @@ public class DeviceThingHandler extends BaseThingHandler implements GroupAddress
         }
         if (command instanceof RefreshType && !knxChannel.isControl()) {
             logger.debug("Refreshing channel '{}'", channelUID);
-            scheduleRead(knxChannel);
+            scheduleRead(knxChannel, ReadPriority.HIGH);
         } else {
             if (CHANNEL_RESET.equals(channelUID.getId())) {
                 if (address != null) {
@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.knx.internal.handler;
 
+import java.util.Set;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.knx.internal.client.BusMessageListener;
 
@@ -28,9 +30,11 @@ import tuwien.auto.calimero.GroupAddress;
 public interface GroupAddressListener extends BusMessageListener {
 
     /**
-     * Called to verify if the GroupAddressListener has an interest in the given GroupAddress
+     * Called on registration at the {@link org.openhab.binding.knx.internal.client.KNXClient} to get all
+     * GroupAddresses the GroupAddressListener has an interest in. Telegrams are only delivered for these addresses.
+     * Register the listener again if the addresses change.
      *
-     * @param destination
+     * @return the group addresses
      */
-    boolean listensTo(GroupAddress destination);
+    Set<GroupAddress> getGroupAddresses();
 }
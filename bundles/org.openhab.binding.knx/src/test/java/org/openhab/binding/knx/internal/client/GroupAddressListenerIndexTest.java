@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXFormatException;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+class GroupAddressListenerIndexTest {
+
+    @Test
+    void testListenersAreFoundByAddress() throws KNXFormatException {
+        GroupAddress ga1 = new GroupAddress("1/2/3");
+        GroupAddress ga2 = new GroupAddress("31/7/255");
+        GroupAddressListener listener1 = mockListener(Set.of(ga1));
+        GroupAddressListener listener2 = mockListener(Set.of(ga1, ga2));
+
+        GroupAddressListenerIndex index = new GroupAddressListenerIndex();
+        index.add(listener1);
+        index.add(listener2);
+
+        assertArrayEquals(new GroupAddressListener[] { listener1, listener2 }, index.get(ga1));
+        assertArrayEquals(new GroupAddressListener[] { listener2 }, index.get(ga2));
+        assertEquals(0, index.get(new GroupAddress("1/2/4")).length);
+    }
+
+    @Test
+    void testRemoveUsesIndexedAddresses() throws KNXFormatException {
+        GroupAddress ga = new GroupAddress("1/2/3");
+        Set<GroupAddress> addresses = new HashSet<>(Set.of(ga));
+        GroupAddressListener listener = mockListener(addresses);
+
+        GroupAddressListenerIndex index = new GroupAddressListenerIndex();
+        index.add(listener);
+        // a handler clears its addresses on dispose before it unregisters
+        addresses.clear();
+        index.remove(listener);
+
+        assertEquals(0, index.get(ga).length);
+    }
+
+    @Test
+    void testAddAgainReindexes() throws KNXFormatException {
+        GroupAddress ga1 = new GroupAddress("1/2/3");
+        GroupAddress ga2 = new GroupAddress("1/2/4");
+        Set<GroupAddress> addresses = new HashSet<>(Set.of(ga1));
+        GroupAddressListener listener = mockListener(addresses);
+
+        GroupAddressListenerIndex index = new GroupAddressListenerIndex();
+        index.add(listener);
+        addresses.clear();
+        addresses.add(ga2);
+        index.add(listener);
+
+        assertEquals(0, index.get(ga1).length);
+        assertArrayEquals(new GroupAddressListener[] { listener }, index.get(ga2));
+    }
+
+    private GroupAddressListener mockListener(Set<GroupAddress> addresses) {
+        GroupAddressListener listener = mock(GroupAddressListener.class);
+        when(listener.getGroupAddresses()).thenReturn(addresses);
+        return listener;
+    }
+}
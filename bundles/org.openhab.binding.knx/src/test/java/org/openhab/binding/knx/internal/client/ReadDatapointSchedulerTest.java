@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.thing.ThingUID;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXFormatException;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+class ReadDatapointSchedulerTest {
+
+    private final ReadDatapointScheduler scheduler = new ReadDatapointScheduler(new ThingUID("knx:ip:test"));
+
+    @Test
+    void testHigherPriorityIsReadFirst() throws KNXFormatException {
+        Datapoint low = datapoint("1/1/1");
+        Datapoint normal = datapoint("1/1/2");
+        Datapoint high = datapoint("1/1/3");
+
+        scheduler.add(low, 3, ReadPriority.LOW);
+        scheduler.add(normal, 3, ReadPriority.NORMAL);
+        scheduler.add(high, 3, ReadPriority.HIGH);
+
+        assertEquals(high, poll().getDatapoint());
+        assertEquals(normal, poll().getDatapoint());
+        assertEquals(low, poll().getDatapoint());
+        assertNull(scheduler.poll());
+    }
+
+    @Test
+    void testAddressIsQueuedOnceAndPromoted() throws KNXFormatException {
+        scheduler.add(datapoint("1/1/1"), 3, ReadPriority.NORMAL);
+        scheduler.add(datapoint("1/1/2"), 3, ReadPriority.NORMAL);
+
+        assertFalse(scheduler.add(datapoint("1/1/2"), 3, ReadPriority.HIGH));
+        assertEquals(2, scheduler.getPendingCount());
+
+        ReadDatapoint first = poll();
+        assertEquals(new GroupAddress("1/1/2"), first.getDatapoint().getMainAddress());
+        assertEquals(ReadPriority.HIGH, first.getPriority());
+    }
+
+    @Test
+    void testRetryAndProgress() throws KNXFormatException {
+        scheduler.add(datapoint("1/1/1"), 3, ReadPriority.NORMAL);
+        scheduler.add(datapoint("1/1/2"), 3, ReadPriority.NORMAL);
+
+        ReadDatapoint failed = poll();
+        scheduler.retry(failed);
+        assertEquals(2, scheduler.getPendingCount());
+
+        scheduler.completed(poll(), 10, true);
+        scheduler.completed(poll(), 10, true);
+        assertEquals(0, scheduler.getPendingCount());
+        assertEquals(2, scheduler.getRequestedCount());
+        assertEquals(2, scheduler.getCompletedCount());
+
+        // a quiet bus does not need any additional pause
+        assertEquals(0, scheduler.getPause());
+        assertTrue(scheduler.isReadDue());
+    }
+
+    private ReadDatapoint poll() {
+        ReadDatapoint readDatapoint = scheduler.poll();
+        assertNotNull(readDatapoint);
+        return readDatapoint;
+    }
+
+    private static Datapoint datapoint(String address) throws KNXFormatException {
+        return new CommandDP(new GroupAddress(address), "test", 0, "1.001");
+    }
+}
@@ -21,6 +21,7 @@ import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -31,6 +32,8 @@ import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.library.unit.SIUnits;
 import org.openhab.core.library.unit.Units;
 
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.dptxlator.DPTXlator;
 import tuwien.auto.calimero.dptxlator.DPTXlator2ByteUnsigned;
 import tuwien.auto.calimero.dptxlator.DPTXlator4ByteFloat;
 import tuwien.auto.calimero.dptxlator.DPTXlator4ByteSigned;
@@ -38,6 +41,7 @@ import tuwien.auto.calimero.dptxlator.DPTXlator4ByteUnsigned;
 import tuwien.auto.calimero.dptxlator.DPTXlator64BitSigned;
 import tuwien.auto.calimero.dptxlator.DPTXlator8BitSigned;
 import tuwien.auto.calimero.dptxlator.DptXlator2ByteSigned;
+import tuwien.auto.calimero.dptxlator.TranslatorTypes;
 
 /**
  *
@@ -403,6 +407,31 @@ class DPTTest {
         Assertions.assertNotNull(value);
     }
 
+    private static Stream<String> dptWithUnitProvider() {
+        return DPTUnits.getAllDptsWithUnit();
+    }
+
+    @ParameterizedTest
+    @MethodSource("dptWithUnitProvider")
+    public void numericDecodingWithUnit(String dpt) throws KNXException {
+        Assumptions.assumeTrue(DPTUtil.getAllowedTypes(dpt).contains(QuantityType.class));
+        DPTXlator translator = TranslatorTypes.createTranslator(0, dpt);
+
+        // decoding must yield the same value as parsing value and unit, and must not change on repeated decoding
+        QuantityType<?> expected = new QuantityType<>(
+                translator.getNumericValue() + " " + DPTUnits.getUnitForDpt(dpt));
+        assertEquals(expected, ValueDecoder.decode(dpt, translator.getData(), QuantityType.class));
+        assertEquals(expected, ValueDecoder.decode(dpt, translator.getData(), QuantityType.class));
+    }
+
+    @Test
+    public void dpt11Decoding() {
+        // 15th of June 2023
+        byte[] data = new byte[] { 0x0F, 0x06, 0x17 };
+        assertEquals(DateTimeType.valueOf("2023-06-15T00:00:00"),
+                ValueDecoder.decode("11.001", data, DateTimeType.class));
+    }
+
     private static Stream<byte[]> rgbValueProvider() {
         // Returning all combinations is too much. Implementation tries to catch rounding errors
         // but is still deterministic to get reproducible test results.
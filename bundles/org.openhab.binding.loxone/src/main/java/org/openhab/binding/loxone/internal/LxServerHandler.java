@@ -24,8 +24,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -42,7 +40,6 @@ import org.openhab.binding.loxone.internal.types.LxConfig.LxServerInfo;
 import org.openhab.binding.loxone.internal.types.LxErrorCode;
 import org.openhab.binding.loxone.internal.types.LxResponse;
 import org.openhab.binding.loxone.internal.types.LxState;
-import org.openhab.binding.loxone.internal.types.LxStateUpdate;
 import org.openhab.binding.loxone.internal.types.LxUuid;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.thing.Channel;
@@ -100,7 +97,7 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
     // Data structures
     private final Map<LxUuid, LxControl> controls = new HashMap<>();
     private final Map<ChannelUID, LxControl> channels = new HashMap<>();
-    private final BlockingQueue<LxStateUpdate> stateUpdateQueue = new LinkedBlockingQueue<>();
+    private final LxStateUpdateQueue<Map<LxUuid, LxState>> stateUpdateQueue = new LxStateUpdateQueue<>();
 
     private LxDynamicStateDescriptionProvider dynamicStateDescriptionProvider;
     private final Logger logger = LoggerFactory.getLogger(LxServerHandler.class);
@@ -207,7 +204,7 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
         threadLock.lock();
         try {
             sessionActive.set(false);
-            stateUpdateQueue.clear();
+            stateUpdateQueue.clearUpdates();
             thread = monitorThread;
             if (monitorThread != null) {
                 monitorThread.interrupt();
@@ -370,6 +367,7 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
         controls.clear();
         channels.clear();
         states.clear();
+        stateUpdateQueue.clear();
         dynamicStateDescriptionProvider.removeAllDescriptions();
     }
 
@@ -462,13 +460,27 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
     }
 
     /**
-     * Put a new state update event to the queue for processing and signal thread to process it
+     * Put the entries of a binary event table of value states to the queue for processing and signal thread to
+     * process them
      *
-     * @param uuid state uuid (null indicates websocket session should be closed)
-     * @param value new state value
+     * @param data received message
+     * @param offset start of the event table in the message
+     * @param length length of the event table
      */
-    void queueStateUpdate(LxUuid uuid, Object value) {
-        stateUpdateQueue.add(new LxStateUpdate(uuid, value));
+    void queueValueStates(byte[] data, int offset, int length) {
+        stateUpdateQueue.queueValueStates(data, offset, length);
+    }
+
+    /**
+     * Put the entries of a binary event table of text states to the queue for processing and signal thread to
+     * process them
+     *
+     * @param data received message
+     * @param offset start of the event table in the message
+     * @param length length of the event table
+     */
+    void queueTextStates(byte[] data, int offset, int length) {
+        stateUpdateQueue.queueTextStates(data, offset, length);
     }
 
     /**
@@ -476,22 +488,18 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
      * state UUID and update their value, which will trigger corresponding control state update method in each control
      * that has this state.
      *
-     * @param update Miniserver's update event
+     * @param perStateUuid all instances of the state UUID, mapped by their control UUIDs
+     * @param value new value of the state
      */
-    private void updateStateValue(LxStateUpdate update) {
-        Map<LxUuid, LxState> perStateUuid = states.get(update.getUuid());
-        if (perStateUuid != null) {
-            perStateUuid.forEach((controlUuid, state) -> {
-                logger.debug("[{}] State update (UUID={}, value={}) dispatched to control UUID={}, state name={}",
-                        debugId, update.getUuid(), update.getValue(), controlUuid, state.getName());
-
-                state.setStateValue(update.getValue());
-            });
-            if (perStateUuid.isEmpty()) {
-                logger.debug("[{}] State update UUID={} has empty controls table", debugId, update.getUuid());
-            }
-        } else {
-            logger.debug("[{}] State update UUID={} has no controls table", debugId, update.getUuid());
+    private void updateStateValue(Map<LxUuid, LxState> perStateUuid, Object value) {
+        perStateUuid.forEach((controlUuid, state) -> {
+            logger.debug("[{}] State update (UUID={}, value={}) dispatched to control UUID={}, state name={}", debugId,
+                    state.getUuid(), value, controlUuid, state.getName());
+
+            state.setStateValue(value);
+        });
+        if (perStateUuid.isEmpty()) {
+            logger.debug("[{}] State update (value={}) has empty controls table", debugId, value);
         }
     }
 
@@ -513,6 +521,7 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
             if (perUuid == null) {
                 perUuid = new HashMap<>();
                 states.put(state.getUuid(), perUuid);
+                stateUpdateQueue.register(state.getUuid(), perUuid);
             }
             perUuid.put(uuid, state);
         });
@@ -703,14 +712,16 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
         private void processStateUpdates() throws InterruptedException {
             while (sessionActive.get()) {
                 logger.debug("[{}] Sleeping for {} seconds.", debugId, bindingConfig.keepAlivePeriod - elapsed);
-                LxStateUpdate update = stateUpdateQueue.poll(bindingConfig.keepAlivePeriod - elapsed, TimeUnit.SECONDS);
+                boolean updated = stateUpdateQueue.awaitUpdates(bindingConfig.keepAlivePeriod - elapsed,
+                        TimeUnit.SECONDS);
                 elapsed = Duration.between(lastKeepAlive, Instant.now()).getSeconds();
-                if (update == null || elapsed >= bindingConfig.keepAlivePeriod) {
+                if (!updated || elapsed >= bindingConfig.keepAlivePeriod) {
                     sendKeepAlive();
                     elapsed = 0;
                 }
-                if (update != null) {
-                    updateStateValue(update);
+                if (updated) {
+                    // only the last value of each state is processed, if it changed multiple times meanwhile
+                    stateUpdateQueue.takeUpdates(LxServerHandler.this::updateStateValue);
                 }
             }
         }
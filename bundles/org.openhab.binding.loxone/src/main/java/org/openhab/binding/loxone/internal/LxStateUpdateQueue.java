@@ -0,0 +1,363 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.loxone.internal;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+import org.openhab.binding.loxone.internal.types.LxUuid;
+
+/**
+ * Queue of state updates received from the Miniserver in binary event tables.
+ * <p>
+ * Each state UUID that belongs to a control is registered with a target object and gets a slot. The 128-bit UUIDs of
+ * the event table entries are read directly from the received message and looked up in an open addressing table, so
+ * decoding an entry does not create any objects. Only the last value received for a slot is kept until the updates
+ * are taken by the thing handler's thread, which receives each changed state once with its target.
+ *
+ * @author agent - initial contribution
+ *
+ * @param <T> type of the object that receives the updates of a state UUID
+ */
+class LxStateUpdateQueue<T> {
+    private static final VarHandle INT_LE = MethodHandles.byteArrayViewVarHandle(int[].class,
+            ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle SHORT_LE = MethodHandles.byteArrayViewVarHandle(short[].class,
+            ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG_BE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle DOUBLE_LE = MethodHandles.byteArrayViewVarHandle(double[].class,
+            ByteOrder.LITTLE_ENDIAN);
+    private static final int VALUE_STATE_SIZE = 24;
+    private static final int TEXT_STATE_HEADER_SIZE = 36;
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition updatesAvailable = lock.newCondition();
+
+    // open addressing table from UUID to slot, -1 marks an empty entry
+    private long[] tableHigh = new long[INITIAL_CAPACITY * 2];
+    private long[] tableLow = new long[INITIAL_CAPACITY * 2];
+    private int[] tableSlot = newTable(INITIAL_CAPACITY * 2);
+
+    // per slot data
+    private Object[] targets = new Object[INITIAL_CAPACITY];
+    private double[] values = new double[INITIAL_CAPACITY];
+    private String[] texts = new String[INITIAL_CAPACITY];
+    private boolean[] pending = new boolean[INITIAL_CAPACITY];
+    private int[] pendingSlots = new int[INITIAL_CAPACITY];
+    private int pendingCount = 0;
+    private int slotCount = 0;
+
+    // copies taken by the handler thread, so targets are updated outside of the lock
+    private int[] takenSlots = new int[INITIAL_CAPACITY];
+    private double[] takenValues = new double[INITIAL_CAPACITY];
+    private String[] takenTexts = new String[INITIAL_CAPACITY];
+
+    /**
+     * Registers a state UUID, or replaces the target of an already registered one.
+     *
+     * @param uuid state UUID
+     * @param target object that will receive the updates of this state
+     * @return true if registered, false if the UUID can't be received in binary event tables
+     */
+    boolean register(LxUuid uuid, T target) {
+        long[] bits = parse(uuid.toString());
+        if (bits == null) {
+            return false;
+        }
+        lock.lock();
+        try {
+            int slot = find(bits[0], bits[1]);
+            if (slot < 0) {
+                slot = addSlot(bits[0], bits[1]);
+            }
+            targets[slot] = target;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all registered state UUIDs and pending updates.
+     */
+    void clear() {
+        lock.lock();
+        try {
+            Arrays.fill(tableSlot, -1);
+            Arrays.fill(targets, null);
+            Arrays.fill(texts, null);
+            Arrays.fill(pending, false);
+            pendingCount = 0;
+            slotCount = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops pending updates, but keeps the registered state UUIDs.
+     */
+    void clearUpdates() {
+        lock.lock();
+        try {
+            for (int i = 0; i < pendingCount; i++) {
+                pending[pendingSlots[i]] = false;
+                texts[pendingSlots[i]] = null;
+            }
+            pendingCount = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queues the values of an event table of value states. Entries of UUIDs that are not registered are skipped.
+     *
+     * @param data received message
+     * @param offset start of the table in the message
+     * @param length length of the table
+     * @return number of queued entries
+     * @throws IndexOutOfBoundsException if the table is malformed
+     */
+    int queueValueStates(byte[] data, int offset, int length) {
+        int queued = 0;
+        lock.lock();
+        try {
+            for (int end = offset + length; offset < end; offset += VALUE_STATE_SIZE) {
+                int slot = find(readHigh(data, offset), readLow(data, offset));
+                if (slot >= 0) {
+                    queue(slot, (double) DOUBLE_LE.get(data, offset + 16), null);
+                    queued++;
+                }
+            }
+        } finally {
+            // entries before a malformed one are still processed
+            if (queued > 0) {
+                updatesAvailable.signalAll();
+            }
+            lock.unlock();
+        }
+        return queued;
+    }
+
+    /**
+     * Queues the values of an event table of text states. Entries of UUIDs that are not registered are skipped.
+     *
+     * @param data received message
+     * @param offset start of the table in the message
+     * @param length length of the table
+     * @return number of queued entries
+     * @throws IndexOutOfBoundsException if the table is malformed
+     */
+    int queueTextStates(byte[] data, int offset, int length) {
+        int queued = 0;
+        lock.lock();
+        try {
+            for (int end = offset + length; offset < end;) {
+                // unused today at (offset + 16): iconUuid
+                int textLen = (int) INT_LE.get(data, offset + 32);
+                int slot = find(readHigh(data, offset), readLow(data, offset));
+                if (slot >= 0) {
+                    queue(slot, 0, new String(data, offset + TEXT_STATE_HEADER_SIZE, textLen));
+                    queued++;
+                }
+                offset += TEXT_STATE_HEADER_SIZE + (textLen % 4 > 0 ? textLen + 4 - (textLen % 4) : textLen);
+            }
+        } finally {
+            // entries before a malformed one are still processed
+            if (queued > 0) {
+                updatesAvailable.signalAll();
+            }
+            lock.unlock();
+        }
+        return queued;
+    }
+
+    /**
+     * Waits until there are pending updates.
+     *
+     * @param timeout maximum time to wait
+     * @param unit unit of the timeout
+     * @return true if updates are pending, false if the timeout elapsed
+     * @throws InterruptedException when the thread is interrupted while waiting
+     */
+    boolean awaitUpdates(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (pendingCount == 0) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = updatesAvailable.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes all pending updates and passes them to the consumer in the order the states were first updated. The
+     * consumer is called outside of the lock, so new updates can be queued in the meantime.
+     *
+     * @param consumer receives the target and the new value, which is a {@link Double} or a {@link String}
+     * @return number of updates passed to the consumer
+     */
+    @SuppressWarnings("unchecked")
+    int takeUpdates(BiConsumer<T, Object> consumer) {
+        int count;
+        Object[] localTargets;
+        lock.lock();
+        try {
+            count = pendingCount;
+            if (takenSlots.length < count) {
+                takenSlots = new int[pendingSlots.length];
+                takenValues = new double[pendingSlots.length];
+                takenTexts = new String[pendingSlots.length];
+            }
+            for (int i = 0; i < count; i++) {
+                int slot = pendingSlots[i];
+                takenSlots[i] = slot;
+                takenValues[i] = values[slot];
+                takenTexts[i] = texts[slot];
+                texts[slot] = null;
+                pending[slot] = false;
+            }
+            pendingCount = 0;
+            localTargets = targets;
+        } finally {
+            lock.unlock();
+        }
+        for (int i = 0; i < count; i++) {
+            String text = takenTexts[i];
+            takenTexts[i] = null;
+            Object target = localTargets[takenSlots[i]];
+            if (target != null) {
+                consumer.accept((T) target, text != null ? text : Double.valueOf(takenValues[i]));
+            }
+        }
+        return count;
+    }
+
+    private void queue(int slot, double value, String text) {
+        values[slot] = value;
+        texts[slot] = text;
+        if (!pending[slot]) {
+            pending[slot] = true;
+            pendingSlots[pendingCount++] = slot;
+        }
+    }
+
+    private int find(long high, long low) {
+        int mask = tableSlot.length - 1;
+        for (int i = hash(high, low) & mask;; i = (i + 1) & mask) {
+            int slot = tableSlot[i];
+            if (slot < 0 || (tableHigh[i] == high && tableLow[i] == low)) {
+                return slot;
+            }
+        }
+    }
+
+    private int addSlot(long high, long low) {
+        if (slotCount == targets.length) {
+            int capacity = targets.length * 2;
+            targets = Arrays.copyOf(targets, capacity);
+            values = Arrays.copyOf(values, capacity);
+            texts = Arrays.copyOf(texts, capacity);
+            pending = Arrays.copyOf(pending, capacity);
+            pendingSlots = Arrays.copyOf(pendingSlots, capacity);
+            // keep the table at most half full
+            long[] oldHigh = tableHigh;
+            long[] oldLow = tableLow;
+            int[] oldSlot = tableSlot;
+            tableHigh = new long[capacity * 2];
+            tableLow = new long[capacity * 2];
+            tableSlot = newTable(capacity * 2);
+            for (int i = 0; i < oldSlot.length; i++) {
+                if (oldSlot[i] >= 0) {
+                    insert(oldHigh[i], oldLow[i], oldSlot[i]);
+                }
+            }
+        }
+        int slot = slotCount++;
+        insert(high, low, slot);
+        return slot;
+    }
+
+    private void insert(long high, long low, int slot) {
+        int mask = tableSlot.length - 1;
+        int i = hash(high, low) & mask;
+        while (tableSlot[i] >= 0) {
+            i = (i + 1) & mask;
+        }
+        tableHigh[i] = high;
+        tableLow[i] = low;
+        tableSlot[i] = slot;
+    }
+
+    private static int[] newTable(int size) {
+        int[] table = new int[size];
+        Arrays.fill(table, -1);
+        return table;
+    }
+
+    private static int hash(long high, long low) {
+        long h = (high ^ Long.rotateLeft(low, 32)) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /*
+     * A binary UUID consists of a 32-bit and two 16-bit little endian numbers followed by 8 bytes, which are printed
+     * as 8-4-4-16 hex digits in the string form.
+     */
+    private static long readHigh(byte[] data, int offset) {
+        long data1 = (int) INT_LE.get(data, offset);
+        long data2 = (short) SHORT_LE.get(data, offset + 4) & 0xffffL;
+        long data3 = (short) SHORT_LE.get(data, offset + 6) & 0xffffL;
+        return (data1 << 32) | (data2 << 16) | data3;
+    }
+
+    private static long readLow(byte[] data, int offset) {
+        return (long) LONG_BE.get(data, offset + 8);
+    }
+
+    /**
+     * Converts the string form of a UUID into the two 64-bit halves of its binary form.
+     *
+     * @param uuid UUID in 8-4-4-16 hex digits form
+     * @return high and low half or null if the UUID has a different form
+     */
+    static long[] parse(String uuid) {
+        String[] parts = uuid.split("-");
+        if (parts.length != 4 || parts[0].length() != 8 || parts[1].length() != 4 || parts[2].length() != 4
+                || parts[3].length() != 16) {
+            return null;
+        }
+        try {
+            long high = (Long.parseLong(parts[0], 16) << 32) | (Long.parseLong(parts[1], 16) << 16)
+                    | Long.parseLong(parts[2], 16);
+            return new long[] { high, Long.parseUnsignedLong(parts[3], 16) };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
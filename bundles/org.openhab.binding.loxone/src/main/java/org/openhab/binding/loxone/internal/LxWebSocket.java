@@ -18,8 +18,6 @@ import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.InetAddress;
 import java.net.URL;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -238,24 +236,10 @@ public class LxWebSocket {
                 switch (header.getType()) {
                     case EVENT_TABLE_OF_VALUE_STATES:
                         stopResponseTimeout();
-                        while (length > 0) {
-                            Double value = ByteBuffer.wrap(data, offset + 16, 8).order(ByteOrder.LITTLE_ENDIAN)
-                                    .getDouble();
-                            thingHandler.queueStateUpdate(new LxUuid(data, offset), value);
-                            offset += 24;
-                            length -= 24;
-                        }
+                        thingHandler.queueValueStates(data, offset, length);
                         break;
                     case EVENT_TABLE_OF_TEXT_STATES:
-                        while (length > 0) {
-                            // unused today at (offset + 16): iconUuid
-                            int textLen = ByteBuffer.wrap(data, offset + 32, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
-                            String value = new String(data, offset + 36, textLen);
-                            int size = 36 + (textLen % 4 > 0 ? textLen + 4 - (textLen % 4) : textLen);
-                            thingHandler.queueStateUpdate(new LxUuid(data, offset), value);
-                            offset += size;
-                            length -= size;
-                        }
+                        thingHandler.queueTextStates(data, offset, length);
                         break;
                     case KEEPALIVE_RESPONSE:
                     case TEXT_MESSAGE:
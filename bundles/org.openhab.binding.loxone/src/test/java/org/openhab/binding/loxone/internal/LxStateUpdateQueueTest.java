@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.loxone.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.loxone.internal.types.LxUuid;
+
+/**
+ * Test class for {@link LxStateUpdateQueue}
+ *
+ * @author agent - initial contribution
+ *
+ */
+public class LxStateUpdateQueueTest {
+    private static final String UUID1 = "0b734138-038c-0382-ffff403fb0c34b9e";
+    private static final String UUID2 = "0f2f6b5d-0349-83b1-ffff403fb0c34b9e";
+    private static final String UUID3 = "a0000001-8000-ffff-0102030405060708";
+
+    private final LxStateUpdateQueue<String> queue = new LxStateUpdateQueue<>();
+    private final List<String> updates = new ArrayList<>();
+
+    @Test
+    public void testValueStatesAreCoalesced() {
+        assertTrue(queue.register(new LxUuid(UUID1), "state1"));
+        assertTrue(queue.register(new LxUuid(UUID2), "state2"));
+
+        ByteBuffer table = ByteBuffer.allocate(4 * 24).order(ByteOrder.LITTLE_ENDIAN);
+        putValueState(table, UUID1, 1.0);
+        putValueState(table, UUID2, 2.0);
+        putValueState(table, UUID3, 3.0);
+        putValueState(table, UUID1, 4.0);
+        assertEquals(3, queue.queueValueStates(table.array(), 0, table.capacity()));
+
+        assertEquals(2, queue.takeUpdates(this::addUpdate));
+        assertEquals(List.of("state1=4.0", "state2=2.0"), updates);
+        assertEquals(0, queue.takeUpdates(this::addUpdate));
+    }
+
+    @Test
+    public void testTextStates() {
+        queue.register(new LxUuid(UUID1), "state1");
+        queue.register(new LxUuid(UUID2), "state2");
+
+        ByteBuffer table = ByteBuffer.allocate(200).order(ByteOrder.LITTLE_ENDIAN);
+        putTextState(table, UUID1, "first");
+        putTextState(table, UUID3, "unknown");
+        putTextState(table, UUID2, "four");
+        assertEquals(2, queue.queueTextStates(table.array(), 0, table.position()));
+
+        queue.takeUpdates(this::addUpdate);
+        assertEquals(List.of("state1=first", "state2=four"), updates);
+    }
+
+    @Test
+    public void testBinaryUuidMatchesStringForm() {
+        Random random = new Random(42);
+        byte[] data = new byte[24];
+        for (int i = 0; i < 100; i++) {
+            random.nextBytes(data);
+            ByteBuffer.wrap(data, 16, 8).order(ByteOrder.LITTLE_ENDIAN).putDouble(i);
+            queue.register(new LxUuid(data, 0), "state" + i);
+            assertEquals(1, queue.queueValueStates(data, 0, data.length));
+        }
+        assertEquals(100, queue.takeUpdates(this::addUpdate));
+        assertEquals("state99=99.0", updates.get(99));
+    }
+
+    @Test
+    public void testNonBinaryUuidIsNotRegistered() {
+        assertFalse(queue.register(new LxUuid(UUID1 + "-AI1"), "state"));
+        assertFalse(queue.register(new LxUuid("not-a-uuid"), "state"));
+    }
+
+    @Test
+    public void testClear() throws InterruptedException {
+        queue.register(new LxUuid(UUID1), "state1");
+        ByteBuffer table = ByteBuffer.allocate(24).order(ByteOrder.LITTLE_ENDIAN);
+        putValueState(table, UUID1, 1.0);
+
+        queue.queueValueStates(table.array(), 0, table.capacity());
+        assertTrue(queue.awaitUpdates(0, TimeUnit.SECONDS));
+        queue.clearUpdates();
+        assertFalse(queue.awaitUpdates(10, TimeUnit.MILLISECONDS));
+
+        queue.clear();
+        assertEquals(0, queue.queueValueStates(table.array(), 0, table.capacity()));
+    }
+
+    private void addUpdate(String target, Object value) {
+        updates.add(target + "=" + value);
+    }
+
+    private static void putUuid(ByteBuffer table, String uuid) {
+        String[] parts = uuid.split("-");
+        table.putInt((int) Long.parseLong(parts[0], 16));
+        table.putShort((short) Integer.parseInt(parts[1], 16));
+        table.putShort((short) Integer.parseInt(parts[2], 16));
+        table.order(ByteOrder.BIG_ENDIAN).putLong(Long.parseUnsignedLong(parts[3], 16)).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void putValueState(ByteBuffer table, String uuid, double value) {
+        putUuid(table, uuid);
+        table.putDouble(value);
+    }
+
+    private static void putTextState(ByteBuffer table, String uuid, String text) {
+        putUuid(table, uuid);
+        // icon UUID
+        table.position(table.position() + 16);
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        table.putInt(bytes.length);
+        table.put(bytes);
+        // text is padded to a multiple of 4 bytes
+        table.position(table.position() + (4 - bytes.length % 4) % 4);
+    }
+}
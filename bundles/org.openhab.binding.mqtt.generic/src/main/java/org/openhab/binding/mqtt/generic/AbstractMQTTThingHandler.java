@@ -29,6 +29,7 @@ import org.openhab.binding.mqtt.generic.utils.FutureCollector;
 import org.openhab.binding.mqtt.generic.values.OnOffValue;
 import org.openhab.binding.mqtt.generic.values.Value;
 import org.openhab.binding.mqtt.handler.AbstractBrokerHandler;
+import org.openhab.binding.mqtt.handler.MqttPublishScheduler;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.thing.Bridge;
@@ -80,6 +81,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
     private final int subscribeTimeout;
 
     protected @Nullable MqttBrokerConnection connection;
+    protected @Nullable MqttPublishScheduler publishScheduler;
 
     private AtomicBoolean messageReceived = new AtomicBoolean(false);
     private Map<String, @Nullable ChannelState> availabilityStates = new ConcurrentHashMap<>();
@@ -149,7 +151,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
             return;
         }
 
-        final CompletableFuture<Boolean> future = data.publishValue(command);
+        final CompletableFuture<Boolean> future = data.publishValue(command, publishScheduler);
         future.handle((v, ex) -> {
             if (ex != null) {
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, ex.getLocalizedMessage());
@@ -168,6 +170,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.BRIDGE_OFFLINE);
             stop();
             connection = null;
+            publishScheduler = null;
             return;
         }
         if (bridgeStatusInfo.getStatus() != ThingStatus.ONLINE) {
@@ -193,6 +196,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
             return;
         }
         this.connection = connection;
+        this.publishScheduler = h.getPublishScheduler();
 
         // Start up (subscribe to MQTT topics). Limit with a timeout and catch exceptions.
         // We do not set the thing to ONLINE here in the AbstractBase, that is the responsibility of a derived
@@ -248,6 +252,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
             logger.warn("unsubscription on disposal failed for {}: ", thing.getUID(), e);
         }
         connection = null;
+        publishScheduler = null;
         super.dispose();
     }
 
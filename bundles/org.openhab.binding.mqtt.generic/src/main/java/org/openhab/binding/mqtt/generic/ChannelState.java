@@ -26,6 +26,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.mqtt.generic.values.TextValue;
 import org.openhab.binding.mqtt.generic.values.Value;
+import org.openhab.binding.mqtt.handler.MqttPublishScheduler;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
 import org.openhab.core.library.types.StringType;
@@ -351,6 +352,19 @@ public class ChannelState implements MqttMessageSubscriber {
      *         and exceptionally otherwise.
      */
     public CompletableFuture<Boolean> publishValue(Command command) {
+        return publishValue(command, null);
+    }
+
+    /**
+     * Publishes a value on MQTT. A command topic needs to be set in the configuration.
+     *
+     * @param command The command to send
+     * @param publishScheduler The rate limiting publish scheduler of the broker. If null, the value is published
+     *            on the connection immediately.
+     * @return A future that completes with true if the publishing worked and false if it is a readonly topic
+     *         and exceptionally otherwise.
+     */
+    public CompletableFuture<Boolean> publishValue(Command command, @Nullable MqttPublishScheduler publishScheduler) {
         final MqttBrokerConnection connection = this.connection;
 
         if (connection == null) {
@@ -400,6 +414,9 @@ public class ChannelState implements MqttMessageSubscriber {
 
         int qos = (config.qos != null) ? config.qos : connection.getQos();
 
+        if (publishScheduler != null) {
+            return publishScheduler.publish(config.commandTopic, commandString.getBytes(), qos, config.retained);
+        }
         return connection.publish(config.commandTopic, commandString.getBytes(), qos, config.retained);
     }
 
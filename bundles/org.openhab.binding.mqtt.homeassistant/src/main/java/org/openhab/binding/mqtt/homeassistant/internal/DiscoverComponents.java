@@ -14,8 +14,10 @@ package org.openhab.binding.mqtt.homeassistant.internal;
 
 import java.lang.ref.WeakReference;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -62,6 +64,8 @@ public class DiscoverComponents implements MqttMessageSubscriber {
     protected @Nullable ComponentDiscovered discoveredListener;
     private int discoverTime;
     private Set<String> topics = new HashSet<>();
+    // The last processed configuration per config topic
+    private final Map<String, String> configPerTopic = new ConcurrentHashMap<>();
 
     /**
      * Implement this to get notified of new components
@@ -99,10 +103,16 @@ public class DiscoverComponents implements MqttMessageSubscriber {
         AbstractComponent<?> component = null;
 
         if (config.length() > 0) {
+            if (config.equals(configPerTopic.get(topic))) {
+                logger.trace("Configuration of HomeAssistant thing {} component {} unchanged", haID.objectID,
+                        haID.component);
+                return;
+            }
             try {
                 component = ComponentFactory.createComponent(thingUID, haID, config, updateListener, tracker, scheduler,
                         gson, transformationServiceProvider);
                 component.setConfigSeen();
+                configPerTopic.put(topic, config);
 
                 logger.trace("Found HomeAssistant thing {} component {}", haID.objectID, haID.component);
 
@@ -119,10 +129,21 @@ public class DiscoverComponents implements MqttMessageSubscriber {
                 logger.warn("HomeAssistant discover error: {}", e.getMessage());
             }
         } else {
+            configPerTopic.remove(topic);
             logger.warn("Configuration of HomeAssistant thing {} is empty", haID.objectID);
         }
     }
 
+    /**
+     * Marks the configuration of an already known component as processed. A retained configuration message with
+     * exactly the same content is not parsed again.
+     *
+     * @param component A component, for example restored from the persisted channel configuration
+     */
+    public void setKnownComponent(AbstractComponent<?> component) {
+        configPerTopic.put(component.getHaID().getTopic("config"), component.getChannelConfigurationJson());
+    }
+
     /**
      * Start a components discovery.
      *
@@ -14,6 +14,7 @@ package org.openhab.binding.mqtt.homeassistant.internal.discovery;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -70,6 +71,8 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
     protected final Map<String, Set<HaID>> componentsPerThingID = new TreeMap<>();
     protected final Map<String, ThingUID> thingIDPerTopic = new TreeMap<>();
     protected final Map<String, DiscoveryResult> results = new ConcurrentHashMap<>();
+    // The last successfully parsed configuration payload per broker and config topic, see getConfigKey()
+    protected final Map<String, byte[]> configPayloadPerTopic = new ConcurrentHashMap<>();
 
     private @Nullable ScheduledFuture<?> future;
     private final Gson gson;
@@ -170,6 +173,13 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
             return;
         }
 
+        // Retained configurations are received again on every reconnect. Skip the ones that did not change.
+        final String configKey = getConfigKey(connectionBridge, topic);
+        if (Arrays.equals(payload, configPayloadPerTopic.get(configKey))) {
+            return;
+        }
+        configPayloadPerTopic.remove(configKey);
+
         // Reset the found-component timer.
         // We will collect components for the thing label description for another 2 seconds.
         final ScheduledFuture<?> future = this.future;
@@ -229,6 +239,9 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
                     DiscoveryResultBuilder.create(thingUID).withProperties(properties)
                             .withRepresentationProperty("deviceId").withBridge(connectionBridge)
                             .withLabel(config.getThingName() + " (" + componentNames + ")").build());
+
+            // Only remember configurations that could be parsed, invalid ones are tried again when received again
+            configPayloadPerTopic.put(configKey, payload.clone());
         } catch (ConfigurationException e) {
             logger.warn("HomeAssistant discover error: invalid configuration of thing {} component {}: {}",
                     haID.objectID, haID.component, e.getMessage());
@@ -242,7 +255,9 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
 
         localResults = new ArrayList<>(results.values());
         results.clear();
-        componentsPerThingID.clear();
+        // componentsPerThingID is not cleared here: unchanged configurations are skipped, so a later change of one
+        // component must still be published with all other known components of the thing. It is reset together
+        // with the known configurations when a new scan starts.
         for (DiscoveryResult result : localResults) {
             final ThingTypeUID typeID = result.getThingTypeUID();
             ThingType type = typeProvider.derive(typeID, MqttBindingConstants.HOMEASSISTANT_MQTT_THING).build();
@@ -252,11 +267,42 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         }
     }
 
+    @Override
+    protected void startScan() {
+        if (!isBackgroundDiscoveryEnabled()) {
+            resetKnownConfigurations();
+        }
+        super.startScan();
+    }
+
+    @Override
+    protected void startBackgroundDiscovery() {
+        resetKnownConfigurations();
+        super.startBackgroundDiscovery();
+    }
+
+    /**
+     * Returns the key of a configuration in {@link #configPayloadPerTopic}. The discovery receives the messages of all
+     * brokers, and the same retained configuration has to be discovered on each of them.
+     */
+    protected static String getConfigKey(ThingUID connectionBridge, String topic) {
+        return connectionBridge.getAsString() + "#" + topic;
+    }
+
+    /**
+     * Forget about already processed configurations, so that all retained configurations are discovered again.
+     */
+    private void resetKnownConfigurations() {
+        configPayloadPerTopic.clear();
+        componentsPerThingID.clear();
+    }
+
     @Override
     public void topicVanished(ThingUID connectionBridge, MqttBrokerConnection connection, String topic) {
         if (!topic.endsWith("/config")) {
             return;
         }
+        configPayloadPerTopic.remove(getConfigKey(connectionBridge, topic));
         if (thingIDPerTopic.containsKey(topic)) {
             ThingUID thingUID = thingIDPerTopic.remove(topic);
             if (thingUID != null) {
@@ -162,6 +162,8 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
                             scheduler, gson, transformationServiceProvider);
                     haComponents.put(component.getGroupUID().getId(), component);
                     component.addChannelTypes(channelTypeProvider);
+                    // Unchanged retained configurations do not need to be parsed again
+                    discoverComponents.setKnownComponent(component);
                 } catch (ConfigurationException e) {
                     logger.error("Cannot not restore component {}: {}", thing, e.getMessage());
                 }
@@ -15,6 +15,7 @@ package org.openhab.binding.mqtt.homeassistant.internal.discovery;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -93,6 +94,57 @@ public class HomeAssistantDiscoveryTests extends AbstractHomeAssistantTests {
                 "climate/0x847127fffe11dd6a_climate_zigbee2mqtt", "switch/0x847127fffe11dd6a_auto_lock_zigbee2mqtt"));
     }
 
+    @Test
+    public void testUnchangedConfigurationIsSkipped() throws Exception {
+        final String topic = "homeassistant/switch/0x847127fffe11dd6a_auto_lock_zigbee2mqtt/config";
+        final byte[] payload = getResourceAsByteArray("component/configTS0601AutoLock.json");
+
+        discovery.receivedMessage(HA_UID, bridgeConnection, topic, payload);
+        assertThat(discovery.results.size(), is(1));
+        discovery.results.clear();
+
+        // The same retained configuration received again
+        discovery.receivedMessage(HA_UID, bridgeConnection, topic, payload.clone());
+        assertThat(discovery.results.size(), is(0));
+
+        // A changed configuration of the same length
+        final byte[] changed = payload.clone();
+        int index = new String(changed, StandardCharsets.UTF_8).indexOf("TuYa");
+        changed[index] = 'X';
+        discovery.receivedMessage(HA_UID, bridgeConnection, topic, changed);
+        assertThat(discovery.results.size(), is(1));
+    }
+
+    @Test
+    public void testSameConfigurationIsDiscoveredOnEachBroker() throws Exception {
+        final String topic = "homeassistant/switch/0x847127fffe11dd6a_auto_lock_zigbee2mqtt/config";
+        final byte[] payload = getResourceAsByteArray("component/configTS0601AutoLock.json");
+
+        discovery.receivedMessage(HA_UID, bridgeConnection, topic, payload);
+        assertThat(discovery.results.size(), is(1));
+        discovery.results.clear();
+
+        // The same retained configuration on a second broker
+        discovery.receivedMessage(BRIDGE_UID, bridgeConnection, topic, payload.clone());
+        assertThat(discovery.results.size(), is(1));
+        assertThat(discovery.results.values().iterator().next().getBridgeUID(), is(BRIDGE_UID));
+    }
+
+    @Test
+    public void testInvalidConfigurationIsRetried() throws Exception {
+        final String topic = "homeassistant/switch/0x847127fffe11dd6a_auto_lock_zigbee2mqtt/config";
+        final String configKey = HomeAssistantDiscovery.getConfigKey(HA_UID, topic);
+        final byte[] invalid = "{".getBytes(StandardCharsets.UTF_8);
+
+        discovery.receivedMessage(HA_UID, bridgeConnection, topic, invalid);
+        assertThat(discovery.configPayloadPerTopic.containsKey(configKey), is(false));
+
+        discovery.receivedMessage(HA_UID, bridgeConnection, topic,
+                getResourceAsByteArray("component/configTS0601AutoLock.json"));
+        assertThat(discovery.configPayloadPerTopic.containsKey(configKey), is(true));
+        assertThat(discovery.results.size(), is(1));
+    }
+
     private static class TestHomeAssistantDiscovery extends HomeAssistantDiscovery {
         public TestHomeAssistantDiscovery(MqttChannelTypeProvider typeProvider) {
             this.typeProvider = typeProvider;
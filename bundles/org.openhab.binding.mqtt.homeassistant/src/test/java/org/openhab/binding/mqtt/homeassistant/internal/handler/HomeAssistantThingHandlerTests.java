@@ -285,4 +285,22 @@ public class HomeAssistantThingHandlerTests extends AbstractHomeAssistantTests {
         thingHandler.delayedProcessing.forceProcessNow();
         assertThat(haThing.getChannels().size(), CoreMatchers.is(0));
     }
+
+    @Test
+    public void testUnchangedConfigIsNotProcessedAgain() {
+        thingHandler.initialize();
+
+        var configTopic = "homeassistant/switch/0x847127fffe11dd6a_auto_lock_zigbee2mqtt/config";
+        thingHandler.discoverComponents.processMessage(configTopic,
+                getResourceAsByteArray("component/configTS0601AutoLock.json"));
+        thingHandler.discoverComponents.processMessage(configTopic,
+                getResourceAsByteArray("component/configTS0601AutoLock.json"));
+        verify(thingHandler, times(1)).componentDiscovered(eq(new HaID(configTopic)), any(Switch.class));
+
+        // An empty config resets the known configuration
+        thingHandler.discoverComponents.processMessage(configTopic, new byte[0]);
+        thingHandler.discoverComponents.processMessage(configTopic,
+                getResourceAsByteArray("component/configTS0601AutoLock.json"));
+        verify(thingHandler, times(2)).componentDiscovered(eq(new HaID(configTopic)), any(Switch.class));
+    }
 }
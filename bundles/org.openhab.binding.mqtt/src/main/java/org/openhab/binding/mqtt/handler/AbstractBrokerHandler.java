@@ -53,6 +53,7 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
     private final Map<String, @Nullable Map<MQTTTopicDiscoveryParticipant, @Nullable TopicSubscribe>> discoveryTopics = new HashMap<>();
 
     protected @Nullable MqttBrokerConnection connection;
+    protected @Nullable MqttPublishScheduler publishScheduler;
     protected CompletableFuture<MqttBrokerConnection> connectionFuture = new CompletableFuture<>();
 
     public AbstractBrokerHandler(Bridge thing) {
@@ -79,6 +80,42 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
         return connection;
     }
 
+    /**
+     * Returns the {@link MqttPublishScheduler} that applies the outbound rate limit of this broker.
+     */
+    public @Nullable MqttPublishScheduler getPublishScheduler() {
+        return publishScheduler;
+    }
+
+    /**
+     * Publish a message through the {@link MqttPublishScheduler} of this broker.
+     *
+     * @param topic The topic
+     * @param payload The message payload
+     * @param qos The quality of service for this message
+     * @param retain Set to true to retain the message on the broker
+     * @return Completes with true if successful. Completes with false if not connected. Exceptionally otherwise.
+     */
+    public CompletableFuture<Boolean> publish(String topic, byte[] payload, int qos, boolean retain) {
+        final MqttPublishScheduler publishScheduler = this.publishScheduler;
+        if (publishScheduler != null) {
+            return publishScheduler.publish(topic, payload, qos, retain);
+        }
+        final MqttBrokerConnection connection = this.connection;
+        if (connection != null) {
+            return connection.publish(topic, payload, qos, retain);
+        }
+        return CompletableFuture.completedFuture(false);
+    }
+
+    /**
+     * Returns the maximum number of messages per second published through the {@link MqttPublishScheduler}.
+     * The base implementation returns 0, which disables rate shaping.
+     */
+    protected int getPublishRate() {
+        return 0;
+    }
+
     /**
      * Does nothing in the base implementation.
      */
@@ -97,6 +134,7 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
             logger.warn("Trying to initialize {} but connection is null. This is most likely a bug.", thing.getUID());
             return;
         }
+        publishScheduler = new MqttPublishScheduler(connection, scheduler, getPublishRate());
         for (Channel channel : thing.getChannels()) {
             final PublishTriggerChannelConfig channelConfig = channel.getConfiguration()
                     .as(PublishTriggerChannelConfig.class);
@@ -175,6 +213,12 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
             });
         });
 
+        final MqttPublishScheduler publishScheduler = this.publishScheduler;
+        if (publishScheduler != null) {
+            publishScheduler.stop();
+            this.publishScheduler = null;
+        }
+
         if (connection != null) {
             connection.removeConnectionObserver(this);
         } else {
@@ -134,6 +134,11 @@ public class BrokerHandler extends AbstractBrokerHandler implements PinnedCallba
         return config.enableDiscovery;
     }
 
+    @Override
+    protected int getPublishRate() {
+        return config.publishRate;
+    }
+
     /**
      * Reads the thing configuration related to public key or certificate pinning, creates an appropriate a
      * {@link PinningSSLContextProvider} and assigns it to the {@link MqttBrokerConnection} instance.
@@ -37,6 +37,9 @@ public class BrokerHandlerConfig extends MqttBrokerConnectionConfig {
 
     public boolean enableDiscovery = true;
 
+    // Maximum outgoing messages per second, 0 for no limit
+    public int publishRate = 0;
+
     // Birth message parameters
     public @Nullable String birthTopic;
     public @Nullable String birthMessage;
@@ -0,0 +1,206 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.handler;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link MqttPublishScheduler} shapes the outbound publish rate of one broker connection with a token bucket.
+ * Messages that cannot be sent immediately are queued per topic. A newer message to a topic that is still queued
+ * replaces the pending payload (last value wins) and all callers are informed once the newest value got published.
+ *
+ * A rate of 0 disables shaping and publishes immediately.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MqttPublishScheduler {
+    private final Logger logger = LoggerFactory.getLogger(MqttPublishScheduler.class);
+
+    private final MqttBrokerConnection connection;
+    private final ScheduledExecutorService scheduler;
+    private final int messagesPerSecond;
+    private final long nanosPerToken;
+
+    // Pending publishes in order of their first enqueue time, keyed by topic
+    private final Map<String, PendingPublish> pending = new LinkedHashMap<>();
+    private @Nullable ScheduledFuture<?> drainFuture;
+    private double tokens;
+    private long lastRefill;
+
+    // Statistics, logged when a backlog has been sent and on stop
+    private int maxQueueDepth;
+    private long publishedCount;
+    private long coalescedCount;
+    private long totalLatencyNanos;
+    private long maxLatencyNanos;
+
+    /**
+     * Creates a {@link MqttPublishScheduler}.
+     *
+     * @param connection The broker connection
+     * @param scheduler A scheduler to send queued messages later on
+     * @param messagesPerSecond The maximum messages per second. Also the burst size. 0 disables rate shaping.
+     */
+    public MqttPublishScheduler(MqttBrokerConnection connection, ScheduledExecutorService scheduler,
+            int messagesPerSecond) {
+        this.connection = connection;
+        this.scheduler = scheduler;
+        this.messagesPerSecond = Math.max(0, messagesPerSecond);
+        this.nanosPerToken = this.messagesPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / this.messagesPerSecond : 0;
+        this.tokens = this.messagesPerSecond;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Publish a message, either immediately or as soon as the rate allows.
+     *
+     * @param topic The topic
+     * @param payload The message payload
+     * @param qos The quality of service for this message
+     * @param retain Set to true to retain the message on the broker
+     * @return Completes with true if successful. Completes with false if not connected. Exceptionally otherwise.
+     */
+    public CompletableFuture<Boolean> publish(String topic, byte[] payload, int qos, boolean retain) {
+        if (messagesPerSecond == 0) {
+            return connection.publish(topic, payload, qos, retain);
+        }
+
+        final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        synchronized (pending) {
+            PendingPublish publish = pending.get(topic);
+            if (publish != null) {
+                publish.payload = payload;
+                publish.qos = qos;
+                publish.retain = retain;
+                publish.futures.add(future);
+                coalescedCount++;
+            } else {
+                publish = new PendingPublish(topic, payload, qos, retain);
+                publish.futures.add(future);
+                pending.put(topic, publish);
+                maxQueueDepth = Math.max(maxQueueDepth, pending.size());
+            }
+        }
+        drain(false);
+        return future;
+    }
+
+    /**
+     * Stops sending queued messages. Pending callers are completed with false.
+     */
+    public void stop() {
+        List<PendingPublish> dropped;
+        synchronized (pending) {
+            final ScheduledFuture<?> drainFuture = this.drainFuture;
+            if (drainFuture != null) {
+                drainFuture.cancel(false);
+                this.drainFuture = null;
+            }
+            dropped = new ArrayList<>(pending.values());
+            pending.clear();
+            logStatistics();
+        }
+        dropped.forEach(p -> p.futures.forEach(f -> f.complete(false)));
+    }
+
+    private void drain(boolean scheduled) {
+        List<PendingPublish> toSend = new ArrayList<>();
+        synchronized (pending) {
+            if (!scheduled && drainFuture != null) {
+                // A drain is already scheduled for the next free token
+                return;
+            }
+            drainFuture = null;
+            long now = System.nanoTime();
+            tokens = Math.min(messagesPerSecond, tokens + (double) (now - lastRefill) / nanosPerToken);
+            lastRefill = now;
+
+            Iterator<PendingPublish> iterator = pending.values().iterator();
+            while (tokens >= 1 && iterator.hasNext()) {
+                toSend.add(iterator.next());
+                iterator.remove();
+                tokens--;
+            }
+
+            if (pending.isEmpty()) {
+                if (scheduled) {
+                    // A backlog has been sent completely
+                    logStatistics();
+                }
+            } else {
+                long delay = (long) ((1 - tokens) * nanosPerToken);
+                drainFuture = scheduler.schedule(() -> drain(true), Math.max(delay, 0), TimeUnit.NANOSECONDS);
+                logger.trace("Publish rate of {}/s reached, {} messages queued", messagesPerSecond, pending.size());
+            }
+        }
+        toSend.forEach(this::send);
+    }
+
+    private void logStatistics() {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Publish queue of {}/s: {} published, {} coalesced, max. queue depth {}, "
+                    + "latency avg. {} ms, max. {} ms", messagesPerSecond, publishedCount, coalescedCount, maxQueueDepth,
+                    publishedCount == 0 ? 0 : totalLatencyNanos / 1_000_000 / publishedCount,
+                    maxLatencyNanos / 1_000_000);
+        }
+    }
+
+    private void send(PendingPublish publish) {
+        connection.publish(publish.topic, publish.payload, publish.qos, publish.retain).whenComplete((r, e) -> {
+            long latency = System.nanoTime() - publish.queued;
+            synchronized (pending) {
+                publishedCount++;
+                totalLatencyNanos += latency;
+                maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+            }
+            for (CompletableFuture<Boolean> future : publish.futures) {
+                if (e != null) {
+                    future.completeExceptionally(e);
+                } else {
+                    future.complete(r);
+                }
+            }
+        });
+    }
+
+    private static class PendingPublish {
+        final String topic;
+        final long queued = System.nanoTime();
+        final List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        byte[] payload;
+        int qos;
+        boolean retain;
+
+        PendingPublish(String topic, byte[] payload, int qos, boolean retain) {
+            this.topic = topic;
+            this.payload = payload;
+            this.qos = qos;
+            this.retain = retain;
+        }
+    }
+}
@@ -91,12 +91,13 @@ public class MQTTActions implements ThingActions {
             return;
         }
 
-        connection.publish(topic, value, connection.getQos(), retain != null && retain.booleanValue()).thenRun(() -> {
-            logger.debug("MQTT publish to {} performed", topic);
-        }).exceptionally(e -> {
-            logger.warn("MQTT publish to {} failed!", topic);
-            return null;
-        });
+        brokerHandler.publish(topic, value, connection.getQos(), retain != null && retain.booleanValue())
+                .thenRun(() -> {
+                    logger.debug("MQTT publish to {} performed", topic);
+                }).exceptionally(e -> {
+                    logger.warn("MQTT publish to {} failed!", topic);
+                    return null;
+                });
     }
 
     public static void publishMQTT(ThingActions actions, @Nullable String topic, @Nullable String value) {
@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.handler;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+
+/**
+ * Tests the rate limiting and coalescing of the {@link MqttPublishScheduler}.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class MqttPublishSchedulerTest {
+    private static final int RATE = 10;
+
+    private @Mock @NonNullByDefault({}) MqttBrokerConnection connection;
+    private @Mock @NonNullByDefault({}) ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    public void setUp() {
+        when(connection.publish(anyString(), any(), anyInt(), anyBoolean()))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        doReturn(mock(ScheduledFuture.class)).when(scheduler).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+    @Test
+    public void unlimitedPublishesImmediately() {
+        MqttPublishScheduler subject = new MqttPublishScheduler(connection, scheduler, 0);
+        subject.publish("a", "1".getBytes(), 0, false);
+        subject.publish("a", "2".getBytes(), 0, false);
+        verify(connection, times(2)).publish(eq("a"), any(), eq(0), eq(false));
+        verifyNoInteractions(scheduler);
+    }
+
+    @Test
+    public void queuedPublishesAreCoalesced() throws Exception {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            MqttPublishScheduler subject = new MqttPublishScheduler(connection, executor, RATE);
+            // Use up the burst
+            for (int i = 0; i < RATE; i++) {
+                subject.publish("burst/" + i, "0".getBytes(), 0, false);
+            }
+
+            CompletableFuture<Boolean> first = subject.publish("a", "1".getBytes(), 0, false);
+            CompletableFuture<Boolean> second = subject.publish("a", "2".getBytes(), 0, false);
+            CompletableFuture<Boolean> third = subject.publish("a", "3".getBytes(), 0, false);
+            CompletableFuture<Boolean> other = subject.publish("b", "4".getBytes(), 0, false);
+
+            // All callers of a coalesced topic complete once the newest value is published
+            assertThat(first.get(5, TimeUnit.SECONDS), is(true));
+            assertThat(second.get(5, TimeUnit.SECONDS), is(true));
+            assertThat(third.get(5, TimeUnit.SECONDS), is(true));
+            assertThat(other.get(5, TimeUnit.SECONDS), is(true));
+
+            ArgumentCaptor<byte[]> payload = ArgumentCaptor.forClass(byte[].class);
+            verify(connection, times(1)).publish(eq("a"), payload.capture(), eq(0), eq(false));
+            assertThat(new String(payload.getValue()), is("3"));
+            verify(connection, times(1)).publish(eq("b"), any(), eq(0), eq(false));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void stopCompletesQueuedPublishes() throws Exception {
+        MqttPublishScheduler subject = new MqttPublishScheduler(connection, scheduler, 1);
+
+        CompletableFuture<Boolean> first = subject.publish("a", "1".getBytes(), 0, false);
+        CompletableFuture<Boolean> queued = subject.publish("b", "2".getBytes(), 0, false);
+
+        // The first message uses the only token, the second waits for the scheduled drain
+        assertThat(first.get(), is(true));
+        assertThat(queued.isDone(), is(false));
+        verify(scheduler).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.NANOSECONDS));
+
+        subject.stop();
+        assertThat(queued.get(), is(false));
+        verify(connection, never()).publish(eq("b"), any(), anyInt(), anyBoolean());
+    }
+}
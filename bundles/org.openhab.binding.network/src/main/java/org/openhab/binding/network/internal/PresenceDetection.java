@@ -12,15 +12,17 @@
  */
 package org.openhab.binding.network.internal;
 
-import java.io.IOException;
 import java.net.Inet4Address;
 import java.net.InetAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -36,6 +38,7 @@ import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
 import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.PresenceProbeEngine;
 import org.openhab.core.cache.ExpiringCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -77,15 +80,18 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     /// State variables (cannot be final because of test dependency injections)
     ExpiringCacheAsync<PresenceDetectionValue> cache;
     private final PresenceDetectionListener updateListener;
+    private final PresenceProbeEngine probeEngine;
+    private final int cacheDeviceStateTimeInMS;
     private @Nullable ScheduledFuture<?> refreshJob;
-    protected @Nullable ExecutorService executorService;
+    protected @Nullable CompletableFuture<Void> detectionRun;
     private String dhcpState = "off";
-    private Integer currentCheck = 0;
     int detectionChecks;
 
-    public PresenceDetection(final PresenceDetectionListener updateListener, int cacheDeviceStateTimeInMS)
-            throws IllegalArgumentException {
+    public PresenceDetection(final PresenceDetectionListener updateListener, PresenceProbeEngine probeEngine,
+            int cacheDeviceStateTimeInMS) throws IllegalArgumentException {
         this.updateListener = updateListener;
+        this.probeEngine = probeEngine;
+        this.cacheDeviceStateTimeInMS = cacheDeviceStateTimeInMS;
         cache = new ExpiringCacheAsync<>(cacheDeviceStateTimeInMS, () -> {
             performPresenceDetection(false);
         });
@@ -253,14 +259,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(callback);
     }
 
-    public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
-    }
-
     /**
      * Perform a presence detection with ICMP-, ARP ping and
-     * TCP connection attempts simultaneously. A fixed thread pool will be created with as many
-     * thread as necessary to perform all tests at once.
+     * TCP connection attempts simultaneously. The checks are performed by the shared {@link PresenceProbeEngine},
+     * which merges them with the checks of other things for the same host.
      *
      * This is a NO-OP, if there is already an ongoing detection or if the cached value
      * is not expired yet.
@@ -274,75 +276,65 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @return Return true if a presence detection is performed and false otherwise.
      */
     public boolean performPresenceDetection(boolean waitForDetectionToFinish) {
-        if (executorService != null) {
-            logger.debug(
-                    "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
-                    hostname, tcpPorts);
-            return false;
-        }
+        CompletableFuture<Void> run;
+        synchronized (this) {
+            if (detectionRun != null) {
+                logger.debug(
+                        "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
+                        hostname, tcpPorts);
+                return false;
+            }
 
-        if (!cache.isExpired()) {
-            return false;
-        }
+            if (!cache.isExpired()) {
+                return false;
+            }
 
-        Set<String> interfaceNames = null;
+            Set<String> interfaceNames = null;
 
-        currentCheck = 0;
-        detectionChecks = tcpPorts.size();
-        if (pingMethod != null) {
-            detectionChecks += 1;
-        }
-        if (arpPingMethod.canProceed) {
-            interfaceNames = networkUtils.getInterfaceNames();
-            detectionChecks += interfaceNames.size();
-        }
+            detectionChecks = tcpPorts.size();
+            if (pingMethod != null) {
+                detectionChecks += 1;
+            }
+            if (arpPingMethod.canProceed) {
+                interfaceNames = networkUtils.getInterfaceNames();
+                detectionChecks += interfaceNames.size();
+            }
 
-        if (detectionChecks == 0) {
-            return false;
-        }
+            if (detectionChecks == 0) {
+                return false;
+            }
 
-        final ExecutorService executorService = getThreadsFor(detectionChecks);
-        this.executorService = executorService;
+            // The run is known before the checks are started, so results already available complete it
+            final CompletableFuture<Void> newRun = new CompletableFuture<>();
+            detectionRun = newRun;
 
-        for (Integer tcpPort : tcpPorts) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + String.valueOf(tcpPort));
-                performServicePing(tcpPort);
-                checkIfFinished();
-            });
-        }
+            List<CompletableFuture<?>> checks = new ArrayList<>(detectionChecks);
+            for (Integer tcpPort : tcpPorts) {
+                checks.add(performServicePing(tcpPort));
+            }
 
-        // ARP ping for IPv4 addresses. Use single executor for Windows tool and
-        // each own executor for each network interface for other tools
-        if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionARP_" + hostname + " ");
+            // ARP ping for IPv4 addresses. Use a single check for the Windows tool and
+            // one check for each network interface for other tools
+            if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
                 // arp-ping.exe tool capable of handling multiple interfaces by itself
-                performARPping("");
-                checkIfFinished();
-            });
-        } else if (interfaceNames != null) {
-            for (final String interfaceName : interfaceNames) {
-                executorService.execute(() -> {
-                    Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
-                    performARPping(interfaceName);
-                    checkIfFinished();
-                });
+                checks.add(performARPping(""));
+            } else if (interfaceNames != null) {
+                for (final String interfaceName : interfaceNames) {
+                    checks.add(performARPping(interfaceName));
+                }
             }
-        }
 
-        // ICMP ping
-        if (pingMethod != null) {
-            executorService.execute(() -> {
-                if (pingMethod != IpPingMethodEnum.JAVA_PING) {
-                    Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
-                    performSystemPing();
-                } else {
-                    performJavaPing();
-                }
-                checkIfFinished();
-            });
+            // ICMP ping
+            if (pingMethod != null) {
+                checks.add(pingMethod != IpPingMethodEnum.JAVA_PING ? performSystemPing() : performJavaPing());
+            }
+
+            CompletableFuture.allOf(checks.toArray(CompletableFuture[]::new))
+                    .whenComplete((result, e) -> newRun.complete(null));
+            newRun.completeOnTimeout(null, timeoutInMS + 100, TimeUnit.MILLISECONDS);
+            run = newRun;
         }
+        run.whenComplete((result, e) -> submitFinalResult(run));
 
         if (waitForDetectionToFinish) {
             waitForPresenceDetection();
@@ -354,18 +346,17 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     /**
      * Calls updateListener.finalDetectionResult() with a final result value.
      * Safe to be called from different threads. After a call to this method,
-     * the presence detection process is finished and all threads are forcefully
-     * shut down.
+     * the presence detection process is finished.
+     *
+     * @param run the detection run which is finished
      */
-    private synchronized void submitFinalResult() {
-        // Do nothing if we are not in a detection process
-        ExecutorService service = executorService;
-        if (service == null) {
+    private synchronized void submitFinalResult(CompletableFuture<Void> run) {
+        // Do nothing if we are not in this detection process
+        if (detectionRun != run) {
             return;
         }
         // Finish the detection process
-        service.shutdownNow();
-        executorService = null;
+        detectionRun = null;
         detectionChecks = 0;
 
         PresenceDetectionValue v;
@@ -389,37 +380,20 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     }
 
     /**
-     * This method is called after each individual check and increases a check counter.
-     * If the counter equals the total checks,the final result is submitted. This will
-     * happen way before the "timeoutInMS", if all checks were successful.
-     * Thread safe.
-     */
-    private synchronized void checkIfFinished() {
-        currentCheck += 1;
-        if (currentCheck < detectionChecks) {
-            return;
-        }
-        submitFinalResult();
-    }
-
-    /**
-     * Waits for the presence detection threads to finish. Returns immediately
+     * Waits for the presence detection to finish. Returns immediately
      * if no presence detection is performed right now.
      */
     public void waitForPresenceDetection() {
-        ExecutorService service = executorService;
-        if (service == null) {
+        CompletableFuture<Void> run = detectionRun;
+        if (run == null) {
             return;
         }
         try {
-            // We may get interrupted here by cancelRefreshJob().
-            service.awaitTermination(timeoutInMS + 100, TimeUnit.MILLISECONDS);
-            submitFinalResult();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // Reset interrupt flag
-            service.shutdownNow();
-            executorService = null;
+            run.join();
+        } catch (CompletionException e) {
+            // a failing check does not fail the detection, the final result is submitted anyway
         }
+        submitFinalResult(run);
     }
 
     /**
@@ -447,24 +421,19 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return v;
     }
 
-    protected void performServicePing(int tcpPort) {
+    protected CompletableFuture<?> performServicePing(int tcpPort) {
         logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
-        try {
-            InetAddress destinationAddress = destination.getValue();
-            if (destinationAddress != null) {
-                networkUtils.servicePing(destinationAddress.getHostAddress(), tcpPort, timeoutInMS).ifPresent(o -> {
+        InetAddress destinationAddress = destination.getValue();
+        if (destinationAddress == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return probeEngine.tcpPing(destinationAddress, tcpPort, timeoutInMS, cacheDeviceStateTimeInMS)
+                .thenAccept(result -> result.ifPresent(o -> {
                     if (o.isSuccess()) {
-                        PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION,
-                                getLatency(o, preferResponseTimeAsLatency));
-                        v.addReachableTcpService(tcpPort);
-                        updateListener.partialDetectionResult(v);
+                        checkSucceeded(PresenceDetectionType.TCP_CONNECTION, getLatency(o, preferResponseTimeAsLatency),
+                                tcpPort);
                     }
-                });
-            }
-        } catch (IOException e) {
-            // This should not happen and might be a user configuration issue, we log a warning message therefore.
-            logger.warn("Could not create a socket connection", e);
-        }
+                }));
     }
 
     /**
@@ -475,31 +444,15 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @param interfaceName The interface name. You can request a list of interface names
      *            from {@see NetworkUtils.getInterfaceNames()} for example.
      */
-    protected void performARPping(String interfaceName) {
-        try {
-            logger.trace("Perform ARP ping presence detection for {} on interface: {}", hostname, interfaceName);
-            InetAddress destinationAddress = destination.getValue();
-            if (destinationAddress == null) {
-                return;
-            }
-            if (iosDevice) {
-                networkUtils.wakeUpIOS(destinationAddress);
-                Thread.sleep(50);
-            }
-
-            networkUtils.nativeARPPing(arpPingMethod, arpPingUtilPath, interfaceName,
-                    destinationAddress.getHostAddress(), timeoutInMS).ifPresent(o -> {
-                        if (o.isSuccess()) {
-                            PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ARP_PING,
-                                    getLatency(o, preferResponseTimeAsLatency));
-                            updateListener.partialDetectionResult(v);
-                        }
-                    });
-        } catch (IOException e) {
-            logger.trace("Failed to execute an arp ping for ip {}", hostname, e);
-        } catch (InterruptedException ignored) {
-            // This can be ignored, the thread will end anyway
+    protected CompletableFuture<?> performARPping(String interfaceName) {
+        logger.trace("Perform ARP ping presence detection for {} on interface: {}", hostname, interfaceName);
+        InetAddress destinationAddress = destination.getValue();
+        if (destinationAddress == null) {
+            return CompletableFuture.completedFuture(null);
         }
+        return probeEngine.arpPing(arpPingMethod, arpPingUtilPath, interfaceName, destinationAddress, timeoutInMS,
+                iosDevice, cacheDeviceStateTimeInMS).thenAccept(result -> handlePingResult(result,
+                        PresenceDetectionType.ARP_PING));
     }
 
     /**
@@ -508,43 +461,54 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * the TCP echo service on port 7 which barely no device or server supports nowadays.
      * (http://docs.oracle.com/javase/7/docs/api/java/net/InetAddress.html#isReachable%28int%29)
      */
-    protected void performJavaPing() {
+    protected CompletableFuture<?> performJavaPing() {
         logger.trace("Perform java ping presence detection for {}", hostname);
 
         InetAddress destinationAddress = destination.getValue();
         if (destinationAddress == null) {
-            return;
+            return CompletableFuture.completedFuture(null);
+        }
+        return probeEngine
+                .icmpPing(IpPingMethodEnum.JAVA_PING, destinationAddress, timeoutInMS, cacheDeviceStateTimeInMS)
+                .thenAccept(result -> handlePingResult(result, PresenceDetectionType.ICMP_PING));
+    }
+
+    protected CompletableFuture<?> performSystemPing() {
+        logger.trace("Perform native ping presence detection for {}", hostname);
+        InetAddress destinationAddress = destination.getValue();
+        if (destinationAddress == null) {
+            return CompletableFuture.completedFuture(null);
         }
+        return probeEngine.icmpPing(pingMethod, destinationAddress, timeoutInMS, cacheDeviceStateTimeInMS)
+                .thenAccept(result -> handlePingResult(result, PresenceDetectionType.ICMP_PING));
+    }
 
-        networkUtils.javaPing(timeoutInMS, destinationAddress).ifPresent(o -> {
+    private void handlePingResult(Optional<PingResult> result, PresenceDetectionType type) {
+        result.ifPresent(o -> {
             if (o.isSuccess()) {
-                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING,
-                        getLatency(o, preferResponseTimeAsLatency));
-                updateListener.partialDetectionResult(v);
+                checkSucceeded(type, getLatency(o, preferResponseTimeAsLatency), null);
             }
         });
     }
 
-    protected void performSystemPing() {
-        try {
-            logger.trace("Perform native ping presence detection for {}", hostname);
-            InetAddress destinationAddress = destination.getValue();
-            if (destinationAddress == null) {
-                return;
-            }
-
-            networkUtils.nativePing(pingMethod, destinationAddress.getHostAddress(), timeoutInMS).ifPresent(o -> {
-                if (o.isSuccess()) {
-                    PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING,
-                            getLatency(o, preferResponseTimeAsLatency));
-                    updateListener.partialDetectionResult(v);
-                }
-            });
-        } catch (IOException e) {
-            logger.trace("Failed to execute a native ping for ip {}", hostname, e);
-        } catch (InterruptedException e) {
-            // This can be ignored, the thread will end anyway
+    /**
+     * Submits the successful check of the running detection as partial result. Results that arrive after the
+     * detection has finished, e.g. because of the timeout, are ignored.
+     *
+     * @param type The detection type
+     * @param latency The latency of the check
+     * @param tcpPort The port of a successful TCP connection, null for other checks
+     */
+    private synchronized void checkSucceeded(PresenceDetectionType type, double latency, @Nullable Integer tcpPort) {
+        if (detectionRun == null) {
+            logger.trace("Ignoring {} result for {}, the detection has already finished", type, hostname);
+            return;
+        }
+        PresenceDetectionValue v = updateReachableValue(type, latency);
+        if (tcpPort != null) {
+            v.addReachableTcpService(tcpPort);
         }
+        updateListener.partialDetectionResult(v);
     }
 
     private double getLatency(PingResult pingResult, boolean preferResponseTimeAsLatency) {
@@ -0,0 +1,291 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.PresenceProbeEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link DiscoverySweep} scans a list of addresses in three phases:
+ *
+ * 1. TCP connection probes to the service ports of all addresses. The probes are non-blocking connects of the
+ * {@link PresenceProbeEngine}. The number of probes in flight is adjusted to the measured response time and the
+ * probes failing locally (e.g. no more sockets available): it grows as long as the responses are not delayed and
+ * is halved otherwise.
+ * 2. ICMP pings to the addresses which did not accept a TCP connection. With fping they are sent in batches.
+ * 3. ARP for the addresses which are still unknown. On Linux the ARP cache is read, because the probes of the
+ * previous phases already made the kernel resolve all hosts on the local network. Otherwise arping is used.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class DiscoverySweep {
+    static final int INITIAL_CONCURRENCY = 64;
+    static final int MIN_CONCURRENCY = 16;
+    static final int MAX_CONCURRENCY = 512;
+
+    private final Logger logger = LoggerFactory.getLogger(DiscoverySweep.class);
+
+    private final PresenceProbeEngine probeEngine;
+    private final NetworkUtils networkUtils;
+    private final Collection<String> addresses;
+    private final Set<Integer> tcpPorts;
+    private final int timeoutInMS;
+    private final @Nullable IpPingMethodEnum pingMethod;
+    private final ArpPingUtilEnum arpPingMethod;
+    private final String arpPingUtilPath;
+    private final BiConsumer<String, Integer> serviceFound;
+    private final Consumer<String> hostFound;
+
+    private record TcpProbe(InetAddress address, int port) {
+    }
+
+    private final CompletableFuture<Void> result = new CompletableFuture<>();
+    private final Deque<TcpProbe> pendingTcpProbes = new ArrayDeque<>();
+    private final Set<String> answeredHosts = new LinkedHashSet<>();
+    private boolean cancelled = false;
+    private boolean tcpProbesFinished = false;
+
+    // congestion control
+    private int concurrency = INITIAL_CONCURRENCY;
+    private int inFlight = 0;
+    private int samples = 0;
+    private int failures = 0;
+    private double minRtt = Double.MAX_VALUE;
+    private double smoothedRtt = 0;
+
+    DiscoverySweep(PresenceProbeEngine probeEngine, NetworkUtils networkUtils, Collection<String> addresses,
+            Set<Integer> tcpPorts, int timeoutInMS, @Nullable IpPingMethodEnum pingMethod,
+            ArpPingUtilEnum arpPingMethod, String arpPingUtilPath, BiConsumer<String, Integer> serviceFound,
+            Consumer<String> hostFound) {
+        this.probeEngine = probeEngine;
+        this.networkUtils = networkUtils;
+        this.addresses = addresses;
+        this.tcpPorts = tcpPorts;
+        this.timeoutInMS = timeoutInMS;
+        this.pingMethod = pingMethod;
+        this.arpPingMethod = arpPingMethod;
+        this.arpPingUtilPath = arpPingUtilPath;
+        this.serviceFound = serviceFound;
+        this.hostFound = hostFound;
+    }
+
+    /**
+     * Start the sweep
+     *
+     * @return a future which is completed when the sweep is finished or cancelled
+     */
+    CompletableFuture<Void> start() {
+        synchronized (this) {
+            for (String ip : addresses) {
+                InetAddress address = toAddress(ip);
+                if (address != null) {
+                    tcpPorts.forEach(port -> pendingTcpProbes.add(new TcpProbe(address, port)));
+                }
+            }
+            logger.trace("Starting discovery sweep with {} TCP probes", pendingTcpProbes.size());
+        }
+        startTcpProbes();
+        return result;
+    }
+
+    /**
+     * Stop the sweep, running probes are finished but the results are ignored
+     */
+    synchronized void cancel() {
+        cancelled = true;
+        pendingTcpProbes.clear();
+        result.complete(null);
+    }
+
+    synchronized int getConcurrency() {
+        return concurrency;
+    }
+
+    private void startTcpProbes() {
+        List<TcpProbe> start = new ArrayList<>();
+        boolean finished;
+        synchronized (this) {
+            while (!cancelled && inFlight < concurrency && !pendingTcpProbes.isEmpty()) {
+                start.add(pendingTcpProbes.poll());
+                inFlight++;
+            }
+            finished = !cancelled && !tcpProbesFinished && inFlight == 0 && pendingTcpProbes.isEmpty();
+            tcpProbesFinished |= finished;
+        }
+        for (TcpProbe probe : start) {
+            probeEngine.tcpPing(probe.address, probe.port, timeoutInMS, 0)
+                    .whenComplete((pingResult, e) -> tcpProbeFinished(probe, pingResult));
+        }
+        if (finished) {
+            pingRemainingHosts();
+        }
+    }
+
+    private void tcpProbeFinished(TcpProbe probe, @Nullable Optional<PingResult> pingResult) {
+        boolean connected = false;
+        synchronized (this) {
+            inFlight--;
+            if (cancelled) {
+                return;
+            }
+            samples++;
+            if (pingResult == null || pingResult.isEmpty()) {
+                // the probe could not be executed, e.g. no more sockets available
+                failures++;
+            } else {
+                PingResult r = pingResult.get();
+                double rtt = r.getExecutionTimeInMS();
+                // a refused connection is an answer of the host as well
+                if (r.isSuccess() || rtt < timeoutInMS * 0.9) {
+                    minRtt = Math.min(minRtt, rtt);
+                    smoothedRtt = smoothedRtt == 0 ? rtt : 0.875 * smoothedRtt + 0.125 * rtt;
+                }
+                if (r.isSuccess()) {
+                    answeredHosts.add(probe.address.getHostAddress());
+                    connected = true;
+                }
+            }
+            if (samples >= Math.max(MIN_CONCURRENCY, concurrency / 4)) {
+                adjustConcurrency();
+            }
+        }
+        if (connected) {
+            serviceFound.accept(probe.address.getHostAddress(), probe.port);
+        }
+        startTcpProbes();
+    }
+
+    /**
+     * Grow by a quarter while the responses are not delayed and no probes fail, halve otherwise
+     */
+    private void adjustConcurrency() {
+        boolean congested = failures * 20 > samples
+                || (smoothedRtt > 0 && smoothedRtt > 2 * minRtt + 10 && smoothedRtt > timeoutInMS / 4.0);
+        int newConcurrency = congested ? Math.max(MIN_CONCURRENCY, concurrency / 2)
+                : Math.min(MAX_CONCURRENCY, concurrency + Math.max(1, concurrency / 4));
+        if (newConcurrency != concurrency) {
+            logger.trace("Discovery sweep concurrency {} -> {} (rtt {}/{} ms, {} of {} probes failed)", concurrency,
+                    newConcurrency, smoothedRtt, minRtt, failures, samples);
+            concurrency = newConcurrency;
+        }
+        samples = 0;
+        failures = 0;
+    }
+
+    private void pingRemainingHosts() {
+        IpPingMethodEnum pingMethod = this.pingMethod;
+        List<String> remaining = getRemainingHosts();
+        if (pingMethod == null || remaining.isEmpty()) {
+            arpRemainingHosts();
+            return;
+        }
+        logger.trace("Discovery sweep pings {} hosts", remaining.size());
+        List<CompletableFuture<?>> pings = new ArrayList<>(remaining.size());
+        for (String ip : remaining) {
+            InetAddress address = toAddress(ip);
+            if (address != null) {
+                pings.add(probeEngine.icmpPing(pingMethod, address, timeoutInMS, 0)
+                        .thenAccept(r -> r.filter(PingResult::isSuccess).ifPresent(o -> hostAnswered(ip))));
+            }
+        }
+        CompletableFuture.allOf(pings.toArray(CompletableFuture[]::new))
+                .whenComplete((r, e) -> arpRemainingHosts());
+    }
+
+    private void arpRemainingHosts() {
+        List<String> remaining = getRemainingHosts();
+        if (remaining.isEmpty()) {
+            result.complete(null);
+            return;
+        }
+        Optional<Set<String>> arpCache = networkUtils.getArpCacheAddresses();
+        if (arpCache.isPresent()) {
+            Set<String> resolved = arpCache.get();
+            logger.trace("Discovery sweep checks {} hosts in ARP cache with {} entries", remaining.size(),
+                    resolved.size());
+            remaining.stream().filter(resolved::contains).forEach(this::hostAnswered);
+            result.complete(null);
+            return;
+        }
+        if (!arpPingMethod.canProceed) {
+            result.complete(null);
+            return;
+        }
+
+        // ARP pings for IPv4 addresses. A single ping for the Windows tool and one ping for each network interface
+        // for other tools
+        Set<String> interfaceNames = arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS ? Set.of("")
+                : networkUtils.getInterfaceNames();
+        logger.trace("Discovery sweep sends ARP pings to {} hosts", remaining.size());
+        List<CompletableFuture<?>> pings = new ArrayList<>();
+        for (String ip : remaining) {
+            InetAddress address = toAddress(ip);
+            if (address == null) {
+                continue;
+            }
+            for (String interfaceName : interfaceNames) {
+                pings.add(probeEngine
+                        .arpPing(arpPingMethod, arpPingUtilPath, interfaceName, address, timeoutInMS, true, 0)
+                        .thenAccept(r -> r.filter(PingResult::isSuccess).ifPresent(o -> hostAnswered(ip))));
+            }
+        }
+        CompletableFuture.allOf(pings.toArray(CompletableFuture[]::new)).whenComplete((r, e) -> result.complete(null));
+    }
+
+    private void hostAnswered(String ip) {
+        synchronized (this) {
+            if (cancelled || !answeredHosts.add(ip)) {
+                return;
+            }
+        }
+        hostFound.accept(ip);
+    }
+
+    private synchronized List<String> getRemainingHosts() {
+        if (cancelled) {
+            return List.of();
+        }
+        return addresses.stream().filter(ip -> !answeredHosts.contains(ip)).toList();
+    }
+
+    private @Nullable InetAddress toAddress(String ip) {
+        try {
+            return InetAddress.getByName(ip);
+        } catch (UnknownHostException e) {
+            logger.debug("Invalid address {}", ip);
+            return null;
+        }
+    }
+}
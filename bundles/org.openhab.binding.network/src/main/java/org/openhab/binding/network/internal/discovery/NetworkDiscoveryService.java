@@ -19,20 +19,17 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.network.internal.NetworkBindingConfiguration;
-import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.PresenceProbeEngine;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.config.discovery.AbstractDiscoveryService;
 import org.openhab.core.config.discovery.DiscoveryResultBuilder;
@@ -42,6 +39,7 @@ import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -66,15 +64,17 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     // TCP port 1025 (Xbox / MS-RPC)
     private Set<Integer> tcpServicePorts = Collections
             .unmodifiableSet(Stream.of(80, 548, 554, 1025).collect(Collectors.toSet()));
-    private AtomicInteger scannedIPcount = new AtomicInteger(0);
-    private @Nullable ExecutorService executorService = null;
+    private @Nullable DiscoverySweep sweep;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
     private final NetworkUtils networkUtils = new NetworkUtils();
+    private final PresenceProbeEngine probeEngine;
 
-    public NetworkDiscoveryService() {
+    @Activate
+    public NetworkDiscoveryService(final @Reference PresenceProbeEngine probeEngine) {
         super(SUPPORTED_THING_TYPES_UIDS, (int) Math.round(
                 new NetworkUtils().getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE).size() * (PING_TIMEOUT_IN_MS / 1000.0)),
                 false);
+        this.probeEngine = probeEngine;
     }
 
     @Override
@@ -97,9 +97,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     @Override
     @Deactivate
     protected void deactivate() {
-        if (executorService != null) {
-            executorService.shutdown();
-        }
+        stopScan();
         super.deactivate();
     }
 
@@ -121,62 +119,44 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Starts the DiscoveryThread for each IP on each interface on the network
+     * Starts a sweep of all IPs on each interface on the network
      */
     @Override
-    protected void startScan() {
-        if (executorService == null) {
-            executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
-        }
-        final ExecutorService service = executorService;
-        if (service == null) {
+    protected synchronized void startScan() {
+        if (sweep != null) {
             return;
         }
         removeOlderResults(getTimestampOfLastScan(), null);
         logger.trace("Starting Network Device Discovery");
 
         final Set<String> networkIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE);
-        scannedIPcount.set(0);
-
-        for (String ip : networkIPs) {
-            final PresenceDetection s = new PresenceDetection(this, 2000);
-            s.setHostname(ip);
-            s.setIOSDevice(true);
-            s.setUseDhcpSniffing(false);
-            s.setTimeout(PING_TIMEOUT_IN_MS);
-            // Ping devices
-            s.setUseIcmpPing(true);
-            s.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
-            // TCP devices
-            s.setServicePorts(tcpServicePorts);
-
-            service.execute(() -> {
-                Thread.currentThread().setName("Discovery thread " + ip);
-                s.performPresenceDetection(true);
-                int count = scannedIPcount.incrementAndGet();
-                if (count == networkIPs.size()) {
-                    logger.trace("Scan of {} IPs successful", scannedIPcount);
-                    stopScan();
-                }
-            });
+        final DiscoverySweep newSweep = new DiscoverySweep(probeEngine, networkUtils, networkIPs, tcpServicePorts,
+                PING_TIMEOUT_IN_MS, networkUtils.determinePingMethod(), configuration.arpPingUtilMethod,
+                configuration.arpPingToolPath, this::newServiceDevice, this::newPingDevice);
+        sweep = newSweep;
+        long startTime = System.currentTimeMillis();
+        newSweep.start().thenRun(() -> {
+            logger.trace("Scan of {} IPs finished after {} ms", networkIPs.size(),
+                    System.currentTimeMillis() - startTime);
+            finishScan(newSweep);
+        });
+    }
+
+    private synchronized void finishScan(DiscoverySweep finishedSweep) {
+        if (sweep == finishedSweep) {
+            stopScan();
         }
     }
 
     @Override
     protected synchronized void stopScan() {
         super.stopScan();
-        final ExecutorService service = executorService;
-        if (service == null) {
+        final DiscoverySweep runningSweep = sweep;
+        if (runningSweep == null) {
             return;
         }
-
-        try {
-            service.awaitTermination(PING_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // Reset interrupt flag
-        }
-        service.shutdown();
-        executorService = null;
+        sweep = null;
+        runningSweep.cancel();
     }
 
     public static ThingUID createServiceUID(String ip, int tcpPort) {
@@ -185,7 +165,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link startScan}.
+     * Submit newly discovered devices. This method is called by the sweep started in {@link startScan}.
      *
      * @param ip The device IP
      * @param tcpPort The TCP port
@@ -228,7 +208,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link startScan}.
+     * Submit newly discovered devices. This method is called by the sweep started in {@link startScan}.
      *
      * @param ip The device IP
      */
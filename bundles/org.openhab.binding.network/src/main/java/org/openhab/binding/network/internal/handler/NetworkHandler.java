@@ -31,6 +31,7 @@ import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
 import org.openhab.binding.network.internal.WakeOnLanPacketSender;
 import org.openhab.binding.network.internal.action.NetworkActions;
+import org.openhab.binding.network.internal.utils.PresenceProbeEngine;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.OnOffType;
@@ -66,6 +67,7 @@ public class NetworkHandler extends BaseThingHandler
 
     private boolean isTCPServiceDevice;
     private NetworkBindingConfiguration configuration;
+    private final PresenceProbeEngine probeEngine;
 
     // How many retries before a device is deemed offline
     int retries;
@@ -76,10 +78,12 @@ public class NetworkHandler extends BaseThingHandler
     /**
      * Do not call this directly, but use the {@see NetworkHandlerBuilder} instead.
      */
-    public NetworkHandler(Thing thing, boolean isTCPServiceDevice, NetworkBindingConfiguration configuration) {
+    public NetworkHandler(Thing thing, boolean isTCPServiceDevice, NetworkBindingConfiguration configuration,
+            PresenceProbeEngine probeEngine) {
         super(thing);
         this.isTCPServiceDevice = isTCPServiceDevice;
         this.configuration = configuration;
+        this.probeEngine = probeEngine;
         this.configuration.addNetworkBindingConfigurationListener(this);
     }
 
@@ -221,7 +225,7 @@ public class NetworkHandler extends BaseThingHandler
     // Create a new network service and apply all configurations.
     @Override
     public void initialize() {
-        initialize(new PresenceDetection(this, configuration.cacheDeviceStateTimeInMS.intValue()));
+        initialize(new PresenceDetection(this, probeEngine, configuration.cacheDeviceStateTimeInMS.intValue()));
     }
 
     /**
@@ -29,14 +29,21 @@ import java.net.SocketAddress;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -54,6 +61,10 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class NetworkUtils {
+    // fping -e output: "192.168.1.1 is alive (0.41 ms)" or "192.168.1.2 is unreachable"
+    private static final Pattern FPING_RESULT_PATTERN = Pattern
+            .compile("^(\\S+) is (alive|unreachable)(?: \\((?:RTT )?([0-9.]+) ms\\))?");
+
     private final Logger logger = LoggerFactory.getLogger(NetworkUtils.class);
 
     private LatencyParser latencyParser = new LatencyParser();
@@ -326,6 +337,118 @@ public class NetworkUtils {
         }
     }
 
+    /**
+     * Get the IPv4 addresses with a complete entry in the ARP cache of the operating system. The kernel resolves
+     * the hardware address of every host on the local network which is contacted, so hosts which answered ARP
+     * requests are found without sending a dedicated ARP ping. Only supported on Linux.
+     *
+     * @return The addresses. Optional is empty if the ARP cache could not be read.
+     */
+    public Optional<Set<String>> getArpCacheAddresses() {
+        Path arpCache = Path.of("/proc/net/arp");
+        if (!Files.isReadable(arpCache)) {
+            return Optional.empty();
+        }
+        Set<String> result = new HashSet<>();
+        try (BufferedReader r = Files.newBufferedReader(arpCache)) {
+            // IP address       HW type     Flags       HW address            Mask     Device
+            // 192.168.1.1      0x1         0x2         00:11:22:33:44:55     *        eth0
+            String line = r.readLine();
+            while ((line = r.readLine()) != null) {
+                String[] columns = line.trim().split("\\s+");
+                if (columns.length < 4) {
+                    continue;
+                }
+                try {
+                    // flag 0x2 (ATF_COM) marks a completed entry
+                    if ((Integer.decode(columns[2]) & 0x2) != 0 && !"00:00:00:00:00:00".equals(columns[3])) {
+                        result.add(columns[0]);
+                    }
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Could not read the ARP cache: {}", e.getMessage());
+            return Optional.empty();
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Return true if the fping utility is available. fping pings many hosts in parallel with a single process.
+     */
+    public boolean isFpingAvailable() {
+        String result = ExecUtil.executeCommandLineAndWaitResponse(Duration.ofMillis(500), "fping", "-v");
+        return result != null && result.contains("fping");
+    }
+
+    /**
+     * Use the fping utility to ping several hosts with a single process.
+     *
+     * @param hostAddresses The IPv4 or IPv6 addresses. Must not be empty.
+     * @param timeoutInMS Timeout of each ping in milliseconds
+     * @param intervalInMS Time between the pings to different hosts in milliseconds
+     * @return Ping result information by host address. Hosts reported neither alive nor unreachable are missing.
+     * @throws IOException The fping command could probably not be found or failed to ping
+     */
+    public Map<String, PingResult> nativeBatchPing(Collection<String> hostAddresses, int timeoutInMS,
+            int intervalInMS) throws IOException, InterruptedException {
+        double execStartTimeInMS = System.currentTimeMillis();
+
+        List<String> command = new ArrayList<>(hostAddresses.size() + 8);
+        command.add("fping");
+        command.add("-e");
+        command.add("-r");
+        command.add("0");
+        command.add("-t");
+        command.add(String.valueOf(timeoutInMS));
+        command.add("-i");
+        command.add(String.valueOf(intervalInMS));
+        command.addAll(hostAddresses);
+        // ICMP errors are reported on stderr, they would block the process if not consumed
+        Process proc = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.DISCARD).start();
+
+        Map<String, PingResult> results;
+        try (BufferedReader r = new BufferedReader(new InputStreamReader(proc.getInputStream()))) {
+            results = parseFpingOutput(r, execStartTimeInMS);
+        }
+
+        // The return code is 0 if all hosts are alive, 1 if some hosts are unreachable and 2 or higher if
+        // the arguments were invalid or an error occurred.
+        int result = proc.waitFor();
+        if (result > 1 && results.isEmpty()) {
+            throw new IOException("fping failed with exit code " + result);
+        }
+        return results;
+    }
+
+    /**
+     * Parse the output of fping started with the -e option. Lines not reporting a host as alive or unreachable are
+     * skipped.
+     *
+     * @param reader The output of fping
+     * @param execStartTimeInMS Start time of the fping process in ms
+     * @return Ping result information by host address
+     */
+    Map<String, PingResult> parseFpingOutput(BufferedReader reader, double execStartTimeInMS) throws IOException {
+        Map<String, PingResult> results = new HashMap<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            Matcher m = FPING_RESULT_PATTERN.matcher(line);
+            if (!m.find()) {
+                continue;
+            }
+            PingResult pingResult = new PingResult("alive".equals(m.group(2)),
+                    System.currentTimeMillis() - execStartTimeInMS);
+            String latency = m.group(3);
+            if (latency != null) {
+                pingResult.setResponseTimeInMS(Double.parseDouble(latency));
+            }
+            results.put(m.group(1), pingResult);
+        }
+        return results;
+    }
+
     public enum ArpPingUtilEnum {
         DISABLED("Disabled", false),
         DISABLED_INVALID_IP("Destination is not a valid IPv4 address", false),
@@ -0,0 +1,508 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NoRouteToHostException;
+import java.nio.channels.Channel;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.core.common.ThreadPoolManager;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link PresenceProbeEngine} performs the presence probes of all things and the discovery of the binding.
+ *
+ * TCP connection probes are non-blocking connects on a single selector thread. Native ICMP pings requested within
+ * a short time frame are sent by a single fping process, if fping is available. If fping fails to ping, the hosts
+ * are pinged one by one. ARP pings, Java pings and native pings without fping run on a shared, bounded thread pool.
+ *
+ * A probe requested while the same probe is already running is merged into the running one. Results are kept in a
+ * shared cache, so the same probe requested by several things (e.g. a ping and a service device for the same host)
+ * within the cache time is only executed once.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = PresenceProbeEngine.class)
+public class PresenceProbeEngine {
+    static final int MAX_BLOCKING_PROBES = 64;
+    static final int ICMP_BATCH_DELAY_MS = 50;
+    static final int MAX_ICMP_BATCH_SIZE = 256;
+    static final int FPING_INTERVAL_MS = 1;
+    private static final int MAX_CACHED_RESULTS = 1024;
+    private static final String THREAD_NAME = "network-presence";
+
+    private enum ProbeType {
+        TCP,
+        ICMP,
+        ARP
+    }
+
+    private record ProbeKey(ProbeType type, String hostAddress, int port, String interfaceName, int timeout) {
+    }
+
+    private record CachedResult(PingResult result, long timestamp) {
+    }
+
+    private record IcmpRequest(IpPingMethodEnum method, String hostAddress,
+            CompletableFuture<Optional<PingResult>> future) {
+    }
+
+    private static class TcpProbe {
+        final InetSocketAddress address;
+        final CompletableFuture<Optional<PingResult>> future;
+        final long startTime = System.nanoTime();
+        final long deadline;
+
+        TcpProbe(InetSocketAddress address, int timeoutInMS, CompletableFuture<Optional<PingResult>> future) {
+            this.address = address;
+            this.future = future;
+            this.deadline = startTime + TimeUnit.MILLISECONDS.toNanos(timeoutInMS);
+        }
+
+        double getExecutionTimeInMS() {
+            return (System.nanoTime() - startTime) / 1000000.0;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(PresenceProbeEngine.class);
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("thingHandler");
+    private final ThreadPoolExecutor probeExecutor;
+
+    private final Map<ProbeKey, CompletableFuture<Optional<PingResult>>> runningProbes = new ConcurrentHashMap<>();
+    private final Map<ProbeKey, CachedResult> results = new ConcurrentHashMap<>();
+
+    private final Queue<TcpProbe> pendingTcpProbes = new ConcurrentLinkedQueue<>();
+    private @Nullable Selector selector;
+
+    // pending ICMP requests by timeout
+    private final Map<Integer, List<IcmpRequest>> pendingIcmpRequests = new HashMap<>();
+    // ICMP requests waiting for the flush or the fping process
+    private final Set<IcmpRequest> icmpRequests = ConcurrentHashMap.newKeySet();
+    private volatile @Nullable Boolean fpingAvailable;
+
+    NetworkUtils networkUtils = new NetworkUtils();
+
+    public PresenceProbeEngine() {
+        probeExecutor = new ThreadPoolExecutor(MAX_BLOCKING_PROBES, MAX_BLOCKING_PROBES, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new NamedThreadFactory(THREAD_NAME, true));
+        probeExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @Deactivate
+    public void dispose() {
+        synchronized (this) {
+            Selector selector = this.selector;
+            if (selector != null) {
+                try {
+                    selector.close();
+                } catch (IOException e) {
+                    logger.debug("Failed to close selector", e);
+                }
+                this.selector = null;
+            }
+        }
+        synchronized (pendingIcmpRequests) {
+            pendingIcmpRequests.clear();
+        }
+        IllegalStateException disposed = new IllegalStateException("The presence probe engine has been disposed");
+        icmpRequests.forEach(request -> request.future.completeExceptionally(disposed));
+        probeExecutor.shutdownNow();
+        runningProbes.values().forEach(future -> future.complete(Optional.empty()));
+        runningProbes.clear();
+        results.clear();
+    }
+
+    /**
+     * Try to establish a tcp connection to the given port. The result is not successful if a timeout occurred or
+     * the connection was denied.
+     *
+     * @param address The address
+     * @param port The tcp port. Must be not 0.
+     * @param timeoutInMS Timeout in ms
+     * @param maxAgeInMS A result of the same probe not older than this is returned without probing again
+     * @return A future with the ping result information. Optional is empty if the probe could not be executed.
+     */
+    public CompletableFuture<Optional<PingResult>> tcpPing(InetAddress address, int port, int timeoutInMS,
+            long maxAgeInMS) {
+        ProbeKey key = new ProbeKey(ProbeType.TCP, address.getHostAddress(), port, "", timeoutInMS);
+        return probe(key, maxAgeInMS, future -> {
+            pendingTcpProbes.add(new TcpProbe(new InetSocketAddress(address, port), timeoutInMS, future));
+            getSelector().wakeup();
+        });
+    }
+
+    /**
+     * Perform an ICMP ping with the given method.
+     *
+     * @param method The ping method, nothing is done if this is null
+     * @param address The address
+     * @param timeoutInMS Timeout in ms
+     * @param maxAgeInMS A result of the same probe not older than this is returned without probing again
+     * @return A future with the ping result information. Optional is empty if the ping was not executed.
+     */
+    public CompletableFuture<Optional<PingResult>> icmpPing(@Nullable IpPingMethodEnum method, InetAddress address,
+            int timeoutInMS, long maxAgeInMS) {
+        if (method == null) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        String hostAddress = address.getHostAddress();
+        ProbeKey key = new ProbeKey(ProbeType.ICMP, hostAddress, 0, method.name(), timeoutInMS);
+        return probe(key, maxAgeInMS, future -> {
+            if (method == IpPingMethodEnum.JAVA_PING) {
+                execute(future, () -> networkUtils.javaPing(timeoutInMS, address));
+            } else if (method != IpPingMethodEnum.WINDOWS_PING && isFpingAvailable()) {
+                addIcmpRequest(new IcmpRequest(method, hostAddress, future), timeoutInMS);
+            } else {
+                execute(future, () -> networkUtils.nativePing(method, hostAddress, timeoutInMS));
+            }
+        });
+    }
+
+    /**
+     * Perform an ARP ping on the given interface.
+     *
+     * @param arpingTool The arping tool
+     * @param arpUtilPath The path of the arping tool
+     * @param interfaceName The interface name
+     * @param address The IPv4 address
+     * @param timeoutInMS Timeout in ms
+     * @param wakeUpIOS Set to true to send a wake up packet to iOS devices before the ARP ping
+     * @param maxAgeInMS A result of the same probe not older than this is returned without probing again
+     * @return A future with the ping result information. Optional is empty if the ping was not executed.
+     */
+    public CompletableFuture<Optional<PingResult>> arpPing(ArpPingUtilEnum arpingTool, String arpUtilPath,
+            String interfaceName, InetAddress address, int timeoutInMS, boolean wakeUpIOS, long maxAgeInMS) {
+        String hostAddress = address.getHostAddress();
+        ProbeKey key = new ProbeKey(ProbeType.ARP, hostAddress, 0, interfaceName, timeoutInMS);
+        return probe(key, maxAgeInMS, future -> execute(future, () -> {
+            if (wakeUpIOS) {
+                networkUtils.wakeUpIOS(address);
+                Thread.sleep(50);
+            }
+            return networkUtils.nativeARPPing(arpingTool, arpUtilPath, interfaceName, hostAddress, timeoutInMS);
+        }));
+    }
+
+    /**
+     * Return a cached result, merge the request into a running probe or start a new probe
+     */
+    private CompletableFuture<Optional<PingResult>> probe(ProbeKey key, long maxAgeInMS,
+            Consumer<CompletableFuture<Optional<PingResult>>> starter) {
+        CachedResult cached = results.get(key);
+        if (cached != null && System.nanoTime() - cached.timestamp < TimeUnit.MILLISECONDS.toNanos(maxAgeInMS)) {
+            return CompletableFuture.completedFuture(Optional.of(cached.result));
+        }
+
+        CompletableFuture<Optional<PingResult>> future = new CompletableFuture<>();
+        CompletableFuture<Optional<PingResult>> running = runningProbes.putIfAbsent(key, future);
+        if (running != null) {
+            logger.trace("Merging probe {} into running probe", key);
+            return running.copy();
+        }
+        future.whenComplete((result, e) -> {
+            if (result != null && result.isPresent()) {
+                storeResult(key, result.get());
+            }
+            runningProbes.remove(key, future);
+        });
+        try {
+            starter.accept(future);
+        } catch (RuntimeException e) {
+            logger.debug("Failed to start probe {}", key, e);
+            future.complete(Optional.empty());
+        }
+        return future.copy();
+    }
+
+    private void storeResult(ProbeKey key, PingResult result) {
+        long now = System.nanoTime();
+        if (results.size() >= MAX_CACHED_RESULTS) {
+            // results older than a minute are not used by any thing anymore
+            long maxAge = TimeUnit.MINUTES.toNanos(1);
+            results.values().removeIf(r -> now - r.timestamp > maxAge);
+        }
+        results.put(key, new CachedResult(result, now));
+    }
+
+    private interface BlockingProbe {
+        Optional<PingResult> run() throws IOException, InterruptedException;
+    }
+
+    /**
+     * Run a blocking probe on the probe thread pool
+     */
+    private void execute(CompletableFuture<Optional<PingResult>> future, BlockingProbe probe) {
+        try {
+            probeExecutor.execute(() -> {
+                try {
+                    future.complete(probe.run());
+                } catch (IOException e) {
+                    logger.trace("Failed to execute probe", e);
+                    future.complete(Optional.empty());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    future.complete(Optional.empty());
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.complete(Optional.empty());
+        }
+    }
+
+    private boolean isFpingAvailable() {
+        Boolean available = fpingAvailable;
+        if (available == null) {
+            available = networkUtils.isFpingAvailable();
+            logger.debug("fping is {}, ICMP pings are {}", available ? "available" : "not available",
+                    available ? "batched" : "executed per host");
+            fpingAvailable = available;
+        }
+        return available;
+    }
+
+    private void addIcmpRequest(IcmpRequest request, int timeoutInMS) {
+        icmpRequests.add(request);
+        request.future.whenComplete((result, e) -> icmpRequests.remove(request));
+        synchronized (pendingIcmpRequests) {
+            List<IcmpRequest> batch = pendingIcmpRequests.computeIfAbsent(timeoutInMS, t -> new ArrayList<>());
+            if (batch.isEmpty()) {
+                scheduler.schedule(() -> flushIcmpRequests(timeoutInMS), ICMP_BATCH_DELAY_MS, TimeUnit.MILLISECONDS);
+            }
+            batch.add(request);
+        }
+    }
+
+    private void flushIcmpRequests(int timeoutInMS) {
+        List<IcmpRequest> batch;
+        synchronized (pendingIcmpRequests) {
+            batch = pendingIcmpRequests.remove(timeoutInMS);
+        }
+        if (batch == null) {
+            return;
+        }
+        int batchSize = getIcmpBatchSize(timeoutInMS);
+        for (int i = 0; i < batch.size(); i += batchSize) {
+            List<IcmpRequest> part = batch.subList(i, Math.min(batch.size(), i + batchSize));
+            int fpingTimeout = getFpingTimeout(timeoutInMS, part.size());
+            try {
+                probeExecutor.execute(() -> runIcmpBatch(part, timeoutInMS, fpingTimeout));
+            } catch (RejectedExecutionException e) {
+                part.forEach(request -> request.future.complete(Optional.empty()));
+            }
+        }
+    }
+
+    /**
+     * Returns the number of hosts pinged by one fping process. fping sends the pings one after another, so the
+     * time to send them all must leave enough of the timeout to wait for the replies.
+     *
+     * @param timeoutInMS The timeout of the requests
+     * @return The maximum number of hosts of a batch
+     */
+    static int getIcmpBatchSize(int timeoutInMS) {
+        int budget = (timeoutInMS - ICMP_BATCH_DELAY_MS) / 2;
+        return Math.max(1, Math.min(MAX_ICMP_BATCH_SIZE, budget / FPING_INTERVAL_MS));
+    }
+
+    /**
+     * Returns the timeout of fping for a batch, so the reply to the last ping of the batch is awaited no longer
+     * than the timeout of the requests, which already waited for the batch to be flushed.
+     *
+     * @param timeoutInMS The timeout of the requests
+     * @param batchSize The number of hosts of the batch
+     * @return The timeout of each ping of the batch in ms
+     */
+    static int getFpingTimeout(int timeoutInMS, int batchSize) {
+        return Math.max(1, timeoutInMS - ICMP_BATCH_DELAY_MS - batchSize * FPING_INTERVAL_MS);
+    }
+
+    private void runIcmpBatch(List<IcmpRequest> batch, int timeoutInMS, int fpingTimeout) {
+        Map<String, PingResult> batchResults;
+        try {
+            batchResults = networkUtils.nativeBatchPing(batch.stream().map(IcmpRequest::hostAddress).toList(),
+                    fpingTimeout, FPING_INTERVAL_MS);
+            logger.trace("Pinged {} hosts with fping, {} results", batch.size(), batchResults.size());
+        } catch (IOException e) {
+            // fping is installed but cannot ping, e.g. without permission to open a raw socket
+            logger.debug("Failed to execute fping, pinging each host: {}", e.getMessage());
+            fpingAvailable = false;
+            for (IcmpRequest request : batch) {
+                execute(request.future,
+                        () -> networkUtils.nativePing(request.method, request.hostAddress, timeoutInMS));
+            }
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batchResults = Map.of();
+        }
+        for (IcmpRequest request : batch) {
+            // a host missing in the output has not been pinged, there is no result to cache
+            PingResult result = batchResults.get(request.hostAddress);
+            request.future.complete(Optional.ofNullable(result));
+        }
+    }
+
+    private synchronized Selector getSelector() {
+        Selector selector = this.selector;
+        if (selector == null) {
+            try {
+                Selector newSelector = Selector.open();
+                new NamedThreadFactory(THREAD_NAME + "-tcp", true).newThread(() -> runSelector(newSelector)).start();
+                this.selector = selector = newSelector;
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to open selector", e);
+            }
+        }
+        return selector;
+    }
+
+    private void runSelector(Selector selector) {
+        while (selector.isOpen()) {
+            try {
+                TcpProbe probe;
+                while ((probe = pendingTcpProbes.poll()) != null) {
+                    connect(selector, probe);
+                }
+
+                long now = System.nanoTime();
+                long timeout = 0;
+                for (SelectionKey key : selector.keys()) {
+                    TcpProbe tcpProbe = (TcpProbe) key.attachment();
+                    if (!key.isValid() || tcpProbe == null) {
+                        continue;
+                    }
+                    long remaining = tcpProbe.deadline - now;
+                    if (remaining <= 0) {
+                        finish(key, tcpProbe, Optional.of(new PingResult(false, tcpProbe.getExecutionTimeInMS())));
+                    } else {
+                        long remainingMS = Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining));
+                        timeout = timeout == 0 ? remainingMS : Math.min(timeout, remainingMS);
+                    }
+                }
+
+                selector.select(timeout);
+
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    TcpProbe tcpProbe = (TcpProbe) key.attachment();
+                    if (!key.isValid() || tcpProbe == null) {
+                        continue;
+                    }
+                    try {
+                        if (((SocketChannel) key.channel()).finishConnect()) {
+                            finish(key, tcpProbe, Optional.of(new PingResult(true, tcpProbe.getExecutionTimeInMS())));
+                        }
+                    } catch (ConnectException | NoRouteToHostException e) {
+                        finish(key, tcpProbe, Optional.of(new PingResult(false, tcpProbe.getExecutionTimeInMS())));
+                    } catch (IOException e) {
+                        logger.debug("Could not create a socket connection to {}: {}", tcpProbe.address,
+                                e.getMessage());
+                        finish(key, tcpProbe, Optional.empty());
+                    }
+                }
+            } catch (ClosedSelectorException e) {
+                break;
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Unexpected error in TCP probe selector", e);
+            }
+        }
+        TcpProbe probe;
+        while ((probe = pendingTcpProbes.poll()) != null) {
+            probe.future.complete(Optional.empty());
+        }
+    }
+
+    private void connect(Selector selector, TcpProbe probe) {
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            if (channel.connect(probe.address)) {
+                channel.close();
+                complete(probe.future, Optional.of(new PingResult(true, probe.getExecutionTimeInMS())));
+            } else {
+                channel.register(selector, SelectionKey.OP_CONNECT, probe);
+            }
+        } catch (ConnectException | NoRouteToHostException e) {
+            close(channel);
+            complete(probe.future, Optional.of(new PingResult(false, probe.getExecutionTimeInMS())));
+        } catch (IOException e) {
+            logger.debug("Could not create a socket connection to {}: {}", probe.address, e.getMessage());
+            close(channel);
+            complete(probe.future, Optional.empty());
+        }
+    }
+
+    private void finish(SelectionKey key, TcpProbe probe, Optional<PingResult> result) {
+        key.cancel();
+        close(key.channel());
+        complete(probe.future, result);
+    }
+
+    private void close(@Nullable Channel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Complete a TCP probe, the dependent actions are not executed on the selector thread
+     */
+    private void complete(CompletableFuture<Optional<PingResult>> future, Optional<PingResult> result) {
+        try {
+            probeExecutor.execute(() -> future.complete(result));
+        } catch (RejectedExecutionException e) {
+            future.complete(result);
+        }
+    }
+}
@@ -22,7 +22,7 @@ import java.io.IOException;
 import java.net.UnknownHostException;
 import java.util.Collections;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -41,6 +41,7 @@ import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
 import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.PresenceProbeEngine;
 
 /**
  * Tests cases for {@see PresenceDetectionValue}
@@ -55,9 +56,9 @@ public class PresenceDetectionTest {
     private PresenceDetection subject;
 
     private @Mock Consumer<PresenceDetectionValue> callback;
-    private @Mock ExecutorService executorService;
     private @Mock PresenceDetectionListener listener;
     private @Mock NetworkUtils networkUtils;
+    private @Mock PresenceProbeEngine probeEngine;
 
     @BeforeEach
     public void setUp() throws UnknownHostException {
@@ -66,7 +67,7 @@ public class PresenceDetectionTest {
         doReturn(ArpPingUtilEnum.IPUTILS_ARPING).when(networkUtils).determineNativeARPpingMethod(anyString());
         doReturn(IpPingMethodEnum.WINDOWS_PING).when(networkUtils).determinePingMethod();
 
-        subject = spy(new PresenceDetection(listener, (int) CACHETIME));
+        subject = spy(new PresenceDetection(listener, probeEngine, (int) CACHETIME));
         subject.networkUtils = networkUtils;
         subject.cache = spy(new ExpiringCacheAsync<>(CACHETIME, () -> {
             subject.performPresenceDetection(false);
@@ -89,35 +90,45 @@ public class PresenceDetectionTest {
         subject.waitForPresenceDetection();
     }
 
-    // Depending on the amount of test methods an according amount of threads is spawned.
-    // We will check if they spawn and return in time.
+    // Depending on the amount of test methods an according amount of checks is started.
+    // We will check if they are started and finished in time.
     @Test
-    public void threadCountTest() {
-        assertNull(subject.executorService);
+    public void detectionChecksTest() {
+        assertNull(subject.detectionRun);
 
-        doNothing().when(subject).performARPping(any());
-        doNothing().when(subject).performJavaPing();
-        doNothing().when(subject).performSystemPing();
-        doNothing().when(subject).performServicePing(anyInt());
+        CompletableFuture<?> arpPing = new CompletableFuture<>();
+        CompletableFuture<?> systemPing = new CompletableFuture<>();
+        CompletableFuture<?> servicePing = new CompletableFuture<>();
+        doReturn(arpPing).when(subject).performARPping(any());
+        doReturn(CompletableFuture.completedFuture(null)).when(subject).performJavaPing();
+        doReturn(systemPing).when(subject).performSystemPing();
+        doReturn(servicePing).when(subject).performServicePing(anyInt());
 
         subject.performPresenceDetection(false);
 
-        // Thread count: ARP + ICMP + 1*TCP
+        // Check count: ARP + ICMP + 1*TCP
         assertThat(subject.detectionChecks, is(3));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.detectionRun);
+
+        arpPing.complete(null);
+        systemPing.complete(null);
+        assertNotNull(subject.detectionRun);
+        servicePing.complete(null);
 
-        subject.waitForPresenceDetection();
         assertThat(subject.detectionChecks, is(0));
-        assertNull(subject.executorService);
+        assertNull(subject.detectionRun);
+        verify(listener, times(1)).finalDetectionResult(any());
     }
 
     @Test
     public void partialAndFinalCallbackTests() throws InterruptedException, IOException {
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING),
-                anyString(), anyInt());
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils)
-                .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
+        doReturn(CompletableFuture.completedFuture(Optional.of(new PingResult(true, 10)))).when(probeEngine)
+                .icmpPing(eq(IpPingMethodEnum.WINDOWS_PING), any(), anyInt(), anyLong());
+        doReturn(CompletableFuture.completedFuture(Optional.of(new PingResult(true, 10)))).when(probeEngine)
+                .arpPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt(), eq(true),
+                        anyLong());
+        doReturn(CompletableFuture.completedFuture(Optional.of(new PingResult(true, 10)))).when(probeEngine)
+                .tcpPing(any(), anyInt(), anyInt(), anyLong());
 
         assertTrue(subject.performPresenceDetection(false));
         subject.waitForPresenceDetection();
@@ -135,30 +146,49 @@ public class PresenceDetectionTest {
     }
 
     @Test
-    public void cacheTest() throws InterruptedException, IOException {
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING),
-                anyString(), anyInt());
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils)
-                .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
+    public void lateResultIsIgnoredTest() {
+        CompletableFuture<Optional<PingResult>> icmpPing = new CompletableFuture<>();
+        doReturn(icmpPing).when(probeEngine).icmpPing(eq(IpPingMethodEnum.WINDOWS_PING), any(), anyInt(), anyLong());
+        doReturn(CompletableFuture.completedFuture(Optional.of(new PingResult(false, 10)))).when(probeEngine)
+                .arpPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt(), anyBoolean(),
+                        anyLong());
+        doReturn(CompletableFuture.completedFuture(Optional.of(new PingResult(false, 10)))).when(probeEngine)
+                .tcpPing(any(), anyInt(), anyInt(), anyLong());
+
+        // The ICMP ping does not finish within the timeout of 300ms
+        assertTrue(subject.performPresenceDetection(true));
+        assertNull(subject.detectionRun);
+        verify(listener, times(1)).finalDetectionResult(any());
+
+        // A result after the final result is not passed to the listener
+        icmpPing.complete(Optional.of(new PingResult(true, 10)));
+        verify(listener, never()).partialDetectionResult(any());
+        verify(listener, times(1)).finalDetectionResult(any());
+    }
 
-        doReturn(executorService).when(subject).getThreadsFor(anyInt());
+    @Test
+    public void cacheTest() throws InterruptedException, IOException {
+        CompletableFuture<Optional<PingResult>> icmpPing = new CompletableFuture<>();
+        CompletableFuture<Optional<PingResult>> arpPing = new CompletableFuture<>();
+        CompletableFuture<Optional<PingResult>> tcpPing = new CompletableFuture<>();
+        doReturn(icmpPing).when(probeEngine).icmpPing(eq(IpPingMethodEnum.WINDOWS_PING), any(), anyInt(), anyLong());
+        doReturn(arpPing).when(probeEngine).arpPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(),
+                any(), anyInt(), anyBoolean(), anyLong());
+        doReturn(tcpPing).when(probeEngine).tcpPing(any(), anyInt(), anyInt(), anyLong());
 
         // We expect no valid value
         assertTrue(subject.cache.isExpired());
         // Get value will issue a PresenceDetection internally.
         subject.getValue(callback);
         verify(subject).performPresenceDetection(eq(false));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.detectionRun);
         // There should be no straight callback yet
         verify(callback, times(0)).accept(any());
 
-        // Perform the different presence detection threads now
-        ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(executorService, times(3)).execute(capture.capture());
-        for (Runnable r : capture.getAllValues()) {
-            r.run();
-        }
+        // Finish the different presence detection checks now
+        icmpPing.complete(Optional.of(new PingResult(true, 10)));
+        arpPing.complete(Optional.of(new PingResult(true, 10)));
+        tcpPing.complete(Optional.of(new PingResult(true, 10)));
         // "Wait" for the presence detection to finish
         subject.waitForPresenceDetection();
 
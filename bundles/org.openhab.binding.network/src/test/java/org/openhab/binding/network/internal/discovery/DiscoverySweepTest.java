@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.PresenceProbeEngine;
+
+/**
+ * Tests cases for {@see DiscoverySweep}
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class DiscoverySweepTest {
+    private static final int TIMEOUT = 1000;
+
+    private @Mock PresenceProbeEngine probeEngine;
+    private @Mock NetworkUtils networkUtils;
+
+    private final List<String> services = new ArrayList<>();
+    private final List<String> hosts = new ArrayList<>();
+
+    private DiscoverySweep createSweep(List<String> addresses) {
+        return new DiscoverySweep(probeEngine, networkUtils, addresses, Set.of(80), TIMEOUT,
+                IpPingMethodEnum.JAVA_PING, ArpPingUtilEnum.IPUTILS_ARPING, "arping",
+                (ip, port) -> services.add(ip + ":" + port), hosts::add);
+    }
+
+    private static CompletableFuture<Optional<PingResult>> result(boolean success, double time) {
+        return CompletableFuture.completedFuture(Optional.of(new PingResult(success, time)));
+    }
+
+    @Test
+    public void phases() throws Exception {
+        when(probeEngine.tcpPing(any(), anyInt(), anyInt(), anyLong())).thenAnswer(invocation -> {
+            InetAddress address = invocation.getArgument(0);
+            return result(address.getHostAddress().equals("192.168.1.1"), 5);
+        });
+        when(probeEngine.icmpPing(any(), any(), anyInt(), anyLong())).thenAnswer(invocation -> {
+            InetAddress address = invocation.getArgument(1);
+            return result(address.getHostAddress().equals("192.168.1.2"), 5);
+        });
+        when(networkUtils.getArpCacheAddresses()).thenReturn(Optional.of(Set.of("192.168.1.3", "192.168.1.1")));
+
+        createSweep(List.of("192.168.1.1", "192.168.1.2", "192.168.1.3", "192.168.1.4")).start().get(1,
+                TimeUnit.SECONDS);
+
+        assertThat(services, is(List.of("192.168.1.1:80")));
+        assertThat(hosts, containsInAnyOrder("192.168.1.2", "192.168.1.3"));
+        // hosts accepting a TCP connection are not pinged
+        verify(probeEngine, never()).icmpPing(any(), eq(InetAddress.getByName("192.168.1.1")), anyInt(), anyLong());
+        verify(probeEngine, never()).arpPing(any(), any(), any(), any(), anyInt(), anyBoolean(), anyLong());
+    }
+
+    @Test
+    public void arpPingWithoutArpCache() throws Exception {
+        when(probeEngine.tcpPing(any(), anyInt(), anyInt(), anyLong())).thenReturn(result(false, TIMEOUT));
+        when(probeEngine.icmpPing(any(), any(), anyInt(), anyLong())).thenReturn(result(false, TIMEOUT));
+        when(probeEngine.arpPing(any(), any(), any(), any(), anyInt(), anyBoolean(), anyLong()))
+                .thenAnswer(invocation -> result(invocation.getArgument(2).equals("eth1"), 5));
+        when(networkUtils.getArpCacheAddresses()).thenReturn(Optional.empty());
+        when(networkUtils.getInterfaceNames()).thenReturn(Set.of("eth0", "eth1"));
+
+        createSweep(List.of("192.168.1.1")).start().get(1, TimeUnit.SECONDS);
+
+        assertThat(services.isEmpty(), is(true));
+        assertThat(hosts, is(List.of("192.168.1.1")));
+        verify(probeEngine, times(2)).arpPing(any(), any(), any(), any(), anyInt(), eq(true), anyLong());
+    }
+
+    @Test
+    public void concurrencyIsReducedOnFailingProbes() throws Exception {
+        when(probeEngine.tcpPing(any(), anyInt(), anyInt(), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        when(probeEngine.icmpPing(any(), any(), anyInt(), anyLong())).thenReturn(result(false, TIMEOUT));
+        when(networkUtils.getArpCacheAddresses()).thenReturn(Optional.of(Set.of()));
+
+        DiscoverySweep sweep = createSweep(IntStream.range(1, 255).mapToObj(i -> "192.168.1." + i).toList());
+        sweep.start().get(1, TimeUnit.SECONDS);
+
+        assertThat(sweep.getConcurrency(), is(DiscoverySweep.MIN_CONCURRENCY));
+    }
+
+    @Test
+    public void concurrencyGrowsOnFastResponses() throws Exception {
+        when(probeEngine.tcpPing(any(), anyInt(), anyInt(), anyLong())).thenReturn(result(false, 2));
+        when(probeEngine.icmpPing(any(), any(), anyInt(), anyLong())).thenReturn(result(false, TIMEOUT));
+        when(networkUtils.getArpCacheAddresses()).thenReturn(Optional.of(Set.of()));
+
+        DiscoverySweep sweep = createSweep(IntStream.range(1, 255).mapToObj(i -> "192.168.1." + i).toList());
+        sweep.start().get(1, TimeUnit.SECONDS);
+
+        assertThat(sweep.getConcurrency(), is(greaterThan(DiscoverySweep.INITIAL_CONCURRENCY)));
+    }
+
+    @Test
+    public void cancelledSweepReportsNothing() throws Exception {
+        CompletableFuture<Optional<PingResult>> pending = new CompletableFuture<>();
+        when(probeEngine.tcpPing(any(), anyInt(), anyInt(), anyLong())).thenReturn(pending);
+
+        DiscoverySweep sweep = createSweep(List.of("192.168.1.1"));
+        CompletableFuture<Void> future = sweep.start();
+        sweep.cancel();
+        pending.complete(Optional.of(new PingResult(true, 5)));
+
+        assertThat(future.isDone(), is(true));
+        assertThat(services.isEmpty(), is(true));
+        verify(probeEngine, never()).icmpPing(any(), any(), anyInt(), anyLong());
+    }
+}
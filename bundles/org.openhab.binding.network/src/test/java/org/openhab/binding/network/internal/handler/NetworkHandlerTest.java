@@ -31,6 +31,7 @@ import org.openhab.binding.network.internal.NetworkBindingConfiguration;
 import org.openhab.binding.network.internal.NetworkBindingConstants;
 import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
+import org.openhab.binding.network.internal.utils.PresenceProbeEngine;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.QuantityType;
@@ -55,6 +56,7 @@ public class NetworkHandlerTest extends JavaTest {
 
     private @Mock ThingHandlerCallback callback;
     private @Mock Thing thing;
+    private @Mock PresenceProbeEngine probeEngine;
 
     @BeforeEach
     public void setUp() {
@@ -64,7 +66,7 @@ public class NetworkHandlerTest extends JavaTest {
     @Test
     public void checkAllConfigurations() {
         NetworkBindingConfiguration config = new NetworkBindingConfiguration();
-        NetworkHandler handler = spy(new NetworkHandler(thing, true, config));
+        NetworkHandler handler = spy(new NetworkHandler(thing, true, config, probeEngine));
         handler.setCallback(callback);
         // Provide all possible configuration
         when(thing.getConfiguration()).thenAnswer(a -> {
@@ -76,7 +78,7 @@ public class NetworkHandlerTest extends JavaTest {
             conf.put(NetworkBindingConstants.PARAMETER_TIMEOUT, 1234);
             return conf;
         });
-        PresenceDetection presenceDetection = spy(new PresenceDetection(handler, 2000));
+        PresenceDetection presenceDetection = spy(new PresenceDetection(handler, probeEngine, 2000));
         // Mock start/stop automatic refresh
         doNothing().when(presenceDetection).startAutomaticRefresh(any());
         doNothing().when(presenceDetection).stopAutomaticRefresh();
@@ -92,7 +94,7 @@ public class NetworkHandlerTest extends JavaTest {
     @Test
     public void tcpDeviceInitTests() {
         NetworkBindingConfiguration config = new NetworkBindingConfiguration();
-        NetworkHandler handler = spy(new NetworkHandler(thing, true, config));
+        NetworkHandler handler = spy(new NetworkHandler(thing, true, config, probeEngine));
         assertThat(handler.isTCPServiceDevice(), is(true));
         handler.setCallback(callback);
         // Port is missing, should make the device OFFLINE
@@ -101,7 +103,7 @@ public class NetworkHandlerTest extends JavaTest {
             conf.put(NetworkBindingConstants.PARAMETER_HOSTNAME, "127.0.0.1");
             return conf;
         });
-        handler.initialize(new PresenceDetection(handler, 2000));
+        handler.initialize(new PresenceDetection(handler, probeEngine, 2000));
         // Check that we are offline
         ArgumentCaptor<ThingStatusInfo> statusInfoCaptor = ArgumentCaptor.forClass(ThingStatusInfo.class);
         verify(callback).statusUpdated(eq(thing), statusInfoCaptor.capture());
@@ -112,7 +114,7 @@ public class NetworkHandlerTest extends JavaTest {
     @Test
     public void pingDeviceInitTests() {
         NetworkBindingConfiguration config = new NetworkBindingConfiguration();
-        NetworkHandler handler = spy(new NetworkHandler(thing, false, config));
+        NetworkHandler handler = spy(new NetworkHandler(thing, false, config, probeEngine));
         handler.setCallback(callback);
         // Provide minimal configuration
         when(thing.getConfiguration()).thenAnswer(a -> {
@@ -120,7 +122,7 @@ public class NetworkHandlerTest extends JavaTest {
             conf.put(NetworkBindingConstants.PARAMETER_HOSTNAME, "127.0.0.1");
             return conf;
         });
-        PresenceDetection presenceDetection = spy(new PresenceDetection(handler, 2000));
+        PresenceDetection presenceDetection = spy(new PresenceDetection(handler, probeEngine, 2000));
         // Mock start/stop automatic refresh
         doNothing().when(presenceDetection).startAutomaticRefresh(any());
         doNothing().when(presenceDetection).stopAutomaticRefresh();
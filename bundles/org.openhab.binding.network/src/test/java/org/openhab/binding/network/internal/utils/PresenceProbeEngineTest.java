@@ -0,0 +1,264 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+
+/**
+ * Tests the batching, fallback, merging and TCP deadlines of the {@link PresenceProbeEngine} and the parsing of the
+ * fping output.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class PresenceProbeEngineTest {
+    private static final int TIMEOUT = 300;
+
+    private @Mock @NonNullByDefault({}) NetworkUtils networkUtils;
+    private @NonNullByDefault({}) PresenceProbeEngine engine;
+
+    @BeforeEach
+    public void setUp() {
+        engine = new PresenceProbeEngine();
+        engine.networkUtils = networkUtils;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        engine.dispose();
+    }
+
+    @Test
+    public void parseFpingOutputTest() throws Exception {
+        String output = """
+                192.168.1.1 is alive (0.41 ms)
+                192.168.1.2 is unreachable
+                ICMP Host Unreachable from 192.168.1.10 for ICMP Echo sent to 192.168.1.2
+                192.168.1.3 is alive (RTT 12.5 ms)
+                fe80::1 is alive (1.02 ms)
+                """;
+
+        Map<String, PingResult> results = new NetworkUtils()
+                .parseFpingOutput(new BufferedReader(new StringReader(output)), System.currentTimeMillis());
+
+        assertThat(results.keySet(), containsInAnyOrder("192.168.1.1", "192.168.1.2", "192.168.1.3", "fe80::1"));
+        assertTrue(results.get("192.168.1.1").isSuccess());
+        assertEquals(Optional.of(0.41), results.get("192.168.1.1").getResponseTimeInMS());
+        assertFalse(results.get("192.168.1.2").isSuccess());
+        assertEquals(Optional.empty(), results.get("192.168.1.2").getResponseTimeInMS());
+        assertEquals(Optional.of(12.5), results.get("192.168.1.3").getResponseTimeInMS());
+        assertTrue(results.get("fe80::1").isSuccess());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void icmpPingsAreBatchedTest() throws Exception {
+        when(networkUtils.isFpingAvailable()).thenReturn(true);
+        when(networkUtils.nativeBatchPing(any(), anyInt(), anyInt()))
+                .thenReturn(Map.of("192.168.1.1", new PingResult(true, 10)));
+
+        CompletableFuture<Optional<PingResult>> ping1 = engine.icmpPing(IpPingMethodEnum.IPUTILS_LINUX_PING,
+                InetAddress.getByName("192.168.1.1"), TIMEOUT, 0);
+        CompletableFuture<Optional<PingResult>> ping2 = engine.icmpPing(IpPingMethodEnum.IPUTILS_LINUX_PING,
+                InetAddress.getByName("192.168.1.2"), TIMEOUT, 0);
+
+        assertTrue(ping1.get(5, TimeUnit.SECONDS).get().isSuccess());
+        // a host missing in the fping output has not been pinged
+        assertEquals(Optional.empty(), ping2.get(5, TimeUnit.SECONDS));
+
+        ArgumentCaptor<Collection<String>> hosts = ArgumentCaptor.forClass(Collection.class);
+        verify(networkUtils, times(1)).nativeBatchPing(hosts.capture(), anyInt(),
+                eq(PresenceProbeEngine.FPING_INTERVAL_MS));
+        assertThat(hosts.getValue(), containsInAnyOrder("192.168.1.1", "192.168.1.2"));
+        verify(networkUtils, never()).nativePing(any(), anyString(), anyInt());
+    }
+
+    @Test
+    public void failedFpingFallsBackToSinglePingsTest() throws Exception {
+        when(networkUtils.isFpingAvailable()).thenReturn(true);
+        when(networkUtils.nativeBatchPing(any(), anyInt(), anyInt()))
+                .thenThrow(new IOException("fping failed with exit code 4"));
+        when(networkUtils.nativePing(IpPingMethodEnum.IPUTILS_LINUX_PING, "192.168.1.1", TIMEOUT))
+                .thenReturn(Optional.of(new PingResult(true, 10)));
+        when(networkUtils.nativePing(IpPingMethodEnum.IPUTILS_LINUX_PING, "192.168.1.2", TIMEOUT))
+                .thenReturn(Optional.of(new PingResult(false, 10)));
+
+        CompletableFuture<Optional<PingResult>> ping1 = engine.icmpPing(IpPingMethodEnum.IPUTILS_LINUX_PING,
+                InetAddress.getByName("192.168.1.1"), TIMEOUT, 0);
+        CompletableFuture<Optional<PingResult>> ping2 = engine.icmpPing(IpPingMethodEnum.IPUTILS_LINUX_PING,
+                InetAddress.getByName("192.168.1.2"), TIMEOUT, 0);
+
+        // the hosts are not reported offline because fping could not ping them
+        assertTrue(ping1.get(5, TimeUnit.SECONDS).get().isSuccess());
+        assertFalse(ping2.get(5, TimeUnit.SECONDS).get().isSuccess());
+        verify(networkUtils, times(1)).nativeBatchPing(any(), anyInt(), anyInt());
+
+        // later pings do not try fping again
+        assertTrue(engine.icmpPing(IpPingMethodEnum.IPUTILS_LINUX_PING, InetAddress.getByName("192.168.1.1"), TIMEOUT,
+                0).get(5, TimeUnit.SECONDS).get().isSuccess());
+        verify(networkUtils, times(1)).nativeBatchPing(any(), anyInt(), anyInt());
+        verify(networkUtils, times(2)).nativePing(IpPingMethodEnum.IPUTILS_LINUX_PING, "192.168.1.1", TIMEOUT);
+    }
+
+    @Test
+    public void icmpBatchSizeFitsTimeoutTest() {
+        for (int timeout : new int[] { 100, 300, 1000, 5000 }) {
+            int batchSize = PresenceProbeEngine.getIcmpBatchSize(timeout);
+            assertThat(batchSize, is(greaterThan(0)));
+            assertThat(batchSize, is(lessThanOrEqualTo(PresenceProbeEngine.MAX_ICMP_BATCH_SIZE)));
+            int fpingTimeout = PresenceProbeEngine.getFpingTimeout(timeout, batchSize);
+            // the last ping of a batch is sent after the flush delay and the intervals of all other pings
+            assertThat(PresenceProbeEngine.ICMP_BATCH_DELAY_MS + batchSize * PresenceProbeEngine.FPING_INTERVAL_MS
+                    + fpingTimeout, is(lessThanOrEqualTo(timeout)));
+            // and at least half of the remaining time is left to wait for the replies
+            assertThat(fpingTimeout, is(greaterThanOrEqualTo((timeout - PresenceProbeEngine.ICMP_BATCH_DELAY_MS) / 2)));
+        }
+        assertEquals(PresenceProbeEngine.MAX_ICMP_BATCH_SIZE, PresenceProbeEngine.getIcmpBatchSize(5000));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void largeIcmpBatchIsSplitTest() throws Exception {
+        when(networkUtils.isFpingAvailable()).thenReturn(true);
+        when(networkUtils.nativeBatchPing(any(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            Map<String, PingResult> results = new HashMap<>();
+            Collection<String> batch = invocation.getArgument(0);
+            batch.forEach(host -> results.put(host, new PingResult(true, 1)));
+            return results;
+        });
+
+        List<CompletableFuture<Optional<PingResult>>> pings = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            pings.add(engine.icmpPing(IpPingMethodEnum.IPUTILS_LINUX_PING,
+                    InetAddress.getByName("10.0." + (i / 250) + "." + (i % 250 + 1)), TIMEOUT, 0));
+        }
+        for (CompletableFuture<Optional<PingResult>> ping : pings) {
+            assertTrue(ping.get(5, TimeUnit.SECONDS).get().isSuccess());
+        }
+
+        ArgumentCaptor<Collection<String>> hosts = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<Integer> timeouts = ArgumentCaptor.forClass(Integer.class);
+        verify(networkUtils, atLeast(2)).nativeBatchPing(hosts.capture(), timeouts.capture(), anyInt());
+        assertEquals(300, hosts.getAllValues().stream().mapToInt(Collection::size).sum());
+        for (int i = 0; i < hosts.getAllValues().size(); i++) {
+            int size = hosts.getAllValues().get(i).size();
+            assertThat(size, is(lessThanOrEqualTo(PresenceProbeEngine.getIcmpBatchSize(TIMEOUT))));
+            assertThat(PresenceProbeEngine.ICMP_BATCH_DELAY_MS + size * PresenceProbeEngine.FPING_INTERVAL_MS
+                    + timeouts.getAllValues().get(i), is(lessThanOrEqualTo(TIMEOUT)));
+        }
+    }
+
+    @Test
+    public void disposeFailsPendingBatchesTest() throws Exception {
+        when(networkUtils.isFpingAvailable()).thenReturn(true);
+
+        CompletableFuture<Optional<PingResult>> ping = engine.icmpPing(IpPingMethodEnum.IPUTILS_LINUX_PING,
+                InetAddress.getByName("192.168.1.1"), TIMEOUT, 0);
+        engine.dispose();
+
+        assertThrows(ExecutionException.class, () -> ping.get(5, TimeUnit.SECONDS));
+        Thread.sleep(PresenceProbeEngine.ICMP_BATCH_DELAY_MS * 2);
+        verify(networkUtils, never()).nativeBatchPing(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void runningProbeIsMergedTest() throws Exception {
+        InetAddress address = InetAddress.getByName("192.168.1.1");
+        CountDownLatch release = new CountDownLatch(1);
+        when(networkUtils.javaPing(TIMEOUT, address)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(new PingResult(true, 10));
+        });
+
+        CompletableFuture<Optional<PingResult>> ping1 = engine.icmpPing(IpPingMethodEnum.JAVA_PING, address, TIMEOUT,
+                0);
+        CompletableFuture<Optional<PingResult>> ping2 = engine.icmpPing(IpPingMethodEnum.JAVA_PING, address, TIMEOUT,
+                0);
+        release.countDown();
+
+        assertTrue(ping1.get(5, TimeUnit.SECONDS).get().isSuccess());
+        assertTrue(ping2.get(5, TimeUnit.SECONDS).get().isSuccess());
+        verify(networkUtils, times(1)).javaPing(TIMEOUT, address);
+
+        // a finished probe is answered from the cache within the given age
+        assertTrue(engine.icmpPing(IpPingMethodEnum.JAVA_PING, address, TIMEOUT, 60000).get(5, TimeUnit.SECONDS)
+                .get().isSuccess());
+        verify(networkUtils, times(1)).javaPing(TIMEOUT, address);
+    }
+
+    @Test
+    public void tcpPingTest() throws Exception {
+        InetAddress localhost = InetAddress.getLoopbackAddress();
+        int closedPort;
+        try (ServerSocket serverSocket = new ServerSocket()) {
+            serverSocket.bind(new InetSocketAddress(localhost, 0));
+            assertTrue(engine.tcpPing(localhost, serverSocket.getLocalPort(), TIMEOUT, 0).get(5, TimeUnit.SECONDS)
+                    .get().isSuccess());
+            closedPort = serverSocket.getLocalPort();
+        }
+
+        // a refused connection is a failed probe, not a missing result
+        assertFalse(engine.tcpPing(localhost, closedPort, TIMEOUT, 0).get(5, TimeUnit.SECONDS).get().isSuccess());
+    }
+
+    @Test
+    public void tcpPingEndsAtDeadlineTest() throws Exception {
+        // a non-routable address, the connection attempt is pending until the deadline of the probe or fails
+        // early if there is no route at all
+        InetAddress address = InetAddress.getByName("10.255.255.1");
+        CompletableFuture<Optional<PingResult>> longProbe = engine.tcpPing(address, 80, TIMEOUT * 10, 0);
+        CompletableFuture<Optional<PingResult>> shortProbe = engine.tcpPing(address, 81, TIMEOUT, 0);
+
+        Optional<PingResult> result = shortProbe.get(TIMEOUT + 2000, TimeUnit.MILLISECONDS);
+        assertFalse(result.map(PingResult::isSuccess).orElse(false));
+        result.ifPresent(r -> assertThat(r.getExecutionTimeInMS(), is(lessThan(TIMEOUT + 1000.0))));
+
+        result = longProbe.get(TIMEOUT * 10 + 2000, TimeUnit.MILLISECONDS);
+        assertFalse(result.map(PingResult::isSuccess).orElse(false));
+    }
+}
@@ -21,11 +21,13 @@ import java.util.Set;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
 import org.openhab.binding.shelly.internal.api1.Shelly1CoapServer;
 import org.openhab.binding.shelly.internal.config.ShellyBindingConfiguration;
 import org.openhab.binding.shelly.internal.handler.ShellyBaseHandler;
 import org.openhab.binding.shelly.internal.handler.ShellyLightHandler;
 import org.openhab.binding.shelly.internal.handler.ShellyManagerInterface;
+import org.openhab.binding.shelly.internal.handler.ShellyPollingScheduler;
 import org.openhab.binding.shelly.internal.handler.ShellyProtectedHandler;
 import org.openhab.binding.shelly.internal.handler.ShellyRelayHandler;
 import org.openhab.binding.shelly.internal.handler.ShellyThingInterface;
@@ -33,6 +35,7 @@ import org.openhab.binding.shelly.internal.handler.ShellyThingTable;
 import org.openhab.binding.shelly.internal.provider.ShellyTranslationProvider;
 import org.openhab.binding.shelly.internal.util.ShellyUtils;
 import org.openhab.core.io.net.http.HttpClientFactory;
+import org.openhab.core.io.net.http.WebSocketFactory;
 import org.openhab.core.net.HttpServiceUtil;
 import org.openhab.core.net.NetworkAddressService;
 import org.openhab.core.thing.Thing;
@@ -43,6 +46,7 @@ import org.openhab.core.thing.binding.ThingHandlerFactory;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,9 +65,11 @@ public class ShellyHandlerFactory extends BaseThingHandlerFactory {
 
     private final Logger logger = LoggerFactory.getLogger(ShellyHandlerFactory.class);
     private final HttpClient httpClient;
+    private final WebSocketClient webSocketClient;
     private final ShellyTranslationProvider messages;
     private final Shelly1CoapServer coapServer;
     private final ShellyThingTable thingTable;
+    private final ShellyPollingScheduler pollingScheduler;
     private ShellyBindingConfiguration bindingConfig = new ShellyBindingConfiguration();
 
     /**
@@ -76,11 +82,13 @@ public class ShellyHandlerFactory extends BaseThingHandlerFactory {
     @Activate
     public ShellyHandlerFactory(@Reference NetworkAddressService networkAddressService,
             @Reference ShellyTranslationProvider translationProvider, @Reference ShellyThingTable thingTable,
-            @Reference HttpClientFactory httpClientFactory, ComponentContext componentContext,
+            @Reference ShellyPollingScheduler pollingScheduler, @Reference HttpClientFactory httpClientFactory,
+            @Reference WebSocketFactory webSocketFactory, ComponentContext componentContext,
             Map<String, Object> configProperties) {
         super.activate(componentContext);
         this.messages = translationProvider;
         this.thingTable = thingTable;
+        this.pollingScheduler = pollingScheduler;
 
         bindingConfig.updateFromProperties(configProperties);
         String localIP = bindingConfig.localIP;
@@ -92,6 +100,16 @@ public class ShellyHandlerFactory extends BaseThingHandlerFactory {
         }
 
         this.httpClient = httpClientFactory.getCommonHttpClient();
+
+        // One WebSocket client (selector and thread pool) is shared by all Gen2 devices
+        this.webSocketClient = webSocketFactory.createWebSocketClient(ShellyBindingConstants.BINDING_ID);
+        webSocketClient.setConnectTimeout(5000);
+        webSocketClient.setStopTimeout(0);
+        try {
+            webSocketClient.start();
+        } catch (Exception e) {
+            logger.warn("Unable to start WebSocket client", e);
+        }
         int httpPort = HttpServiceUtil.getHttpServicePort(componentContext.getBundleContext());
         if (httpPort == -1) {
             httpPort = 8080;
@@ -103,6 +121,17 @@ public class ShellyHandlerFactory extends BaseThingHandlerFactory {
         this.coapServer = new Shelly1CoapServer();
     }
 
+    @Override
+    @Deactivate
+    protected void deactivate(ComponentContext componentContext) {
+        try {
+            webSocketClient.stop();
+        } catch (Exception e) {
+            logger.debug("Unable to stop WebSocket client", e);
+        }
+        super.deactivate(componentContext);
+    }
+
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
         return SUPPORTED_THING_TYPES_UIDS.contains(thingTypeUID);
@@ -117,7 +146,8 @@ public class ShellyHandlerFactory extends BaseThingHandlerFactory {
         if (thingType.equals(THING_TYPE_SHELLYPROTECTED_STR)) {
             logger.debug("{}: Create new thing of type {} using ShellyProtectedHandler", thing.getLabel(),
                     thingTypeUID.toString());
-            handler = new ShellyProtectedHandler(thing, messages, bindingConfig, thingTable, coapServer, httpClient);
+            handler = new ShellyProtectedHandler(thing, messages, bindingConfig, thingTable, coapServer, httpClient,
+                    webSocketClient, pollingScheduler);
         } else if (thingType.equals(THING_TYPE_SHELLYBULB_STR) || thingType.equals(THING_TYPE_SHELLYDUO_STR)
                 || thingType.equals(THING_TYPE_SHELLYRGBW2_COLOR_STR)
                 || thingType.equals(THING_TYPE_SHELLYRGBW2_WHITE_STR)
@@ -125,11 +155,13 @@ public class ShellyHandlerFactory extends BaseThingHandlerFactory {
                 || thingType.equals(THING_TYPE_SHELLYVINTAGE_STR)) {
             logger.debug("{}: Create new thing of type {} using ShellyLightHandler", thing.getLabel(),
                     thingTypeUID.toString());
-            handler = new ShellyLightHandler(thing, messages, bindingConfig, thingTable, coapServer, httpClient);
+            handler = new ShellyLightHandler(thing, messages, bindingConfig, thingTable, coapServer, httpClient,
+                    webSocketClient, pollingScheduler);
         } else if (SUPPORTED_THING_TYPES_UIDS.contains(thingTypeUID)) {
             logger.debug("{}: Create new thing of type {} using ShellyRelayHandler", thing.getLabel(),
                     thingTypeUID.toString());
-            handler = new ShellyRelayHandler(thing, messages, bindingConfig, thingTable, coapServer, httpClient);
+            handler = new ShellyRelayHandler(thing, messages, bindingConfig, thingTable, coapServer, httpClient,
+                    webSocketClient, pollingScheduler);
         }
 
         if (handler != null) {
@@ -0,0 +1,292 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.api1;
+
+import static org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.COIOT_TAG_GENERIC;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.CoIotDescrBlk;
+import org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.CoIotDescrSen;
+import org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.CoIotSensor;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * The {@link Shelly1CoIoTSensorTable} is the decoder table for CoIoT status updates, compiled from the device
+ * description.
+ *
+ * Sensor ids are mapped to dense slot indexes. Each slot holds the fixed sensor definition, its block and the last
+ * received value, so status payloads are decoded with a streaming reader directly into the slots without map lookups
+ * per value. Values of blocks (relay, light channel, sensors etc.) which did not change since the last update can be
+ * skipped before any channel state gets created. All values of a block are processed together, because some values
+ * are combined into one channel (e.g. brightness and output or the color components).
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class Shelly1CoIoTSensorTable {
+    // CoIoT version 1 uses 3 digit, version 2 4 digit sensor ids
+    static final int MAX_SENSOR_ID = 9999;
+
+    private final Slot[] slots;
+    private final int[] slotById; // slot index + 1 by sensor id, 0 if the sensor is not defined
+    private final int blockCount;
+
+    // result of the last decoded payload
+    private final int[] decoded;
+    private final List<CoIotSensor> decodedSensors;
+    private final List<CoIotSensor> decodedSensorsView;
+    private final boolean[] blockChanged;
+    private int decodedCount = 0;
+    private int unknownCount = 0;
+    private int generation = 0;
+
+    private static class Slot {
+        final CoIotDescrSen sen;
+        final CoIotDescrBlk blk;
+        final int block;
+        final CoIotSensor sensor = new CoIotSensor();
+        // array values are decoded alternately into these lists, the other one holds the last value
+        final List<Object> arrayA = new ArrayList<>();
+        final List<Object> arrayB = new ArrayList<>();
+        int generation = -1;
+
+        // last value, used to detect changes
+        boolean valid = false;
+        double lastValue;
+        @Nullable
+        String lastValueStr;
+        @Nullable
+        List<Object> lastValueArray;
+
+        Slot(String id, CoIotDescrSen sen, CoIotDescrBlk blk, int block) {
+            this.sen = sen;
+            this.blk = blk;
+            this.block = block;
+            sensor.id = id;
+        }
+    }
+
+    /**
+     * Compile the table from the device description.
+     *
+     * @param sensorMap sensor definitions by id
+     * @param blkMap block definitions by id
+     * @param coiot CoIoT version specific implementation, used to fix the sensor definitions
+     */
+    public Shelly1CoIoTSensorTable(Map<String, CoIotDescrSen> sensorMap, Map<String, CoIotDescrBlk> blkMap,
+            Shelly1CoIoTInterface coiot) {
+        List<Slot> slotList = new ArrayList<>();
+        Map<String, Integer> blocks = new HashMap<>();
+        int maxId = -1;
+        for (Map.Entry<String, CoIotDescrSen> entry : sensorMap.entrySet()) {
+            int id = parseId(entry.getKey());
+            if (id < 0) {
+                continue;
+            }
+            CoIotDescrSen sen = coiot.fixDescription(entry.getValue(), blkMap);
+            CoIotDescrBlk blk = blkMap.get(sen.links);
+            if (blk == null) {
+                // values of sensors without block can't be mapped to a channel
+                continue;
+            }
+            Integer block = blocks.computeIfAbsent(blk.id, b -> blocks.size());
+            slotList.add(new Slot(entry.getKey(), sen, blk, block));
+            maxId = Math.max(maxId, id);
+        }
+
+        slots = slotList.toArray(new Slot[0]);
+        slotById = new int[maxId + 1];
+        for (int i = 0; i < slots.length; i++) {
+            slotById[parseId(slots[i].sensor.id)] = i + 1;
+        }
+        blockCount = blocks.size();
+        decoded = new int[slots.length];
+        decodedSensors = new ArrayList<>(slots.length);
+        decodedSensorsView = Collections.unmodifiableList(decodedSensors);
+        blockChanged = new boolean[blockCount];
+    }
+
+    /**
+     * Decode a status payload into the slots.
+     *
+     * @param payload CoIoT status payload, e.g. {"G":[[0,1101,1],[0,1102,"stop"]]}
+     * @return number of decoded values
+     * @throws JsonSyntaxException if the payload has an invalid format
+     */
+    public int decode(String payload) throws JsonSyntaxException {
+        generation++;
+        decodedCount = 0;
+        decodedSensors.clear();
+        unknownCount = 0;
+        for (int i = 0; i < blockCount; i++) {
+            blockChanged[i] = false;
+        }
+
+        try (JsonReader in = new JsonReader(new StringReader(payload))) {
+            in.beginObject();
+            while (in.hasNext()) {
+                if (!COIOT_TAG_GENERIC.equals(in.nextName())) {
+                    in.skipValue();
+                    continue;
+                }
+                in.beginArray();
+                while (in.hasNext()) {
+                    in.beginArray();
+                    in.nextInt(); // always 0
+                    int id = in.nextInt();
+                    int index = id >= 0 && id < slotById.length ? slotById[id] - 1 : -1;
+                    if (index < 0) {
+                        unknownCount++;
+                        in.skipValue();
+                    } else {
+                        decodeValue(in, index);
+                    }
+                    while (in.hasNext()) {
+                        in.skipValue();
+                    }
+                    in.endArray();
+                }
+                in.endArray();
+            }
+            in.endObject();
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+        return decodedCount;
+    }
+
+    private void decodeValue(JsonReader in, int index) throws IOException {
+        Slot slot = slots[index];
+        CoIotSensor sensor = slot.sensor;
+        sensor.value = 0;
+        sensor.valueStr = null;
+        sensor.valueArray = null;
+        JsonToken token = in.peek();
+        if (token == JsonToken.STRING) {
+            sensor.valueStr = in.nextString();
+            sensor.value = -1;
+        } else if (token == JsonToken.NUMBER) {
+            sensor.value = in.nextDouble();
+            sensor.valueStr = "";
+        } else if (token == JsonToken.BEGIN_ARRAY) {
+            List<Object> array = slot.lastValueArray == slot.arrayA ? slot.arrayB : slot.arrayA;
+            array.clear();
+            sensor.valueArray = array;
+            in.beginArray();
+            while (in.hasNext()) {
+                if (in.peek() == JsonToken.STRING) {
+                    array.add(in.nextString());
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endArray();
+        } else {
+            in.skipValue();
+        }
+
+        if (slot.generation != generation) {
+            // a sensor reported twice within one payload is processed once with the last value
+            slot.generation = generation;
+            decoded[decodedCount++] = index;
+            decodedSensors.add(sensor);
+        }
+        if (!slot.valid || Double.compare(slot.lastValue, sensor.value) != 0
+                || !Objects.equals(slot.lastValueStr, sensor.valueStr)
+                || !Objects.equals(slot.lastValueArray, sensor.valueArray)) {
+            blockChanged[slot.block] = true;
+        }
+        slot.valid = true;
+        slot.lastValue = sensor.value;
+        slot.lastValueStr = sensor.valueStr;
+        slot.lastValueArray = sensor.valueArray;
+    }
+
+    /**
+     * Forget the last values, so all values of the next payload are reported as changed.
+     */
+    public void reset() {
+        for (Slot slot : slots) {
+            slot.valid = false;
+        }
+    }
+
+    /**
+     * @return number of values of the last payload for sensors not included in the table
+     */
+    public int getUnknownCount() {
+        return unknownCount;
+    }
+
+    /**
+     * @return the sensor values of the last payload, in the order of the payload. The list is reused and changes with
+     *         the next payload.
+     */
+    public List<CoIotSensor> getSensors() {
+        return decodedSensorsView;
+    }
+
+    /**
+     * @param i index of the value in the last payload (0..decoded count - 1)
+     * @return the sensor value
+     */
+    public CoIotSensor getSensor(int i) {
+        return slots[decoded[i]].sensor;
+    }
+
+    /**
+     * @param i index of the value in the last payload (0..decoded count - 1)
+     * @return the fixed sensor definition
+     */
+    public CoIotDescrSen getDescription(int i) {
+        return slots[decoded[i]].sen;
+    }
+
+    /**
+     * @param i index of the value in the last payload (0..decoded count - 1)
+     * @return the block of the sensor
+     */
+    public CoIotDescrBlk getBlock(int i) {
+        return slots[decoded[i]].blk;
+    }
+
+    /**
+     * @param i index of the value in the last payload (0..decoded count - 1)
+     * @return true if any value of the block of the sensor has changed with the last payload
+     */
+    public boolean isBlockChanged(int i) {
+        return blockChanged[slots[decoded[i]].block];
+    }
+
+    private static int parseId(@Nullable String id) {
+        try {
+            int i = Integer.parseInt(id);
+            return i >= 0 && i <= MAX_SENSOR_ID ? i : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
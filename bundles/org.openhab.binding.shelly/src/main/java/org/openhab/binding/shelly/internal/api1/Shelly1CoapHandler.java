@@ -42,9 +42,7 @@ import org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.CoIotDescrBlk
 import org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.CoIotDescrSen;
 import org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.CoIotDevDescrTypeAdapter;
 import org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.CoIotDevDescription;
-import org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.CoIotGenericSensorList;
 import org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.CoIotSensor;
-import org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.CoIotSensorTypeAdapter;
 import org.openhab.binding.shelly.internal.config.ShellyThingConfiguration;
 import org.openhab.binding.shelly.internal.handler.ShellyColorUtils;
 import org.openhab.binding.shelly.internal.handler.ShellyThingInterface;
@@ -88,6 +86,7 @@ public class Shelly1CoapHandler implements Shelly1CoapListener {
     private String lastPayload = "";
     private Map<String, CoIotDescrBlk> blkMap = new LinkedHashMap<>();
     private Map<String, CoIotDescrSen> sensorMap = new LinkedHashMap<>();
+    private volatile @Nullable Shelly1CoIoTSensorTable sensorTable;
     private ShellyDeviceProfile profile;
     private ShellyApiInterface api;
 
@@ -100,7 +99,6 @@ public class Shelly1CoapHandler implements Shelly1CoapListener {
         this.coiot = new Shelly1CoIoTVersion2(thingName, thingHandler, blkMap, sensorMap); // Default: V2
 
         gsonBuilder.registerTypeAdapter(CoIotDevDescription.class, new CoIotDevDescrTypeAdapter());
-        gsonBuilder.registerTypeAdapter(CoIotGenericSensorList.class, new CoIotSensorTypeAdapter());
         gson = gsonBuilder.create();
     }
 
@@ -247,6 +245,7 @@ public class Shelly1CoapHandler implements Shelly1CoapListener {
                             }
                             coiotVers = iVersion;
                             coiotBound = true;
+                            sensorTable = null;
                         }
                         break;
                     case COIOT_OPTION_STATUS_VALIDITY:
@@ -347,6 +346,7 @@ public class Shelly1CoapHandler implements Shelly1CoapListener {
                 }
             }
             coiot.completeMissingSensorDefinition(sensorMap);
+            sensorTable = null; // compiled with the next status update
 
             if (!valid) {
                 logger.debug(
@@ -427,48 +427,55 @@ public class Shelly1CoapHandler implements Shelly1CoapListener {
             handleDeviceDescription(devId, savedDescr);
         }
 
-        // Parse Json,
-        CoIotGenericSensorList list = fromJson(gson, fixJSON(payload), CoIotGenericSensorList.class);
-        if (list.generic == null) {
-            logger.debug("{}: Sensor list has invalid format! Payload: {}", devId, payload);
-            return;
+        Shelly1CoIoTSensorTable table = sensorTable;
+        if (table == null) {
+            table = new Shelly1CoIoTSensorTable(sensorMap, blkMap, coiot);
+            sensorTable = table;
         }
 
-        List<CoIotSensor> sensorUpdates = list.generic;
         Map<String, State> updates = new TreeMap<String, State>();
-        logger.debug("{}: {} CoAP sensor updates received", thingName, sensorUpdates.size());
         int failed = 0;
+        int received;
         ShellyColorUtils col = new ShellyColorUtils();
-        for (int i = 0; i < sensorUpdates.size(); i++) {
-            try {
-                CoIotSensor s = sensorUpdates.get(i);
-                CoIotDescrSen sen = sensorMap.get(s.id);
-                if (sen == null) {
-                    logger.debug("{}: Unable to sensor definition for id={}, payload={}", thingName, s.id, payload);
-                    continue;
-                }
-                // find matching sensor definition from device description, use the Link ID as index
-                CoIotDescrBlk element = null;
-                sen = coiot.fixDescription(sen, blkMap);
-                element = blkMap.get(sen.links);
-                if (element == null) {
-                    logger.debug("{}: Unable to find BLK for link {} from sen.id={}, payload={}", thingName, sen.links,
-                            sen.id, payload);
-                    continue;
-                }
-                logger.trace("{}:  Sensor value[{}]: id={}, Value={} ({}, Type={}, Range={}, Link={}: {})", thingName,
-                        i, s.id, getString(s.valueStr).isEmpty() ? s.value : s.valueStr, sen.desc, sen.type, sen.range,
-                        sen.links, element.desc);
+        synchronized (table) {
+            // Decode the values into the slots of the sensor table
+            received = table.decode(fixJSON(payload));
+            if (table.getUnknownCount() > 0) {
+                logger.debug("{}: Unable to find sensor definition for {} value(s), payload={}", thingName,
+                        table.getUnknownCount(), payload);
+            }
+
+            List<CoIotSensor> sensorUpdates = table.getSensors();
+            logger.debug("{}: {} CoAP sensor updates received", thingName, received);
+            int skipped = 0;
+            for (int i = 0; i < received; i++) {
+                try {
+                    if (!table.isBlockChanged(i)) {
+                        // all values of this block are unchanged, no need to create channel states
+                        skipped++;
+                        continue;
+                    }
+                    CoIotSensor s = table.getSensor(i);
+                    CoIotDescrSen sen = table.getDescription(i);
+                    if (logger.isTraceEnabled()) {
+                        logger.trace("{}:  Sensor value[{}]: id={}, Value={} ({}, Type={}, Range={}, Link={}: {})",
+                                thingName, i, s.id, getString(s.valueStr).isEmpty() ? s.value : s.valueStr, sen.desc,
+                                sen.type, sen.range, sen.links, table.getBlock(i).desc);
+                    }
 
-                if (!coiot.handleStatusUpdate(sensorUpdates, sen, serial, s, updates, col)) {
-                    logger.debug("{}: CoIoT data for id {}, type {}/{} not processed, value={}; payload={}", thingName,
-                            sen.id, sen.type, sen.desc, s.value, payload);
+                    if (!coiot.handleStatusUpdate(sensorUpdates, sen, serial, s, updates, col)) {
+                        logger.debug("{}: CoIoT data for id {}, type {}/{} not processed, value={}; payload={}",
+                                thingName, sen.id, sen.type, sen.desc, s.value, payload);
+                    }
+                } catch (NullPointerException | IllegalArgumentException e) {
+                    // even the processing of one value failed we continue with the next one (sometimes this is caused
+                    // by buggy formats provided by the device
+                    logger.debug("{}: Unable to process data from sensor[{}], devId={}, payload={}", thingName, i,
+                            devId, payload, e);
                 }
-            } catch (NullPointerException | IllegalArgumentException e) {
-                // even the processing of one value failed we continue with the next one (sometimes this is caused by
-                // buggy formats provided by the device
-                logger.debug("{}: Unable to process data from sensor[{}], devId={}, payload={}", thingName, i, devId,
-                        payload, e);
+            }
+            if (skipped > 0) {
+                logger.trace("{}: {} of {} values skipped, their blocks are unchanged", thingName, skipped, received);
             }
         }
 
@@ -517,18 +524,21 @@ public class Shelly1CoapHandler implements Shelly1CoapListener {
                 }
             }
 
-            // Old firmware release are lacking various status values, which are not updated using CoIoT.
-            // In this case we keep a refresh so it gets polled using REST. Beginning with Firmware 1.6 most
-            // of the values are available
-            thingHandler.triggerUpdateFromCoap();
         } else {
-            if (failed == sensorUpdates.size()) {
+            if (failed == received) {
                 logger.debug("{}: Device description problem detected, re-discover", thingName);
                 coiotBound = false;
                 discover();
             }
         }
 
+        if (received > 0) {
+            // Old firmware release are lacking various status values, which are not updated using CoIoT.
+            // In this case we keep a refresh so it gets polled using REST. Beginning with Firmware 1.6 most
+            // of the values are available
+            thingHandler.triggerUpdateFromCoap();
+        }
+
         // Remember serial, new packets with same serial will be ignored
         lastSerial = serial;
         lastPayload = payload;
@@ -631,6 +641,12 @@ public class Shelly1CoapHandler implements Shelly1CoapListener {
     private void resetSerial() {
         lastSerial = -1;
         lastPayload = "";
+        Shelly1CoIoTSensorTable table = sensorTable;
+        if (table != null) {
+            synchronized (table) {
+                table.reset();
+            }
+        }
     }
 
     public int getVersion() {
@@ -26,6 +26,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.http.HttpStatus;
 import org.eclipse.jetty.websocket.api.StatusCode;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
 import org.openhab.binding.shelly.internal.api.ShellyApiException;
 import org.openhab.binding.shelly.internal.api.ShellyApiInterface;
 import org.openhab.binding.shelly.internal.api.ShellyApiResult;
@@ -73,6 +74,10 @@ import org.openhab.core.thing.ThingStatusDetail;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
 /**
  * {@link Shelly2ApiRpc} implements Gen2 RPC interface
  *
@@ -82,6 +87,7 @@ import org.slf4j.LoggerFactory;
 public class Shelly2ApiRpc extends Shelly2ApiClient implements ShellyApiInterface, Shelly2RpctInterface {
     private final Logger logger = LoggerFactory.getLogger(Shelly2ApiRpc.class);
     private final @Nullable ShellyThingTable thingTable;
+    private final @Nullable WebSocketClient webSocketClient;
 
     private boolean initialized = false;
     private boolean discovery = false;
@@ -99,6 +105,7 @@ public class Shelly2ApiRpc extends Shelly2ApiClient implements ShellyApiInterfac
         this.thingName = thingName;
         this.thing = thing;
         this.thingTable = thingTable;
+        this.webSocketClient = null;
         try {
             getProfile().initFromThingType(thing.getThingType());
         } catch (ShellyApiException e) {
@@ -112,18 +119,23 @@ public class Shelly2ApiRpc extends Shelly2ApiClient implements ShellyApiInterfac
      * @param thingName Symbolic thing name
      * @param config Thing Configuration
      * @param httpClient HTTP Client to be passed to ShellyHttpClient
+     * @param webSocketClient WebSocket client of the discovery service
      */
-    public Shelly2ApiRpc(String thingName, ShellyThingConfiguration config, HttpClient httpClient) {
+    public Shelly2ApiRpc(String thingName, ShellyThingConfiguration config, HttpClient httpClient,
+            WebSocketClient webSocketClient) {
         super(thingName, config, httpClient);
         this.thingName = thingName;
         this.thingTable = null;
+        this.webSocketClient = webSocketClient;
         this.discovery = true;
     }
 
     @Override
     public void initialize() throws ShellyApiException {
         if (!initialized) {
-            rpcSocket = new Shelly2RpcSocket(thingName, thingTable, config.deviceIp);
+            ShellyThingInterface t = thing;
+            rpcSocket = new Shelly2RpcSocket(thingName, thingTable, config.deviceIp,
+                    t != null ? t.getWebSocketClient() : webSocketClient);
             rpcSocket.addMessageHandler(this);
             initialized = true;
         } else {
@@ -306,7 +318,9 @@ public class Shelly2ApiRpc extends Shelly2ApiClient implements ShellyApiInterfac
 
     @Override
     public void onNotifyStatus(Shelly2RpcNotifyStatus message) {
-        logger.debug("{}: NotifyStatus update received: {}", thingName, gson.toJson(message));
+        if (logger.isDebugEnabled()) {
+            logger.debug("{}: NotifyStatus update received: {}", thingName, gson.toJson(message));
+        }
         try {
             ShellyThingInterface t = thing;
             if (t == null) {
@@ -374,7 +388,9 @@ public class Shelly2ApiRpc extends Shelly2ApiClient implements ShellyApiInterfac
     @Override
     public void onNotifyEvent(Shelly2RpcNotifyEvent message) {
         try {
-            logger.debug("{}: NotifyEvent  received: {}", thingName, gson.toJson(message));
+            if (logger.isDebugEnabled()) {
+                logger.debug("{}: NotifyEvent  received: {}", thingName, gson.toJson(message));
+            }
             ShellyDeviceProfile profile = getProfile();
 
             getThing().incProtMessages();
@@ -882,8 +898,14 @@ public class Shelly2ApiRpc extends Shelly2ApiClient implements ShellyApiInterfac
                 throw e;
             }
         }
-        json = gson.toJson(gson.fromJson(json, Shelly2RpcBaseMessage.class).result);
-        return fromJson(gson, json, classOfT);
+        // the result is mapped from the parsed response, without serializing and parsing it again
+        JsonElement result;
+        try {
+            result = JsonParser.parseString(json).getAsJsonObject().get("result");
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new ShellyApiException("Unable to parse Rpc response: " + json, e);
+        }
+        return fromJson(gson, result, classOfT);
     }
 
     public <T> T apiRequest(Shelly2RpcRequest request, Class<T> classOfT) throws ShellyApiException {
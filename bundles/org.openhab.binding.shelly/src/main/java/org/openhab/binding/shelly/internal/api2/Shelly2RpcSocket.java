@@ -34,7 +34,6 @@ import org.eclipse.jetty.websocket.client.ClientUpgradeRequest;
 import org.eclipse.jetty.websocket.client.WebSocketClient;
 import org.openhab.binding.shelly.internal.api.ShellyApiException;
 import org.openhab.binding.shelly.internal.api1.Shelly1HttpApi;
-import org.openhab.binding.shelly.internal.api2.Shelly2ApiJsonDTO.Shelly2RpcBaseMessage;
 import org.openhab.binding.shelly.internal.api2.Shelly2ApiJsonDTO.Shelly2RpcNotifyEvent;
 import org.openhab.binding.shelly.internal.api2.Shelly2ApiJsonDTO.Shelly2RpcNotifyStatus;
 import org.openhab.binding.shelly.internal.handler.ShellyThingInterface;
@@ -43,6 +42,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 
 /**
  * {@link Shelly1HttpApi} wraps the Shelly REST API and provides various low level function to access the device api
@@ -64,7 +67,7 @@ public class Shelly2RpcSocket {
 
     private @Nullable Session session;
     private @Nullable Shelly2RpctInterface websocketHandler;
-    private WebSocketClient client = new WebSocketClient();
+    private @Nullable WebSocketClient client;
     private @Nullable ShellyThingTable thingTable;
 
     public Shelly2RpcSocket() {
@@ -76,11 +79,14 @@ public class Shelly2RpcSocket {
      * @param thingName Thing/Service name
      * @param thingTable
      * @param deviceIp IP address for the device
+     * @param client WebSocket client shared by all devices, null if no outbound connection is required
      */
-    public Shelly2RpcSocket(String thingName, @Nullable ShellyThingTable thingTable, String deviceIp) {
+    public Shelly2RpcSocket(String thingName, @Nullable ShellyThingTable thingTable, String deviceIp,
+            @Nullable WebSocketClient client) {
         this.thingName = thingName;
         this.deviceIp = deviceIp;
         this.thingTable = thingTable;
+        this.client = client;
     }
 
     /**
@@ -109,6 +115,10 @@ public class Shelly2RpcSocket {
      * @throws ShellyApiException
      */
     public void connect() throws ShellyApiException {
+        WebSocketClient client = this.client;
+        if (client == null) {
+            throw new ShellyApiException("Unable to initialize WebSocket (no client)");
+        }
         try {
             disconnect(); // for safety
 
@@ -120,11 +130,7 @@ public class Shelly2RpcSocket {
             request.setHeader("Cache-Control", "no-cache");
 
             logger.debug("{}: Connect WebSocket, URI={}", thingName, uri);
-            client = new WebSocketClient();
             connectLatch = new CountDownLatch(1);
-            client.start();
-            client.setConnectTimeout(5000);
-            client.setStopTimeout(0);
             client.connect(this, uri, request);
         } catch (Exception e) {
             throw new ShellyApiException("Unable to initialize WebSocket", e);
@@ -209,9 +215,6 @@ public class Shelly2RpcSocket {
                 s.close(StatusCode.NORMAL, "Socket closed");
                 session = null;
             }
-            if (client.isStarted()) {
-                client.stop();
-            }
         } catch (Exception e) {
             if (e.getCause() instanceof InterruptedException) {
                 logger.debug("{}: Unable to close socket - interrupted", thingName); // e.g. device was rebooted
@@ -222,7 +225,7 @@ public class Shelly2RpcSocket {
     }
 
     /**
-     * Inbound WebSocket message
+     * Inbound WebSocket message. The message is parsed once, the DTOs are created from the parsed JSON tree.
      *
      * @param session WebSpcket session
      * @param receivedMessage Textial API message
@@ -231,39 +234,43 @@ public class Shelly2RpcSocket {
     public void onText(Session session, String receivedMessage) {
         try {
             Shelly2RpctInterface handler = websocketHandler;
-            Shelly2RpcBaseMessage message = fromJson(gson, receivedMessage, Shelly2RpcBaseMessage.class);
+            JsonObject message = JsonParser.parseString(receivedMessage).getAsJsonObject();
             logger.trace("{}: Inbound Rpc message: {}", thingName, receivedMessage);
             if (handler != null) {
                 if (thingName.isEmpty()) {
-                    thingName = getString(message.src);
-                }
-                if (message.method == null) {
-                    message.method = SHELLYRPC_METHOD_NOTIFYFULLSTATUS;
+                    thingName = getMember(message, "src");
                 }
-                switch (getString(message.method)) {
+                String method = getMember(message, "method");
+                switch (method.isEmpty() ? SHELLYRPC_METHOD_NOTIFYFULLSTATUS : method) {
                     case SHELLYRPC_METHOD_NOTIFYSTATUS:
                     case SHELLYRPC_METHOD_NOTIFYFULLSTATUS:
-                        Shelly2RpcNotifyStatus status = fromJson(gson, receivedMessage, Shelly2RpcNotifyStatus.class);
+                        Shelly2RpcNotifyStatus status = fromJson(gson, message, Shelly2RpcNotifyStatus.class);
                         if (status.params == null) {
                             status.params = status.result;
                         }
                         handler.onNotifyStatus(status);
                         return;
                     case SHELLYRPC_METHOD_NOTIFYEVENT:
-                        handler.onNotifyEvent(fromJson(gson, receivedMessage, Shelly2RpcNotifyEvent.class));
+                        handler.onNotifyEvent(fromJson(gson, message, Shelly2RpcNotifyEvent.class));
                         return;
                     default:
                         handler.onMessage(receivedMessage);
                 }
             } else {
                 logger.debug("{}: No Rpc listener registered for device {}, skip message: {}", thingName,
-                        getString(message.src), receivedMessage);
+                        getMember(message, "src"), receivedMessage);
             }
-        } catch (ShellyApiException | IllegalArgumentException | NullPointerException e) {
+        } catch (ShellyApiException | JsonParseException | IllegalStateException | IllegalArgumentException
+                | NullPointerException e) {
             logger.debug("{}: Unable to process Rpc message: {}", thingName, receivedMessage, e);
         }
     }
 
+    private static String getMember(JsonObject message, String name) {
+        JsonElement member = message.get(name);
+        return member != null && member.isJsonPrimitive() ? member.getAsString() : "";
+    }
+
     public boolean isConnected() {
         return session != null && session.isOpen();
     }
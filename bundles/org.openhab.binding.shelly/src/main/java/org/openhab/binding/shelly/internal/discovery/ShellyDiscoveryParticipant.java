@@ -26,6 +26,7 @@ import javax.jmdns.ServiceInfo;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
 import org.openhab.binding.shelly.internal.api.ShellyApiException;
 import org.openhab.binding.shelly.internal.api.ShellyApiInterface;
 import org.openhab.binding.shelly.internal.api.ShellyApiResult;
@@ -41,6 +42,7 @@ import org.openhab.core.config.discovery.DiscoveryResultBuilder;
 import org.openhab.core.config.discovery.mdns.MDNSDiscoveryParticipant;
 import org.openhab.core.i18n.LocaleProvider;
 import org.openhab.core.io.net.http.HttpClientFactory;
+import org.openhab.core.io.net.http.WebSocketFactory;
 import org.openhab.core.thing.ThingTypeUID;
 import org.openhab.core.thing.ThingUID;
 import org.osgi.service.cm.Configuration;
@@ -48,6 +50,7 @@ import org.osgi.service.cm.ConfigurationAdmin;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
@@ -65,19 +68,40 @@ public class ShellyDiscoveryParticipant implements MDNSDiscoveryParticipant {
     private final ShellyBindingConfiguration bindingConfig = new ShellyBindingConfiguration();
     private final ShellyTranslationProvider messages;
     private final HttpClient httpClient;
+    private final WebSocketClient webSocketClient;
     private final ConfigurationAdmin configurationAdmin;
 
     @Activate
     public ShellyDiscoveryParticipant(@Reference ConfigurationAdmin configurationAdmin,
-            @Reference HttpClientFactory httpClientFactory, @Reference LocaleProvider localeProvider,
-            @Reference ShellyTranslationProvider translationProvider, ComponentContext componentContext) {
+            @Reference HttpClientFactory httpClientFactory, @Reference WebSocketFactory webSocketFactory,
+            @Reference LocaleProvider localeProvider, @Reference ShellyTranslationProvider translationProvider,
+            ComponentContext componentContext) {
         logger.debug("Activating ShellyDiscovery service");
         this.configurationAdmin = configurationAdmin;
         this.messages = translationProvider;
         this.httpClient = httpClientFactory.getCommonHttpClient();
+
+        // Gen2 devices are queried over the Rpc socket, one WebSocket client is shared by all discovered devices
+        this.webSocketClient = webSocketFactory.createWebSocketClient(BINDING_ID + "-discovery");
+        webSocketClient.setConnectTimeout(5000);
+        webSocketClient.setStopTimeout(0);
+        try {
+            webSocketClient.start();
+        } catch (Exception e) {
+            logger.warn("Unable to start WebSocket client", e);
+        }
         bindingConfig.updateFromProperties(componentContext.getProperties());
     }
 
+    @Deactivate
+    protected void deactivate() {
+        try {
+            webSocketClient.stop();
+        } catch (Exception e) {
+            logger.debug("Unable to stop WebSocket client", e);
+        }
+    }
+
     @Override
     public Set<ThingTypeUID> getSupportedThingTypeUIDs() {
         return SUPPORTED_THING_TYPES_UIDS;
@@ -143,7 +167,7 @@ public class ShellyDiscoveryParticipant implements MDNSDiscoveryParticipant {
 
             boolean gen2 = "2".equals(service.getPropertyString("gen"));
             try {
-                ShellyApiInterface api = gen2 ? new Shelly2ApiRpc(name, config, httpClient)
+                ShellyApiInterface api = gen2 ? new Shelly2ApiRpc(name, config, httpClient, webSocketClient)
                         : new Shelly1HttpApi(name, config, httpClient);
                 if (name.contains("plus1pm")) {
                     int i = 1;
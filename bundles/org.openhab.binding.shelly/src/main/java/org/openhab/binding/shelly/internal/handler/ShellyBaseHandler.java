@@ -30,6 +30,7 @@ import java.util.concurrent.TimeUnit;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
 import org.openhab.binding.shelly.internal.api.ShellyApiException;
 import org.openhab.binding.shelly.internal.api.ShellyApiInterface;
 import org.openhab.binding.shelly.internal.api.ShellyApiResult;
@@ -49,6 +50,7 @@ import org.openhab.binding.shelly.internal.api2.Shelly2ApiRpc;
 import org.openhab.binding.shelly.internal.config.ShellyBindingConfiguration;
 import org.openhab.binding.shelly.internal.config.ShellyThingConfiguration;
 import org.openhab.binding.shelly.internal.discovery.ShellyThingCreator;
+import org.openhab.binding.shelly.internal.handler.ShellyPollingScheduler.PolledThing;
 import org.openhab.binding.shelly.internal.provider.ShellyChannelDefinitions;
 import org.openhab.binding.shelly.internal.provider.ShellyTranslationProvider;
 import org.openhab.binding.shelly.internal.util.ShellyChannelCache;
@@ -82,7 +84,7 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public abstract class ShellyBaseHandler extends BaseThingHandler
-        implements ShellyThingInterface, ShellyDeviceListener, ShellyManagerInterface {
+        implements ShellyThingInterface, ShellyDeviceListener, ShellyManagerInterface, PolledThing {
 
     protected final Logger logger = LoggerFactory.getLogger(ShellyBaseHandler.class);
     protected final ShellyChannelDefinitions channelDefinitions;
@@ -92,6 +94,8 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
 
     protected final ShellyApiInterface api;
     private final HttpClient httpClient;
+    private final WebSocketClient webSocketClient;
+    private final ShellyPollingScheduler pollingScheduler;
 
     private ShellyBindingConfiguration bindingConfig;
     protected ShellyThingConfiguration config = new ShellyThingConfiguration();
@@ -118,7 +122,9 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
     private int skipCount = UPDATE_SKIP_COUNT;
     private int skipUpdate = 0;
     private boolean refreshSettings = false;
-    private @Nullable ScheduledFuture<?> statusJob;
+    private boolean polling = false;
+    private double pollingOffset = 0;
+    private volatile long lastProtocolMessage = 0;
     private @Nullable ScheduledFuture<?> initJob;
 
     /**
@@ -133,7 +139,8 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
      */
     public ShellyBaseHandler(final Thing thing, final ShellyTranslationProvider translationProvider,
             final ShellyBindingConfiguration bindingConfig, ShellyThingTable thingTable,
-            final Shelly1CoapServer coapServer, final HttpClient httpClient) {
+            final Shelly1CoapServer coapServer, final HttpClient httpClient, final WebSocketClient webSocketClient,
+            final ShellyPollingScheduler pollingScheduler) {
         super(thing);
 
         this.thingName = getString(thing.getLabel());
@@ -143,6 +150,8 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
         this.bindingConfig = bindingConfig;
         this.config = getConfigAs(ShellyThingConfiguration.class);
         this.httpClient = httpClient;
+        this.webSocketClient = webSocketClient;
+        this.pollingScheduler = pollingScheduler;
 
         Map<String, String> properties = thing.getProperties();
         String gen = getString(properties.get(PROPERTY_DEV_GEN));
@@ -225,6 +234,11 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
         return httpClient;
     }
 
+    @Override
+    public WebSocketClient getWebSocketClient() {
+        return webSocketClient;
+    }
+
     /**
      * This routine is called every time the Thing configuration has been changed
      */
@@ -480,56 +494,79 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
     }
 
     /**
-     * Update device status and channels
+     * Status tick, called by the polling scheduler every UPDATE_STATUS_INTERVAL_SECONDS
+     *
+     * @return true if the status should be refreshed
+     */
+    @Override
+    public boolean isStatusRefreshDue() {
+        if (vibrationFilter > 0) {
+            vibrationFilter--;
+            logger.debug("{}: Vibration events are absorbed for {} more seconds", thingName,
+                    vibrationFilter * UPDATE_STATUS_INTERVAL_SECONDS);
+        }
+
+        skipUpdate++;
+        // the offset spreads the regular updates of all things across the update interval
+        int phase = (int) (pollingOffset * skipCount);
+        if (refreshSettings || (scheduledUpdates > 0) || ((skipUpdate + phase) % skipCount == 0)) {
+            return true;
+        }
+        enableCache();
+        return false;
+    }
+
+    /**
+     * Things receiving CoIoT or WebSocket events are polled with lower priority
+     */
+    @Override
+    public boolean isEventActive() {
+        return lastProtocolMessage > 0 && now() - lastProtocolMessage < Math.max(profile.updatePeriod, 1);
+    }
+
+    /**
+     * Update device status and channels, called by the polling scheduler when isStatusRefreshDue() returned true
      */
-    protected void refreshStatus() {
+    @Override
+    public void refreshStatus() {
         try {
             boolean updated = false;
 
-            if (vibrationFilter > 0) {
-                vibrationFilter--;
-                logger.debug("{}: Vibration events are absorbed for {} more seconds", thingName,
-                        vibrationFilter * UPDATE_STATUS_INTERVAL_SECONDS);
-            }
-
-            skipUpdate++;
             ThingStatus thingStatus = getThing().getStatus();
-            if (refreshSettings || (scheduledUpdates > 0) || (skipUpdate % skipCount == 0)) {
-                if (!profile.isInitialized() || ((thingStatus == ThingStatus.OFFLINE))
-                        || (thingStatus == ThingStatus.UNKNOWN)) {
-                    logger.debug("{}: Status update triggered thing initialization", thingName);
-                    initializeThing(); // may fire an exception if initialization failed
-                }
-                // Get profile, if refreshSettings == true reload settings from device
-                ShellySettingsStatus status = api.getStatus();
-                if (status.uptime != null && status.uptime == 0 && profile.alwaysOn) {
-                    status = api.getStatus();
-                }
-                boolean restarted = checkRestarted(status);
-                profile = getProfile(refreshSettings || restarted);
-                profile.status = status;
-                profile.updateFromStatus(status);
-                if (restarted) {
-                    logger.debug("{}: Device restart #{} detected", thingName, stats.restarts);
-                    stats.restarts++;
-                    postEvent(ALARM_TYPE_RESTARTED, true);
-                }
+            if (!profile.isInitialized() || ((thingStatus == ThingStatus.OFFLINE))
+                    || (thingStatus == ThingStatus.UNKNOWN)) {
+                logger.debug("{}: Status update triggered thing initialization", thingName);
+                initializeThing(); // may fire an exception if initialization failed
+            }
+            // Get profile, if refreshSettings == true reload settings from device
+            ShellySettingsStatus status = api.getStatus();
+            if (status.uptime != null && status.uptime == 0 && profile.alwaysOn) {
+                status = api.getStatus();
+            }
+            boolean restarted = checkRestarted(status);
+            profile = getProfile(refreshSettings || restarted);
+            profile.status = status;
+            profile.updateFromStatus(status);
+            if (restarted) {
+                logger.debug("{}: Device restart #{} detected", thingName, stats.restarts);
+                stats.restarts++;
+                postEvent(ALARM_TYPE_RESTARTED, true);
+            }
 
-                // If status update was successful the thing must be online
-                setThingOnline();
+            // If status update was successful the thing must be online
+            setThingOnline();
 
-                // map status to channels
-                updateChannel(CHANNEL_GROUP_DEV_STATUS, CHANNEL_DEVST_NAME, getStringType(profile.settings.name));
-                updated |= this.updateDeviceStatus(status);
-                updated |= ShellyComponents.updateDeviceStatus(this, status);
-                fillDeviceStatus(status, updated);
-                updated |= updateInputs(status);
-                updated |= updateMeters(this, status);
-                updated |= updateSensors(this, status);
+            // map status to channels
+            updateChannel(CHANNEL_GROUP_DEV_STATUS, CHANNEL_DEVST_NAME, getStringType(profile.settings.name));
+            updated |= this.updateDeviceStatus(status);
+            updated |= ShellyComponents.updateDeviceStatus(this, status);
+            fillDeviceStatus(status, updated);
+            updated |= updateInputs(status);
+            updated |= updateMeters(this, status);
+            updated |= updateSensors(this, status);
 
-                // All channels must be created after the first cycle
-                channelsCreated = true;
-            }
+            // All channels must be created after the first cycle
+            channelsCreated = true;
         } catch (ShellyApiException e) {
             // http call failed: go offline except for battery devices, which might be in
             // sleep mode. Once the next update is successful the device goes back online
@@ -569,14 +606,20 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
             if (scheduledUpdates > 0) {
                 --scheduledUpdates;
                 logger.trace("{}: {} more updates requested", thingName, scheduledUpdates);
-            } else if ((skipUpdate >= cacheCount) && !cache.isEnabled()) {
-                logger.debug("{}: Enabling channel cache ({} updates / {}s)", thingName, skipUpdate,
-                        cacheCount * UPDATE_STATUS_INTERVAL_SECONDS);
-                cache.enable();
+            } else {
+                enableCache();
             }
         }
     }
 
+    private void enableCache() {
+        if ((skipUpdate >= cacheCount) && !cache.isEnabled()) {
+            logger.debug("{}: Enabling channel cache ({} updates / {}s)", thingName, skipUpdate,
+                    cacheCount * UPDATE_STATUS_INTERVAL_SECONDS);
+            cache.enable();
+        }
+    }
+
     private void showThingConfig(ShellyDeviceProfile profile) {
         logger.debug("{}: Initializing device {}, type {}, Hardware: Rev: {}, batch {}; Firmware: {} / {}", thingName,
                 profile.hostname, profile.deviceType, profile.hwRev, profile.hwBatchId, profile.fwVersion,
@@ -746,6 +789,7 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
     @Override
     public void incProtMessages() {
         stats.protocolMessages++;
+        lastProtocolMessage = now();
     }
 
     @Override
@@ -1115,15 +1159,14 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
     }
 
     /**
-     * Start the background updates
+     * Start the background updates, which are driven by the binding wide polling scheduler
      */
     protected void startUpdateJob() {
-        ScheduledFuture<?> statusJob = this.statusJob;
-        if ((statusJob == null) || statusJob.isCancelled()) {
-            this.statusJob = scheduler.scheduleWithFixedDelay(this::refreshStatus, 2, UPDATE_STATUS_INTERVAL_SECONDS,
-                    TimeUnit.SECONDS);
-            logger.debug("{}: Update status job started, interval={}*{}={}sec.", thingName, skipCount,
-                    UPDATE_STATUS_INTERVAL_SECONDS, skipCount * UPDATE_STATUS_INTERVAL_SECONDS);
+        if (!polling) {
+            pollingOffset = pollingScheduler.register(this, 2000);
+            polling = true;
+            logger.debug("{}: Update status job started, interval={}*{}={}sec, offset={}", thingName, skipCount,
+                    UPDATE_STATUS_INTERVAL_SECONDS, skipCount * UPDATE_STATUS_INTERVAL_SECONDS, pollingOffset);
         }
     }
 
@@ -1479,10 +1522,9 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
             job.cancel(true);
             initJob = null;
         }
-        job = this.statusJob;
-        if (job != null) {
-            job.cancel(true);
-            statusJob = null;
+        if (polling) {
+            pollingScheduler.unregister(this);
+            polling = false;
             logger.debug("{}: Shelly statusJob stopped", thingName);
         }
         api.close();
@@ -0,0 +1,234 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.handler;
+
+import static org.openhab.binding.shelly.internal.ShellyBindingConstants.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Deactivate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/***
+ * The {@link ShellyPollingScheduler} drives the status updates of all Shelly things of the binding.
+ *
+ * Every thing gets a status tick each UPDATE_STATUS_INTERVAL_SECONDS. The ticks of the things are spread evenly
+ * across the interval, so the status requests do not burst after a restart. Things requesting a refresh are queued,
+ * things receiving CoIoT or WebSocket events are served after all other things, and the number of status requests
+ * running at the same time is limited.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ShellyPollingScheduler.class, configurationPolicy = ConfigurationPolicy.OPTIONAL)
+public class ShellyPollingScheduler {
+    static final int MAX_CONCURRENT_REFRESHES = 8;
+    private static final long DISPATCH_INTERVAL_MS = 100;
+    // fractional part of the golden ratio, gives an evenly spread sequence of offsets for any number of things
+    private static final double GOLDEN_RATIO_FRACTION = 0.6180339887498949;
+
+    /**
+     * A thing which is polled by the scheduler.
+     */
+    public interface PolledThing {
+        /**
+         * Called once per status interval.
+         *
+         * @return true if the status should be refreshed
+         */
+        boolean isStatusRefreshDue();
+
+        /**
+         * Refresh the status, called by a worker thread of the scheduler.
+         */
+        void refreshStatus();
+
+        /**
+         * @return true if the thing receives events (CoIoT, WebSocket) and polling is only a fallback
+         */
+        boolean isEventActive();
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ShellyPollingScheduler.class);
+    private final ScheduledExecutorService scheduler;
+    private final LongSupplier nanoClock;
+    private final long intervalNanos = TimeUnit.SECONDS.toNanos(UPDATE_STATUS_INTERVAL_SECONDS);
+
+    private final Map<PolledThing, PolledEntry> things = new LinkedHashMap<>();
+    private final Deque<PolledEntry> queue = new ArrayDeque<>();
+    private final Deque<PolledEntry> lowPriorityQueue = new ArrayDeque<>();
+    private @Nullable ScheduledFuture<?> dispatchJob;
+    private int running = 0;
+    private long registrations = 0;
+
+    public ShellyPollingScheduler() {
+        this(ThreadPoolManager.getScheduledPool("thingHandler"), System::nanoTime);
+    }
+
+    ShellyPollingScheduler(ScheduledExecutorService scheduler, LongSupplier nanoClock) {
+        this.scheduler = scheduler;
+        this.nanoClock = nanoClock;
+    }
+
+    @Deactivate
+    public synchronized void deactivate() {
+        stopDispatcher();
+        things.clear();
+        queue.clear();
+        lowPriorityQueue.clear();
+    }
+
+    /**
+     * Add a thing to the polling. The first tick follows after the given delay plus the offset of the thing.
+     *
+     * @param thing the thing
+     * @param initialDelayMs delay before the first tick
+     * @return the offset of the thing within the polling interval as fraction between 0 and 1, which can be used to
+     *         spread longer refresh periods as well
+     */
+    public synchronized double register(PolledThing thing, long initialDelayMs) {
+        PolledEntry entry = things.get(thing);
+        if (entry == null) {
+            double offset = (registrations++ * GOLDEN_RATIO_FRACTION) % 1.0;
+            entry = new PolledEntry(thing, offset);
+            entry.nextTick = nanoClock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(initialDelayMs)
+                    + (long) (offset * intervalNanos);
+            things.put(thing, entry);
+            logger.trace("Polling of {} things, new thing has offset {}", things.size(), offset);
+        }
+        if (dispatchJob == null) {
+            dispatchJob = scheduler.scheduleWithFixedDelay(() -> dispatch(true), DISPATCH_INTERVAL_MS,
+                    DISPATCH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+        return entry.offset;
+    }
+
+    /**
+     * Remove a thing from the polling. A refresh which is already running is not interrupted.
+     *
+     * @param thing the thing
+     */
+    public synchronized void unregister(PolledThing thing) {
+        PolledEntry entry = things.remove(thing);
+        if (entry != null) {
+            queue.remove(entry);
+            lowPriorityQueue.remove(entry);
+        }
+        if (things.isEmpty()) {
+            stopDispatcher();
+        }
+    }
+
+    synchronized int getQueuedCount() {
+        return queue.size() + lowPriorityQueue.size();
+    }
+
+    synchronized int getRunningCount() {
+        return running;
+    }
+
+    /**
+     * Process the ticks which are due and start queued refreshes as long as workers are available.
+     *
+     * @param tick true to process the ticks, false to only start queued refreshes
+     */
+    void dispatch(boolean tick) {
+        List<PolledEntry> start = new ArrayList<>();
+        synchronized (this) {
+            if (tick) {
+                long now = nanoClock.getAsLong();
+                for (PolledEntry entry : things.values()) {
+                    if (now - entry.nextTick < 0) {
+                        continue;
+                    }
+                    // skip missed ticks, e.g. after the system was suspended
+                    entry.nextTick = now - entry.nextTick > intervalNanos ? now + intervalNanos
+                            : entry.nextTick + intervalNanos;
+                    if (entry.pending) {
+                        // the refresh of the previous tick is still queued or running
+                        continue;
+                    }
+                    try {
+                        if (entry.thing.isStatusRefreshDue()) {
+                            entry.pending = true;
+                            (entry.thing.isEventActive() ? lowPriorityQueue : queue).add(entry);
+                        }
+                    } catch (RuntimeException e) {
+                        logger.debug("Unable to process status tick", e);
+                    }
+                }
+            }
+            while (running < MAX_CONCURRENT_REFRESHES) {
+                PolledEntry entry = queue.poll();
+                if (entry == null) {
+                    entry = lowPriorityQueue.poll();
+                }
+                if (entry == null) {
+                    break;
+                }
+                running++;
+                start.add(entry);
+            }
+        }
+        start.forEach(entry -> scheduler.execute(() -> refresh(entry)));
+    }
+
+    private void refresh(PolledEntry entry) {
+        try {
+            entry.thing.refreshStatus();
+        } catch (RuntimeException e) {
+            logger.debug("Unable to refresh status", e);
+        } finally {
+            synchronized (this) {
+                running--;
+                entry.pending = false;
+            }
+            dispatch(false);
+        }
+    }
+
+    private void stopDispatcher() {
+        ScheduledFuture<?> job = dispatchJob;
+        if (job != null) {
+            job.cancel(false);
+            dispatchJob = null;
+        }
+    }
+
+    private static class PolledEntry {
+        final PolledThing thing;
+        final double offset;
+        long nextTick;
+        boolean pending = false;
+
+        PolledEntry(PolledThing thing, double offset) {
+            this.thing = thing;
+            this.offset = offset;
+        }
+    }
+}
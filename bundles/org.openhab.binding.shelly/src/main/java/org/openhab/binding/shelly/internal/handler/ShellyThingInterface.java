@@ -18,6 +18,7 @@ import java.util.Map;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
 import org.openhab.binding.shelly.internal.api.ShellyApiException;
 import org.openhab.binding.shelly.internal.api.ShellyApiInterface;
 import org.openhab.binding.shelly.internal.api.ShellyDeviceProfile;
@@ -98,6 +99,8 @@ public interface ShellyThingInterface {
 
     HttpClient getHttpClient();
 
+    WebSocketClient getWebSocketClient();
+
     String getProperty(String key);
 
     void updateProperties(String key, String value);
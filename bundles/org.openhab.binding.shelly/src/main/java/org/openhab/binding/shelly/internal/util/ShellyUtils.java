@@ -45,6 +45,7 @@ import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonSyntaxException;
 
 /**
@@ -100,6 +101,34 @@ public class ShellyUtils {
         }
     }
 
+    /**
+     * Create an object from an already parsed JSON element, the JSON text is not parsed again.
+     * For a target type of String the JSON text of the element is returned.
+     */
+    public static <T> T fromJson(Gson gson, @Nullable JsonElement json, Class<T> classOfT) throws ShellyApiException {
+        String className = substringAfter(classOfT.getName(), "$");
+        if (json == null || json.isJsonNull()) {
+            throw new ShellyApiException(PRE + className + " from empty JSON");
+        }
+        if (classOfT == String.class) {
+            return classOfT.cast(json.toString());
+        }
+        try {
+            @Nullable
+            T obj = gson.fromJson(json, classOfT);
+            if (obj == null) {
+                throw new ShellyApiException(PRE + className + " from JSON: " + json);
+            }
+            return obj;
+        } catch (JsonSyntaxException e) {
+            throw new ShellyApiException(
+                    PRE + className + " from JSON (syntax/format error: " + e.getMessage() + "): " + json, e);
+        } catch (RuntimeException e) {
+            throw new ShellyApiException(
+                    PRE + className + " from JSON (" + getString(e.getMessage() + "), JSON=" + json), e);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private static <T> Class<T> wrap(Class<T> type) {
         if (type == int.class) {
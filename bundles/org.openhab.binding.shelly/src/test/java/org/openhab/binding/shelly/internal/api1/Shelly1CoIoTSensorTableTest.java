@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.api1;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.CoIotDescrBlk;
+import org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.CoIotDescrSen;
+import org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.CoIotSensor;
+
+import com.google.gson.JsonSyntaxException;
+
+/**
+ * Tests the decoding and the change detection of the {@link Shelly1CoIoTSensorTable}.
+ *
+ * @author agent - Initial contribution
+ */
+@SuppressWarnings({ "null" })
+@NonNullByDefault
+public class Shelly1CoIoTSensorTableTest {
+    // relay 0 with output and power, relay 1 with output, device block with the wakeup reasons
+    private static final String PAYLOAD = "{\"G\":[[0,1101,1],[0,4101,12.5],[0,1201,0],[0,9102,[\"button\"]]]}";
+
+    private final Map<String, CoIotDescrSen> sensorMap = new HashMap<>();
+    private final Map<String, CoIotDescrBlk> blkMap = new HashMap<>();
+    private @NonNullByDefault({}) Shelly1CoIoTSensorTable table;
+
+    @BeforeEach
+    public void setUp() {
+        addBlock("1", "relay_0");
+        addBlock("2", "relay_1");
+        addBlock("3", "device");
+        addSensor("1101", "output", "1");
+        addSensor("4101", "power", "1");
+        addSensor("1201", "output", "2");
+        addSensor("9102", "wakeupEvent", "3");
+        // a sensor without block is not included in the table
+        addSensor("9999", "unknown", "99");
+
+        Shelly1CoIoTInterface coiot = mock(Shelly1CoIoTInterface.class);
+        when(coiot.fixDescription(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+        table = new Shelly1CoIoTSensorTable(sensorMap, blkMap, coiot);
+    }
+
+    private void addBlock(String id, String desc) {
+        CoIotDescrBlk blk = new CoIotDescrBlk();
+        blk.id = id;
+        blk.desc = desc;
+        blkMap.put(id, blk);
+    }
+
+    private void addSensor(String id, String desc, String links) {
+        CoIotDescrSen sen = new CoIotDescrSen();
+        sen.id = id;
+        sen.desc = desc;
+        sen.links = links;
+        sensorMap.put(id, sen);
+    }
+
+    private boolean isBlockChanged(String sensorId) {
+        for (int i = 0; i < table.getSensors().size(); i++) {
+            if (table.getSensor(i).id.equals(sensorId)) {
+                return table.isBlockChanged(i);
+            }
+        }
+        throw new IllegalArgumentException("Sensor " + sensorId + " not decoded");
+    }
+
+    @Test
+    public void valuesAreDecodedInPayloadOrder() {
+        assertThat(table.decode("{\"G\":[[0,1101,1],[0,9999,5],[0,1201,\"on\"],[0,9102,[\"button\",7]]]}"), is(3));
+        assertThat(table.getUnknownCount(), is(1));
+
+        List<CoIotSensor> sensors = table.getSensors();
+        assertThat(sensors, hasSize(3));
+        assertThat(sensors.get(0).id, is("1101"));
+        assertThat(sensors.get(0).value, is(1.0));
+        assertThat(sensors.get(0).valueStr, is(""));
+        assertThat(sensors.get(1).valueStr, is("on"));
+        assertThat(sensors.get(1).value, is(-1.0));
+        assertThat(sensors.get(2).valueArray, contains("button"));
+        assertThat(table.getDescription(1).desc, is("output"));
+        assertThat(table.getBlock(1).desc, is("relay_1"));
+    }
+
+    @Test
+    public void sensorReportedTwiceIsDecodedOnceWithTheLastValue() {
+        assertThat(table.decode("{\"G\":[[0,1101,1],[0,1101,0]]}"), is(1));
+        assertThat(table.getSensor(0).value, is(0.0));
+    }
+
+    @Test
+    public void unchangedBlocksAreSkipped() {
+        table.decode(PAYLOAD);
+        assertThat(isBlockChanged("1101"), is(true));
+        assertThat(isBlockChanged("1201"), is(true));
+        assertThat(isBlockChanged("9102"), is(true));
+
+        table.decode(PAYLOAD);
+        assertThat(isBlockChanged("1101"), is(false));
+        assertThat(isBlockChanged("4101"), is(false));
+        assertThat(isBlockChanged("1201"), is(false));
+        assertThat(isBlockChanged("9102"), is(false));
+
+        // a changed power value marks all values of its block as changed, so they are processed together
+        table.decode("{\"G\":[[0,1101,1],[0,4101,13],[0,1201,0],[0,9102,[\"button\"]]]}");
+        assertThat(isBlockChanged("1101"), is(true));
+        assertThat(isBlockChanged("4101"), is(true));
+        assertThat(isBlockChanged("1201"), is(false));
+        assertThat(isBlockChanged("9102"), is(false));
+    }
+
+    @Test
+    public void changedArrayValueIsDetected() {
+        table.decode(PAYLOAD);
+        table.decode("{\"G\":[[0,9102,[\"button\"]]]}");
+        assertThat(isBlockChanged("9102"), is(false));
+
+        table.decode("{\"G\":[[0,9102,[\"ext_power\"]]]}");
+        assertThat(isBlockChanged("9102"), is(true));
+        assertThat(table.getSensor(0).valueArray, contains("ext_power"));
+
+        table.decode("{\"G\":[[0,9102,[\"ext_power\"]]]}");
+        assertThat(isBlockChanged("9102"), is(false));
+    }
+
+    @Test
+    public void allBlocksAreChangedAfterReset() {
+        table.decode(PAYLOAD);
+        table.decode(PAYLOAD);
+        assertThat(isBlockChanged("1101"), is(false));
+
+        // called when the serial is reset, e.g. after a rediscovery or an error
+        table.reset();
+        table.decode(PAYLOAD);
+        assertThat(isBlockChanged("1101"), is(true));
+        assertThat(isBlockChanged("4101"), is(true));
+        assertThat(isBlockChanged("1201"), is(true));
+        assertThat(isBlockChanged("9102"), is(true));
+    }
+
+    @Test
+    public void sensorListIsReused() {
+        table.decode(PAYLOAD);
+        List<CoIotSensor> sensors = table.getSensors();
+        table.decode("{\"G\":[[0,1201,1]]}");
+        assertThat(table.getSensors(), is(sameInstance(sensors)));
+        assertThat(sensors, hasSize(1));
+        assertThat(sensors.get(0).id, is("1201"));
+    }
+
+    @Test
+    public void invalidPayloadIsRejected() {
+        assertThrows(JsonSyntaxException.class, () -> table.decode("{\"G\":[[0,\"abc\",1]]}"));
+        assertThrows(JsonSyntaxException.class, () -> table.decode("{\"G\":"));
+    }
+}
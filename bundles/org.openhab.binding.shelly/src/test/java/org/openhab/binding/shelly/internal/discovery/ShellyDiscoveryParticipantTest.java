@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.discovery;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.net.URI;
+
+import javax.jmdns.ServiceInfo;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.websocket.client.ClientUpgradeRequest;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.shelly.internal.ShellyBindingConstants;
+import org.openhab.binding.shelly.internal.provider.ShellyTranslationProvider;
+import org.openhab.core.i18n.LocaleProvider;
+import org.openhab.core.io.net.http.HttpClientFactory;
+import org.openhab.core.io.net.http.WebSocketFactory;
+import org.osgi.service.cm.Configuration;
+import org.osgi.service.cm.ConfigurationAdmin;
+import org.osgi.service.component.ComponentContext;
+
+/**
+ * Tests the mDNS discovery of Gen2 devices by the {@link ShellyDiscoveryParticipant}.
+ *
+ * @author agent - Initial contribution
+ */
+@SuppressWarnings({ "null" })
+@NonNullByDefault
+public class ShellyDiscoveryParticipantTest {
+    private static final String DEVICE_IP = "192.168.10.3";
+
+    private @NonNullByDefault({}) HttpClient httpClient;
+    private @NonNullByDefault({}) WebSocketClient webSocketClient;
+    private @NonNullByDefault({}) ShellyDiscoveryParticipant participant;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        httpClient = mock(HttpClient.class);
+        // the Rpc request over HTTP fails, the device is not added
+        when(httpClient.newRequest(anyString())).thenThrow(new IllegalArgumentException("unreachable"));
+        HttpClientFactory httpClientFactory = mock(HttpClientFactory.class);
+        when(httpClientFactory.getCommonHttpClient()).thenReturn(httpClient);
+
+        webSocketClient = mock(WebSocketClient.class);
+        WebSocketFactory webSocketFactory = mock(WebSocketFactory.class);
+        when(webSocketFactory.createWebSocketClient(anyString())).thenReturn(webSocketClient);
+
+        ConfigurationAdmin configurationAdmin = mock(ConfigurationAdmin.class);
+        when(configurationAdmin.getConfiguration("binding.shelly")).thenReturn(mock(Configuration.class));
+
+        participant = new ShellyDiscoveryParticipant(configurationAdmin, httpClientFactory, webSocketFactory,
+                mock(LocaleProvider.class), mock(ShellyTranslationProvider.class), mock(ComponentContext.class));
+    }
+
+    private ServiceInfo createServiceInfo(String name, String gen) {
+        ServiceInfo service = mock(ServiceInfo.class);
+        when(service.getName()).thenReturn(name);
+        when(service.getQualifiedName()).thenReturn(name + "." + ShellyBindingConstants.SERVICE_TYPE);
+        when(service.getHostAddresses()).thenReturn(new String[] { DEVICE_IP });
+        when(service.getPropertyString("gen")).thenReturn(gen);
+        return service;
+    }
+
+    @Test
+    public void sharedWebSocketClientIsStartedAndStopped() throws Exception {
+        verify(webSocketClient).start();
+
+        participant.deactivate();
+        verify(webSocketClient).stop();
+    }
+
+    @Test
+    public void gen2DiscoveryConnectsWithSharedWebSocketClient() throws Exception {
+        assertThat(participant.createResult(createServiceInfo("shellyplus1pm-a8032ab12345", "2")), is(nullValue()));
+        assertThat(participant.createResult(createServiceInfo("shellyplus2pm-a8032ab67890", "2")), is(nullValue()));
+
+        verify(webSocketClient, times(2)).connect(any(), eq(new URI("ws://" + DEVICE_IP + "/rpc")),
+                any(ClientUpgradeRequest.class));
+        verify(httpClient, times(2)).newRequest("http://" + DEVICE_IP + "/rpc");
+    }
+
+    @Test
+    public void gen1DiscoveryDoesNotUseWebSocket() throws Exception {
+        assertThat(participant.createResult(createServiceInfo("shelly1pm-a8032ab12345", "1")), is(nullValue()));
+
+        verify(webSocketClient, never()).connect(any(), any(URI.class), any(ClientUpgradeRequest.class));
+    }
+}
@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.handler;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.openhab.binding.shelly.internal.ShellyBindingConstants.UPDATE_STATUS_INTERVAL_SECONDS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.shelly.internal.handler.ShellyPollingScheduler.PolledThing;
+
+/**
+ * Tests the {@link ShellyPollingScheduler}. The executor is mocked, refreshes only run when the test runs them.
+ *
+ * @author agent - Initial contribution
+ */
+@SuppressWarnings({ "null" })
+@NonNullByDefault
+public class ShellyPollingSchedulerTest {
+    private static final long INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(UPDATE_STATUS_INTERVAL_SECONDS);
+    // the first tick of every thing is due right away, independent of its offset
+    private static final long NO_DELAY_MS = -TimeUnit.SECONDS.toMillis(UPDATE_STATUS_INTERVAL_SECONDS);
+
+    private final List<Runnable> executed = new ArrayList<>();
+    private long now = 0;
+
+    private @NonNullByDefault({}) ScheduledExecutorService executor;
+    private @NonNullByDefault({}) ScheduledFuture<?> dispatchJob;
+    private @NonNullByDefault({}) ShellyPollingScheduler pollingScheduler;
+
+    @BeforeEach
+    public void setUp() {
+        executor = mock(ScheduledExecutorService.class);
+        dispatchJob = mock(ScheduledFuture.class);
+        doReturn(dispatchJob).when(executor).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(),
+                any(TimeUnit.class));
+        doAnswer(invocation -> executed.add(invocation.getArgument(0))).when(executor).execute(any(Runnable.class));
+        pollingScheduler = new ShellyPollingScheduler(executor, () -> now);
+    }
+
+    private PolledThing createThing(boolean eventActive) {
+        PolledThing thing = mock(PolledThing.class);
+        when(thing.isStatusRefreshDue()).thenReturn(true);
+        when(thing.isEventActive()).thenReturn(eventActive);
+        return thing;
+    }
+
+    private void runNextRefresh() {
+        executed.remove(0).run();
+    }
+
+    @Test
+    public void atMostEightRefreshesRunConcurrently() {
+        for (int i = 0; i < 20; i++) {
+            pollingScheduler.register(createThing(false), NO_DELAY_MS);
+        }
+
+        pollingScheduler.dispatch(true);
+        assertThat(pollingScheduler.getRunningCount(), is(ShellyPollingScheduler.MAX_CONCURRENT_REFRESHES));
+        assertThat(pollingScheduler.getQueuedCount(), is(20 - ShellyPollingScheduler.MAX_CONCURRENT_REFRESHES));
+        assertThat(executed, hasSize(ShellyPollingScheduler.MAX_CONCURRENT_REFRESHES));
+
+        // a finished refresh starts the next queued one right away
+        runNextRefresh();
+        assertThat(pollingScheduler.getRunningCount(), is(ShellyPollingScheduler.MAX_CONCURRENT_REFRESHES));
+        assertThat(pollingScheduler.getQueuedCount(), is(19 - ShellyPollingScheduler.MAX_CONCURRENT_REFRESHES));
+
+        while (!executed.isEmpty()) {
+            runNextRefresh();
+        }
+        assertThat(pollingScheduler.getRunningCount(), is(0));
+        assertThat(pollingScheduler.getQueuedCount(), is(0));
+    }
+
+    @Test
+    public void eventActiveThingsAreRefreshedLast() {
+        PolledThing eventThing = createThing(true);
+        pollingScheduler.register(eventThing, NO_DELAY_MS);
+        List<PolledThing> polledThings = new ArrayList<>();
+        for (int i = 0; i < ShellyPollingScheduler.MAX_CONCURRENT_REFRESHES; i++) {
+            PolledThing thing = createThing(false);
+            polledThings.add(thing);
+            pollingScheduler.register(thing, NO_DELAY_MS);
+        }
+
+        pollingScheduler.dispatch(true);
+        assertThat(pollingScheduler.getQueuedCount(), is(1));
+        for (int i = 0; i < ShellyPollingScheduler.MAX_CONCURRENT_REFRESHES; i++) {
+            runNextRefresh();
+        }
+        verify(eventThing, never()).refreshStatus();
+        runNextRefresh();
+
+        polledThings.forEach(thing -> verify(thing).refreshStatus());
+        verify(eventThing).refreshStatus();
+        assertThat(pollingScheduler.getRunningCount(), is(0));
+    }
+
+    @Test
+    public void pendingThingIsNotQueuedAgain() {
+        PolledThing thing = createThing(false);
+        pollingScheduler.register(thing, NO_DELAY_MS);
+
+        pollingScheduler.dispatch(true);
+        assertThat(pollingScheduler.getRunningCount(), is(1));
+
+        // the next tick while the refresh is still running is skipped
+        now += INTERVAL_NANOS;
+        pollingScheduler.dispatch(true);
+        verify(thing, times(1)).isStatusRefreshDue();
+        assertThat(pollingScheduler.getRunningCount(), is(1));
+        assertThat(pollingScheduler.getQueuedCount(), is(0));
+        assertThat(executed, hasSize(1));
+
+        runNextRefresh();
+        now += INTERVAL_NANOS;
+        pollingScheduler.dispatch(true);
+        verify(thing, times(2)).isStatusRefreshDue();
+        assertThat(pollingScheduler.getRunningCount(), is(1));
+    }
+
+    @Test
+    public void thingIsNotQueuedWithoutDueRefresh() {
+        PolledThing thing = createThing(false);
+        when(thing.isStatusRefreshDue()).thenReturn(false);
+        pollingScheduler.register(thing, NO_DELAY_MS);
+
+        pollingScheduler.dispatch(true);
+        assertThat(pollingScheduler.getRunningCount(), is(0));
+        assertThat(pollingScheduler.getQueuedCount(), is(0));
+        verify(thing, never()).refreshStatus();
+    }
+
+    @Test
+    public void registerAndUnregister() {
+        PolledThing first = createThing(false);
+        double offset = pollingScheduler.register(first, NO_DELAY_MS);
+        assertThat(pollingScheduler.register(first, NO_DELAY_MS), is(offset));
+
+        // fill all workers, so the refresh of the last thing stays queued
+        for (int i = 0; i < ShellyPollingScheduler.MAX_CONCURRENT_REFRESHES; i++) {
+            pollingScheduler.register(createThing(false), NO_DELAY_MS);
+        }
+        PolledThing last = createThing(false);
+        assertThat(pollingScheduler.register(last, NO_DELAY_MS), is(not(offset)));
+        verify(executor, times(1)).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(),
+                any(TimeUnit.class));
+
+        pollingScheduler.dispatch(true);
+        assertThat(pollingScheduler.getQueuedCount(), is(2));
+
+        pollingScheduler.unregister(last);
+        assertThat(pollingScheduler.getQueuedCount(), is(1));
+        verify(dispatchJob, never()).cancel(anyBoolean());
+
+        pollingScheduler.deactivate();
+        verify(dispatchJob).cancel(false);
+        assertThat(pollingScheduler.getQueuedCount(), is(0));
+    }
+
+    @Test
+    public void unregisteringTheLastThingStopsTheDispatcher() {
+        PolledThing thing = createThing(false);
+        pollingScheduler.register(thing, NO_DELAY_MS);
+
+        pollingScheduler.unregister(thing);
+        verify(dispatchJob).cancel(false);
+
+        pollingScheduler.dispatch(true);
+        verify(thing, never()).isStatusRefreshDue();
+    }
+}
@@ -19,6 +19,7 @@ import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingTypeUID;
 import org.openhab.core.thing.binding.BaseThingHandlerFactory;
@@ -40,10 +41,13 @@ public class SnmpHandlerFactory extends BaseThingHandlerFactory {
     private static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = Set.of(THING_TYPE_TARGET, THING_TYPE_TARGET3);
 
     private final SnmpService snmpService;
+    private final SnmpPoller snmpPoller;
 
     @Activate
     public SnmpHandlerFactory(@Reference SnmpService snmpService) {
         this.snmpService = snmpService;
+        this.snmpPoller = new SnmpPoller(snmpService,
+                ThreadPoolManager.getScheduledPool(ThingHandler.THING_HANDLER_THREADPOOL_NAME));
     }
 
     @Override
@@ -55,7 +59,7 @@ public class SnmpHandlerFactory extends BaseThingHandlerFactory {
     protected @Nullable ThingHandler createHandler(Thing thing) {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
         if (THING_TYPE_TARGET.equals(thingTypeUID) || THING_TYPE_TARGET3.equals(thingTypeUID)) {
-            return new SnmpTargetHandler(thing, snmpService);
+            return new SnmpTargetHandler(thing, snmpService, snmpPoller);
         }
         return null;
     }
@@ -0,0 +1,342 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.snmp.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.snmp4j.PDU;
+import org.snmp4j.ScopedPDU;
+import org.snmp4j.Snmp;
+import org.snmp4j.Target;
+import org.snmp4j.event.ResponseEvent;
+import org.snmp4j.event.ResponseListener;
+import org.snmp4j.mp.SnmpConstants;
+import org.snmp4j.smi.Null;
+import org.snmp4j.smi.OID;
+import org.snmp4j.smi.SMIConstants;
+import org.snmp4j.smi.VariableBinding;
+
+/**
+ * The {@link SnmpPoller} reads values from SNMP agents for all target handlers.
+ *
+ * Read requests for the same agent with the same timeout and retries which are issued within {@link #MERGE_DELAY_MS}
+ * are merged. The OIDs are split in GET requests which fit into the maximum PDU size and all requests are sent at
+ * once. Table columns are walked with GETBULK requests (GETNEXT for SNMP v1) from the first to the last requested row.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SnmpPoller {
+    static final int MERGE_DELAY_MS = 50;
+    // estimated encoded length of a value in a response
+    static final int VALUE_LENGTH_ESTIMATE = 16;
+    // estimated length of the message and PDU headers, including the security parameters of SNMP v3
+    static final int MESSAGE_OVERHEAD = 160;
+    private static final int MIN_PAYLOAD_SIZE = 64;
+
+    private final Logger logger = LoggerFactory.getLogger(SnmpPoller.class);
+
+    private final SnmpService snmpService;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, List<ReadRequest>> pendingRequests = new HashMap<>();
+
+    private record ReadRequest(Target target, int maxPduSize, int maxRepetitions, Collection<OID> oids,
+            Collection<OID> tableOids, SnmpReadListener listener) {
+    }
+
+    public SnmpPoller(SnmpService snmpService, ScheduledExecutorService scheduler) {
+        this.snmpService = snmpService;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Read values from an agent
+     *
+     * @param agentKey identifies the agent (address, protocol version and credentials)
+     * @param target the target of the agent
+     * @param maxPduSize the maximum size of a PDU in bytes
+     * @param maxRepetitions the maximum number of rows requested by a single GETBULK request
+     * @param oids the OIDs requested by GET requests
+     * @param tableOids the OIDs requested by walking their table columns
+     * @param listener the listener for the results
+     */
+    public synchronized void read(String agentKey, Target target, int maxPduSize, int maxRepetitions,
+            Collection<OID> oids, Collection<OID> tableOids, SnmpReadListener listener) {
+        // the merged requests are sent with the target of the first request
+        String key = agentKey + "/" + target.getTimeout() + "/" + target.getRetries();
+        List<ReadRequest> requests = pendingRequests.get(key);
+        if (requests == null) {
+            requests = new ArrayList<>();
+            pendingRequests.put(key, requests);
+            scheduler.schedule(() -> send(key), MERGE_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+        requests.add(new ReadRequest(target, maxPduSize, maxRepetitions, oids, tableOids, listener));
+    }
+
+    /**
+     * Remove all pending read requests of a listener
+     *
+     * @param listener the listener
+     */
+    public synchronized void cancel(SnmpReadListener listener) {
+        pendingRequests.values().forEach(requests -> requests.removeIf(request -> request.listener == listener));
+    }
+
+    private void send(String key) {
+        List<ReadRequest> requests;
+        synchronized (this) {
+            requests = pendingRequests.remove(key);
+        }
+        if (requests != null && !requests.isEmpty()) {
+            new Poll(requests).start();
+        }
+    }
+
+    private static class Column {
+        public final OID root;
+        public final OID last;
+        public final TreeSet<OID> missing;
+        public OID cursor;
+        public boolean finished = false;
+
+        public Column(OID root, Set<OID> oids) {
+            this.root = root;
+            this.missing = new TreeSet<>(oids);
+            this.last = missing.last();
+            // start right before the first requested row instead of walking the rows in front of it
+            OID start = new OID(missing.first().getValue());
+            int index = start.removeLast();
+            if (index != 0) {
+                start.append(index - 1);
+            }
+            this.cursor = start;
+        }
+    }
+
+    /**
+     * The {@link Poll} sends the merged read requests to one agent
+     */
+    private class Poll {
+        private final Target target;
+        private final int payloadSize;
+        private final int maxRepetitions;
+        private final Map<OID, Set<SnmpReadListener>> getListeners = new LinkedHashMap<>();
+        private final Map<OID, Set<SnmpReadListener>> tableListeners = new HashMap<>();
+        private final Map<OID, Set<OID>> tableColumns = new LinkedHashMap<>();
+
+        public Poll(List<ReadRequest> requests) {
+            this.target = requests.get(0).target;
+            this.payloadSize = Math.max(MIN_PAYLOAD_SIZE,
+                    requests.stream().mapToInt(ReadRequest::maxPduSize).min().orElse(0) - MESSAGE_OVERHEAD);
+            this.maxRepetitions = Math.max(1,
+                    requests.stream().mapToInt(ReadRequest::maxRepetitions).min().orElse(1));
+            for (ReadRequest request : requests) {
+                request.oids.forEach(
+                        oid -> getListeners.computeIfAbsent(oid, k -> new LinkedHashSet<>()).add(request.listener));
+                for (OID oid : request.tableOids) {
+                    if (oid.size() < 2) {
+                        logger.warn("Can't walk the table of OID {}", oid);
+                        continue;
+                    }
+                    tableListeners.computeIfAbsent(oid, k -> new LinkedHashSet<>()).add(request.listener);
+                    tableColumns.computeIfAbsent(new OID(oid.getValue()).trim(1), k -> new TreeSet<>()).add(oid);
+                }
+            }
+        }
+
+        public void start() {
+            List<OID> chunk = new ArrayList<>();
+            int chunkSize = 0;
+            for (OID oid : getListeners.keySet()) {
+                int size = new VariableBinding(oid).getBERLength() + VALUE_LENGTH_ESTIMATE;
+                if (!chunk.isEmpty() && chunkSize + size > payloadSize) {
+                    sendGet(chunk);
+                    chunk = new ArrayList<>();
+                    chunkSize = 0;
+                }
+                chunk.add(oid);
+                chunkSize += size;
+            }
+            if (!chunk.isEmpty()) {
+                sendGet(chunk);
+            }
+
+            List<Column> columns = new ArrayList<>();
+            int rowSize = 0;
+            for (Map.Entry<OID, Set<OID>> entry : tableColumns.entrySet()) {
+                Column column = new Column(entry.getKey(), entry.getValue());
+                int size = new VariableBinding(column.last).getBERLength() + VALUE_LENGTH_ESTIMATE;
+                if (!columns.isEmpty() && (rowSize + size) * maxRepetitions > payloadSize) {
+                    sendWalk(columns, rowSize);
+                    columns = new ArrayList<>();
+                    rowSize = 0;
+                }
+                columns.add(column);
+                rowSize += size;
+            }
+            if (!columns.isEmpty()) {
+                sendWalk(columns, rowSize);
+            }
+        }
+
+        private void sendGet(List<OID> oids) {
+            PDU pdu = createPdu(PDU.GET);
+            oids.forEach(oid -> pdu.add(new VariableBinding(oid)));
+            send(pdu, listenersOf(oids, getListeners), response -> {
+                int errorIndex = response.getErrorIndex();
+                if (response.getErrorStatus() == PDU.tooBig && oids.size() > 1) {
+                    logger.debug("Response to {} OIDs is too big, splitting request", oids.size());
+                    int half = oids.size() / 2;
+                    sendGet(oids.subList(0, half));
+                    sendGet(oids.subList(half, oids.size()));
+                } else if (response.getErrorStatus() == PDU.noSuchName && oids.size() > 1 && errorIndex > 0
+                        && errorIndex <= oids.size()) {
+                    // SNMP v1 agents reject the whole request if one OID is unknown
+                    OID unknownOid = oids.get(errorIndex - 1);
+                    deliver(List.of(new VariableBinding(unknownOid, Null.noSuchInstance)), getListeners);
+                    List<OID> remainingOids = new ArrayList<>(oids);
+                    remainingOids.remove(errorIndex - 1);
+                    sendGet(remainingOids);
+                } else {
+                    deliver(response.getVariableBindings(), getListeners);
+                }
+            });
+        }
+
+        private void sendWalk(List<Column> columns, int rowSize) {
+            PDU pdu;
+            if (target.getVersion() == SnmpConstants.version1) {
+                pdu = createPdu(PDU.GETNEXT);
+            } else {
+                pdu = createPdu(PDU.GETBULK);
+                pdu.setNonRepeaters(0);
+                pdu.setMaxRepetitions(Math.max(1, Math.min(maxRepetitions, payloadSize / rowSize)));
+            }
+            columns.forEach(column -> pdu.add(new VariableBinding(column.cursor)));
+            List<OID> oids = columns.stream().flatMap(column -> column.missing.stream()).toList();
+            send(pdu, listenersOf(oids, tableListeners), response -> walkResponse(columns, rowSize, response));
+        }
+
+        private void walkResponse(List<Column> columns, int rowSize, PDU response) {
+            List<VariableBinding> found = new ArrayList<>();
+            List<VariableBinding> notFound = new ArrayList<>();
+            List<Column> unfinished = new ArrayList<>();
+            synchronized (this) {
+                List<? extends VariableBinding> variables = response.getVariableBindings();
+                boolean progress = false;
+                // SNMP v1 agents report the end of the MIB view as error
+                if (response.getErrorStatus() == PDU.noError) {
+                    // the response contains the columns in the order of the request, row by row
+                    for (int i = 0; i < variables.size(); i++) {
+                        Column column = columns.get(i % columns.size());
+                        VariableBinding variable = variables.get(i);
+                        OID oid = variable.getOid();
+                        if (column.finished) {
+                            continue;
+                        } else if (variable.getVariable().getSyntax() == SMIConstants.EXCEPTION_END_OF_MIB_VIEW
+                                || !oid.startsWith(column.root) || oid.compareTo(column.cursor) <= 0) {
+                            column.finished = true;
+                            continue;
+                        }
+                        progress = true;
+                        column.cursor = oid;
+                        if (column.missing.remove(oid)) {
+                            found.add(variable);
+                        }
+                        column.finished = oid.compareTo(column.last) >= 0;
+                    }
+                }
+                for (Column column : columns) {
+                    if (column.finished || !progress) {
+                        column.missing.forEach(oid -> notFound.add(new VariableBinding(oid, Null.noSuchInstance)));
+                        column.missing.clear();
+                    } else {
+                        unfinished.add(column);
+                    }
+                }
+            }
+            found.addAll(notFound);
+            deliver(found, tableListeners);
+            if (!unfinished.isEmpty()) {
+                sendWalk(unfinished, rowSize);
+            }
+        }
+
+        private void deliver(List<? extends VariableBinding> variables, Map<OID, Set<SnmpReadListener>> listeners) {
+            Map<SnmpReadListener, List<VariableBinding>> results = new LinkedHashMap<>();
+            for (VariableBinding variable : variables) {
+                Set<SnmpReadListener> oidListeners = listeners.get(variable.getOid());
+                if (oidListeners != null) {
+                    oidListeners.forEach(
+                            listener -> results.computeIfAbsent(listener, k -> new ArrayList<>()).add(variable));
+                }
+            }
+            results.forEach(SnmpReadListener::readResponse);
+        }
+
+        private Set<SnmpReadListener> listenersOf(Collection<OID> oids, Map<OID, Set<SnmpReadListener>> listeners) {
+            Set<SnmpReadListener> result = new LinkedHashSet<>();
+            oids.forEach(oid -> result.addAll(listeners.getOrDefault(oid, Set.of())));
+            return result;
+        }
+
+        private PDU createPdu(int type) {
+            PDU pdu = target.getVersion() == SnmpConstants.version3 ? new ScopedPDU() : new PDU();
+            pdu.setType(type);
+            return pdu;
+        }
+
+        private void send(PDU pdu, Set<SnmpReadListener> listeners, Consumer<PDU> responseHandler) {
+            ResponseListener responseListener = new ResponseListener() {
+                @Override
+                public void onResponse(@Nullable ResponseEvent event) {
+                    if (event == null) {
+                        return;
+                    }
+                    if (event.getSource() instanceof Snmp snmp) {
+                        // always cancel the request, otherwise a memory leak is created
+                        snmp.cancel(event.getRequest(), this);
+                    }
+                    PDU response = event.getResponse();
+                    if (response == null) {
+                        Exception e = event.getError();
+                        listeners.forEach(listener -> listener.readFailed(pdu, e));
+                    } else {
+                        responseHandler.accept(response);
+                    }
+                }
+            };
+            try {
+                snmpService.send(pdu, target, null, responseListener);
+            } catch (IOException e) {
+                logger.info("Could not send PDU", e);
+            }
+        }
+    }
+}
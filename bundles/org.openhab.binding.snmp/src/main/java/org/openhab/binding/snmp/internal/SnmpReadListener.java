@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.snmp.internal;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.snmp4j.PDU;
+import org.snmp4j.smi.VariableBinding;
+
+/**
+ * The {@link SnmpReadListener} receives the results of read requests issued via the {@link SnmpPoller}
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface SnmpReadListener {
+
+    /**
+     * called when a response to a request of this listener has been received
+     *
+     * @param variables the variables of the response that have been requested by this listener
+     */
+    void readResponse(List<? extends VariableBinding> variables);
+
+    /**
+     * called when a request of this listener failed
+     *
+     * @param request the request
+     * @param error the error or null if the request timed out
+     */
+    void readFailed(PDU request, @Nullable Exception error);
+}
@@ -18,7 +18,6 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.snmp.internal.types.SnmpAuthProtocol;
 import org.openhab.binding.snmp.internal.types.SnmpPrivProtocol;
-import org.snmp4j.CommandResponder;
 import org.snmp4j.PDU;
 import org.snmp4j.Target;
 import org.snmp4j.event.ResponseListener;
@@ -33,12 +32,34 @@ import org.snmp4j.event.ResponseListener;
 @NonNullByDefault
 public interface SnmpService {
 
-    void addCommandResponder(CommandResponder listener);
+    /**
+     * Add a listener for traps or update its registration
+     *
+     * @param listener the listener
+     * @param securityName the community (SNMP v1/v2c) or user (SNMP v3) of the traps
+     * @param address the address of the agent sending the traps or null if not yet known
+     */
+    void addTrapListener(SnmpTrapListener listener, String securityName, @Nullable String address);
 
-    void removeCommandResponder(CommandResponder listener);
+    void removeTrapListener(SnmpTrapListener listener);
 
     void send(PDU pdu, Target target, @Nullable Object userHandle, ResponseListener listener) throws IOException;
 
     void addUser(String userName, SnmpAuthProtocol snmpAuthProtocol, @Nullable String authPassphrase,
             SnmpPrivProtocol snmpPrivProtocol, @Nullable String privPassphrase, byte[] engineId);
+
+    /**
+     * get the number of received traps that have been dispatched to listeners
+     */
+    long getProcessedTraps();
+
+    /**
+     * get the number of received traps that have been dropped because of the rate limit
+     */
+    long getDroppedTraps();
+
+    /**
+     * get the number of received traps without listener
+     */
+    long getUnmatchedTraps();
 }
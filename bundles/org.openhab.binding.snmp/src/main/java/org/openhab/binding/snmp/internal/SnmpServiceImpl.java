@@ -14,10 +14,15 @@ package org.openhab.binding.snmp.internal;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -32,39 +37,58 @@ import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.snmp4j.CommandResponder;
+import org.snmp4j.CommandResponderEvent;
 import org.snmp4j.PDU;
+import org.snmp4j.PDUv1;
 import org.snmp4j.Snmp;
 import org.snmp4j.Target;
 import org.snmp4j.event.ResponseListener;
 import org.snmp4j.mp.MPv3;
+import org.snmp4j.mp.SnmpConstants;
 import org.snmp4j.security.Priv3DES;
 import org.snmp4j.security.SecurityModels;
 import org.snmp4j.security.SecurityProtocols;
 import org.snmp4j.security.USM;
 import org.snmp4j.security.UsmUser;
+import org.snmp4j.smi.OID;
 import org.snmp4j.smi.OctetString;
 import org.snmp4j.smi.UdpAddress;
+import org.snmp4j.smi.UnsignedInteger32;
+import org.snmp4j.smi.Variable;
+import org.snmp4j.smi.VariableBinding;
 import org.snmp4j.transport.DefaultUdpTransportMapping;
 
 /**
  * The {@link SnmpServiceImpl} implements SnmpService
  * handlers.
  *
+ * Received traps are dispatched to the listeners registered for the source address and community (or user) of the
+ * trap. The variables are decoded once for all listeners and the number of traps per source is limited.
+ *
  * @author Jan N. Klug - Initial contribution
  */
 
 @NonNullByDefault
 @Component(configurationPid = "binding.snmp", service = SnmpService.class)
-public class SnmpServiceImpl implements SnmpService {
+public class SnmpServiceImpl implements SnmpService, CommandResponder {
+    private static final int MAX_TRAP_SOURCES = 1024;
+
     private final Logger logger = LoggerFactory.getLogger(SnmpServiceImpl.class);
 
     private @NonNullByDefault({}) SnmpServiceConfiguration config;
     private @Nullable Snmp snmp;
     private @Nullable DefaultUdpTransportMapping transport;
 
-    private final List<CommandResponder> listeners = new ArrayList<>();
     private final Set<UserEntry> userEntries = new HashSet<>();
 
+    private final Map<SnmpTrapListener, TrapKey> trapListeners = new HashMap<>();
+    private volatile Map<TrapKey, List<SnmpTrapListener>> trapListenersByAgent = Map.of();
+    private volatile Map<String, List<SnmpTrapListener>> trapListenersBySecurityName = Map.of();
+    private final Map<String, TrapRateLimiter> trapRateLimiters = new ConcurrentHashMap<>();
+    private final AtomicLong processedTraps = new AtomicLong();
+    private final AtomicLong droppedTraps = new AtomicLong();
+    private final AtomicLong unmatchedTraps = new AtomicLong();
+
     @Activate
     public SnmpServiceImpl(Map<String, Object> config) {
         SecurityProtocols.getInstance().addDefaultProtocols();
@@ -94,8 +118,10 @@ public class SnmpServiceImpl implements SnmpService {
             SecurityProtocols.getInstance().addDefaultProtocols();
             SecurityProtocols.getInstance().addPrivacyProtocol(new Priv3DES());
 
+            trapRateLimiters.clear();
+
             final Snmp snmp = new Snmp(transport);
-            listeners.forEach(snmp::addCommandResponder);
+            snmp.addCommandResponder(this);
             snmp.listen();
 
             // re-add user entries
@@ -134,21 +160,111 @@ public class SnmpServiceImpl implements SnmpService {
     }
 
     @Override
-    public void addCommandResponder(CommandResponder listener) {
-        Snmp snmp = this.snmp;
-        if (snmp != null) {
-            snmp.addCommandResponder(listener);
+    public synchronized void addTrapListener(SnmpTrapListener listener, String securityName,
+            @Nullable String address) {
+        trapListeners.put(listener, new TrapKey(address, securityName));
+        updateTrapIndex();
+    }
+
+    @Override
+    public synchronized void removeTrapListener(SnmpTrapListener listener) {
+        if (trapListeners.remove(listener) != null) {
+            updateTrapIndex();
         }
-        listeners.add(listener);
+    }
+
+    private void updateTrapIndex() {
+        Map<TrapKey, List<SnmpTrapListener>> byAgent = new HashMap<>();
+        Map<String, List<SnmpTrapListener>> bySecurityName = new HashMap<>();
+        trapListeners.forEach((listener, key) -> {
+            if (key.address != null) {
+                byAgent.computeIfAbsent(key, k -> new ArrayList<>()).add(listener);
+            }
+            bySecurityName.computeIfAbsent(key.securityName, k -> new ArrayList<>()).add(listener);
+        });
+        trapListenersByAgent = byAgent;
+        trapListenersBySecurityName = bySecurityName;
     }
 
     @Override
-    public void removeCommandResponder(CommandResponder listener) {
-        Snmp snmp = this.snmp;
-        if (snmp != null) {
-            snmp.removeCommandResponder(listener);
+    public void processPdu(@Nullable CommandResponderEvent event) {
+        if (event == null) {
+            return;
+        }
+        PDU pdu = event.getPDU();
+        if (pdu == null || (pdu.getType() != PDU.TRAP && pdu.getType() != PDU.V1TRAP)
+                || !(event.getPeerAddress() instanceof UdpAddress peerAddress)) {
+            return;
+        }
+        String address = peerAddress.getInetAddress().getHostAddress();
+        int rateLimit = config.trapRateLimit;
+        if (trapRateLimiters.size() > MAX_TRAP_SOURCES) {
+            // traps from a large number of sources (e.g. spoofed addresses), forget the old ones
+            trapRateLimiters.clear();
+        }
+        if (rateLimit > 0 && !trapRateLimiters.computeIfAbsent(address, a -> new TrapRateLimiter(rateLimit))
+                .tryAcquire(address)) {
+            droppedTraps.incrementAndGet();
+            return;
+        }
+
+        String securityName = new String(event.getSecurityName());
+        List<SnmpTrapListener> agentListeners = trapListenersByAgent.getOrDefault(new TrapKey(address, securityName),
+                List.of());
+        List<SnmpTrapListener> enterpriseListeners = pdu.getType() == PDU.V1TRAP && pdu instanceof PDUv1
+                ? trapListenersBySecurityName.getOrDefault(securityName, List.of())
+                : List.<SnmpTrapListener> of();
+        if (agentListeners.isEmpty() && enterpriseListeners.isEmpty()) {
+            logger.debug("no listener for trap {} from {} with community {}", getTrapOid(pdu), address,
+                    securityName);
+            unmatchedTraps.incrementAndGet();
+            return;
+        }
+        processedTraps.incrementAndGet();
+        logger.trace("received trap {} from {}", pdu, address);
+
+        if (!enterpriseListeners.isEmpty()) {
+            PDUv1 pduv1 = (PDUv1) pdu;
+            OID enterprise = pduv1.getEnterprise();
+            int trapValue = pduv1.getGenericTrap();
+            if (trapValue == PDUv1.ENTERPRISE_SPECIFIC) {
+                trapValue = pduv1.getSpecificTrap();
+            }
+            Variable value = new UnsignedInteger32(trapValue);
+            enterpriseListeners.forEach(listener -> listener.enterpriseTrapReceived(enterprise, value));
+        }
+        if (!agentListeners.isEmpty()) {
+            List<VariableBinding> variables = pdu.getVariableBindings().stream().filter(Objects::nonNull)
+                    .map(VariableBinding.class::cast).toList();
+            agentListeners.forEach(listener -> listener.trapReceived(variables));
         }
-        listeners.remove(listener);
+    }
+
+    /**
+     * get the OID identifying a trap, the enterprise of SNMP v1 traps or the value of snmpTrapOID.0
+     */
+    private static @Nullable Object getTrapOid(PDU pdu) {
+        if (pdu instanceof PDUv1 pduv1) {
+            return pduv1.getEnterprise();
+        }
+        return pdu.getVariableBindings().stream().filter(Objects::nonNull)
+                .filter(variable -> SnmpConstants.snmpTrapOID.equals(variable.getOid()))
+                .map(VariableBinding::getVariable).findFirst().orElse(null);
+    }
+
+    @Override
+    public long getProcessedTraps() {
+        return processedTraps.get();
+    }
+
+    @Override
+    public long getDroppedTraps() {
+        return droppedTraps.get();
+    }
+
+    @Override
+    public long getUnmatchedTraps() {
+        return unmatchedTraps.get();
     }
 
     @Override
@@ -184,6 +300,43 @@ public class SnmpServiceImpl implements SnmpService {
         snmp.getUSM().addUser(userEntry.securityName, userEntry.engineId, userEntry.user);
     }
 
+    private record TrapKey(@Nullable String address, String securityName) {
+    }
+
+    /**
+     * The {@link TrapRateLimiter} is a token bucket limiting the traps from one source
+     */
+    private class TrapRateLimiter {
+        private final int rate;
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+        private long dropped = 0;
+
+        public TrapRateLimiter(int rate) {
+            this.rate = rate;
+            this.tokens = rate;
+        }
+
+        public synchronized boolean tryAcquire(String address) {
+            long now = System.nanoTime();
+            tokens = Math.min(rate, tokens + (now - lastRefill) * rate / (double) TimeUnit.SECONDS.toNanos(1));
+            lastRefill = now;
+            if (tokens < 1) {
+                if (dropped++ == 0) {
+                    logger.info("More than {} traps/s received from {}, dropping traps", rate, address);
+                }
+                return false;
+            }
+            tokens--;
+            if (dropped > 0) {
+                logger.info("Dropped {} traps from {} (total: {} dropped, {} processed)", dropped, address,
+                        droppedTraps.get(), processedTraps.get());
+                dropped = 0;
+            }
+            return true;
+        }
+    }
+
     private static class UserEntry {
         public OctetString securityName;
         public OctetString engineId;
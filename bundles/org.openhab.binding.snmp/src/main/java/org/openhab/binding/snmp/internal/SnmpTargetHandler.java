@@ -18,10 +18,13 @@ import java.io.IOException;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -57,11 +60,8 @@ import org.openhab.core.util.HexUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.snmp4j.AbstractTarget;
-import org.snmp4j.CommandResponder;
-import org.snmp4j.CommandResponderEvent;
 import org.snmp4j.CommunityTarget;
 import org.snmp4j.PDU;
-import org.snmp4j.PDUv1;
 import org.snmp4j.ScopedPDU;
 import org.snmp4j.Snmp;
 import org.snmp4j.UserTarget;
@@ -86,7 +86,8 @@ import org.snmp4j.smi.VariableBinding;
  * @author Jan N. Klug - Initial contribution
  */
 @NonNullByDefault
-public class SnmpTargetHandler extends BaseThingHandler implements ResponseListener, CommandResponder {
+public class SnmpTargetHandler extends BaseThingHandler
+        implements ResponseListener, SnmpReadListener, SnmpTrapListener {
     private static final Pattern HEXSTRING_VALIDITY = Pattern.compile("([a-f0-9]{2}[ :-]?)+");
     private static final Pattern HEXSTRING_EXTRACTOR = Pattern.compile("[^a-f0-9]");
 
@@ -94,19 +95,25 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
 
     private @NonNullByDefault({}) SnmpTargetConfiguration config;
     private final SnmpService snmpService;
+    private final SnmpPoller snmpPoller;
     private @Nullable ScheduledFuture<?> refresh;
     private int timeoutCounter = 0;
+    // a refresh cycle sends several PDUs, only the first timeout of a cycle is counted
+    private final AtomicBoolean timeoutCounted = new AtomicBoolean();
 
     private @NonNullByDefault({}) AbstractTarget target;
     private @NonNullByDefault({}) String targetAddressString;
+    private @NonNullByDefault({}) String agentKey;
 
     private @NonNullByDefault({}) Set<SnmpInternalChannelConfiguration> readChannelSet;
     private @NonNullByDefault({}) Set<SnmpInternalChannelConfiguration> writeChannelSet;
-    private @NonNullByDefault({}) Set<SnmpInternalChannelConfiguration> trapChannelSet;
+    private @NonNullByDefault({}) Map<OID, List<SnmpInternalChannelConfiguration>> readChannelIndex;
+    private @NonNullByDefault({}) Map<OID, List<SnmpInternalChannelConfiguration>> trapChannelIndex;
 
-    public SnmpTargetHandler(Thing thing, SnmpService snmpService) {
+    public SnmpTargetHandler(Thing thing, SnmpService snmpService, SnmpPoller snmpPoller) {
         super(thing);
         this.snmpService = snmpService;
+        this.snmpPoller = snmpPoller;
     }
 
     @Override
@@ -222,7 +229,7 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
                 return;
             }
 
-            snmpService.addCommandResponder(this);
+            snmpService.addTrapListener(this, target.getSecurityName().toString(), null);
 
             target.setRetries(config.retries);
             target.setTimeout(config.timeout);
@@ -238,7 +245,11 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
         }
 
         updateStatus(ThingStatus.UNKNOWN);
-        refresh = scheduler.scheduleWithFixedDelay(this::refresh, 0, config.refresh, TimeUnit.SECONDS);
+        // align the refresh to the clock, so that the requests of things with the same agent can be merged
+        long refreshMillis = TimeUnit.SECONDS.toMillis(config.refresh);
+        long initialDelay = refreshMillis - System.currentTimeMillis() % refreshMillis;
+        scheduler.execute(this::refresh);
+        refresh = scheduler.scheduleAtFixedRate(this::refresh, initialDelay, refreshMillis, TimeUnit.MILLISECONDS);
     }
 
     @Override
@@ -247,7 +258,8 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
         if (r != null && !r.isCancelled()) {
             r.cancel(true);
         }
-        snmpService.removeCommandResponder(this);
+        snmpPoller.cancel(this);
+        snmpService.removeTrapListener(this);
     }
 
     @Override
@@ -266,59 +278,53 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
 
         PDU response = event.getResponse();
         if (response == null) {
-            Exception e = event.getError();
-            if (e == null) { // no response, no error -> request timed out
-                timeoutCounter++;
-                if (timeoutCounter > config.retries) {
-                    updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, "request timed out");
-                    target.setAddress(null);
-                }
-                return;
-            }
-            logger.warn("{} requested {} and got error: {}", thing.getUID(), event.getRequest(), e.getMessage());
+            readFailed(event.getRequest(), event.getError());
             return;
         }
+        logger.trace("{} received {}", thing.getUID(), response);
+        readResponse(response.getVariableBindings());
+    }
+
+    @Override
+    public void readResponse(List<? extends VariableBinding> variables) {
         timeoutCounter = 0;
         if (ThingHandlerHelper.isHandlerInitialized(this)) {
             updateStatus(ThingStatus.ONLINE);
         }
-        logger.trace("{} received {}", thing.getUID(), response);
 
-        response.getVariableBindings().forEach(variable -> {
+        variables.forEach(variable -> {
             if (variable != null) {
-                updateChannels(variable.getOid(), variable.getVariable(), readChannelSet);
+                updateChannels(variable.getOid(), variable.getVariable(), readChannelIndex);
             }
         });
     }
 
     @Override
-    public void processPdu(@Nullable CommandResponderEvent event) {
-        if (event == null) {
-            return;
-        }
-        logger.trace("{} received trap {}", thing.getUID(), event);
-
-        final PDU pdu = event.getPDU();
-        final String address = ((UdpAddress) event.getPeerAddress()).getInetAddress().getHostAddress();
-        final String community = new String(event.getSecurityName());
-
-        if ((pdu.getType() == PDU.V1TRAP) && config.community.equals(community) && (pdu instanceof PDUv1 pduv1)) {
-            logger.trace("{} received trap is PDUv1.", thing.getUID());
-            OID oidEnterprise = pduv1.getEnterprise();
-            int trapValue = pduv1.getGenericTrap();
-            if (trapValue == PDUv1.ENTERPRISE_SPECIFIC) {
-                trapValue = pduv1.getSpecificTrap();
+    public void readFailed(PDU request, @Nullable Exception error) {
+        if (error == null) { // no response, no error -> request timed out
+            if (!timeoutCounted.compareAndSet(false, true)) {
+                return;
             }
-            updateChannels(oidEnterprise, new UnsignedInteger32(trapValue), trapChannelSet);
-        }
-        if ((pdu.getType() == PDU.TRAP || pdu.getType() == PDU.V1TRAP) && config.community.equals(community)
-                && targetAddressString.equals(address)) {
-            pdu.getVariableBindings().forEach(variable -> {
-                if (variable != null) {
-                    updateChannels(variable.getOid(), variable.getVariable(), trapChannelSet);
-                }
-            });
+            timeoutCounter++;
+            if (timeoutCounter > config.retries) {
+                updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, "request timed out");
+                target.setAddress(null);
+            }
+            return;
         }
+        logger.warn("{} requested {} and got error: {}", thing.getUID(), request, error.getMessage());
+    }
+
+    @Override
+    public void enterpriseTrapReceived(OID enterprise, Variable trapValue) {
+        logger.trace("{} received enterprise trap {}", thing.getUID(), enterprise);
+        updateChannels(enterprise, trapValue, trapChannelIndex);
+    }
+
+    @Override
+    public void trapReceived(List<VariableBinding> variables) {
+        logger.trace("{} received trap {}", thing.getUID(), variables);
+        variables.forEach(variable -> updateChannels(variable.getOid(), variable.getVariable(), trapChannelIndex));
     }
 
     private @Nullable SnmpInternalChannelConfiguration getChannelConfigFromChannel(Channel channel) {
@@ -396,19 +402,19 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
     private void generateChannelConfigs() {
         Set<SnmpInternalChannelConfiguration> channelConfigs = Collections.unmodifiableSet(thing.getChannels().stream()
                 .map(this::getChannelConfigFromChannel).filter(Objects::nonNull).collect(Collectors.toSet()));
-        this.readChannelSet = channelConfigs.stream()
-                .filter(c -> c.mode == SnmpChannelMode.READ || c.mode == SnmpChannelMode.READ_WRITE)
-                .collect(Collectors.toSet());
+        this.readChannelSet = channelConfigs.stream().filter(c -> c.mode == SnmpChannelMode.READ
+                || c.mode == SnmpChannelMode.READ_WRITE || c.mode == SnmpChannelMode.TABLE).collect(Collectors.toSet());
         this.writeChannelSet = channelConfigs.stream()
                 .filter(c -> c.mode == SnmpChannelMode.WRITE || c.mode == SnmpChannelMode.READ_WRITE)
                 .collect(Collectors.toSet());
-        this.trapChannelSet = channelConfigs.stream().filter(c -> c.mode == SnmpChannelMode.TRAP)
-                .collect(Collectors.toSet());
+        this.readChannelIndex = readChannelSet.stream().collect(Collectors.groupingBy(c -> c.oid));
+        this.trapChannelIndex = channelConfigs.stream().filter(c -> c.mode == SnmpChannelMode.TRAP)
+                .collect(Collectors.groupingBy(c -> c.oid));
     }
 
-    private void updateChannels(OID oid, Variable value, Set<SnmpInternalChannelConfiguration> channelConfigs) {
-        Set<SnmpInternalChannelConfiguration> updateChannelConfigs = channelConfigs.stream()
-                .filter(c -> c.oid.equals(oid)).collect(Collectors.toSet());
+    private void updateChannels(OID oid, Variable value,
+            Map<OID, List<SnmpInternalChannelConfiguration>> channelIndex) {
+        List<SnmpInternalChannelConfiguration> updateChannelConfigs = channelIndex.getOrDefault(oid, List.of());
         if (!updateChannelConfigs.isEmpty()) {
             updateChannelConfigs.forEach(channelConfig -> {
                 ChannelUID channelUID = channelConfig.channelUID;
@@ -543,6 +549,9 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
         try {
             target.setAddress(new UdpAddress(InetAddress.getByName(config.hostname), config.port));
             targetAddressString = ((UdpAddress) target.getAddress()).getInetAddress().getHostAddress();
+            agentKey = target.getAddress() + "/" + target.getVersion() + "/" + target.getSecurityLevel() + "/"
+                    + target.getSecurityName();
+            snmpService.addTrapListener(this, target.getSecurityName().toString(), targetAddressString);
             return true;
         } catch (UnknownHostException e) {
             target.setAddress(null);
@@ -552,21 +561,19 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
     }
 
     private void refresh() {
+        timeoutCounted.set(false);
         if (target.getAddress() == null) {
             if (!renewTargetAddress()) {
                 logger.info("failed to renew target address, waiting for next refresh cycle");
                 return;
             }
         }
-        PDU pdu = getPDU();
-        pdu.setType(PDU.GET);
-        readChannelSet.stream().map(c -> new VariableBinding(c.oid)).forEach(pdu::add);
-        if (!pdu.getVariableBindings().isEmpty()) {
-            try {
-                snmpService.send(pdu, target, null, this);
-            } catch (IOException e) {
-                logger.info("Could not send PDU", e);
-            }
+        List<OID> oids = readChannelSet.stream().filter(c -> c.mode != SnmpChannelMode.TABLE).map(c -> c.oid)
+                .toList();
+        List<OID> tableOids = readChannelSet.stream().filter(c -> c.mode == SnmpChannelMode.TABLE).map(c -> c.oid)
+                .toList();
+        if (!oids.isEmpty() || !tableOids.isEmpty()) {
+            snmpPoller.read(agentKey, target, config.maxPduSize, config.maxRepetitions, oids, tableOids, this);
         }
     }
 
@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.snmp.internal;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.snmp4j.smi.OID;
+import org.snmp4j.smi.Variable;
+import org.snmp4j.smi.VariableBinding;
+
+/**
+ * The {@link SnmpTrapListener} receives the traps dispatched by the {@link SnmpService}
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface SnmpTrapListener {
+
+    /**
+     * called for SNMP v1 traps with the community of this listener (from any address)
+     *
+     * @param enterprise the enterprise OID of the trap
+     * @param trapValue the specific trap value for enterprise specific traps, the generic trap value otherwise
+     */
+    void enterpriseTrapReceived(OID enterprise, Variable trapValue);
+
+    /**
+     * called for traps from the address and with the community (or user) of this listener
+     *
+     * @param variables the variables of the trap
+     */
+    void trapReceived(List<VariableBinding> variables);
+}
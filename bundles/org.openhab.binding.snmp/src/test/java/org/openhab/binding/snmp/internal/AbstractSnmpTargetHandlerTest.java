@@ -22,6 +22,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Vector;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -71,10 +73,12 @@ public abstract class AbstractSnmpTargetHandlerTest extends JavaTest {
     protected @NonNullByDefault({}) Thing thing;
     protected @NonNullByDefault({}) SnmpTargetHandler thingHandler;
     private @NonNullByDefault({}) AutoCloseable mocks;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
 
     @AfterEach
     public void after() throws Exception {
         mocks.close();
+        scheduler.shutdownNow();
     }
 
     protected @Nullable VariableBinding handleCommandSwitchChannel(SnmpDatatype datatype, Command command,
@@ -152,16 +156,16 @@ public abstract class AbstractSnmpTargetHandlerTest extends JavaTest {
         setup(SnmpBindingConstants.CHANNEL_TYPE_UID_STRING, channelMode);
 
         verifyStatus(ThingStatus.UNKNOWN);
-        verify(snmpService).addCommandResponder(any());
+        verify(snmpService).addTrapListener(eq(thingHandler), eq("public"), isNull());
 
         if (refresh) {
             ArgumentCaptor<PDU> pduCaptor = ArgumentCaptor.forClass(PDU.class);
-            verify(snmpService, timeout(500).atLeast(1)).send(pduCaptor.capture(), any(), eq(null), eq(thingHandler));
+            verify(snmpService, timeout(500).atLeast(1)).send(pduCaptor.capture(), any(), eq(null), any());
             Vector<? extends VariableBinding> variables = pduCaptor.getValue().getVariableBindings();
             assertTrue(variables.stream().filter(v -> v.getOid().toDottedString().equals(TEST_OID)).findFirst()
                     .isPresent());
         } else {
-            verify(snmpService, never()).send(any(), any(), eq(null), eq(thingHandler));
+            verify(snmpService, never()).send(any(), any(), eq(null), any());
         }
     }
 
@@ -218,7 +222,7 @@ public abstract class AbstractSnmpTargetHandlerTest extends JavaTest {
         thingBuilder.withChannel(channel);
 
         thing = thingBuilder.build();
-        thingHandler = new SnmpTargetHandler(thing, snmpService);
+        thingHandler = new SnmpTargetHandler(thing, snmpService, new SnmpPoller(snmpService, scheduler));
 
         thingHandler.getThing().setHandler(thingHandler);
         thingHandler.setCallback(thingHandlerCallback);
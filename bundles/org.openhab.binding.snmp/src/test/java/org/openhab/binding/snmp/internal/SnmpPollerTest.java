@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.snmp.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.snmp4j.CommunityTarget;
+import org.snmp4j.PDU;
+import org.snmp4j.event.ResponseEvent;
+import org.snmp4j.event.ResponseListener;
+import org.snmp4j.mp.SnmpConstants;
+import org.snmp4j.smi.Integer32;
+import org.snmp4j.smi.Null;
+import org.snmp4j.smi.OID;
+import org.snmp4j.smi.VariableBinding;
+
+/**
+ * Tests cases for {@link SnmpPoller}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SnmpPollerTest {
+    private static final String AGENT_KEY = "192.168.0.1/161";
+    private static final OID COLUMN = new OID("1.3.6.1.2.1.2.2.1.8");
+
+    private @Mock @NonNullByDefault({}) SnmpService snmpService;
+    private @Mock @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private @Mock @NonNullByDefault({}) SnmpReadListener listener1;
+    private @Mock @NonNullByDefault({}) SnmpReadListener listener2;
+
+    private @NonNullByDefault({}) AutoCloseable mocks;
+    private @NonNullByDefault({}) SnmpPoller poller;
+    private final CommunityTarget target = new CommunityTarget();
+
+    @BeforeEach
+    public void setup() {
+        mocks = MockitoAnnotations.openMocks(this);
+        poller = new SnmpPoller(snmpService, scheduler);
+        target.setVersion(SnmpConstants.version2c);
+    }
+
+    @AfterEach
+    public void after() throws Exception {
+        mocks.close();
+    }
+
+    @Test
+    public void requestsAreSplitToFitPduSize() throws IOException {
+        List<OID> oids = IntStream.rangeClosed(1, 100).mapToObj(SnmpPollerTest::rowOid).toList();
+        poller.read(AGENT_KEY, target, 484, 10, oids, List.of(), listener1);
+        runScheduledTask();
+
+        List<PDU> pdus = captureRequests().requests;
+        assertTrue(pdus.size() > 1);
+        Set<OID> requestedOids = new HashSet<>();
+        for (PDU pdu : pdus) {
+            assertEquals(PDU.GET, pdu.getType());
+            int size = pdu.getVariableBindings().stream()
+                    .mapToInt(v -> v.getBERLength() + SnmpPoller.VALUE_LENGTH_ESTIMATE).sum();
+            assertTrue(size <= 484 - SnmpPoller.MESSAGE_OVERHEAD);
+            pdu.getVariableBindings().forEach(v -> assertTrue(requestedOids.add(v.getOid())));
+        }
+        assertEquals(Set.copyOf(oids), requestedOids);
+    }
+
+    @Test
+    public void tooBigResponseSplitsRequest() throws IOException {
+        List<OID> oids = IntStream.rangeClosed(1, 4).mapToObj(SnmpPollerTest::rowOid).toList();
+        poller.read(AGENT_KEY, target, 1400, 10, oids, List.of(), listener1);
+        runScheduledTask();
+
+        Requests requests = captureRequests();
+        PDU response = new PDU();
+        response.setType(PDU.RESPONSE);
+        response.setErrorStatus(PDU.tooBig);
+        respond(requests.listeners.get(0), requests.requests.get(0), response);
+
+        List<PDU> pdus = captureRequests().requests;
+        assertEquals(3, pdus.size());
+        assertEquals(oids.subList(0, 2), oidsOf(pdus.get(1)));
+        assertEquals(oids.subList(2, 4), oidsOf(pdus.get(2)));
+        verify(listener1, never()).readResponse(any());
+    }
+
+    @Test
+    public void requestsForSameAgentAreMerged() throws IOException {
+        OID oid1 = rowOid(1);
+        OID oid2 = rowOid(2);
+        poller.read(AGENT_KEY, target, 1400, 10, List.of(oid1), List.of(), listener1);
+        poller.read(AGENT_KEY, target, 1400, 10, List.of(oid2), List.of(), listener2);
+        runScheduledTask();
+
+        Requests requests = captureRequests();
+        assertEquals(List.of(oid1, oid2), oidsOf(requests.requests.get(0)));
+
+        respond(requests.listeners.get(0), requests.requests.get(0), response(
+                List.of(new VariableBinding(oid1, new Integer32(1)), new VariableBinding(oid2, new Integer32(2)))));
+        verify(listener1).readResponse(eq(List.of(new VariableBinding(oid1, new Integer32(1)))));
+        verify(listener2).readResponse(eq(List.of(new VariableBinding(oid2, new Integer32(2)))));
+    }
+
+    @Test
+    public void requestsWithDifferentTimeoutsAreNotMerged() throws IOException {
+        CommunityTarget slowTarget = new CommunityTarget();
+        slowTarget.setVersion(SnmpConstants.version2c);
+        slowTarget.setTimeout(target.getTimeout() * 4);
+        poller.read(AGENT_KEY, target, 1400, 10, List.of(rowOid(1)), List.of(), listener1);
+        poller.read(AGENT_KEY, slowTarget, 1400, 10, List.of(rowOid(2)), List.of(), listener2);
+
+        ArgumentCaptor<Runnable> taskCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(2)).schedule(taskCaptor.capture(), anyLong(), any());
+        taskCaptor.getAllValues().forEach(Runnable::run);
+
+        verify(snmpService).send(argThat(pdu -> oidsOf(pdu).equals(List.of(rowOid(1)))), eq(target), eq(null),
+                any());
+        verify(snmpService).send(argThat(pdu -> oidsOf(pdu).equals(List.of(rowOid(2)))), eq(slowTarget), eq(null),
+                any());
+    }
+
+    @Test
+    public void timeoutIsReportedToAllListeners() throws IOException {
+        poller.read(AGENT_KEY, target, 1400, 10, List.of(rowOid(1)), List.of(), listener1);
+        poller.read(AGENT_KEY, target, 1400, 10, List.of(rowOid(2)), List.of(), listener2);
+        runScheduledTask();
+
+        Requests requests = captureRequests();
+        PDU request = requests.requests.get(0);
+        requests.listeners.get(0).onResponse(new ResponseEvent("test", null, request, null, null));
+
+        verify(listener1).readFailed(request, null);
+        verify(listener2).readFailed(request, null);
+    }
+
+    @Test
+    public void tableColumnIsWalked() throws IOException {
+        OID row5 = rowOid(5);
+        OID row7 = rowOid(7);
+        poller.read(AGENT_KEY, target, 1400, 3, List.of(), List.of(row5, row7), listener1);
+        runScheduledTask();
+
+        Requests requests = captureRequests();
+        PDU request = requests.requests.get(0);
+        assertEquals(PDU.GETBULK, request.getType());
+        assertEquals(3, request.getMaxRepetitions());
+        // the walk starts right before the first requested row
+        assertEquals(List.of(rowOid(4)), oidsOf(request));
+
+        respond(requests.listeners.get(0), request, response(List.of(row(5, 2), row(6, 1))));
+        verify(listener1).readResponse(eq(List.of(row(5, 2))));
+
+        requests = captureRequests();
+        assertEquals(2, requests.requests.size());
+        request = requests.requests.get(1);
+        assertEquals(List.of(rowOid(6)), oidsOf(request));
+
+        // row 7 does not exist, the walk ends after the last requested row
+        respond(requests.listeners.get(1), request, response(List.of(row(8, 1), row(9, 1),
+                new VariableBinding(new OID("1.3.6.1.2.1.2.2.1.9.1"), new Integer32(1)))));
+        verify(listener1).readResponse(eq(List.of(new VariableBinding(row7, Null.noSuchInstance))));
+        assertEquals(2, captureRequests().requests.size());
+    }
+
+    @Test
+    public void tableColumnIsWalkedWithGetNextForV1() throws IOException {
+        target.setVersion(SnmpConstants.version1);
+        poller.read(AGENT_KEY, target, 1400, 3, List.of(), List.of(rowOid(1)), listener1);
+        runScheduledTask();
+
+        Requests requests = captureRequests();
+        assertEquals(PDU.GETNEXT, requests.requests.get(0).getType());
+        assertEquals(List.of(rowOid(0)), oidsOf(requests.requests.get(0)));
+
+        respond(requests.listeners.get(0), requests.requests.get(0), response(List.of(row(1, 1))));
+        verify(listener1).readResponse(eq(List.of(row(1, 1))));
+        // the last requested row has been received, no further request
+        assertEquals(1, captureRequests().requests.size());
+    }
+
+    private static OID rowOid(int index) {
+        return new OID(COLUMN.getValue()).append(index);
+    }
+
+    private static VariableBinding row(int index, int value) {
+        return new VariableBinding(rowOid(index), new Integer32(value));
+    }
+
+    private static PDU response(List<VariableBinding> variables) {
+        return new PDU(PDU.RESPONSE, variables);
+    }
+
+    private static List<OID> oidsOf(PDU pdu) {
+        return pdu.getVariableBindings().stream().map(VariableBinding::getOid).toList();
+    }
+
+    private static void respond(ResponseListener listener, PDU request, PDU response) {
+        listener.onResponse(new ResponseEvent("test", null, request, response, null));
+    }
+
+    private void runScheduledTask() {
+        ArgumentCaptor<Runnable> taskCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(taskCaptor.capture(), eq((long) SnmpPoller.MERGE_DELAY_MS),
+                eq(TimeUnit.MILLISECONDS));
+        taskCaptor.getValue().run();
+    }
+
+    private record Requests(List<PDU> requests, List<ResponseListener> listeners) {
+    }
+
+    private Requests captureRequests() throws IOException {
+        ArgumentCaptor<PDU> pduCaptor = ArgumentCaptor.forClass(PDU.class);
+        ArgumentCaptor<ResponseListener> listenerCaptor = ArgumentCaptor.forClass(ResponseListener.class);
+        verify(snmpService, atLeastOnce()).send(pduCaptor.capture(), eq(target), eq(null), listenerCaptor.capture());
+        return new Requests(pduCaptor.getAllValues(), listenerCaptor.getAllValues());
+    }
+}
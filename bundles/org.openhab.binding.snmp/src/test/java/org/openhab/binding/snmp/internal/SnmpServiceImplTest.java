@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.snmp.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.snmp4j.CommandResponderEvent;
+import org.snmp4j.PDU;
+import org.snmp4j.PDUv1;
+import org.snmp4j.smi.OID;
+import org.snmp4j.smi.OctetString;
+import org.snmp4j.smi.UdpAddress;
+import org.snmp4j.smi.UnsignedInteger32;
+import org.snmp4j.smi.VariableBinding;
+
+/**
+ * Tests cases for the trap dispatching of {@link SnmpServiceImpl}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SnmpServiceImplTest {
+    private static final String AGENT1 = "192.168.0.1";
+    private static final String AGENT2 = "192.168.0.2";
+    private static final VariableBinding VARIABLE = new VariableBinding(new OID("1.2.3.4"), new OctetString("foo"));
+
+    private @Mock @NonNullByDefault({}) SnmpTrapListener listener1;
+    private @Mock @NonNullByDefault({}) SnmpTrapListener listener2;
+    private @Mock @NonNullByDefault({}) SnmpTrapListener listener3;
+
+    private @NonNullByDefault({}) AutoCloseable mocks;
+    private @NonNullByDefault({}) SnmpServiceImpl snmpService;
+
+    @BeforeEach
+    public void setup() {
+        mocks = MockitoAnnotations.openMocks(this);
+        snmpService = new SnmpServiceImpl(Map.<String, Object> of("trapRateLimit", 5));
+        snmpService.addTrapListener(listener1, "public", AGENT1);
+        snmpService.addTrapListener(listener2, "public", AGENT2);
+        snmpService.addTrapListener(listener3, "private", AGENT1);
+    }
+
+    @AfterEach
+    public void after() throws Exception {
+        snmpService.deactivate();
+        mocks.close();
+    }
+
+    @Test
+    public void trapIsDispatchedByAddressAndCommunity() {
+        PDU pdu = new PDU(PDU.TRAP, List.of(VARIABLE));
+        snmpService.processPdu(trap(pdu, AGENT1, "public"));
+
+        verify(listener1).trapReceived(List.of(VARIABLE));
+        verify(listener2, never()).trapReceived(any());
+        verify(listener3, never()).trapReceived(any());
+
+        snmpService.processPdu(trap(pdu, AGENT1, "unknown"));
+        snmpService.removeTrapListener(listener1);
+        snmpService.processPdu(trap(pdu, AGENT1, "public"));
+
+        verify(listener1, times(1)).trapReceived(any());
+        assertEquals(1, snmpService.getProcessedTraps());
+        assertEquals(2, snmpService.getUnmatchedTraps());
+    }
+
+    @Test
+    public void v1EnterpriseTrapIsDispatchedByCommunity() {
+        PDUv1 pdu = new PDUv1();
+        pdu.setType(PDU.V1TRAP);
+        pdu.setEnterprise(new OID("1.3.6.1.4.1.12345"));
+        pdu.setGenericTrap(PDUv1.ENTERPRISE_SPECIFIC);
+        pdu.setSpecificTrap(17);
+        snmpService.processPdu(trap(pdu, AGENT1, "public"));
+
+        verify(listener1).enterpriseTrapReceived(new OID("1.3.6.1.4.1.12345"), new UnsignedInteger32(17));
+        verify(listener2).enterpriseTrapReceived(new OID("1.3.6.1.4.1.12345"), new UnsignedInteger32(17));
+        verify(listener3, never()).enterpriseTrapReceived(any(), any());
+        verify(listener1).trapReceived(List.of());
+        verify(listener2, never()).trapReceived(any());
+    }
+
+    @Test
+    public void trapStormIsRateLimited() {
+        PDU pdu = new PDU(PDU.TRAP, List.of(VARIABLE));
+        for (int i = 0; i < 20; i++) {
+            snmpService.processPdu(trap(pdu, AGENT1, "public"));
+        }
+        snmpService.processPdu(trap(pdu, AGENT2, "public"));
+
+        assertTrue(snmpService.getDroppedTraps() >= 14);
+        assertEquals(21, snmpService.getDroppedTraps() + snmpService.getProcessedTraps());
+        verify(listener2).trapReceived(List.of(VARIABLE));
+    }
+
+    @Test
+    public void otherPdusAreIgnored() {
+        snmpService.processPdu(trap(new PDU(PDU.GET, List.of(VARIABLE)), AGENT1, "public"));
+
+        verify(listener1, never()).trapReceived(any());
+        assertEquals(0, snmpService.getProcessedTraps() + snmpService.getUnmatchedTraps());
+    }
+
+    @Test
+    public void trapCountersAreAvailableThroughTheService() {
+        SnmpService service = snmpService;
+        PDU pdu = new PDU(PDU.TRAP, List.of(VARIABLE));
+        snmpService.processPdu(trap(pdu, AGENT1, "public"));
+        snmpService.processPdu(trap(pdu, AGENT2, "unknown"));
+        for (int i = 0; i < 10; i++) {
+            snmpService.processPdu(trap(pdu, AGENT2, "public"));
+        }
+
+        assertEquals(1, service.getUnmatchedTraps());
+        assertTrue(service.getDroppedTraps() > 0);
+        assertEquals(11, service.getProcessedTraps() + service.getDroppedTraps());
+    }
+
+    private static CommandResponderEvent trap(PDU pdu, String address, String community) {
+        CommandResponderEvent event = mock(CommandResponderEvent.class);
+        when(event.getPDU()).thenReturn(pdu);
+        when(event.getPeerAddress()).thenReturn(new UdpAddress(address + "/161"));
+        when(event.getSecurityName()).thenReturn(community.getBytes());
+        return event;
+    }
+}
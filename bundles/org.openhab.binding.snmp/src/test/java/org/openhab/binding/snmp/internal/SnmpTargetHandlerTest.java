@@ -18,6 +18,7 @@ import static org.mockito.Mockito.*;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -151,6 +152,28 @@ public class SnmpTargetHandlerTest extends AbstractSnmpTargetHandlerTest {
         verifyStatus(ThingStatus.ONLINE);
     }
 
+    @Test
+    public void testTrapChannelsProperlyUpdate() {
+        setup(SnmpBindingConstants.CHANNEL_TYPE_UID_STRING, SnmpChannelMode.TRAP);
+        thingHandler.trapReceived(List.of(new VariableBinding(new OID(TEST_OID), new OctetString(TEST_STRING))));
+        verify(thingHandlerCallback).stateUpdated(eq(CHANNEL_UID), eq(new StringType(TEST_STRING)));
+
+        thingHandler.enterpriseTrapReceived(new OID(TEST_OID), new OctetString("bar"));
+        verify(thingHandlerCallback).stateUpdated(eq(CHANNEL_UID), eq(new StringType("bar")));
+    }
+
+    @Test
+    public void testTimeoutsAreCountedOncePerRefreshCycle() throws IOException {
+        setup(SnmpBindingConstants.CHANNEL_TYPE_UID_STRING, SnmpChannelMode.READ);
+        verify(snmpService, timeout(500).atLeast(1)).send(any(), any(), eq(null), any());
+
+        // all PDUs of one refresh cycle time out, this counts as a single timeout
+        for (int i = 0; i < 5; i++) {
+            thingHandler.readFailed(new PDU(), null);
+        }
+        verifyStatus(ThingStatus.UNKNOWN);
+    }
+
     @Test
     public void testCancelingAsyncRequest() {
         setup(SnmpBindingConstants.CHANNEL_TYPE_UID_NUMBER, SnmpChannelMode.READ, SnmpDatatype.FLOAT);